@@ -17,14 +17,16 @@ package org.jfrog.build.api;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
-import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.dependency.BuildDependency;
 import org.jfrog.build.api.release.PromotionStatus;
+import org.jfrog.build.api.util.BuildMerger;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import static org.jfrog.build.api.BuildBean.ROOT;
@@ -419,7 +421,8 @@ public class Build extends BaseBuildBean {
     }
 
     /**
-     * Returns the module object by the given ID
+     * Returns the module object by the given ID.
+     * This is a linear scan over the modules - use {@link BuildMerger#getModule(String)} for repeated lookups.
      *
      * @param moduleId ID of module to locate
      * @return Module object if found. Null if not
@@ -555,7 +558,21 @@ public class Build extends BaseBuildBean {
             if (this.getModules() == null) {
                 this.setModules(modules);
             } else {
-                modules.forEach(this::addModule);
+                // Index the current modules by ID once, rather than scanning them for each appended module.
+                // To append many builds, use a BuildMerger, which keeps the index between the merges.
+                Map<String, Module> modulesById = new HashMap<>();
+                for (Module module : this.modules) {
+                    modulesById.putIfAbsent(module.getId(), module);
+                }
+                for (Module module : modules) {
+                    Module currentModule = modulesById.putIfAbsent(module.getId(), module);
+                    if (currentModule == null) {
+                        this.modules.add(module);
+                    } else {
+                        // Append the other module into the existing module with the same name.
+                        currentModule.append(module);
+                    }
+                }
             }
         }
     }
@@ -571,22 +588,6 @@ public class Build extends BaseBuildBean {
         }
     }
 
-    private void addModule(Module other) {
-        List<Module> modules = getModules();
-        Module currentModule = modules.stream()
-                // Check if there's already a module with the same name.
-                .filter(module -> StringUtils.equals(module.getId(), other.getId()))
-                .findAny()
-                .orElse(null);
-        if (currentModule == null) {
-            // Append new module.
-            modules.add(other);
-        } else {
-            // Append the other module into the existing module with the same name.
-            currentModule.append(other);
-        }
-    }
-
     @Override
     public String toString() {
         return "Build{" +
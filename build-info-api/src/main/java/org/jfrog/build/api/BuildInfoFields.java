@@ -48,10 +48,19 @@ public interface BuildInfoFields {
     String BUILD_ROOT = "build.root";
     String RUN_PARAMETERS = "runParameters.";
     String INCREMENTAL = "incremental";
+    String BINARY_MODULE_INFO = "binary.module.info";
     String GENERATED_BUILD_INFO = "generated.build.info";
     String VCS = "vcs";
     String DEPLOYABLE_ARTIFACTS = "deployable.artifacts.map";
     String MIN_CHECKSUM_DEPLOY_SIZE_KB = "minChecksumDeploySizeKb";
+    String MIN_MULTIPART_UPLOAD_SIZE_MB = "minMultipartUploadSizeMb";
+    String MULTIPART_UPLOAD_PART_SIZE_MB = "multipartUploadPartSizeMb";
+    String MULTIPART_UPLOAD_THREADS = "multipartUploadThreads";
+    String MAX_CONCURRENT_UPLOADS = "maxConcurrentUploads";
+    String MAX_UPLOAD_KB_PER_SECOND = "maxUploadKbPerSecond";
+    String DEPLOY_LEDGER = "deployLedger";
+    String DEPLOY_LEDGER_VERIFY_INTERVAL_HOURS = "deployLedgerVerifyIntervalHours";
+    String CHECKSUM_PREFLIGHT = "checksumPreflight";
     // Backward compatibility for pipelines using Gradle Artifactory Plugin with version bellow 4.15.1, or Jenkins Artifactory Plugin bellow 3.6.1
     @Deprecated
     String BACKWARD_COMPATIBLE_DEPLOYABLE_ARTIFACTS = "deployable.artifacts";
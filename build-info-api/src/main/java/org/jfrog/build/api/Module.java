@@ -19,10 +19,10 @@ package org.jfrog.build.api;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.util.ModuleMerger;
 
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.List;
+import java.util.Objects;
 
 import static org.jfrog.build.api.BuildBean.MODULE;
 
@@ -198,28 +198,14 @@ public class Module extends BaseBuildBean {
     }
 
     /**
-     * Append other module to this module
+     * Append other module to this module.
+     * Dependencies with the same ID and sha1 are merged into one dependency with the union of their scopes
+     * and requestedBy paths.
      *
      * @param other Module to append
      */
     public void append(Module other) {
-        artifacts = appendBuildFileLists(artifacts, other.getArtifacts());
-        excludedArtifacts = appendBuildFileLists(excludedArtifacts, other.getExcludedArtifacts());
-        dependencies = appendBuildFileLists(dependencies, other.getDependencies());
-        type = StringUtils.defaultIfEmpty(type, other.type);
-        repository = StringUtils.defaultIfEmpty(repository, other.repository);
-        md5 = StringUtils.defaultIfEmpty(md5, other.md5);
-        sha1 = StringUtils.defaultIfEmpty(sha1, other.sha1);
-    }
-
-    private <T extends BaseBuildBean> List<T> appendBuildFileLists(List<T> a, List<T> b) {
-        if (a == null && b == null) {
-            return null;
-        }
-        return Stream.of(Optional.ofNullable(a).orElseGet(Collections::emptyList), Optional.ofNullable(b).orElseGet(Collections::emptyList))
-                .flatMap(Collection::stream)
-                .distinct()
-                .collect(Collectors.toList());
+        new ModuleMerger(this).merge(other).getModule();
     }
 
     @Override
@@ -0,0 +1,122 @@
+package org.jfrog.build.api.util;
+
+import org.jfrog.build.api.Build;
+import org.jfrog.build.api.Module;
+import org.jfrog.build.api.dependency.BuildDependency;
+
+import java.util.*;
+
+/**
+ * Merges many builds into a single target build.
+ * Modules are indexed by ID and merged using {@link ModuleMerger}, so merging the build-info of many parallel jobs
+ * is linear in the total number of modules, artifacts and dependencies.
+ * The target build's modules are updated when {@link #getBuild()} is called.
+ */
+public class BuildMerger {
+
+    private final Build build;
+    private final Map<String, ModuleMerger> modules = new LinkedHashMap<>();
+
+    /**
+     * @param build - The build to merge other builds into
+     */
+    public BuildMerger(Build build) {
+        this.build = build;
+        if (build.getModules() != null) {
+            build.getModules().forEach(this::mergeModule);
+        }
+    }
+
+    /**
+     * Merge the other build into the target build.
+     * Properties, build dependencies and issues are appended as in {@link Build#append(Build)}.
+     *
+     * @param other - Build to merge
+     * @return this merger
+     */
+    public BuildMerger merge(Build other) {
+        if (build.getBuildAgent() == null) {
+            build.setBuildAgent(other.getBuildAgent());
+        }
+        appendProperties(other);
+        appendBuildDependencies(other);
+        appendIssues(other);
+        if (other.getModules() != null) {
+            other.getModules().forEach(this::mergeModule);
+        }
+        return this;
+    }
+
+    /**
+     * Merge a module into the target build. If the build contains a module with the same ID, the modules are merged.
+     *
+     * @param other - Module to merge
+     * @return this merger
+     */
+    public BuildMerger mergeModule(Module other) {
+        ModuleMerger moduleMerger = modules.get(other.getId());
+        if (moduleMerger == null) {
+            modules.put(other.getId(), new ModuleMerger(other));
+        } else {
+            moduleMerger.merge(other);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the merged module with the given ID.
+     *
+     * @param moduleId - ID of module to locate
+     * @return the merged module if found. Null if not
+     */
+    public Module getModule(String moduleId) {
+        ModuleMerger moduleMerger = modules.get(moduleId);
+        return moduleMerger == null ? null : moduleMerger.getModule();
+    }
+
+    private void appendProperties(Build other) {
+        Properties properties = other.getProperties();
+        if (properties != null && !properties.isEmpty()) {
+            if (build.getProperties() == null) {
+                build.setProperties(properties);
+            } else {
+                build.getProperties().putAll(properties);
+            }
+        }
+    }
+
+    private void appendBuildDependencies(Build other) {
+        List<BuildDependency> buildDependencies = other.getBuildDependencies();
+        if (buildDependencies != null && !buildDependencies.isEmpty()) {
+            if (build.getBuildDependencies() == null) {
+                build.setBuildDependencies(buildDependencies);
+            } else {
+                build.getBuildDependencies().addAll(buildDependencies);
+            }
+        }
+    }
+
+    private void appendIssues(Build other) {
+        if (build.getIssues() == null) {
+            build.setIssues(other.getIssues());
+        } else {
+            build.getIssues().append(other.getIssues());
+        }
+    }
+
+    /**
+     * Write the merged modules into the target build and return it.
+     *
+     * @return the target build
+     */
+    public Build getBuild() {
+        if (!modules.isEmpty()) {
+            List<Module> mergedModules = new ArrayList<>(modules.size());
+            for (ModuleMerger moduleMerger : modules.values()) {
+                mergedModules.add(moduleMerger.getModule());
+            }
+            build.setModules(mergedModules);
+        }
+        return build;
+    }
+}
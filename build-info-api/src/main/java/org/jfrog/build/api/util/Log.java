@@ -33,4 +33,13 @@ public interface Log extends Serializable, org.jfrog.filespecs.utils.Log {
     void error(String message);
 
     void error(String message, Throwable e);
+
+    /**
+     * Used to avoid formatting expensive debug messages which are not logged.
+     *
+     * @return false if debug messages are not logged
+     */
+    default boolean isDebugEnabled() {
+        return true;
+    }
 }
\ No newline at end of file
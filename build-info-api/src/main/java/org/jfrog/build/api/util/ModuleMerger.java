@@ -0,0 +1,161 @@
+package org.jfrog.build.api.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.Artifact;
+import org.jfrog.build.api.Dependency;
+import org.jfrog.build.api.Module;
+
+import java.util.*;
+
+/**
+ * Merges modules with the same ID into a single target module.
+ * Artifacts are de-duplicated by equality and dependencies are indexed by their ID and sha1, so that the scopes and
+ * the requestedBy paths of a dependency appearing in several modules are merged rather than kept as separate entries.
+ * The cost of a merge is linear in the number of merged entries, regardless of the number of modules merged so far.
+ * The target module is updated when {@link #getModule()} is called.
+ */
+public class ModuleMerger {
+
+    private final Module module;
+    private final Set<Artifact> artifacts;
+    private final Set<Artifact> excludedArtifacts;
+    private final Map<String, MergedDependency> dependencies;
+    private boolean hasArtifacts;
+    private boolean hasExcludedArtifacts;
+    private boolean hasDependencies;
+
+    /**
+     * @param module - The module to merge other modules into
+     */
+    public ModuleMerger(Module module) {
+        this.module = module;
+        this.artifacts = new LinkedHashSet<>();
+        this.excludedArtifacts = new LinkedHashSet<>();
+        this.dependencies = new LinkedHashMap<>();
+        addAll(module);
+    }
+
+    /**
+     * Merge the other module's artifacts, excluded artifacts and dependencies into the target module.
+     *
+     * @param other - Module to merge
+     * @return this merger
+     */
+    public ModuleMerger merge(Module other) {
+        addAll(other);
+        module.setType(StringUtils.defaultIfEmpty(module.getType(), other.getType()));
+        module.setRepository(StringUtils.defaultIfEmpty(module.getRepository(), other.getRepository()));
+        module.setMd5(StringUtils.defaultIfEmpty(module.getMd5(), other.getMd5()));
+        module.setSha1(StringUtils.defaultIfEmpty(module.getSha1(), other.getSha1()));
+        return this;
+    }
+
+    /**
+     * Write the merged lists into the target module and return it.
+     *
+     * @return the target module
+     */
+    public Module getModule() {
+        if (hasArtifacts) {
+            module.setArtifacts(new ArrayList<>(artifacts));
+        }
+        if (hasExcludedArtifacts) {
+            module.setExcludedArtifacts(new ArrayList<>(excludedArtifacts));
+        }
+        if (hasDependencies) {
+            List<Dependency> mergedDependencies = new ArrayList<>(dependencies.size());
+            for (MergedDependency mergedDependency : dependencies.values()) {
+                mergedDependencies.add(mergedDependency.getDependency());
+            }
+            module.setDependencies(mergedDependencies);
+        }
+        return module;
+    }
+
+    private void addAll(Module other) {
+        if (other.getArtifacts() != null) {
+            hasArtifacts = true;
+            artifacts.addAll(other.getArtifacts());
+        }
+        if (other.getExcludedArtifacts() != null) {
+            hasExcludedArtifacts = true;
+            excludedArtifacts.addAll(other.getExcludedArtifacts());
+        }
+        if (other.getDependencies() != null) {
+            hasDependencies = true;
+            for (Dependency dependency : other.getDependencies()) {
+                String key = dependency.getId() + ":" + dependency.getSha1();
+                MergedDependency existing = dependencies.get(key);
+                if (existing == null) {
+                    dependencies.put(key, new MergedDependency(dependency));
+                } else {
+                    existing.merge(dependency);
+                }
+            }
+        }
+    }
+
+    /**
+     * A dependency with its scopes and requestedBy paths kept in sets until the merge is done.
+     */
+    private static class MergedDependency {
+        private final Dependency dependency;
+        private Set<String> scopes;
+        private Set<List<String>> requestedBy;
+
+        private MergedDependency(Dependency dependency) {
+            this.dependency = dependency;
+        }
+
+        private void merge(Dependency other) {
+            if (other == dependency) {
+                return;
+            }
+            if (other.getScopes() != null) {
+                if (scopes == null) {
+                    scopes = new LinkedHashSet<>();
+                    if (dependency.getScopes() != null) {
+                        scopes.addAll(dependency.getScopes());
+                    }
+                }
+                scopes.addAll(other.getScopes());
+            }
+            if (other.getRequestedBy() != null) {
+                if (requestedBy == null) {
+                    requestedBy = new LinkedHashSet<>();
+                    addRequestedBy(dependency.getRequestedBy());
+                }
+                addRequestedBy(other.getRequestedBy());
+            }
+            dependency.setType(StringUtils.defaultIfEmpty(dependency.getType(), other.getType()));
+            dependency.setMd5(StringUtils.defaultIfEmpty(dependency.getMd5(), other.getMd5()));
+            dependency.setSha256(StringUtils.defaultIfEmpty(dependency.getSha256(), other.getSha256()));
+            dependency.setRemotePath(StringUtils.defaultIfEmpty(dependency.getRemotePath(), other.getRemotePath()));
+            dependency.setLocalPath(StringUtils.defaultIfEmpty(dependency.getLocalPath(), other.getLocalPath()));
+        }
+
+        private void addRequestedBy(String[][] paths) {
+            if (paths == null) {
+                return;
+            }
+            for (String[] path : paths) {
+                requestedBy.add(Arrays.asList(path));
+            }
+        }
+
+        private Dependency getDependency() {
+            if (scopes != null) {
+                dependency.setScopes(scopes);
+            }
+            if (requestedBy != null) {
+                String[][] paths = new String[requestedBy.size()][];
+                int i = 0;
+                for (List<String> path : requestedBy) {
+                    paths[i++] = path.toArray(new String[0]);
+                }
+                dependency.setRequestedBy(paths);
+            }
+            return dependency;
+        }
+    }
+}
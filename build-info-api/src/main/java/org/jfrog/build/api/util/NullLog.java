@@ -42,4 +42,9 @@ public class NullLog implements Log {
     public void error(String message, Throwable e) {
         //nop
     }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return false;
+    }
 }
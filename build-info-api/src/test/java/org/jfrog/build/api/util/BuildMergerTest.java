@@ -0,0 +1,72 @@
+package org.jfrog.build.api.util;
+
+import org.jfrog.build.api.Build;
+import org.jfrog.build.api.Dependency;
+import org.jfrog.build.api.Module;
+import org.jfrog.build.api.builder.ArtifactBuilder;
+import org.jfrog.build.api.builder.DependencyBuilder;
+import org.jfrog.build.api.builder.ModuleBuilder;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the merging of builds and modules in the BuildMerger and ModuleMerger classes
+ */
+@Test
+public class BuildMergerTest {
+
+    public void testMergeModuleDependencies() {
+        Module module = new ModuleBuilder().id("module")
+                .addArtifact(new ArtifactBuilder("a.jar").sha1("1").build())
+                .addDependency(new DependencyBuilder().id("dep").sha1("2").addScope("compile").addRequestedBy(new String[]{"module"}).build())
+                .build();
+        Module other = new ModuleBuilder().id("module").repository("repo")
+                .addArtifact(new ArtifactBuilder("a.jar").sha1("1").build())
+                .addArtifact(new ArtifactBuilder("b.jar").sha1("3").build())
+                .addDependency(new DependencyBuilder().id("dep").sha1("2").addScope("test").addRequestedBy(new String[]{"module"}).addRequestedBy(new String[]{"parent", "module"}).build())
+                .addDependency(new DependencyBuilder().id("other-dep").sha1("4").build())
+                .build();
+
+        module.append(other);
+
+        assertEquals(module.getRepository(), "repo");
+        assertEquals(module.getArtifacts().size(), 2);
+        assertEquals(module.getDependencies().size(), 2);
+        Dependency dependency = module.getDependencies().get(0);
+        assertEquals(dependency.getScopes(), new HashSet<>(Arrays.asList("compile", "test")));
+        assertTrue(Arrays.deepEquals(dependency.getRequestedBy(), new String[][]{{"module"}, {"parent", "module"}}));
+    }
+
+    public void testMergeBuilds() {
+        Build build = new Build();
+        build.setModules(Arrays.asList(new ModuleBuilder().id("a").addArtifact(new ArtifactBuilder("a.jar").build()).build()));
+        BuildMerger merger = new BuildMerger(build);
+        for (int i = 0; i < 3; i++) {
+            Build other = new Build();
+            other.setModules(Arrays.asList(
+                    new ModuleBuilder().id("a").addArtifact(new ArtifactBuilder("a" + i + ".jar").build()).build(),
+                    new ModuleBuilder().id("b" + i).build()));
+            other.setProperties(new Properties());
+            other.getProperties().setProperty("key" + i, "value");
+            List<Module> otherModules = other.getModules();
+            merger.merge(other);
+            // The merged build is not modified
+            assertSame(other.getModules(), otherModules);
+        }
+        assertEquals(build.getProperties().size(), 3);
+
+        assertEquals(merger.getModule("a").getArtifacts().size(), 4);
+        assertNull(merger.getModule("c"));
+        Build merged = merger.getBuild();
+        assertSame(merged, build);
+        assertEquals(merged.getModules().size(), 4);
+        assertEquals(merged.getModule("a").getArtifacts().size(), 4);
+        assertNotNull(merged.getModule("b2"));
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.metrics.ClientMetrics;
 
 import javax.net.ssl.SSLContext;
 import java.io.IOException;
@@ -39,6 +40,7 @@ public class JFrogHttpClient implements AutoCloseable {
 
     private PreemptiveHttpClient deployClient;
     private Log log;
+    private volatile ServerCapabilities capabilities;
 
     private JFrogHttpClient(String url, String username, String password, String accessToken, Log log) {
         this.url = StringUtils.removeEnd(url, "/");
@@ -99,6 +101,13 @@ public class JFrogHttpClient implements AutoCloseable {
         clientBuilder.setTimeout(connectionTimeout);
     }
 
+    /**
+     * @return the network timeout in seconds.
+     */
+    public int getConnectionTimeout() {
+        return clientBuilder.getTimeout();
+    }
+
     public void setInsecureTls(boolean insecureTls) {
         clientBuilder.setInsecureTls(insecureTls);
     }
@@ -124,6 +133,59 @@ public class JFrogHttpClient implements AutoCloseable {
         return clientBuilder.getProxyConfiguration();
     }
 
+    /**
+     * Returns the cached capabilities of the server. The capabilities are probed once, on the first call, and shared
+     * by all the services executed with this client until {@link #refreshCapabilities()} is called.
+     *
+     * @param probe Probe of the server capabilities, used if the capabilities are not cached
+     * @return the server capabilities
+     * @throws IOException In case of an error probing the server
+     */
+    public ServerCapabilities getCapabilities(ServerCapabilities.Probe probe) throws IOException {
+        ServerCapabilities result = capabilities;
+        if (result == null) {
+            synchronized (this) {
+                result = capabilities;
+                if (result == null) {
+                    result = probe.probe();
+                    capabilities = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Clear the cached server capabilities, so they are probed again on the next request. Use it after the server
+     * is upgraded or the client is pointed to a different server.
+     */
+    public void refreshCapabilities() {
+        capabilities = null;
+    }
+
+    public ClientMetrics getMetrics() {
+        return clientBuilder.metrics;
+    }
+
+    /**
+     * Sets the metrics recorded by this client and the services executed with it.
+     *
+     * @param metrics The client metrics
+     */
+    public void setMetrics(ClientMetrics metrics) {
+        clientBuilder.setMetrics(metrics);
+        if (deployClient != null) {
+            deployClient.setMetrics(metrics);
+        }
+    }
+
+    /**
+     * Returns the upload scheduler shared by all the clients of this Artifactory URL in the JVM.
+     */
+    public UploadScheduler getUploadScheduler() {
+        return UploadScheduler.forUrl(url);
+    }
+
     /**
      * Release all connection and cleanup resources.
      */
@@ -137,6 +199,7 @@ public class JFrogHttpClient implements AutoCloseable {
     public PreemptiveHttpClient getHttpClient() {
         if (deployClient == null) {
             deployClient = clientBuilder.build();
+            deployClient.setUploadScheduler(getUploadScheduler());
         }
         return deployClient;
     }
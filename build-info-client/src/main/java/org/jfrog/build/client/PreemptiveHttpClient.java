@@ -30,8 +30,10 @@ import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.*;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.protocol.HttpContext;
+import org.apache.http.pool.PoolStats;
 import org.jfrog.build.api.util.CommonUtils;
 import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.metrics.ClientMetrics;
 
 import javax.net.ssl.SSLException;
 import java.io.IOException;
@@ -39,6 +41,8 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Wrapper of HttpClient that forces preemptive BASIC authentication if user credentials exist.
@@ -52,21 +56,29 @@ public class PreemptiveHttpClient implements AutoCloseable {
      * Used for storing the original host name, before a redirect to a new URL, on the request context.
      */
     private static final String ORIGINAL_HOST_CONTEXT_PARAM = "original.host.context.param";
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final long MIN_THROTTLING_INTERVAL_MILLIS = 1000;
+    private static final long MAX_THROTTLING_INTERVAL_MILLIS = 60000;
     BasicCredentialsProvider basicCredentialsProvider;
     private final PoolingHttpClientConnectionManager connectionManager;
     private final String accessToken;
     private final AuthCache authCache;
     private final CloseableHttpClient httpClient;
     private final int connectionRetries;
+    private final Consumer<ClientMetrics> poolSampler = this::samplePool;
     private Log log;
+    private ClientMetrics metrics;
+    private volatile UploadScheduler uploadScheduler;
 
-    public PreemptiveHttpClient(PoolingHttpClientConnectionManager connectionManager, BasicCredentialsProvider credentialsProvider, String accessToken, AuthCache authCache, HttpClientBuilder clientBuilder, int connectionRetries, Log log) {
+    public PreemptiveHttpClient(PoolingHttpClientConnectionManager connectionManager, BasicCredentialsProvider credentialsProvider, String accessToken, AuthCache authCache, HttpClientBuilder clientBuilder, int connectionRetries, Log log, ClientMetrics metrics) {
         this.connectionManager = connectionManager;
         this.basicCredentialsProvider = credentialsProvider;
         this.accessToken = accessToken;
         this.authCache = authCache;
         this.connectionRetries = connectionRetries;
         this.log = log;
+        this.metrics = metrics;
+        metrics.addSampler(poolSampler);
 
         int retryCount = connectionRetries < 0 ? JFrogHttpClient.DEFAULT_CONNECTION_RETRY : connectionRetries;
         clientBuilder.setRetryHandler(new PreemptiveHttpClient.PreemptiveRetryHandler(retryCount));
@@ -85,11 +97,20 @@ public class PreemptiveHttpClient implements AutoCloseable {
         if (authCache != null) {
             clientContext.setAuthCache(authCache);
         }
-        return httpClient.execute(request, clientContext);
+        metrics.increment(ClientMetrics.CONNECTION_LEASES);
+        long start = System.currentTimeMillis();
+        try {
+            return httpClient.execute(request, clientContext);
+        } finally {
+            metrics.recordLatency(ClientMetrics.HTTP_REQUEST, System.currentTimeMillis() - start);
+        }
     }
 
     @Override
     public void close() {
+        // The clients are usually closed before the metrics are reported, so the pool is sampled one last time
+        samplePool(metrics);
+        metrics.removeSampler(poolSampler);
         try {
             httpClient.close();
         } catch (IOException e) {
@@ -102,6 +123,39 @@ public class PreemptiveHttpClient implements AutoCloseable {
         this.log = log;
     }
 
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(ClientMetrics metrics) {
+        this.metrics.removeSampler(poolSampler);
+        this.metrics = metrics;
+        metrics.addSampler(poolSampler);
+    }
+
+    /**
+     * Record the stats of the connection pool. Reading the stats locks the pool, so they are sampled when the metrics
+     * are reported and when the client is closed, rather than on every request.
+     */
+    private void samplePool(ClientMetrics metrics) {
+        PoolStats poolStats = connectionManager.getTotalStats();
+        metrics.recordGauge(ClientMetrics.CONNECTION_POOL_LEASED, poolStats.getLeased());
+        metrics.recordGauge(ClientMetrics.CONNECTION_POOL_PENDING, poolStats.getPending());
+    }
+
+    public UploadScheduler getUploadScheduler() {
+        return uploadScheduler;
+    }
+
+    /**
+     * Sets the upload scheduler notified of the throttling responses of the server.
+     *
+     * @param uploadScheduler The upload scheduler of the server
+     */
+    public void setUploadScheduler(UploadScheduler uploadScheduler) {
+        this.uploadScheduler = uploadScheduler;
+    }
+
     /**
      * Sets the Exceptions that would not be retried if those exceptions are thrown.
      *
@@ -118,6 +172,10 @@ public class PreemptiveHttpClient implements AutoCloseable {
             if (!shouldSetAuthScheme(request, context)) {
                 return;
             }
+            if (request.containsHeader("Authorization")) {
+                // The request carries its own credentials, such as a multipart upload token
+                return;
+            }
 
             HttpClientContext finalContext = (HttpClientContext) context;
             AuthState authState = finalContext.getTargetAuthState();
@@ -165,20 +223,32 @@ public class PreemptiveHttpClient implements AutoCloseable {
 
     /**
      * Class to handle retries when 5xx errors occurs.
+     * 429 (Too Many Requests) and 503 (Service Unavailable) responses are retried after the Retry-After period of the
+     * server, or after an exponential backoff. Throttling responses of uploads also throttle the upload scheduler.
      */
 
     private class PreemptiveRetryStrategy implements ServiceUnavailableRetryStrategy {
+        // The interval is computed per response, and read by the same thread right after retryRequest
+        private final ThreadLocal<Long> retryInterval = ThreadLocal.withInitial(() -> 0L);
 
         @Override
         public boolean retryRequest(HttpResponse response, int executionCount, HttpContext context) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            boolean throttled = statusCode == SC_TOO_MANY_REQUESTS || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE;
             // Code 500 means an unexpected behavior of Artifactory, thus we should not retry.
-            if (response.getStatusLine().getStatusCode() > 500) {
+            if (statusCode > 500 || throttled) {
                 HttpClientContext clientContext = HttpClientContext.adapt(context);
                 log.warn("Error occurred for request " + clientContext.getRequest().getRequestLine().toString() +
-                        ". Received status code " + response.getStatusLine().getStatusCode() +
+                        ". Received status code " + statusCode +
                         " and message: " + response.getStatusLine().getReasonPhrase() + ".");
+                long interval = throttled ? getThrottlingInterval(response, executionCount) : 0;
+                if (throttled && uploadScheduler != null && uploadScheduler.isUploading()) {
+                    uploadScheduler.onThrottled(interval);
+                }
                 if (executionCount <= connectionRetries) {
-                    log.warn("Attempting retry #" + executionCount);
+                    retryInterval.set(interval);
+                    log.warn("Attempting retry #" + executionCount + (interval > 0 ? " in " + interval + " ms" : ""));
+                    metrics.increment(ClientMetrics.HTTP_RETRIES);
                     return true;
                 }
             }
@@ -188,8 +258,23 @@ public class PreemptiveHttpClient implements AutoCloseable {
 
         @Override
         public long getRetryInterval() {
-            return 0;
+            return retryInterval.get();
+        }
+    }
+
+    /**
+     * Returns the Retry-After period of the response, or an exponential backoff if the server did not send one.
+     */
+    static long getThrottlingInterval(HttpResponse response, int executionCount) {
+        Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return Math.min(TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.getValue().trim())), MAX_THROTTLING_INTERVAL_MILLIS);
+            } catch (NumberFormatException e) {
+                // An HTTP date - Use the backoff
+            }
         }
+        return Math.min(MIN_THROTTLING_INTERVAL_MILLIS << Math.min(executionCount - 1, 10), MAX_THROTTLING_INTERVAL_MILLIS);
     }
 
     /**
@@ -212,6 +297,7 @@ public class PreemptiveHttpClient implements AutoCloseable {
             boolean shouldRetry = super.retryRequest(exception, executionCount, context);
             if (shouldRetry) {
                 log.warn("Attempting retry #" + executionCount);
+                metrics.increment(ClientMetrics.HTTP_RETRIES);
                 return true;
             }
 
@@ -31,6 +31,8 @@ import org.apache.http.impl.cookie.RFC6265CookieSpecProvider;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.TrustStrategy;
 import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.metrics.ClientMetrics;
+import org.jfrog.build.client.metrics.NoOpClientMetrics;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -50,6 +52,7 @@ public class PreemptiveHttpClientBuilder {
     protected String accessToken = StringUtils.EMPTY;
     protected int connectionRetries;
     protected Log log;
+    protected ClientMetrics metrics = new NoOpClientMetrics();
 
     private ProxyConfiguration proxyConfiguration;
     private String userAgent = StringUtils.EMPTY;
@@ -96,6 +99,10 @@ public class PreemptiveHttpClientBuilder {
         return this;
     }
 
+    int getTimeout() {
+        return timeout;
+    }
+
     public PreemptiveHttpClientBuilder setProxyConfiguration(ProxyConfiguration proxyConfiguration) {
         this.proxyConfiguration = proxyConfiguration;
         if (proxyConfiguration != null) {
@@ -126,11 +133,16 @@ public class PreemptiveHttpClientBuilder {
         return this;
     }
 
+    public PreemptiveHttpClientBuilder setMetrics(ClientMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     public PreemptiveHttpClient build() {
         buildConnectionManager();
         HttpClientBuilder httpClientBuilder = createHttpClientBuilder();
         createCredentialsAndAuthCache();
-        return new PreemptiveHttpClient(connectionManager, credentialsProvider, accessToken, authCache, httpClientBuilder, connectionRetries, log);
+        return new PreemptiveHttpClient(connectionManager, credentialsProvider, accessToken, authCache, httpClientBuilder, connectionRetries, log, metrics);
     }
 
     /**
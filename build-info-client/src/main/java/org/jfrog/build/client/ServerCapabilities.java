@@ -0,0 +1,66 @@
+package org.jfrog.build.client;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Capabilities of a JFrog server, derived from its version.
+ * Capabilities are probed once per {@link JFrogHttpClient} and shared by all the services executed with it.
+ * Capabilities which don't depend on the version, such as the multipart upload support, are probed separately on their
+ * first use, and cached with the other capabilities.
+ */
+public class ServerCapabilities {
+    public static final ArtifactoryVersion CHECKSUM_DEPLOY_MIN_VERSION = new ArtifactoryVersion("2.5.1");
+
+    private final ArtifactoryVersion version;
+    private volatile Boolean multipartUploadSupported;
+
+    public ServerCapabilities(ArtifactoryVersion version) {
+        this.version = version;
+    }
+
+    public ArtifactoryVersion getVersion() {
+        return version;
+    }
+
+    /**
+     * Artifactory 2.5.1+ has efficient checksum deployment (checks if the artifact already exists by its checksum).
+     */
+    public boolean isChecksumDeploySupported() {
+        return !version.isNotFound() && version.isAtLeast(CHECKSUM_DEPLOY_MIN_VERSION);
+    }
+
+    /**
+     * Artifactory 5.2.1+ accepts the build retention separately from the build-info.
+     */
+    public boolean isStandaloneBuildRetentionSupported() {
+        return !version.isNotFound() && version.isAtLeast(JFrogHttpClient.STANDALONE_BUILD_RETENTION_SUPPORTED_ARTIFACTORY_VERSION);
+    }
+
+    /**
+     * Multipart upload depends on the storage of Artifactory rather than on its version, so its support is probed
+     * on the first call.
+     *
+     * @param probe Probe of the multipart upload support, used if the support is not cached
+     */
+    public boolean isMultipartUploadSupported(BooleanSupplier probe) {
+        Boolean result = multipartUploadSupported;
+        if (result == null) {
+            synchronized (this) {
+                result = multipartUploadSupported;
+                if (result == null) {
+                    result = probe.getAsBoolean();
+                    multipartUploadSupported = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Probe of the server capabilities, executed when the capabilities of a client are requested for the first time.
+     */
+    public interface Probe {
+        ServerCapabilities probe() throws IOException;
+    }
+}
@@ -0,0 +1,344 @@
+package org.jfrog.build.client;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Schedules the uploads of all the builds in the JVM to one Artifactory instance.
+ * In Jenkins and in Gradle daemons, several builds run in the same JVM, each with its own deployment threads. The
+ * scheduler of the Artifactory URL limits the number of concurrent uploads and the upload bandwidth of all of them:
+ * <ul>
+ * <li>Uploads waiting for a permit are granted in turns between their owners (usually one client per build),
+ * so a build with many deployment threads does not starve the others.</li>
+ * <li>The concurrency limit adapts to the server load - It grows by one for every limit-worth of successful uploads,
+ * and is halved when Artifactory answers 429 (Too Many Requests) or 503 (Service Unavailable).
+ * New uploads are also held until the Retry-After period of the server passed.</li>
+ * <li>The uploaded bytes are throttled by a token bucket, if a bytes per second budget is configured.</li>
+ * </ul>
+ */
+public class UploadScheduler {
+    public static final int DEFAULT_MAX_CONCURRENCY = 32;
+    // Concurrent throttling responses of uploads started at the same time decrease the limit once
+    private static final long DECREASE_INTERVAL_MILLIS = 1000;
+    private static final long MAX_WAIT_MILLIS = 1000;
+    private static final Map<String, UploadScheduler> schedulers = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // The permits held by the uploading threads, so that only throttling responses of uploads decrease the limit
+    private final ThreadLocal<Permit> heldPermit = new ThreadLocal<>();
+    // The owners waiting for permits, in the order of their turns
+    private final LinkedHashMap<Object, Deque<Waiter>> waiters = new LinkedHashMap<>();
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private double concurrencyLimit = DEFAULT_MAX_CONCURRENCY;
+    private int active;
+    private long pausedUntil;
+    private long lastDecrease;
+
+    private final Object bucketLock = new Object();
+    private long maxBytesPerSecond;
+    private double availableBytes;
+    private long lastRefillNanos = System.nanoTime();
+
+    UploadScheduler() {
+    }
+
+    /**
+     * Returns the scheduler shared by all the clients of the Artifactory URL in this JVM.
+     *
+     * @param url - The Artifactory URL
+     */
+    public static UploadScheduler forUrl(String url) {
+        return schedulers.computeIfAbsent(StringUtils.removeEnd(StringUtils.defaultString(url), "/"), key -> new UploadScheduler());
+    }
+
+    /**
+     * Configure the global limits of the uploads to the Artifactory instance.
+     * The limits are shared by all the clients of the URL, so the last configuration applies to all of them.
+     *
+     * @param maxConcurrency    - Maximum number of concurrent uploads
+     * @param maxBytesPerSecond - Maximum upload bandwidth. 0 for unlimited
+     */
+    public void configure(int maxConcurrency, long maxBytesPerSecond) {
+        lock.lock();
+        try {
+            this.maxConcurrency = Math.max(maxConcurrency, 1);
+            concurrencyLimit = Math.min(concurrencyLimit, this.maxConcurrency);
+            if (concurrencyLimit < 1) {
+                concurrencyLimit = this.maxConcurrency;
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+        synchronized (bucketLock) {
+            this.maxBytesPerSecond = Math.max(maxBytesPerSecond, 0);
+            availableBytes = Math.min(availableBytes, this.maxBytesPerSecond);
+        }
+    }
+
+    public int getMaxConcurrency() {
+        lock.lock();
+        try {
+            return maxConcurrency;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaxBytesPerSecond() {
+        synchronized (bucketLock) {
+            return maxBytesPerSecond;
+        }
+    }
+
+    /**
+     * Returns the current, adaptive, concurrency limit.
+     */
+    public int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return (int) concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveUploads() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getWaitingUploads() {
+        lock.lock();
+        try {
+            return waiters.values().stream().mapToInt(Deque::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for an upload permit. Close the returned permit when the upload is done.
+     *
+     * @param owner - The uploading build or client. Waiting owners are granted permits in turns.
+     * @return the upload permit
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public Permit acquire(Object owner) throws InterruptedIOException {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && canStart()) {
+                active++;
+                return new Permit();
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            waiters.computeIfAbsent(owner, key -> new ArrayDeque<>()).add(waiter);
+            try {
+                while (!waiter.granted) {
+                    long pause = pausedUntil - System.currentTimeMillis();
+                    waiter.condition.await(pause > 0 ? Math.min(pause, MAX_WAIT_MILLIS) : MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    dispatch();
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    release();
+                } else {
+                    removeWaiter(owner, waiter);
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for an upload permit");
+            }
+            return new Permit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns true if the current thread holds an upload permit of this scheduler.
+     */
+    public boolean isUploading() {
+        return heldPermit.get() != null;
+    }
+
+    /**
+     * Report a successful upload - Additive increase of the concurrency limit.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Report a 429 or 503 response of the server - Multiplicative decrease of the concurrency limit.
+     *
+     * @param retryAfterMillis - Time to hold new uploads
+     */
+    public void onThrottled(long retryAfterMillis) {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (now - lastDecrease >= DECREASE_INTERVAL_MILLIS) {
+                concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+                lastDecrease = now;
+            }
+            pausedUntil = Math.max(pausedUntil, now + retryAfterMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the bandwidth budget allows sending the bytes.
+     *
+     * @param bytes - Number of bytes to send
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public void acquireBytes(long bytes) throws InterruptedIOException {
+        long waitNanos;
+        synchronized (bucketLock) {
+            if (maxBytesPerSecond <= 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            // Allow bursts of up to one second of the budget
+            availableBytes = Math.min(maxBytesPerSecond, availableBytes + (now - lastRefillNanos) * maxBytesPerSecond / 1e9);
+            lastRefillNanos = now;
+            availableBytes -= bytes;
+            waitNanos = availableBytes < 0 ? (long) (-availableBytes * 1e9 / maxBytesPerSecond) : 0;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while throttling the upload");
+            }
+        }
+    }
+
+    /**
+     * Returns the entity throttled by the bandwidth budget of the scheduler.
+     *
+     * @param entity - The uploaded entity
+     */
+    public HttpEntity throttle(HttpEntity entity) {
+        synchronized (bucketLock) {
+            if (maxBytesPerSecond <= 0) {
+                return entity;
+            }
+        }
+        return new HttpEntityWrapper(entity) {
+            @Override
+            public void writeTo(OutputStream outStream) throws IOException {
+                super.writeTo(new FilterOutputStream(outStream) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        acquireBytes(1);
+                        out.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        acquireBytes(len);
+                        out.write(b, off, len);
+                    }
+                });
+            }
+        };
+    }
+
+    private boolean canStart() {
+        return active < (int) concurrencyLimit && System.currentTimeMillis() >= pausedUntil;
+    }
+
+    /**
+     * Grant permits to the waiting owners in turns. Must be called while holding the lock.
+     */
+    private void dispatch() {
+        while (!waiters.isEmpty() && canStart()) {
+            Iterator<Map.Entry<Object, Deque<Waiter>>> iterator = waiters.entrySet().iterator();
+            Map.Entry<Object, Deque<Waiter>> next = iterator.next();
+            Waiter waiter = next.getValue().poll();
+            iterator.remove();
+            if (!next.getValue().isEmpty()) {
+                // Move the owner to the end of the line
+                waiters.put(next.getKey(), next.getValue());
+            }
+            waiter.granted = true;
+            active++;
+            waiter.condition.signal();
+        }
+    }
+
+    private void removeWaiter(Object owner, Waiter waiter) {
+        Deque<Waiter> ownerWaiters = waiters.get(owner);
+        if (ownerWaiters != null) {
+            ownerWaiters.remove(waiter);
+            if (ownerWaiters.isEmpty()) {
+                waiters.remove(owner);
+            }
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            active--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Waiter {
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * Upload permit. Closing the permit releases it to the next waiting upload.
+     */
+    public class Permit implements AutoCloseable {
+        private boolean released;
+
+        private Permit() {
+            heldPermit.set(this);
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                if (heldPermit.get() == this) {
+                    heldPermit.remove();
+                }
+                release();
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.jfrog.build.client.artifactoryXrayResponse;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import java.io.Serializable;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.List;
  */
 public class ArtifactoryXrayResponse implements Serializable {
     private final static long serialVersionUID = -1632171048760650595L;
+    private final static ObjectWriter writer = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL).writer();
     private Summary summary;
     private List<Alert> alerts = null;
     private List<License> licenses = null;
@@ -54,10 +56,8 @@ public class ArtifactoryXrayResponse implements Serializable {
 
     @Override
     public String toString() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         try {
-            return mapper.writeValueAsString(this);
+            return writer.writeValueAsString(this);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed while parsing JSON response", e);
         }
@@ -0,0 +1,93 @@
+package org.jfrog.build.client.metrics;
+
+import org.jfrog.build.api.util.Log;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Metrics SPI of the build-info client.
+ * Implementations receive the latency, transferred bytes, counters and gauges recorded by the http client, the
+ * services and the producer-consumer executor, and summarize them by {@link #report(Log)} at the end of a run.
+ * Implementations must be thread-safe, as they are called concurrently by the deployment threads.
+ */
+public interface ClientMetrics {
+    // Latency and bytes of full uploads
+    String UPLOAD = "upload";
+    // Latency of checksum deploys
+    String CHECKSUM_UPLOAD = "upload.checksum";
+    // Latency of http requests, including retries
+    String HTTP_REQUEST = "http.request";
+    String CHECKSUM_DEPLOY_HITS = "upload.checksum.hits";
+    // Bytes not transferred thanks to checksum deploys
+    String CHECKSUM_DEPLOY_SAVED = "upload.checksum.saved";
+    String FULL_UPLOADS = "upload.full";
+    // Uploads skipped by the deploy ledger, since the artifacts are unchanged
+    String LEDGER_SKIPS = "upload.ledger.skips";
+    String HTTP_RETRIES = "http.retries";
+    // Connections leased from the connection pool, one per http request
+    String CONNECTION_LEASES = "http.connection.leases";
+    // Number of leased and pending connections of the connection pool, sampled on report and when a client is closed
+    String CONNECTION_POOL_LEASED = "http.connection.pool.leased";
+    String CONNECTION_POOL_PENDING = "http.connection.pool.pending";
+    // Depth of the producer-consumer queue and the time producers and consumers waited on it
+    String QUEUE_DEPTH = "queue.depth";
+    String QUEUE_PUT_WAIT = "queue.put.wait";
+    String QUEUE_TAKE_WAIT = "queue.take.wait";
+
+    /**
+     * Record the duration of an operation.
+     *
+     * @param operation      - The operation name
+     * @param durationMillis - The duration in milliseconds
+     */
+    void recordLatency(String operation, long durationMillis);
+
+    /**
+     * Record bytes transferred by an operation.
+     *
+     * @param operation - The operation name
+     * @param bytes     - Number of bytes transferred
+     */
+    void recordBytes(String operation, long bytes);
+
+    /**
+     * Increment a counter by one.
+     *
+     * @param counter - The counter name
+     */
+    void increment(String counter);
+
+    /**
+     * Record a sample of a gauge, such as a queue depth.
+     *
+     * @param gauge - The gauge name
+     * @param value - The sampled value
+     */
+    void recordGauge(String gauge, long value);
+
+    /**
+     * Add a sampler of gauges which are too costly to sample on every operation, such as the connection pool stats.
+     * Samplers are called once, when the metrics are reported.
+     *
+     * @param sampler - Records the sampled gauges to the given metrics
+     */
+    default void addSampler(Consumer<ClientMetrics> sampler) {
+    }
+
+    /**
+     * Remove a sampler, for example when the sampled resource is closed.
+     *
+     * @param sampler - The sampler to remove
+     */
+    default void removeSampler(Consumer<ClientMetrics> sampler) {
+    }
+
+    /**
+     * Summarize the recorded metrics.
+     *
+     * @param log - The log to write the summary to
+     * @throws IOException in case of an error writing the report
+     */
+    void report(Log log) throws IOException;
+}
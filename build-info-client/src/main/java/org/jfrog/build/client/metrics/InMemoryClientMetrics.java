@@ -0,0 +1,156 @@
+package org.jfrog.build.client.metrics;
+
+import org.jfrog.build.api.util.Log;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Metrics implementation, which aggregates the recorded metrics in memory and logs a summary on {@link #report(Log)}.
+ */
+public class InMemoryClientMetrics implements ClientMetrics {
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> bytes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Set<Consumer<ClientMetrics>> samplers = ConcurrentHashMap.newKeySet();
+    private final long startTime = System.currentTimeMillis();
+
+    @Override
+    public void recordLatency(String operation, long durationMillis) {
+        getLatency(operation).record(durationMillis);
+    }
+
+    @Override
+    public void recordBytes(String operation, long bytes) {
+        this.bytes.computeIfAbsent(operation, key -> new LongAdder()).add(bytes);
+    }
+
+    @Override
+    public void increment(String counter) {
+        counters.computeIfAbsent(counter, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void recordGauge(String gauge, long value) {
+        gauges.computeIfAbsent(gauge, key -> new Gauge()).record(value);
+    }
+
+    @Override
+    public void addSampler(Consumer<ClientMetrics> sampler) {
+        samplers.add(sampler);
+    }
+
+    @Override
+    public void removeSampler(Consumer<ClientMetrics> sampler) {
+        samplers.remove(sampler);
+    }
+
+    public LatencyHistogram getLatency(String operation) {
+        return latencies.computeIfAbsent(operation, key -> new LatencyHistogram());
+    }
+
+    public long getBytes(String operation) {
+        LongAdder adder = bytes.get(operation);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public long getCounter(String counter) {
+        LongAdder adder = counters.get(counter);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public long getGaugeMax(String gauge) {
+        Gauge stats = gauges.get(gauge);
+        return stats == null ? 0 : stats.max.get();
+    }
+
+    /**
+     * Returns a snapshot of the recorded metrics, ordered by metric name.
+     *
+     * @return map of the metric groups - latency, bytes, counters and gauges
+     */
+    public Map<String, Object> getSnapshot() {
+        long elapsedMillis = Math.max(System.currentTimeMillis() - startTime, 1);
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("elapsedMillis", elapsedMillis);
+
+        Map<String, Object> latencySnapshot = new TreeMap<>();
+        latencies.forEach((operation, histogram) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", histogram.getCount());
+            values.put("meanMillis", histogram.getMeanMillis());
+            values.put("p50Millis", histogram.getPercentileMillis(50));
+            values.put("p90Millis", histogram.getPercentileMillis(90));
+            values.put("p99Millis", histogram.getPercentileMillis(99));
+            values.put("maxMillis", histogram.getMaxMillis());
+            latencySnapshot.put(operation, values);
+        });
+        snapshot.put("latency", latencySnapshot);
+
+        Map<String, Object> bytesSnapshot = new TreeMap<>();
+        bytes.forEach((operation, adder) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            long sum = adder.sum();
+            values.put("bytes", sum);
+            values.put("bytesPerSecond", sum * 1000 / elapsedMillis);
+            bytesSnapshot.put(operation, values);
+        });
+        snapshot.put("bytes", bytesSnapshot);
+
+        Map<String, Object> countersSnapshot = new TreeMap<>();
+        counters.forEach((counter, adder) -> countersSnapshot.put(counter, adder.sum()));
+        snapshot.put("counters", countersSnapshot);
+
+        Map<String, Object> gaugesSnapshot = new TreeMap<>();
+        gauges.forEach((gauge, stats) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("samples", stats.samples.sum());
+            values.put("mean", stats.getMean());
+            values.put("max", stats.max.get());
+            gaugesSnapshot.put(gauge, values);
+        });
+        snapshot.put("gauges", gaugesSnapshot);
+        return snapshot;
+    }
+
+    @Override
+    public void report(Log log) throws IOException {
+        samplers.forEach(sampler -> sampler.accept(this));
+        long elapsedMillis = Math.max(System.currentTimeMillis() - startTime, 1);
+        log.info("Artifactory client metrics summary (" + elapsedMillis + "ms):");
+        new TreeMap<>(latencies).forEach((operation, histogram) -> log.info(String.format(
+                "  %s: count=%d, mean=%.1fms, p50=%dms, p90=%dms, p99=%dms, max=%dms", operation, histogram.getCount(),
+                histogram.getMeanMillis(), histogram.getPercentileMillis(50), histogram.getPercentileMillis(90),
+                histogram.getPercentileMillis(99), histogram.getMaxMillis())));
+        new TreeMap<>(bytes).forEach((operation, adder) -> log.info(String.format(
+                "  %s: bytes=%d, throughput=%d bytes/sec", operation, adder.sum(), adder.sum() * 1000 / elapsedMillis)));
+        new TreeMap<>(counters).forEach((counter, adder) -> log.info("  " + counter + ": " + adder.sum()));
+        new TreeMap<>(gauges).forEach((gauge, stats) -> log.info(String.format(
+                "  %s: mean=%.1f, max=%d", gauge, stats.getMean(), stats.max.get())));
+    }
+
+    private static class Gauge {
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        private void record(long value) {
+            samples.increment();
+            total.add(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        private double getMean() {
+            long count = samples.sum();
+            return count == 0 ? 0 : (double) total.sum() / count;
+        }
+    }
+}
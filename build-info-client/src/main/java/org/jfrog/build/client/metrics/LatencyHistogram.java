@@ -0,0 +1,71 @@
+package org.jfrog.build.client.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two millisecond buckets.
+ * Bucket 0 holds durations below 1ms, and bucket i holds durations in the range [2^(i-1), 2^i) milliseconds.
+ * Percentiles are approximated by the upper bound of the bucket they fall in.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long durationMillis) {
+        long duration = Math.max(durationMillis, 0);
+        buckets.incrementAndGet(bucketOf(duration));
+        count.increment();
+        total.add(duration);
+        max.accumulateAndGet(duration, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalMillis() {
+        return total.sum();
+    }
+
+    public long getMaxMillis() {
+        return max.get();
+    }
+
+    public double getMeanMillis() {
+        long samples = getCount();
+        return samples == 0 ? 0 : (double) getTotalMillis() / samples;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the recorded durations.
+     *
+     * @param percentile - Percentile between 0 and 100
+     * @return the percentile upper bound in milliseconds, or 0 if nothing was recorded
+     */
+    public long getPercentileMillis(double percentile) {
+        long samples = getCount();
+        if (samples == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(samples * percentile / 100);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated += buckets.get(i);
+            if (accumulated >= threshold) {
+                return Math.min(i == 0 ? 1 : 1L << i, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    private static int bucketOf(long durationMillis) {
+        int bucket = 64 - Long.numberOfLeadingZeros(durationMillis);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
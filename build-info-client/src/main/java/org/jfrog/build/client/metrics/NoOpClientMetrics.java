@@ -0,0 +1,29 @@
+package org.jfrog.build.client.metrics;
+
+import org.jfrog.build.api.util.Log;
+
+/**
+ * Default metrics implementation, which ignores all recorded metrics.
+ */
+public class NoOpClientMetrics implements ClientMetrics {
+
+    @Override
+    public void recordLatency(String operation, long durationMillis) {
+    }
+
+    @Override
+    public void recordBytes(String operation, long bytes) {
+    }
+
+    @Override
+    public void increment(String counter) {
+    }
+
+    @Override
+    public void recordGauge(String gauge, long value) {
+    }
+
+    @Override
+    public void report(Log log) {
+    }
+}
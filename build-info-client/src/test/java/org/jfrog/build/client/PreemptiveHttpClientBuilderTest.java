@@ -5,10 +5,16 @@ import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.metrics.ClientMetrics;
+import org.jfrog.build.client.metrics.InMemoryClientMetrics;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.util.Map;
+
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 @Test
 public class PreemptiveHttpClientBuilderTest {
@@ -42,6 +48,20 @@ public class PreemptiveHttpClientBuilderTest {
         assertEquals(portCredentials, new UsernamePasswordCredentials(proxyUser, proxyPassword));
     }
 
+    @SuppressWarnings("unchecked")
+    public void testSamplePoolOnClose() throws IOException {
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        PreemptiveHttpClient client = new PreemptiveHttpClientBuilder().setLog(new NullLog()).setMetrics(metrics).build();
+        client.close();
+
+        // The metrics are reported after the client is closed
+        metrics.report(new NullLog());
+        Map<String, Object> gauges = (Map<String, Object>) metrics.getSnapshot().get("gauges");
+        assertTrue(gauges.containsKey(ClientMetrics.CONNECTION_POOL_LEASED));
+        assertTrue(gauges.containsKey(ClientMetrics.CONNECTION_POOL_PENDING));
+        assertEquals(((Map<String, Object>) gauges.get(ClientMetrics.CONNECTION_POOL_LEASED)).get("samples"), 1L);
+    }
+
     private ProxyConfiguration createProxyConfiguration(String host, int port, String proxyUser, String proxyPassword) {
         ProxyConfiguration proxyConfiguration = new ProxyConfiguration();
         proxyConfiguration.host = host;
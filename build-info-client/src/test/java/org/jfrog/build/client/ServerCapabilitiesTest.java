@@ -0,0 +1,51 @@
+package org.jfrog.build.client;
+
+import org.jfrog.build.api.util.NullLog;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the server capabilities and their cache in the JFrogHttpClient
+ */
+@Test
+public class ServerCapabilitiesTest {
+
+    public void testCapabilities() {
+        ServerCapabilities capabilities = new ServerCapabilities(new ArtifactoryVersion("7.20.0"));
+        assertTrue(capabilities.isChecksumDeploySupported());
+        assertTrue(capabilities.isStandaloneBuildRetentionSupported());
+
+        capabilities = new ServerCapabilities(new ArtifactoryVersion("2.5.0"));
+        assertFalse(capabilities.isChecksumDeploySupported());
+        assertFalse(capabilities.isStandaloneBuildRetentionSupported());
+
+        capabilities = new ServerCapabilities(ArtifactoryVersion.NOT_FOUND);
+        assertFalse(capabilities.isChecksumDeploySupported());
+    }
+
+    public void testCapabilitiesCache() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        ServerCapabilities.Probe probe = () -> {
+            probes.incrementAndGet();
+            return new ServerCapabilities(new ArtifactoryVersion("7.20.0"));
+        };
+        try (JFrogHttpClient client = new JFrogHttpClient("http://localhost:8081/artifactory", "token", new NullLog())) {
+            IntStream.range(0, 100).parallel().forEach(i -> {
+                try {
+                    assertEquals(client.getCapabilities(probe).getVersion().toString(), "7.20.0");
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            assertEquals(probes.get(), 1);
+
+            client.refreshCapabilities();
+            client.getCapabilities(probe);
+            assertEquals(probes.get(), 2);
+        }
+    }
+}
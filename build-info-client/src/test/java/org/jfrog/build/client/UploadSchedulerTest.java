@@ -0,0 +1,117 @@
+package org.jfrog.build.client;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the fair sharing and the adaptive throttling of the upload scheduler
+ */
+@Test
+public class UploadSchedulerTest {
+
+    public void testSharedPerUrl() {
+        assertSame(UploadScheduler.forUrl("http://localhost:8081/artifactory/"), UploadScheduler.forUrl("http://localhost:8081/artifactory"));
+        assertNotSame(UploadScheduler.forUrl("http://localhost:8081/artifactory"), UploadScheduler.forUrl("http://localhost:8082/artifactory"));
+    }
+
+    public void testFairShare() throws Exception {
+        UploadScheduler scheduler = new UploadScheduler();
+        scheduler.configure(1, 0);
+        List<String> grants = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        UploadScheduler.Permit permit = scheduler.acquire("build-a");
+        // Build "a" queues three uploads before build "b" queues one
+        for (String upload : Arrays.asList("a1", "a2", "a3", "b1")) {
+            Thread thread = new Thread(() -> {
+                try (UploadScheduler.Permit ignored = scheduler.acquire("build-" + upload.charAt(0))) {
+                    grants.add(upload);
+                } catch (Exception e) {
+                    grants.add(e.getMessage());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+            while (scheduler.getWaitingUploads() < threads.size()) {
+                Thread.sleep(5);
+            }
+        }
+        permit.close();
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+        assertEquals(grants, Arrays.asList("a1", "b1", "a2", "a3"));
+        assertEquals(scheduler.getActiveUploads(), 0);
+    }
+
+    public void testAdaptiveConcurrency() throws Exception {
+        UploadScheduler scheduler = new UploadScheduler();
+        scheduler.configure(8, 0);
+        assertEquals(scheduler.getConcurrencyLimit(), 8);
+
+        // Multiplicative decrease, once for throttling responses received together
+        scheduler.onThrottled(0);
+        scheduler.onThrottled(0);
+        assertEquals(scheduler.getConcurrencyLimit(), 4);
+
+        // Additive increase - One more concurrent upload after about a limit-worth of successful uploads
+        for (int i = 0; i < 5; i++) {
+            scheduler.onSuccess();
+        }
+        assertEquals(scheduler.getConcurrencyLimit(), 5);
+        for (int i = 0; i < 100; i++) {
+            scheduler.onSuccess();
+        }
+        assertEquals(scheduler.getConcurrencyLimit(), 8);
+    }
+
+    public void testUploadingThread() throws Exception {
+        UploadScheduler scheduler = new UploadScheduler();
+        assertFalse(scheduler.isUploading());
+        try (UploadScheduler.Permit ignored = scheduler.acquire("build")) {
+            assertTrue(scheduler.isUploading());
+            // Requests of other threads, such as AQL searches, are not uploads
+            boolean[] otherThreadUploading = {true};
+            Thread thread = new Thread(() -> otherThreadUploading[0] = scheduler.isUploading());
+            thread.start();
+            thread.join(10000);
+            assertFalse(otherThreadUploading[0]);
+        }
+        assertFalse(scheduler.isUploading());
+    }
+
+    public void testRetryAfterHoldsUploads() throws Exception {
+        UploadScheduler scheduler = new UploadScheduler();
+        scheduler.onThrottled(300);
+        long start = System.currentTimeMillis();
+        try (UploadScheduler.Permit ignored = scheduler.acquire("build")) {
+            assertTrue(System.currentTimeMillis() - start >= 250);
+        }
+    }
+
+    public void testBandwidthBudget() throws Exception {
+        UploadScheduler scheduler = new UploadScheduler();
+        scheduler.configure(1, 100 * 1024);
+        long start = System.currentTimeMillis();
+        // The bucket starts empty, so 50 KB take half a second
+        scheduler.acquireBytes(50 * 1024);
+        assertTrue(System.currentTimeMillis() - start >= 400);
+    }
+
+    public void testThrottlingInterval() {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 429, "Too Many Requests");
+        assertEquals(PreemptiveHttpClient.getThrottlingInterval(response, 1), 1000);
+        assertEquals(PreemptiveHttpClient.getThrottlingInterval(response, 3), 4000);
+        assertEquals(PreemptiveHttpClient.getThrottlingInterval(response, 20), 60000);
+        response.addHeader("Retry-After", "7");
+        assertEquals(PreemptiveHttpClient.getThrottlingInterval(response, 1), 7000);
+    }
+}
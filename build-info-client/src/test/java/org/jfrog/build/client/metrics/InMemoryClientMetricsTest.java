@@ -0,0 +1,71 @@
+package org.jfrog.build.client.metrics;
+
+import org.jfrog.build.api.util.NullLog;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the aggregation of the client metrics
+ */
+@Test
+public class InMemoryClientMetricsTest {
+
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 100).forEach(histogram::record);
+
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getMaxMillis(), 100);
+        assertEquals(histogram.getMeanMillis(), 50.5);
+        // Percentiles are rounded up to the next power of two
+        assertEquals(histogram.getPercentileMillis(50), 64);
+        assertEquals(histogram.getPercentileMillis(99), 100);
+        assertEquals(new LatencyHistogram().getPercentileMillis(50), 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testConcurrentRecording() throws IOException {
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            metrics.increment(ClientMetrics.FULL_UPLOADS);
+            metrics.recordBytes(ClientMetrics.UPLOAD, 10);
+            metrics.recordLatency(ClientMetrics.UPLOAD, i % 10);
+            metrics.recordGauge(ClientMetrics.QUEUE_DEPTH, i % 5);
+        });
+
+        assertEquals(metrics.getCounter(ClientMetrics.FULL_UPLOADS), 1000);
+        assertEquals(metrics.getCounter(ClientMetrics.CHECKSUM_DEPLOY_HITS), 0);
+        assertEquals(metrics.getBytes(ClientMetrics.UPLOAD), 10000);
+        assertEquals(metrics.getLatency(ClientMetrics.UPLOAD).getCount(), 1000);
+        assertEquals(metrics.getGaugeMax(ClientMetrics.QUEUE_DEPTH), 4);
+
+        Map<String, Object> snapshot = metrics.getSnapshot();
+        assertEquals(((Map<String, Object>) snapshot.get("counters")).get(ClientMetrics.FULL_UPLOADS), 1000L);
+        assertTrue(((Map<String, Object>) snapshot.get("latency")).containsKey(ClientMetrics.UPLOAD));
+        metrics.report(new NullLog());
+    }
+
+    public void testSampleOnReport() throws IOException {
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        Consumer<ClientMetrics> sampler = sampledMetrics -> sampledMetrics.recordGauge(ClientMetrics.CONNECTION_POOL_LEASED, 3);
+        metrics.addSampler(sampler);
+        assertEquals(metrics.getGaugeMax(ClientMetrics.CONNECTION_POOL_LEASED), 0);
+
+        metrics.report(new NullLog());
+        assertEquals(metrics.getGaugeMax(ClientMetrics.CONNECTION_POOL_LEASED), 3);
+
+        // Removed samplers are not called
+        metrics.removeSampler(sampler);
+        metrics.addSampler(sampledMetrics -> sampledMetrics.recordGauge(ClientMetrics.CONNECTION_POOL_PENDING, 1));
+        metrics.report(new NullLog());
+        assertEquals(metrics.getGaugeMax(ClientMetrics.CONNECTION_POOL_PENDING), 1);
+        assertEquals(metrics.getSnapshot().get("gauges").toString(), "{http.connection.pool.leased={samples=1, mean=3.0, max=3}, http.connection.pool.pending={samples=1, mean=1.0, max=1}}");
+    }
+}
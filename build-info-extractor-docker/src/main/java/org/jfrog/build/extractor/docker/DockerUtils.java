@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -12,14 +13,12 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.jfrog.build.extractor.BuildInfoExtractorUtils.createMapper;
-
 public class DockerUtils {
     /**
      * Get config digest from manifest (image id).
      */
     public static String getConfigDigest(String manifest) throws IOException {
-        JsonNode manifestTree = createMapper().readTree(manifest);
+        JsonNode manifestTree = JsonMappers.getMapper().readTree(manifest);
         JsonNode schemaVersion = manifestTree.get("schemaVersion");
         if (schemaVersion == null) {
             throw new IllegalStateException("Could not find 'schemaVersion' in manifest");
@@ -51,7 +50,7 @@ public class DockerUtils {
         if (StringUtils.isAnyBlank(os, arch)) {
             return StringUtils.EMPTY;
         }
-        JsonNode fatManifestTree = createMapper().readTree(manifest);
+        JsonNode fatManifestTree = JsonMappers.getMapper().readTree(manifest);
         JsonNode manifests = fatManifestTree.get("manifests");
         if (manifests == null) {
             throw new IllegalStateException("Could not find 'manifests' in fat-manifest");
@@ -80,7 +79,7 @@ public class DockerUtils {
      */
     public static List<String> getLayersDigests(String manifestContent) throws IOException {
         List<String> dockerLayersDependencies = new ArrayList<>();
-        JsonNode manifest = createMapper().readTree(manifestContent);
+        JsonNode manifest = JsonMappers.getMapper().readTree(manifestContent);
         JsonNode schemaVersion = manifest.get("schemaVersion");
         if (schemaVersion == null) {
             throw new IllegalStateException("Could not find 'schemaVersion' in manifest");
@@ -178,7 +177,7 @@ public class DockerUtils {
      * Returns number of dependencies layers in the image.
      */
     public static int getNumberOfDependentLayers(String imageContent) throws IOException {
-        JsonNode history = createMapper().readTree(imageContent).get("history");
+        JsonNode history = JsonMappers.getMapper().readTree(imageContent).get("history");
         if (history == null) {
             throw new IllegalStateException("Could not find 'history' tag");
         }
@@ -11,12 +11,15 @@ import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryManagerBuilder;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 import org.jfrog.build.extractor.clientConfiguration.util.PathsUtils;
 import org.jfrog.build.extractor.clientConfiguration.util.spec.UploadSpecHelper;
 import org.jfrog.build.extractor.docker.DockerUtils;
 import org.jfrog.build.extractor.docker.types.DockerImage;
 import org.jfrog.build.extractor.docker.types.DockerLayer;
 import org.jfrog.build.extractor.docker.types.DockerLayers;
+import org.jfrog.build.extractor.docker.types.DockerLayersResolver;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
 import org.jfrog.build.extractor.packageManager.PackageManagerExtractor;
 
 import java.io.File;
@@ -24,13 +27,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static org.jfrog.build.extractor.BuildInfoExtractorUtils.createMapper;
+import static org.jfrog.build.extractor.ModuleParallelDeployHelper.DEFAULT_DEPLOYMENT_THREADS;
 import static org.jfrog.build.extractor.packageManager.PackageManagerUtils.createArtifactoryClientConfiguration;
 
 public class BuildDockerCreator extends PackageManagerExtractor {
@@ -40,6 +42,7 @@ public class BuildDockerCreator extends PackageManagerExtractor {
     private final String sourceRepo;
     private final String imageFile;
     private final Log logger;
+    private final int threads;
 
     enum ImageFileType {
         KANIKO,
@@ -56,6 +59,21 @@ public class BuildDockerCreator extends PackageManagerExtractor {
      */
     public BuildDockerCreator(ArtifactoryManagerBuilder artifactoryManagerBuilder, String imageFile, ImageFileType imageFileType,
                               ArrayListMultimap<String, String> artifactProperties, String sourceRepo, Log logger) {
+        this(artifactoryManagerBuilder, imageFile, imageFileType, artifactProperties, sourceRepo, logger, DEFAULT_DEPLOYMENT_THREADS);
+    }
+
+    /**
+     * @param artifactoryManagerBuilder - Artifactory manager builder.
+     * @param sourceRepo                - The repository it'll resolve from.
+     * @param imageFileType             - The input imageFile format - JIB or Kaniko
+     * @param imageFile                 - Image file to add.
+     * @param logger                    - The logger.
+     * @param artifactProperties        - Properties to be attached to the docker layers deployed to Artifactory.
+     * @param threads                   - Number of images processed concurrently.
+     */
+    public BuildDockerCreator(ArtifactoryManagerBuilder artifactoryManagerBuilder, String imageFile, ImageFileType imageFileType,
+                              ArrayListMultimap<String, String> artifactProperties, String sourceRepo, Log logger, int threads) {
+        this.threads = Math.max(threads, 1);
         this.artifactoryManagerBuilder = artifactoryManagerBuilder;
         this.artifactProperties = artifactProperties;
         this.sourceRepo = sourceRepo;
@@ -93,7 +111,8 @@ public class BuildDockerCreator extends PackageManagerExtractor {
                     imageFileType,
                     ArrayListMultimap.create(clientConfiguration.publisher.getMatrixParams().asMultimap()),
                     clientConfiguration.publisher.getRepoKey(),
-                    clientConfiguration.getLog());
+                    clientConfiguration.getLog(),
+                    clientConfiguration.publisher.getPublishForkCount());
 
             // Exe build-docker-create & collect build info.
             dockerBuildCreate.executeAndSaveBuildInfo(clientConfiguration);
@@ -107,22 +126,27 @@ public class BuildDockerCreator extends PackageManagerExtractor {
     public Build execute() {
         logger.info("Generating build info for: " + imageFile);
         try {
-            List<Module> modules = new ArrayList<>();
             List<ImageFileWithDigest> imageFilesWithDigest = imageFileType == ImageFileType.KANIKO ?
                     getKanikoImageFileWithDigests(imageFile) : getJibImageFilesWithDigests(imageFile);
             if (imageFilesWithDigest.isEmpty()) {
                 throw new RuntimeException("No image files found at path '" + imageFile + "'");
             }
-            for (ImageFileWithDigest imageFileWithDigest : imageFilesWithDigest) {
-                DockerImage image = new DockerImage("", imageFileWithDigest.imageName, imageFileWithDigest.manifestSha256, sourceRepo, artifactoryManagerBuilder, "", "");
-                Module module = image.generateBuildInfoModule(logger, DockerUtils.CommandType.Push);
-                if (module.getArtifacts() == null || module.getArtifacts().size() == 0) {
-                    logger.warn("Could not find docker image: " + imageFileWithDigest.imageName + " in Artifactory.");
-                } else {
-                    setImageLayersProps(image.getLayers(), artifactProperties, artifactoryManagerBuilder);
+            List<Module> modules;
+            try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
+                DockerLayersResolver layersResolver = new DockerLayersResolver(artifactoryManager);
+                // Search the layers of all the images in the source repository at once.
+                layersResolver.prefetch(sourceRepo, imageFilesWithDigest.stream()
+                        .map(imageFileWithDigest -> DockerUtils.getImagePath(imageFileWithDigest.imageName))
+                        .collect(Collectors.toList()), logger);
+                List<DockerImage> images = new ArrayList<>();
+                List<Callable<Module>> tasks = new ArrayList<>();
+                for (ImageFileWithDigest imageFileWithDigest : imageFilesWithDigest) {
+                    DockerImage image = new DockerImage("", imageFileWithDigest.imageName, imageFileWithDigest.manifestSha256, sourceRepo, artifactoryManagerBuilder, "", "");
+                    images.add(image);
+                    tasks.add(() -> createModule(image, imageFileWithDigest.imageName, layersResolver));
                 }
-                modules.add(module);
-                logger.info("Successfully created build info for image: " + imageFileWithDigest.imageName);
+                modules = ExecutorFactory.invokeAll("docker-build-info", threads, tasks);
+                setImageLayersProps(images, modules, artifactProperties, artifactoryManager);
             }
             Build build = new Build();
             build.setModules(modules);
@@ -133,18 +157,40 @@ public class BuildDockerCreator extends PackageManagerExtractor {
         }
     }
 
+    private Module createModule(DockerImage image, String imageName, DockerLayersResolver layersResolver) throws IOException, InterruptedException {
+        Module module = image.generateBuildInfoModule(layersResolver, logger, DockerUtils.CommandType.Push);
+        if (module.getArtifacts() == null || module.getArtifacts().size() == 0) {
+            logger.warn("Could not find docker image: " + imageName + " in Artifactory.");
+        }
+        logger.info("Successfully created build info for image: " + imageName);
+        return module;
+    }
+
     /**
-     * Update each layer's properties with artifactProperties.
+     * Update the properties of the layers of the found images with artifactProperties.
+     * Layers shared by several images, such as base image layers, are updated once.
      */
-    private void setImageLayersProps(DockerLayers layers, ArrayListMultimap<String, String> artifactProperties, ArtifactoryManagerBuilder artifactoryManagerBuilder) throws IOException {
-        if (layers == null) {
-            return;
-        }
-        try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
+    private void setImageLayersProps(List<DockerImage> images, List<Module> modules, ArrayListMultimap<String, String> artifactProperties,
+                                     ArtifactoryManager artifactoryManager) throws IOException, InterruptedException {
+        Set<String> layerPaths = new LinkedHashSet<>();
+        for (int i = 0; i < images.size(); i++) {
+            Module module = modules.get(i);
+            DockerLayers layers = images.get(i).getLayers();
+            if (layers == null || module.getArtifacts() == null || module.getArtifacts().size() == 0) {
+                continue;
+            }
             for (DockerLayer layer : layers.getLayers()) {
-                artifactoryManager.setProperties(layer.getFullPath(), artifactProperties, true);
+                layerPaths.add(layer.getFullPath());
             }
         }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (String layerPath : layerPaths) {
+            tasks.add(() -> {
+                artifactoryManager.setProperties(layerPath, artifactProperties, true);
+                return null;
+            });
+        }
+        ExecutorFactory.invokeAll("docker-build-info", threads, tasks);
     }
 
     /**
@@ -180,7 +226,7 @@ public class BuildDockerCreator extends PackageManagerExtractor {
      * @return the image file with names and digests extracted.
      */
     private List<ImageFileWithDigest> getJibImageFilesWithDigests(String jibImageFiles) {
-        ObjectMapper mapper = createMapper();
+        ObjectMapper mapper = JsonMappers.getMapper();
         String baseDir = UploadSpecHelper.getWildcardBaseDir(new File(""), jibImageFiles);
         String newPattern = UploadSpecHelper.prepareWildcardPattern(new File(""), jibImageFiles, baseDir);
         String regexPath = PathsUtils.pathToRegExp(newPattern);
@@ -12,25 +12,25 @@ import org.jfrog.build.api.builder.ModuleBuilder;
 import org.jfrog.build.api.builder.ModuleType;
 import org.jfrog.build.api.search.AqlSearchResult;
 import org.jfrog.build.api.util.Log;
-import org.jfrog.build.client.ArtifactoryVersion;
 import org.jfrog.build.client.DownloadResponse;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryManagerBuilder;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.docker.DockerUtils;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 import static org.jfrog.build.client.DownloadResponse.SHA256_HEADER_NAME;
 
 public class DockerImage implements Serializable {
+    private static final int MARKER_LAYERS_DOWNLOAD_THREADS = 4;
     private String imageId;
     private final String imageTag;
     private final String targetRepo;
-    // Properties to be attached to the docker layers deployed to Artifactory.
-    private final ArtifactoryVersion VIRTUAL_REPOS_SUPPORTED_VERSION = new ArtifactoryVersion("4.8.1");
     // List of properties added to the build-info generated for this docker image.
     private final Properties buildInfoModuleProps = new Properties();
     private final String os;
@@ -60,8 +60,8 @@ public class DockerImage implements Serializable {
      * Set the manifest and imagePath in case of the correct manifest.
      * Also, if manifestSha256 is provided, set the actual imageId in case of the correct manifest.
      */
-    private void checkAndSetManifestAndImagePathCandidates(String candidateManifestPath, ArtifactoryManager artifactoryManager, Log logger) throws IOException {
-        Pair<DownloadResponse, String> candidateDetails = getManifestFromArtifactory(artifactoryManager, candidateManifestPath, logger);
+    private void checkAndSetManifestAndImagePathCandidates(String candidateManifestPath, DockerLayersResolver layersResolver, Log logger) throws IOException {
+        Pair<DownloadResponse, String> candidateDetails = getManifestFromArtifactory(layersResolver.getArtifactoryManager(), candidateManifestPath, logger);
         DownloadResponse downloadResponse = candidateDetails.getLeft();
         String manifestContent = downloadResponse.getContent();
         String manifestPath = candidateDetails.getRight();
@@ -80,7 +80,7 @@ public class DockerImage implements Serializable {
         }
         manifest = manifestContent;
         imagePath = manifestPath;
-        loadLayers(manifestPath);
+        loadLayers(layersResolver, manifestPath);
     }
 
     /**
@@ -144,15 +144,14 @@ public class DockerImage implements Serializable {
         moduleBuilder.properties(buildInfoModuleProps);
     }
 
-    private DockerLayers createLayers(ArtifactoryManager artifactoryManager, String aql) throws IOException {
-        AqlSearchResult result = artifactoryManager.searchArtifactsByAql(aql);
+    private DockerLayers createLayers(List<AqlSearchResult.SearchEntry> entries, String manifestPath) {
         DockerLayers layers = new DockerLayers();
-        for (AqlSearchResult.SearchEntry entry : result.getResults()) {
+        for (AqlSearchResult.SearchEntry entry : entries) {
             DockerLayer layer = new DockerLayer(entry);
             layers.addLayer(layer);
         }
         if (layers.getLayers().size() == 0) {
-            throw new IllegalStateException(String.format("No docker layers found in Artifactory using AQL: %s after filtering layers in repos other than %s and with path other than %s", aql, targetRepo, imagePath));
+            throw new IllegalStateException(String.format("No docker layers found in Artifactory in path %s after filtering layers in repos other than %s and with path other than %s", manifestPath, targetRepo, imagePath));
         }
         return layers;
     }
@@ -206,84 +205,90 @@ public class DockerImage implements Serializable {
         moduleBuilder.dependencies(new ArrayList<>(dependencies));
     }
 
-    /**
-     * Prepare AQL query to get all the manifest layers from Artifactory.
-     * Needed for build-info sha1/md5 checksum for each artifact and dependency.
-     */
-    private String getAqlQuery(boolean includeVirtualRepos, String Repo, String manifestPath) {
-        StringBuilder aqlRequestForDockerSha = new StringBuilder("items.find({")
-                .append("\"path\":\"").append(manifestPath).append("\",")
-                .append("\"repo\":\"").append(Repo).append("\"})");
-        if (includeVirtualRepos) {
-            aqlRequestForDockerSha.append(".include(\"name\",\"repo\",\"path\",\"actual_sha1\",\"virtual_repos\")");
-        } else {
-            aqlRequestForDockerSha.append(".include(\"name\",\"repo\",\"path\",\"actual_sha1\")");
+    public Module generateBuildInfoModule(Log logger, DockerUtils.CommandType cmdType) throws
+            IOException, InterruptedException {
+        try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
+            return generateBuildInfoModule(new DockerLayersResolver(artifactoryManager), logger, cmdType);
         }
-        return aqlRequestForDockerSha.toString();
     }
 
-    public Module generateBuildInfoModule(Log logger, DockerUtils.CommandType cmdType) throws
+    /**
+     * Generate the build-info module of the image, using the Artifactory manager of the given layers resolver.
+     * Allows generating the modules of several images concurrently over one shared Artifactory manager.
+     *
+     * @param layersResolver - The layers resolver
+     * @param logger         - The logger
+     * @param cmdType        - Push or pull
+     * @return the build-info module of the image
+     */
+    public Module generateBuildInfoModule(DockerLayersResolver layersResolver, Log logger, DockerUtils.CommandType cmdType) throws
             IOException, InterruptedException {
-        try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
-            ModuleBuilder moduleBuilder = new ModuleBuilder()
-                    .type(ModuleType.DOCKER)
-                    .id(imageTag.substring(imageTag.indexOf("/") + 1))
-                    .repository(targetRepo);
-            try {
-                findAndSetManifestFromArtifactory(artifactoryManager, logger, cmdType);
-            } catch (IOException e) {
-                // The manifest could not be found in Artifactory.
-                // Yet, we do not fail the build, but return an empty build-info instead.
-                // The reason for not failing build is that there's a chance that the image was replaced
-                // with another image, deployed to the same repo path.
-                // This can happen if two parallel jobs build the same image. In that case, the build-info
-                // for this build will be empty.
-                logger.error("The manifest could not be fetched from Artifactory.");
-                return moduleBuilder.build();
-            }
-            logger.info("Fetching details of published docker layers from Artifactory...");
-            if (cmdType == DockerUtils.CommandType.Push) {
-                setDependenciesAndArtifacts(moduleBuilder, artifactoryManager);
-            } else {
-                setDependencies(moduleBuilder);
-            }
-            setBuildInfoModuleProps(moduleBuilder);
+        ArtifactoryManager artifactoryManager = layersResolver.getArtifactoryManager();
+        ModuleBuilder moduleBuilder = new ModuleBuilder()
+                .type(ModuleType.DOCKER)
+                .id(imageTag.substring(imageTag.indexOf("/") + 1))
+                .repository(targetRepo);
+        try {
+            findAndSetManifestFromArtifactory(layersResolver, logger, cmdType);
+        } catch (IOException e) {
+            // The manifest could not be found in Artifactory.
+            // Yet, we do not fail the build, but return an empty build-info instead.
+            // The reason for not failing build is that there's a chance that the image was replaced
+            // with another image, deployed to the same repo path.
+            // This can happen if two parallel jobs build the same image. In that case, the build-info
+            // for this build will be empty.
+            logger.error("The manifest could not be fetched from Artifactory.");
             return moduleBuilder.build();
         }
+        logger.info("Fetching details of published docker layers from Artifactory...");
+        if (cmdType == DockerUtils.CommandType.Push) {
+            setDependenciesAndArtifacts(moduleBuilder, artifactoryManager);
+        } else {
+            setDependencies(moduleBuilder);
+        }
+        setBuildInfoModuleProps(moduleBuilder);
+        return moduleBuilder.build();
     }
 
-    private void loadLayers(String manifestPath) throws IOException {
-        try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
-            layers = getLayers(artifactoryManager, manifestPath);
-            List<DockerLayer> markerLayers = layers.getLayers().stream().filter(layer -> layer.getFileName().endsWith(".marker")).collect(Collectors.toList());
-            // Transform all marker layers into regular layer.
-            if (markerLayers.size() > 0) {
-                for (DockerLayer markerLayer : markerLayers) {
-                    // Get image name without '.marker' suffix.
-                    String imageDigests = StringUtils.removeEnd(markerLayer.getDigest(), ".marker");
-                    String imageName = StringUtils.substringBetween(imageTag, "/", ":");
-                    DockerUtils.downloadMarkerLayer(targetRepo, imageName, imageDigests, artifactoryManager);
-                }
-                layers = getLayers(artifactoryManager, manifestPath);
-            }
+    private void loadLayers(DockerLayersResolver layersResolver, String manifestPath) throws IOException {
+        layers = createLayers(layersResolver.getLayers(targetRepo, manifestPath), manifestPath);
+        List<DockerLayer> markerLayers = layers.getLayers().stream().filter(layer -> layer.getFileName().endsWith(".marker")).collect(Collectors.toList());
+        // Transform all marker layers into regular layer.
+        if (markerLayers.size() > 0) {
+            downloadMarkerLayers(layersResolver.getArtifactoryManager(), markerLayers);
+            layers = createLayers(layersResolver.getLayers(targetRepo, manifestPath), manifestPath);
         }
     }
 
-    private DockerLayers getLayers(ArtifactoryManager artifactoryManager, String manifestPath) throws IOException {
-        String searchableRepo = targetRepo;
-        if (artifactoryManager.isRemoteRepo(targetRepo)) {
-            searchableRepo += "-cache";
+    /**
+     * Download the marker layers concurrently.
+     */
+    private void downloadMarkerLayers(ArtifactoryManager artifactoryManager, List<DockerLayer> markerLayers) throws IOException {
+        String imageName = StringUtils.substringBetween(imageTag, "/", ":");
+        List<Callable<Void>> downloads = new ArrayList<>();
+        for (DockerLayer markerLayer : markerLayers) {
+            // Get image name without '.marker' suffix.
+            String imageDigests = StringUtils.removeEnd(markerLayer.getDigest(), ".marker");
+            downloads.add(() -> {
+                DockerUtils.downloadMarkerLayer(targetRepo, imageName, imageDigests, artifactoryManager);
+                return null;
+            });
+        }
+        try {
+            ExecutorFactory.invokeAll("docker-marker-layers", MARKER_LAYERS_DOWNLOAD_THREADS, downloads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while downloading marker layers", e);
         }
-        String aql = getAqlQuery(artifactoryManager.getVersion().isAtLeast(VIRTUAL_REPOS_SUPPORTED_VERSION), searchableRepo, manifestPath);
-        return createLayers(artifactoryManager, aql);
     }
 
     /**
      * Find and validate manifest.json file in Artifactory for the current image.
      * Since provided imageTag differs between reverse-proxy and proxy-less configuration, try to build the correct manifest path.
      */
-    private void findAndSetManifestFromArtifactory(ArtifactoryManager artifactoryManager, Log
+    private void findAndSetManifestFromArtifactory(DockerLayersResolver layersResolver, Log
             logger, DockerUtils.CommandType cmdType) throws IOException {
+        ArtifactoryManager artifactoryManager = layersResolver.getArtifactoryManager();
         // Try to get manifest, assuming reverse proxy
         String ImagePath = DockerUtils.getImagePath(imageTag);
         ArrayList<String> manifestPathCandidate = new ArrayList<>(DockerUtils.getArtManifestPath(ImagePath, targetRepo, cmdType));
@@ -292,7 +297,7 @@ public class DockerImage implements Serializable {
         for (int i = 0; i < listLen; i++) {
             try {
                 logger.info("Searching manifest in path: " + manifestPathCandidate.get(i));
-                checkAndSetManifestAndImagePathCandidates(manifestPathCandidate.get(i), artifactoryManager, logger);
+                checkAndSetManifestAndImagePathCandidates(manifestPathCandidate.get(i), layersResolver, logger);
                 return;
             } catch (IOException e) {
                 // Throw the exception only if we reached the end of the loop, which means we tried all options.
@@ -0,0 +1,128 @@
+package org.jfrog.build.extractor.docker.types;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.jfrog.build.api.search.AqlSearchResult;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.ArtifactoryVersion;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Searches the docker layers of images in Artifactory, using one shared Artifactory manager.
+ * The layers of several images in the same repository can be prefetched by one AQL query, and the repository type and
+ * the Artifactory version are fetched once, rather than once per image.
+ * The resolver is thread-safe, so images can be resolved concurrently.
+ */
+public class DockerLayersResolver {
+    private static final ArtifactoryVersion VIRTUAL_REPOS_SUPPORTED_VERSION = new ArtifactoryVersion("4.8.1");
+    // Maximum number of image paths in a single prefetch AQL query
+    private static final int PREFETCH_PATHS_PER_QUERY = 50;
+
+    private final ArtifactoryManager artifactoryManager;
+    private final Map<String, Boolean> remoteRepos = new ConcurrentHashMap<>();
+    // Prefetched layers by "searchable-repo/path"
+    private final Map<String, List<AqlSearchResult.SearchEntry>> prefetchedLayers = new ConcurrentHashMap<>();
+    private volatile Boolean includeVirtualRepos;
+
+    public DockerLayersResolver(ArtifactoryManager artifactoryManager) {
+        this.artifactoryManager = artifactoryManager;
+    }
+
+    public ArtifactoryManager getArtifactoryManager() {
+        return artifactoryManager;
+    }
+
+    /**
+     * Prefetch the layers of the images in the given paths of a repository.
+     * Prefetching is an optimization - in case of an error, the layers are searched per image.
+     *
+     * @param repo   - The repository of the images
+     * @param paths  - The paths of the images in the repository. For example: image/tag
+     * @param logger - The logger
+     */
+    public void prefetch(String repo, Collection<String> paths, Log logger) {
+        List<String> distinctPaths = new ArrayList<>(new LinkedHashSet<>(paths));
+        if (distinctPaths.size() < 2) {
+            return;
+        }
+        try {
+            String searchableRepo = getSearchableRepo(repo);
+            for (int i = 0; i < distinctPaths.size(); i += PREFETCH_PATHS_PER_QUERY) {
+                List<String> chunk = distinctPaths.subList(i, Math.min(i + PREFETCH_PATHS_PER_QUERY, distinctPaths.size()));
+                AqlSearchResult result = artifactoryManager.searchArtifactsByAql(getAqlQuery(searchableRepo, chunk));
+                for (AqlSearchResult.SearchEntry entry : result.getResults()) {
+                    prefetchedLayers.computeIfAbsent(searchableRepo + "/" + entry.getPath(), key -> Collections.synchronizedList(new ArrayList<>())).add(entry);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Failed to prefetch the docker layers of repository " + repo + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Search the layers of an image. Prefetched layers are returned once - following calls search Artifactory again,
+     * to get the layers updated after downloading marker layers.
+     *
+     * @param repo         - The repository of the image
+     * @param manifestPath - The path of the image in the repository
+     * @return the AQL search entries of the layers
+     * @throws IOException in case of an error in the search
+     */
+    public List<AqlSearchResult.SearchEntry> getLayers(String repo, String manifestPath) throws IOException {
+        String searchableRepo = getSearchableRepo(repo);
+        List<AqlSearchResult.SearchEntry> layers = prefetchedLayers.remove(searchableRepo + "/" + manifestPath);
+        if (layers != null) {
+            return layers;
+        }
+        return artifactoryManager.searchArtifactsByAql(getAqlQuery(searchableRepo, Collections.singletonList(manifestPath))).getResults();
+    }
+
+    /**
+     * Returns the AQL query used to search the layers in the given repository.
+     */
+    String getAqlQuery(String repo, List<String> manifestPaths) throws IOException {
+        StringBuilder aqlRequestForDockerSha = new StringBuilder("items.find({");
+        if (manifestPaths.size() == 1) {
+            aqlRequestForDockerSha.append("\"path\":").append(quote(manifestPaths.get(0))).append(",");
+        } else {
+            aqlRequestForDockerSha.append("\"$or\":[");
+            for (int i = 0; i < manifestPaths.size(); i++) {
+                aqlRequestForDockerSha.append(i == 0 ? "" : ",").append("{\"path\":").append(quote(manifestPaths.get(i))).append("}");
+            }
+            aqlRequestForDockerSha.append("],");
+        }
+        aqlRequestForDockerSha.append("\"repo\":").append(quote(repo)).append("})");
+        if (isIncludeVirtualRepos()) {
+            aqlRequestForDockerSha.append(".include(\"name\",\"repo\",\"path\",\"actual_sha1\",\"virtual_repos\")");
+        } else {
+            aqlRequestForDockerSha.append(".include(\"name\",\"repo\",\"path\",\"actual_sha1\")");
+        }
+        return aqlRequestForDockerSha.toString();
+    }
+
+    /**
+     * Returns the value as a JSON string, so image paths and repositories with special characters don't break the query.
+     */
+    private static String quote(String value) {
+        return "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+
+    private String getSearchableRepo(String repo) throws IOException {
+        Boolean remote = remoteRepos.get(repo);
+        if (remote == null) {
+            remote = artifactoryManager.isRemoteRepo(repo);
+            remoteRepos.put(repo, remote);
+        }
+        return remote ? repo + "-cache" : repo;
+    }
+
+    private boolean isIncludeVirtualRepos() throws IOException {
+        if (includeVirtualRepos == null) {
+            includeVirtualRepos = artifactoryManager.getVersion().isAtLeast(VIRTUAL_REPOS_SUPPORTED_VERSION);
+        }
+        return includeVirtualRepos;
+    }
+}
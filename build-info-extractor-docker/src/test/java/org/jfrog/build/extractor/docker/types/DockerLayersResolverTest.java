@@ -0,0 +1,101 @@
+package org.jfrog.build.extractor.docker.types;
+
+import org.jfrog.build.api.search.AqlSearchResult;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ArtifactoryVersion;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests the batched search of docker layers
+ */
+@Test
+public class DockerLayersResolverTest {
+
+    public void testSingleImageQuery() throws Exception {
+        try (FakeArtifactoryManager artifactoryManager = new FakeArtifactoryManager()) {
+            DockerLayersResolver resolver = new DockerLayersResolver(artifactoryManager);
+            assertEquals(resolver.getAqlQuery("docker-local", Collections.singletonList("image/1")),
+                    "items.find({\"path\":\"image/1\",\"repo\":\"docker-local\"}).include(\"name\",\"repo\",\"path\",\"actual_sha1\",\"virtual_repos\")");
+        }
+    }
+
+    public void testEscapePaths() throws Exception {
+        try (FakeArtifactoryManager artifactoryManager = new FakeArtifactoryManager()) {
+            DockerLayersResolver resolver = new DockerLayersResolver(artifactoryManager);
+            assertEquals(resolver.getAqlQuery("docker-local", Arrays.asList("image\"a/1", "image\\b/1")),
+                    "items.find({\"$or\":[{\"path\":\"image\\\"a/1\"},{\"path\":\"image\\\\b/1\"}]," +
+                            "\"repo\":\"docker-local\"}).include(\"name\",\"repo\",\"path\",\"actual_sha1\",\"virtual_repos\")");
+        }
+    }
+
+    public void testPrefetch() throws Exception {
+        try (FakeArtifactoryManager artifactoryManager = new FakeArtifactoryManager()) {
+            artifactoryManager.addLayer("image-a/1", "sha256__aaa");
+            artifactoryManager.addLayer("image-a/1", "manifest.json");
+            artifactoryManager.addLayer("image-b/1", "sha256__bbb");
+            DockerLayersResolver resolver = new DockerLayersResolver(artifactoryManager);
+            resolver.prefetch("docker-local", Arrays.asList("image-a/1", "image-b/1", "image-a/1"), new NullLog());
+            assertEquals(artifactoryManager.queries.size(), 1);
+            assertEquals(artifactoryManager.queries.get(0), "items.find({\"$or\":[{\"path\":\"image-a/1\"},{\"path\":\"image-b/1\"}]," +
+                    "\"repo\":\"docker-local\"}).include(\"name\",\"repo\",\"path\",\"actual_sha1\",\"virtual_repos\")");
+
+            // Prefetched layers are returned without querying Artifactory
+            assertEquals(resolver.getLayers("docker-local", "image-a/1").size(), 2);
+            assertEquals(resolver.getLayers("docker-local", "image-b/1").size(), 1);
+            assertEquals(artifactoryManager.queries.size(), 1);
+
+            // Following searches query Artifactory again
+            assertEquals(resolver.getLayers("docker-local", "image-a/1").size(), 2);
+            assertEquals(artifactoryManager.queries.size(), 2);
+        }
+    }
+
+    /**
+     * Artifactory manager, which answers AQL queries from in-memory layers.
+     */
+    private static class FakeArtifactoryManager extends ArtifactoryManager {
+        private final Map<String, List<AqlSearchResult.SearchEntry>> layers = new HashMap<>();
+        private final List<String> queries = Collections.synchronizedList(new ArrayList<>());
+
+        private FakeArtifactoryManager() {
+            super("http://localhost:8081/artifactory", new NullLog());
+        }
+
+        private void addLayer(String path, String name) {
+            AqlSearchResult.SearchEntry entry = new AqlSearchResult.SearchEntry();
+            entry.setRepo("docker-local");
+            entry.setPath(path);
+            entry.setName(name);
+            layers.computeIfAbsent(path, key -> new ArrayList<>()).add(entry);
+        }
+
+        @Override
+        public boolean isRemoteRepo(String repositoryKey) {
+            return false;
+        }
+
+        @Override
+        public ArtifactoryVersion getVersion() {
+            return new ArtifactoryVersion("7.0.0");
+        }
+
+        @Override
+        public AqlSearchResult searchArtifactsByAql(String aql) {
+            queries.add(aql);
+            List<AqlSearchResult.SearchEntry> results = new ArrayList<>();
+            layers.forEach((path, entries) -> {
+                if (aql.contains("{\"path\":\"" + path + "\"") || aql.contains("\"path\":\"" + path + "\",")) {
+                    results.addAll(entries);
+                }
+            });
+            AqlSearchResult result = new AqlSearchResult();
+            result.setResults(results);
+            return result;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package org.jfrog.build.extractor.go.extractor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ArrayListMultimap;
-import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jfrog.build.api.Artifact;
@@ -18,19 +17,15 @@ import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfigurat
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryManagerBuilder;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 import org.jfrog.build.extractor.go.GoDriver;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import static org.jfrog.build.extractor.packageManager.PackageManagerUtils.createArtifactoryClientConfiguration;
 
@@ -38,7 +33,6 @@ import static org.jfrog.build.extractor.packageManager.PackageManagerUtils.creat
 public class GoPublish extends GoCommand {
 
     private static final String LOCAL_PKG_FILENAME = "package";
-    private static final String LOCAL_TMP_PKG_PREFIX = "tmp.";
     private static final String LOCAL_INFO_FILENAME = "package.info";
     private static final String GO_VERSION_PREFIX = "v";
     private static final String PKG_ZIP_FILE_EXTENSION = "zip";
@@ -119,18 +113,18 @@ public class GoPublish extends GoCommand {
     }
 
     private void createAndDeployZip(ArtifactoryManager artifactoryManager) throws Exception {
-        // First, we create a temporary zip file of all project files.
-        File tmpZipFile = archiveProjectDir();
-
-        // Second, filter the raw zip file according to Go rules and create deployable zip can be later resolved.
+        // Pack the project files according to Go rules into a deployable zip, which can be later resolved.
         // We use the same code as Artifactory when he resolve a Go module directly from Github.
-        File deployableZipFile = File.createTempFile(LOCAL_PKG_FILENAME, PKG_ZIP_FILE_EXTENSION, path.toFile());
-        try (GoZipBallStreamer pkgArchiver = new GoZipBallStreamer(new ZipFile(tmpZipFile), moduleName, version, logger)) {
-            pkgArchiver.writeDeployableZip(deployableZipFile);
-            Artifact deployedPackage = deploy(artifactoryManager, deployableZipFile, PKG_ZIP_FILE_EXTENSION);
+        // The zip is written once and hashed while it is written. It is not streamed to Artifactory, because the
+        // checksums are sent before the content, and a failed upload is retried from the file.
+        File deployableZipFile = File.createTempFile(LOCAL_PKG_FILENAME, PKG_ZIP_FILE_EXTENSION);
+        try (GoZipBallStreamer pkgArchiver = new GoZipBallStreamer(path, moduleName, version, logger);
+             OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(deployableZipFile))) {
+            Map<String, String> checksums = pkgArchiver.writeDeployableZip(outputStream);
+            outputStream.close();
+            Artifact deployedPackage = deploy(artifactoryManager, deployableZipFile, PKG_ZIP_FILE_EXTENSION, checksums);
             artifactList.add(deployedPackage);
         } finally {
-            Files.deleteIfExists(tmpZipFile.toPath());
             Files.deleteIfExists(deployableZipFile.toPath());
         }
     }
@@ -149,26 +143,6 @@ public class GoPublish extends GoCommand {
         infoFile.delete();
     }
 
-    private File archiveProjectDir() throws IOException {
-        File zipFile = File.createTempFile(LOCAL_TMP_PKG_PREFIX + LOCAL_PKG_FILENAME, PKG_ZIP_FILE_EXTENSION, path.toFile());
-
-        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
-            List<Path> pathsList = Files.walk(path)
-                    // Remove .git dir content, directories and the temp zip file
-                    .filter(p -> !path.relativize(p).startsWith(".git/") && !Files.isDirectory(p) && !p.toFile().getName().equals(zipFile.getName()))
-                    .collect(Collectors.toList());
-            for (Path filePath : pathsList) {
-                // We need to have the parent hierarchy of the project in order to use the zip packaging code in org.jfrog.build.extractor.go.extractor.GoZipBallStreamer
-                ZipEntry zipEntry = new ZipEntry(path.getParent().relativize(filePath).toString());
-                zos.putNextEntry(zipEntry);
-                Files.copy(filePath, zos);
-                zos.closeEntry();
-            }
-        }
-
-        return zipFile;
-    }
-
     /**
      * pkg info is a json file containing:
      * 1. The package's version.
@@ -176,7 +150,7 @@ public class GoPublish extends GoCommand {
      */
     private File writeInfoFile(String localInfoPath) throws IOException {
         File infoFile = new File(localInfoPath);
-        ObjectMapper mapper = new ObjectMapper();
+        ObjectMapper mapper = JsonMappers.getMapper();
         Map<String, String> infoMap = new HashMap();
         Date date = new Date();
         Instant instant = date.toInstant();
@@ -192,8 +166,14 @@ public class GoPublish extends GoCommand {
      * Deploy pkg file and add it as an buildInfo's artifact
      */
     private Artifact deploy(ArtifactoryManager artifactoryManager, File deployedFile, String extension) throws Exception {
+        return deploy(artifactoryManager, deployedFile, extension, FileChecksumCalculator.calculateChecksums(deployedFile, MD5, SHA1));
+    }
+
+    /**
+     * Deploy pkg file with precalculated checksums and add it as an buildInfo's artifact
+     */
+    private Artifact deploy(ArtifactoryManager artifactoryManager, File deployedFile, String extension, Map<String, String> checksums) throws Exception {
         String artifactName = version + "." + extension;
-        Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(deployedFile, MD5, SHA1);
         String remotePath = moduleName + "/@v";
         DeployDetails deployDetails = new DeployDetails.Builder()
                 .file(deployedFile)
@@ -203,12 +183,14 @@ public class GoPublish extends GoCommand {
                 .md5(checksums.get(MD5)).sha1(checksums.get(SHA1))
                 .packageType(DeployDetails.PackageType.GO)
                 .build();
+        deployDetails.setSha256(checksums.get(SHA256));
 
         ArtifactoryUploadResponse response = artifactoryManager.upload(deployDetails);
 
         return new ArtifactBuilder(moduleName + ":" + artifactName)
                 .md5(response.getChecksums().getMd5())
                 .sha1(response.getChecksums().getSha1())
+                .sha256(checksums.get(SHA256))
                 .remotePath(remotePath)
                 .build();
     }
@@ -8,13 +8,13 @@ import org.jfrog.build.api.Module;
 import org.jfrog.build.api.builder.DependencyBuilder;
 import org.jfrog.build.api.builder.ModuleBuilder;
 import org.jfrog.build.api.builder.ModuleType;
-import org.jfrog.build.api.util.FileChecksumCalculator;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryManagerBuilder;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.executor.CommandResults;
 import org.jfrog.build.extractor.go.GoDriver;
+import org.jfrog.build.extractor.packageManager.DependenciesIndex;
 import org.jfrog.build.extractor.packageManager.PackageManagerUtils;
 
 import java.io.File;
@@ -53,6 +53,7 @@ public class GoRun extends GoCommand {
     private String resolverUsername;
     private String resolverPassword;
     private Map<String, String> env;
+    private transient DependenciesIndex dependenciesIndex;
 
     /**
      * Run go command and collect dependencies.
@@ -96,6 +97,7 @@ public class GoRun extends GoCommand {
                     clientConfiguration.getLog(),
                     clientConfiguration.getAllProperties()
             );
+            goRun.setDependenciesIndexPath(packageManagerHandler.getDependenciesIndex());
             goRun.executeAndSaveBuildInfo(clientConfiguration);
         } catch (RuntimeException e) {
             ExceptionUtils.printRootCauseStackTrace(e, System.out);
@@ -115,7 +117,9 @@ public class GoRun extends GoCommand {
             goDriver.version(true);
             goDriver.runCmd(goCmdArgs, true);
             this.moduleName = goDriver.getModuleName();
+            dependenciesIndex = loadDependenciesIndex(logger);
             collectDependencies();
+            dependenciesIndex.save();
             return createBuild();
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
@@ -208,7 +212,8 @@ public class GoRun extends GoCommand {
      * Each module is in format <module-name>@v<module-version>.
      * We add only the pgk zip file as build's dependency.
      * The dependency's id is "module-name:version", and its type is "zip".
-     * We locate each pkg zip file downloaded to local Go cache, and calculate the pkg checksum.
+     * We locate each pkg zip file downloaded to local Go cache, and calculate the pkg checksum, unless it's in the
+     * dependencies index.
      */
     private void addModuleDependencies(String module, String cachePath) throws Exception {
         String moduleName = module.split("@")[0];
@@ -216,9 +221,10 @@ public class GoRun extends GoCommand {
         String cachedPkgPath = cachePath + convertModuleNameToCachePathConvention(moduleName) + File.separator + "@v" + File.separator + moduleVersion + ".zip";
         File moduleZip = new File(cachedPkgPath);
         if (moduleZip.exists()) {
-            Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(moduleZip, MD5, SHA1);
+            String id = moduleName + ':' + moduleVersion;
+            Map<String, String> checksums = dependenciesIndex.getChecksums(DependenciesIndex.GO, id, moduleZip);
             Dependency dependency = new DependencyBuilder()
-                    .id(moduleName + ':' + moduleVersion)
+                    .id(id)
                     .md5(checksums.get(MD5)).sha1(checksums.get(SHA1))
                     .type("zip")
                     .build();
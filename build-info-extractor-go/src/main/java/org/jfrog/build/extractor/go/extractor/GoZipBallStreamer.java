@@ -35,19 +35,27 @@
 package org.jfrog.build.extractor.go.extractor;
 
 import com.google.common.collect.Sets;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.util.Log;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.util.Enumeration;
-import java.util.Set;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
 import java.util.zip.ZipEntry;
 
 
@@ -59,12 +67,17 @@ public class GoZipBallStreamer implements Closeable {
     protected ArchiveOutputStream archiveOutputStream;
     private final Log log;
     private ZipFile zipFile;
+    private Path projectDir;
+    // The files of the project directory by their entry names
+    private SortedMap<String, Path> projectFiles;
     private String projectName;
     private String version;
     private Set<String> excludedDirectories;
     private String subModuleName;
     private static final String MOD_FILE = "/go.mod";
     private static final String VENDOR = "vendor/";
+    private static final String VENDOR_DIR = "vendor";
+    private static final String[] CHECKSUM_ALGORITHMS = {"MD5", "SHA1", "SHA-256"};
 
     public GoZipBallStreamer(ZipFile zipFile, String projectName, String version, Log log) {
         this.zipFile = zipFile;
@@ -74,6 +87,16 @@ public class GoZipBallStreamer implements Closeable {
         excludedDirectories = Sets.newHashSet();
     }
 
+    /**
+     * Pack the Go module directly from the project directory, without archiving it first.
+     *
+     * @param projectDir - The project directory, containing the go.mod file
+     */
+    public GoZipBallStreamer(Path projectDir, String projectName, String version, Log log) {
+        this((ZipFile) null, projectName, version, log);
+        this.projectDir = projectDir;
+    }
+
     public void writeDeployableZip(File deployableZip) throws IOException {
         try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(deployableZip)) {
             archiveOutputStream = zos;
@@ -83,6 +106,40 @@ public class GoZipBallStreamer implements Closeable {
         }
     }
 
+    /**
+     * Write the deployable zip of the project directory to the output stream, in a single pass.
+     * The Go module rules are applied while walking the project directory, every file is read once, and the zip is
+     * hashed while it is written - So it can be streamed anywhere without being read again.
+     *
+     * @param outputStream - The output stream of the zip. Left open.
+     * @return the MD5, SHA1 and SHA-256 checksums of the zip, by algorithm name
+     */
+    public Map<String, String> writeDeployableZip(OutputStream outputStream) throws IOException {
+        if (projectDir == null) {
+            throw new IllegalStateException("Streaming the deployable zip requires a project directory");
+        }
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        OutputStream digestStream = new CloseShieldOutputStream(outputStream);
+        try {
+            for (String algorithm : CHECKSUM_ALGORITHMS) {
+                MessageDigest digest = MessageDigest.getInstance(algorithm);
+                digests.put(algorithm, digest);
+                digestStream = new DigestOutputStream(digestStream, digest);
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        // Entries written to a stream are followed by data descriptors, like in the zips created by the Go client
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(digestStream)) {
+            archiveOutputStream = zos;
+            packProject();
+            archiveOutputStream.finish();
+        }
+        Map<String, String> checksums = new LinkedHashMap<>();
+        digests.forEach((algorithm, digest) -> checksums.put(algorithm, Hex.encodeHexString(digest.digest())));
+        return checksums;
+    }
+
     protected void packProject() throws IOException {
         initiateProjectType();
         scanEntries();
@@ -112,6 +169,10 @@ public class GoZipBallStreamer implements Closeable {
      * Writing all the needed entries with the correct naming convention into the output zip file
      */
     private void writeEntries() throws IOException {
+        if (projectDir != null) {
+            writeProjectFiles();
+            return;
+        }
         Enumeration<? extends ZipArchiveEntry> entries = zipFile.getEntries();
         ZipArchiveEntry zipEntry;
         while (entries.hasMoreElements()) {
@@ -129,6 +190,23 @@ public class GoZipBallStreamer implements Closeable {
         }
     }
 
+    private void writeProjectFiles() throws IOException {
+        for (Map.Entry<String, Path> projectFile : projectFiles.entrySet()) {
+            if (excludeEntry(projectFile.getKey())) {
+                continue;
+            }
+            Path file = projectFile.getValue();
+            ZipArchiveEntry correctedEntry = getCorrectedEntryName(projectFile.getKey(), Files.size(file));
+            correctedEntry.setTime(Files.getLastModifiedTime(file).toMillis());
+            try {
+                archiveOutputStream.putArchiveEntry(correctedEntry);
+                Files.copy(file, archiveOutputStream);
+            } finally {
+                archiveOutputStream.closeArchiveEntry();
+            }
+        }
+    }
+
     private void writeEntry(ZipArchiveEntry originalEntry, ZipArchiveEntry correctedEntry) throws IOException {
         try {
             archiveOutputStream.putArchiveEntry(correctedEntry);
@@ -188,28 +266,73 @@ public class GoZipBallStreamer implements Closeable {
     /**
      * Scanning all the original zip entries and collecting all the relative paths with go.mod files (i.e submodules)
      */
-    private void scanEntries() {
-        Enumeration<? extends ZipEntry> entries = zipFile.getEntries();
-        ZipEntry zipEntry;
+    private void scanEntries() throws IOException {
         Set<String> allDirectories = Sets.newHashSet();
-        while (entries.hasMoreElements()) {
-            zipEntry = entries.nextElement();
-            if (!zipEntry.isDirectory() && isSubModule(zipEntry.getName())) {
-                String subModulePath = zipEntry.getName().replace(MOD_FILE, "");
-                excludedDirectories.add(subModulePath);
-            } else {
-                allDirectories.add(GoVersionUtils.getParent(zipEntry.getName()));
+        if (projectDir != null) {
+            projectFiles = walkProjectDir();
+            projectFiles.keySet().forEach(entryName -> scanEntry(entryName, false, allDirectories));
+        } else {
+            Enumeration<? extends ZipEntry> entries = zipFile.getEntries();
+            ZipEntry zipEntry;
+            while (entries.hasMoreElements()) {
+                zipEntry = entries.nextElement();
+                scanEntry(zipEntry.getName(), zipEntry.isDirectory(), allDirectories);
             }
         }
 
         if (!excludedDirectories.isEmpty()) {
+            // The shallowest matching directory, so the root directory of a regular module does not depend on the scan order
             String moduleRootDir = allDirectories.stream().
-                    filter(dir -> dir.endsWith(subModuleName)).findFirst().orElse("");
+                    filter(dir -> dir.endsWith(subModuleName))
+                    .min(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder())).orElse("");
             allDirectories.stream().filter(dir -> shouldExcludeDirectory(moduleRootDir, dir))
                     .forEach(excludedDirectories::add);
         }
     }
 
+    private void scanEntry(String entryName, boolean isDirectory, Set<String> allDirectories) {
+        if (!isDirectory && isSubModule(entryName)) {
+            String subModulePath = entryName.replace(MOD_FILE, "");
+            excludedDirectories.add(subModulePath);
+        } else {
+            allDirectories.add(GoVersionUtils.getParent(entryName));
+        }
+    }
+
+    /**
+     * Walking the project directory and collecting its files by their entry names in a zip ball of the project -
+     * The project directory name, followed by the relative path of the file.
+     * The .git directory and the vendored packages are always excluded, so they are not walked at all.
+     * Symbolic links to files are packed as the files they point to, symbolic links to directories are not followed.
+     */
+    private SortedMap<String, Path> walkProjectDir() throws IOException {
+        SortedMap<String, Path> files = new TreeMap<>();
+        Path rootDir = projectDir.toAbsolutePath();
+        Path gitDir = rootDir.resolve(".git");
+        Files.walkFileTree(rootDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (dir.equals(gitDir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                // All the files under the sub directories of a vendor directory belong to vendored packages
+                if (!dir.equals(rootDir) && dir.getParent().endsWith(VENDOR_DIR)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (!file.equals(gitDir) && (attrs.isRegularFile() || (attrs.isSymbolicLink() && Files.isRegularFile(file)))) {
+                    files.put(FilenameUtils.separatorsToUnix(rootDir.getParent().relativize(file).toString()), file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
     /**
      * @return True if the given directory should be excluded from the final module .zip file
      */
@@ -285,6 +408,8 @@ public class GoZipBallStreamer implements Closeable {
 
     @Override
     public void close() throws IOException {
-        zipFile.close();
+        if (zipFile != null) {
+            zipFile.close();
+        }
     }
 }
\ No newline at end of file
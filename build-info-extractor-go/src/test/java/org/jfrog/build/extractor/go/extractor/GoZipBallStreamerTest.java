@@ -0,0 +1,144 @@
+package org.jfrog.build.extractor.go.extractor;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.jfrog.build.api.util.NullLog;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests packing a Go module directly from the project directory against packing it from a zip ball of the project
+ */
+@Test
+public class GoZipBallStreamerTest {
+    private File tempDir;
+    private Path projectDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("go-zip-ball").toFile();
+        projectDir = tempDir.toPath().resolve("project");
+        writeFile("go.mod", "module github.com/jfrog/project");
+        writeFile("main.go", "package main");
+        writeFile("LICENSE", "license");
+        writeFile(".hg_archival.txt", "archival");
+        writeFile("pkg/util.go", "package pkg");
+        writeFile("pkg/nested/nested.go", "package nested");
+        writeFile("vendor/modules.txt", "# github.com/jfrog/dependency");
+        writeFile("vendor/github.com/jfrog/dependency/dependency.go", "package dependency");
+        writeFile("submodule/go.mod", "module github.com/jfrog/project/submodule");
+        writeFile("submodule/submodule.go", "package submodule");
+        writeFile("v2/go.mod", "module github.com/jfrog/project/v2");
+        writeFile("v2/v2.go", "package v2");
+        writeFile(".git/HEAD", "ref: refs/heads/master");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    @DataProvider
+    private Object[][] modulesProvider() {
+        return new Object[][]{
+                {"github.com/jfrog/project", "v1.0.0"},
+                {"github.com/jfrog/project/submodule", "v1.0.0"},
+                {"github.com/jfrog/project/v2", "v2.0.0"},
+                {"github.com/jfrog/project", "v2.0.0+incompatible"}
+        };
+    }
+
+    @Test(dataProvider = "modulesProvider")
+    public void testPackProjectDir(String moduleName, String version) throws IOException {
+        Map<String, String> expected = readZip(packZipBall(moduleName, version));
+        assertFalse(expected.isEmpty());
+
+        File deployableZip = new File(tempDir, "deployable.zip");
+        Map<String, String> checksums;
+        try (GoZipBallStreamer streamer = new GoZipBallStreamer(projectDir, moduleName, version, new NullLog());
+             FileOutputStream outputStream = new FileOutputStream(deployableZip)) {
+            checksums = streamer.writeDeployableZip(outputStream);
+        }
+        assertEquals(readZip(deployableZip), expected);
+
+        byte[] content = Files.readAllBytes(deployableZip.toPath());
+        assertEquals(checksums.get("MD5"), DigestUtils.md5Hex(content));
+        assertEquals(checksums.get("SHA1"), DigestUtils.sha1Hex(content));
+        assertEquals(checksums.get("SHA-256"), DigestUtils.sha256Hex(content));
+    }
+
+    public void testRegularModuleEntries() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GoZipBallStreamer streamer = new GoZipBallStreamer(projectDir, "github.com/jfrog/project", "v1.0.0", new NullLog())) {
+            streamer.writeDeployableZip(outputStream);
+        }
+        File deployableZip = new File(tempDir, "deployable.zip");
+        Files.write(deployableZip.toPath(), outputStream.toByteArray());
+        assertEquals(readZip(deployableZip).keySet(), new TreeSet<>(Arrays.asList(
+                "github.com/jfrog/project@v1.0.0/LICENSE",
+                "github.com/jfrog/project@v1.0.0/go.mod",
+                "github.com/jfrog/project@v1.0.0/main.go",
+                "github.com/jfrog/project@v1.0.0/pkg/nested/nested.go",
+                "github.com/jfrog/project@v1.0.0/pkg/util.go",
+                "github.com/jfrog/project@v1.0.0/vendor/modules.txt")));
+    }
+
+    /**
+     * Pack the module the way it was packed before - Archive the project directory, then pack the archive.
+     */
+    private File packZipBall(String moduleName, String version) throws IOException {
+        File zipBall = new File(tempDir, "zipball.zip");
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipBall))) {
+            List<Path> files = Files.walk(projectDir)
+                    .filter(p -> !projectDir.relativize(p).startsWith(".git/") && !Files.isDirectory(p))
+                    .collect(Collectors.toList());
+            for (Path file : files) {
+                zos.putNextEntry(new ZipEntry(FilenameUtils.separatorsToUnix(projectDir.getParent().relativize(file).toString())));
+                Files.copy(file, zos);
+                zos.closeEntry();
+            }
+        }
+        File deployableZip = new File(tempDir, "expected.zip");
+        try (GoZipBallStreamer streamer = new GoZipBallStreamer(new ZipFile(zipBall), moduleName, version, new NullLog())) {
+            streamer.writeDeployableZip(deployableZip);
+        }
+        return deployableZip;
+    }
+
+    private static Map<String, String> readZip(File zip) throws IOException {
+        Map<String, String> entries = new TreeMap<>();
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+                entries.put(entry.getName(), IOUtils.toString(zipFile.getInputStream(entry), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private void writeFile(String relativePath, String content) throws IOException {
+        Path file = projectDir.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
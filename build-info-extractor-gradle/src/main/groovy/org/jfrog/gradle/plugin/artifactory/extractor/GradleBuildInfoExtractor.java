@@ -92,18 +92,13 @@ public class GradleBuildInfoExtractor implements BuildInfoExtractor<Project> {
                 .flatMap(moduleInfoFileProducer -> moduleInfoFileProducer.getModuleInfoFiles().getFiles().stream())
                 .collect(Collectors.toSet());
 
-        moduleFilesWithModules.forEach(moduleFile -> {
-            try {
-                Module module = ModuleExtractorUtils.readModuleFromFile(moduleFile);
-                List<Artifact> artifacts = module.getArtifacts();
-                List<Dependency> dependencies = module.getDependencies();
-                if ((artifacts != null && !artifacts.isEmpty()) || (dependencies != null && !dependencies.isEmpty())) {
-                    bib.addModule(module);
-                }
-            } catch (IOException e) {
-                throw new RuntimeException("Cannot load module info from file: " + moduleFile.getAbsolutePath(), e);
-            }
-        });
+        // Module info files are independent of each other - read them in parallel.
+        moduleFilesWithModules.parallelStream()
+                .map(GradleBuildInfoExtractor::readModuleFromFile)
+                .filter(module -> (module.getArtifacts() != null && !module.getArtifacts().isEmpty()) ||
+                        (module.getDependencies() != null && !module.getDependencies().isEmpty()))
+                .collect(Collectors.toList())
+                .forEach(bib::addModule);
 
         String parentName = clientConf.info.getParentBuildName();
         String parentNumber = clientConf.info.getParentBuildNumber();
@@ -210,4 +205,12 @@ public class GradleBuildInfoExtractor implements BuildInfoExtractor<Project> {
         PackageManagerUtils.collectEnvIfNeeded(clientConf, build);
         return build;
     }
+
+    private static Module readModuleFromFile(File moduleFile) {
+        try {
+            return ModuleExtractorUtils.readModuleFromFile(moduleFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot load module info from file: " + moduleFile.getAbsolutePath(), e);
+        }
+    }
 }
@@ -37,4 +37,9 @@ public class GradleClientLogger implements Log {
     public void error(String message, Throwable e) {
         logger.log(LogLevel.ERROR, message, e);
     }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return logger.isEnabled(LogLevel.DEBUG);
+    }
 }
@@ -15,13 +15,19 @@ import org.gradle.api.tasks.TaskAction;
 import org.jfrog.build.api.Build;
 import org.jfrog.build.api.BuildInfoConfigProperties;
 import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.client.metrics.ClientMetrics;
+import org.jfrog.build.client.metrics.NoOpClientMetrics;
 import org.jfrog.build.extractor.BuildInfoExtractorUtils;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.IncludeExcludePatterns;
 import org.jfrog.build.extractor.clientConfiguration.PatternMatcher;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.ChecksumPreflight;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployLedger;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployableArtifactsUtils;
+import org.jfrog.build.extractor.clientConfiguration.metrics.ClientMetricsFactory;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
 import org.jfrog.build.extractor.retention.Utils;
 import org.jfrog.gradle.plugin.artifactory.ArtifactoryPluginUtil;
 import org.jfrog.gradle.plugin.artifactory.extractor.*;
@@ -40,6 +46,7 @@ public class DeployTask extends DefaultTask {
     private static final Logger log = Logging.getLogger(DeployTask.class);
 
     private List<ModuleInfoFileProducer> moduleInfoFileProducers = new ArrayList<>();
+    private ClientMetrics metrics = new NoOpClientMetrics();
 
     @TaskAction
     public void taskAction() throws IOException {
@@ -50,7 +57,14 @@ public class DeployTask extends DefaultTask {
     private void collectProjectBuildInfo() throws IOException {
         log.debug("Starting build info extraction for project '{}' using last task in graph '{}'",
                 new Object[]{getProject().getPath(), getPath()});
-        prepareAndDeploy();
+        ArtifactoryClientConfiguration accRoot =
+                ArtifactoryPluginUtil.getArtifactoryConvention(getProject()).getClientConfig();
+        metrics = ClientMetricsFactory.create(accRoot);
+        try {
+            prepareAndDeploy();
+        } finally {
+            metrics.report(new GradleClientLogger(log));
+        }
         String propertyFilePath = System.getenv(BuildInfoConfigProperties.PROP_PROPS_FILE);
         if (StringUtils.isBlank(propertyFilePath)) {
             propertyFilePath = System.getenv(BuildInfoConfigProperties.ENV_BUILDINFO_PROPFILE);
@@ -85,14 +99,16 @@ public class DeployTask extends DefaultTask {
         if (publishForkCount <= 1) {
             orderedTasks.forEach(t -> deployArtifacts(accRoot, propsRoot, allDeployDetails, t, null));
         } else {
+            ExecutorService executor = ExecutorFactory.newExecutor("deploy", publishForkCount);
             try {
-                ExecutorService executor = Executors.newFixedThreadPool(publishForkCount);
                 CompletableFuture<Void> allUploads = CompletableFuture.allOf(orderedTasks.stream()
                         .map(t -> CompletableFuture.runAsync(() -> deployArtifacts(accRoot, propsRoot, allDeployDetails, t, "[" + Thread.currentThread().getName() + "]"), executor))
                         .toArray(CompletableFuture[]::new));
                 allUploads.get();
             } catch (InterruptedException | ExecutionException e) {
                 throw new RuntimeException(e);
+            } finally {
+                ExecutorFactory.shutdown(executor);
             }
         }
 
@@ -127,6 +143,7 @@ public class DeployTask extends DefaultTask {
                     accRoot.publisher.getUsername(),
                     accRoot.publisher.getPassword(),
                     new GradleClientLogger(log))) {
+                artifactoryManager.setMetrics(metrics);
 
                 if (isPublishBuildInfo(accRoot)) {
                     // If export property set always save the file before sending it to artifactory
@@ -175,6 +192,7 @@ public class DeployTask extends DefaultTask {
                     if (publisher.isPublishArtifacts()) {
                         try (ArtifactoryManager artifactoryManager = new ArtifactoryManager(contextUrl, username, password,
                                 new GradleClientLogger(log))) {
+                            artifactoryManager.setMetrics(metrics);
                             log.debug("Uploading artifacts to Artifactory at '{}'", contextUrl);
                             IncludeExcludePatterns patterns = new IncludeExcludePatterns(
                                     publisher.getIncludePatterns(),
@@ -182,6 +200,13 @@ public class DeployTask extends DefaultTask {
                             configureProxy(accRoot, artifactoryManager);
                             configConnectionTimeout(accRoot, artifactoryManager);
                             configRetriesParams(accRoot, artifactoryManager);
+                            if (publisher.isChecksumPreflight()) {
+                                artifactoryManager.setChecksumPreflight(new ChecksumPreflight(new GradleClientLogger(log)));
+                            }
+                            if (StringUtils.isNotBlank(publisher.getDeployLedger())) {
+                                artifactoryManager.setDeployLedger(DeployLedger.load(publisher.getDeployLedger(), contextUrl,
+                                        publisher.getDeployLedgerVerifyIntervalHours(), new GradleClientLogger(log)));
+                            }
                             deployArtifacts(artifactoryTask.deployDetails, artifactoryManager, patterns, logPrefix, publisher.getMinChecksumDeploySizeKb());
                         }
                     }
@@ -271,14 +296,22 @@ public class DeployTask extends DefaultTask {
     private void deployArtifacts(Set<GradleDeployDetails> allDeployDetails, ArtifactoryManager artifactoryManager,
                                  IncludeExcludePatterns patterns, String logPrefix, int minChecksumDeploySizeKb)
             throws IOException {
+        List<GradleDeployDetails> deployableDetails = new ArrayList<>();
+        List<DeployDetails> deployableArtifacts = new ArrayList<>();
         for (GradleDeployDetails detail : allDeployDetails) {
-            DeployDetails deployDetails = detail.getDeployDetails();
-            String artifactPath = deployDetails.getArtifactPath();
+            String artifactPath = detail.getDeployDetails().getArtifactPath();
             if (PatternMatcher.pathConflicts(artifactPath, patterns)) {
                 log.log(LogLevel.LIFECYCLE, "Skipping the deployment of '" + artifactPath +
                         "' due to the defined include-exclude patterns.");
                 continue;
             }
+            deployableDetails.add(detail);
+            deployableArtifacts.add(detail.getDeployDetails());
+        }
+        // Search the checksums of all the artifacts in bulk, if the checksum pre-flight is enabled
+        artifactoryManager.preflightChecksums(deployableArtifacts);
+        for (GradleDeployDetails detail : deployableDetails) {
+            DeployDetails deployDetails = detail.getDeployDetails();
             try {
                 ArtifactoryUploadResponse response = artifactoryManager.upload(deployDetails, logPrefix, minChecksumDeploySizeKb);
                 detail.getDeployDetails().setDeploySucceeded(true);
@@ -7,6 +7,8 @@ import org.gradle.api.tasks.TaskAction;
 import org.gradle.util.GradleVersion;
 import org.jfrog.build.api.Module;
 import org.jfrog.build.extractor.ModuleExtractorUtils;
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryPluginUtil;
 import org.jfrog.gradle.plugin.artifactory.extractor.GradleModuleExtractor;
 
 import java.io.IOException;
@@ -30,7 +32,12 @@ public class ExtractModuleTask extends DefaultTask {
     void extractModuleFile() {
         Module module = new GradleModuleExtractor().extractModule(getProject());
         try {
-            ModuleExtractorUtils.saveModuleToFile(module, moduleFile.getAsFile().get());
+            ArtifactoryClientConfiguration clientConf = ArtifactoryPluginUtil.getArtifactoryConvention(getProject()).getClientConfig();
+            if (clientConf.info.isBinaryModuleInfo()) {
+                ModuleExtractorUtils.saveModuleToBinaryFile(module, moduleFile.getAsFile().get());
+            } else {
+                ModuleExtractorUtils.saveModuleToFile(module, moduleFile.getAsFile().get());
+            }
         } catch (IOException e) {
             throw new RuntimeException("Could not extract module file", e);
         }
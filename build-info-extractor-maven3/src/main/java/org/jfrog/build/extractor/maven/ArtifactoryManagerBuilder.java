@@ -4,9 +4,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
+import org.jfrog.build.api.BuildInfoFields;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.ClientConfigurationFields;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.ChecksumPreflight;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployLedger;
 
 import static org.jfrog.build.extractor.clientConfiguration.ClientProperties.PROP_CONNECTION_RETRIES;
 import static org.jfrog.build.extractor.clientConfiguration.ClientProperties.PROP_TIMEOUT;
@@ -28,6 +31,8 @@ public class ArtifactoryManagerBuilder {
         resolveProxy(clientConf.proxy, artifactoryManager);
         resolveRetriesParams(clientConf, artifactoryManager);
         resolveInsecureTls(clientConf, artifactoryManager);
+        resolveDeployLedger(clientConf, artifactoryManager);
+        resolveChecksumPreflight(clientConf, artifactoryManager);
         return artifactoryManager;
     }
 
@@ -72,6 +77,23 @@ public class ArtifactoryManagerBuilder {
         artifactoryManager.setInsecureTls(clientConf.getInsecureTls());
     }
 
+    private void resolveDeployLedger(ArtifactoryClientConfiguration clientConf, ArtifactoryManager artifactoryManager) {
+        String deployLedger = clientConf.publisher.getDeployLedger();
+        if (StringUtils.isBlank(deployLedger)) {
+            return;
+        }
+        logResolvedProperty(clientConf.publisher.getPrefix() + "." + BuildInfoFields.DEPLOY_LEDGER, deployLedger);
+        artifactoryManager.setDeployLedger(DeployLedger.load(deployLedger, artifactoryManager.getUrl(),
+                clientConf.publisher.getDeployLedgerVerifyIntervalHours(), new Maven3BuildInfoLogger(logger)));
+    }
+
+    private void resolveChecksumPreflight(ArtifactoryClientConfiguration clientConf, ArtifactoryManager artifactoryManager) {
+        if (clientConf.publisher.isChecksumPreflight()) {
+            logResolvedProperty(clientConf.publisher.getPrefix() + "." + BuildInfoFields.CHECKSUM_PREFLIGHT, "true");
+            artifactoryManager.setChecksumPreflight(new ChecksumPreflight(new Maven3BuildInfoLogger(logger)));
+        }
+    }
+
     private void resolveProxy(ArtifactoryClientConfiguration.ProxyHandler proxyConf,
                               ArtifactoryManager artifactoryManager) {
         String proxyHost = proxyConf.getHost();
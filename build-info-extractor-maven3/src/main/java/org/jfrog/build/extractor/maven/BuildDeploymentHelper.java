@@ -25,12 +25,14 @@ import org.jfrog.build.api.Build;
 import org.jfrog.build.api.BuildInfoConfigProperties;
 import org.jfrog.build.api.Module;
 import org.jfrog.build.api.util.FileChecksumCalculator;
+import org.jfrog.build.client.metrics.ClientMetrics;
 import org.jfrog.build.extractor.BuildInfoExtractorUtils;
 import org.jfrog.build.extractor.ModuleParallelDeployHelper;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployableArtifactsUtils;
+import org.jfrog.build.extractor.clientConfiguration.metrics.ClientMetricsFactory;
 import org.jfrog.build.extractor.retention.Utils;
 
 import java.io.File;
@@ -53,8 +55,33 @@ public class BuildDeploymentHelper {
                         Map<String, DeployDetails>     deployableArtifactBuilders,
                         boolean                        wereThereTestFailures,
                         File                           basedir ) {
+        deploy(build, clientConf, deployableArtifactBuilders, wereThereTestFailures, basedir, null);
+    }
 
-        Map<String, Set<DeployDetails>> deployableArtifactsByModule = prepareDeployableArtifacts(build, deployableArtifactBuilders);
+    /**
+     * Deploy the build artifacts and build info.
+     *
+     * @param deploymentPipeline - The pipeline, which deployed the modules while the reactor was building,
+     *                           or null to deploy the artifacts now.
+     */
+    public void deploy( Build                          build,
+                        ArtifactoryClientConfiguration clientConf,
+                        Map<String, DeployDetails>     deployableArtifactBuilders,
+                        boolean                        wereThereTestFailures,
+                        File                           basedir,
+                        ModuleDeploymentPipeline       deploymentPipeline ) {
+
+        Map<String, Set<DeployDetails>> deployableArtifactsByModule;
+        if (deploymentPipeline == null) {
+            deployableArtifactsByModule = prepareDeployableArtifacts(build, deployableArtifactBuilders);
+        } else {
+            boolean deployStaged = !wereThereTestFailures || clientConf.publisher.isEvenUnstable();
+            if (!deployStaged) {
+                logger.warn("Artifactory Build Info Recorder: unstable build, artifacts will not be deployed...");
+            }
+            // Wait for the modules deployment, before the build info is saved and published
+            deployableArtifactsByModule = deploymentPipeline.awaitDeployments(deployStaged);
+        }
 
         logger.debug("Build Info Recorder: deploy artifacts: " + clientConf.publisher.isPublishArtifacts());
         logger.debug("Build Info Recorder: publication fork count: " + clientConf.publisher.getPublishForkCount());
@@ -74,8 +101,41 @@ public class BuildDeploymentHelper {
             }
         }
 
-        if (isDeployArtifacts(clientConf, wereThereTestFailures, deployableArtifactsByModule)) {
+        ClientMetrics metrics = deploymentPipeline != null ? deploymentPipeline.getMetrics() : ClientMetricsFactory.create(clientConf);
+        try {
+            deploy(build, clientConf, deployableArtifactsByModule, wereThereTestFailures, metrics, deploymentPipeline == null);
+        } finally {
+            reportMetrics(metrics);
+        }
+    }
+
+    /**
+     * Create a pipeline, which prepares the modules as soon as they are built, if pipelined deployment is enabled.
+     * The prepared modules are staged until the reactor result is known, so a failed reactor deploys nothing.
+     *
+     * @param clientConf                 - The client configuration
+     * @param deployableArtifactBuilders - The deployable artifacts of the build, by artifact ID
+     * @return the pipeline, or null if the artifacts should be deployed at the end of the build
+     */
+    public ModuleDeploymentPipeline createDeploymentPipeline(ArtifactoryClientConfiguration clientConf,
+                                                             Map<String, DeployDetails> deployableArtifactBuilders) {
+        if (!clientConf.publisher.isPipelinedDeploy() || !clientConf.publisher.isPublishArtifacts()) {
+            return null;
+        }
+        ClientMetrics metrics = ClientMetricsFactory.create(clientConf);
+        ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.resolveProperties(clientConf);
+        artifactoryManager.setMetrics(metrics);
+        ModuleDeploymentPipeline deploymentPipeline = new ModuleDeploymentPipeline(artifactoryManager, metrics,
+                clientConf.publisher.getPublishForkCount(), module -> prepareModuleDeployableArtifacts(module, deployableArtifactBuilders));
+        logger.info("Artifactory Build Info Recorder: modules will be prepared for deployment as soon as they are built");
+        return deploymentPipeline;
+    }
+
+    private void deploy(Build build, ArtifactoryClientConfiguration clientConf, Map<String, Set<DeployDetails>> deployableArtifactsByModule,
+                        boolean wereThereTestFailures, ClientMetrics metrics, boolean deployArtifacts) {
+        if (deployArtifacts && isDeployArtifacts(clientConf, wereThereTestFailures, deployableArtifactsByModule)) {
             try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.resolveProperties(clientConf)) {
+                artifactoryManager.setMetrics(metrics);
                 new ModuleParallelDeployHelper().deployArtifacts(artifactoryManager, deployableArtifactsByModule, clientConf.publisher.getPublishForkCount());
             }
         }
@@ -90,12 +150,21 @@ public class BuildDeploymentHelper {
         }
 
         if (isPublishBuildInfo(clientConf, wereThereTestFailures)) {
-            publishBuildInfo(clientConf, build);
+            publishBuildInfo(clientConf, build, metrics);
         }
     }
 
-    private void publishBuildInfo(ArtifactoryClientConfiguration clientConf, Build build) {
+    private void reportMetrics(ClientMetrics metrics) {
+        try {
+            metrics.report(new Maven3BuildInfoLogger(logger));
+        } catch (IOException e) {
+            logger.warn("Failed writing the Artifactory client metrics: " + e.getMessage());
+        }
+    }
+
+    private void publishBuildInfo(ArtifactoryClientConfiguration clientConf, Build build, ClientMetrics metrics) {
         try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.resolveProperties(clientConf)) {
+            artifactoryManager.setMetrics(metrics);
             logger.info("Artifactory Build Info Recorder: Deploying build info ...");
             Utils.sendBuildAndBuildRetention(artifactoryManager, build, clientConf);
         } catch (Exception e) {
@@ -150,28 +219,7 @@ public class BuildDeploymentHelper {
         Map<String, Set<DeployDetails>> deployableArtifactsByModule = new LinkedHashMap<>();
         List<Module> modules = build.getModules();
         for (Module module : modules) {
-            Set<DeployDetails> moduleDeployableArtifacts = new LinkedHashSet<>();
-            List<Artifact> artifacts = module.getArtifacts();
-            if(artifacts!=null){
-                for (Artifact artifact : artifacts) {
-                    String artifactId = BuildInfoExtractorUtils.getArtifactId(module.getId(), artifact.getName());
-                    DeployDetails deployable = deployableArtifactBuilders.get(artifactId);
-                    if (deployable != null) {
-                        File file = deployable.getFile();
-                        setArtifactChecksums(file, artifact);
-                        artifact.setRemotePath(deployable.getArtifactPath());
-                        moduleDeployableArtifacts.add(new DeployDetails.Builder().
-                                artifactPath(deployable.getArtifactPath()).
-                                file(file).
-                                md5(artifact.getMd5()).
-                                sha1(artifact.getSha1()).
-                                addProperties(deployable.getProperties()).
-                                targetRepository(deployable.getTargetRepository()).
-                                packageType(DeployDetails.PackageType.MAVEN).
-                                build());
-                    }
-                }
-            }
+            Set<DeployDetails> moduleDeployableArtifacts = prepareModuleDeployableArtifacts(module, deployableArtifactBuilders);
             if (!moduleDeployableArtifacts.isEmpty()) {
                 deployableArtifactsByModule.put(module.getId(), moduleDeployableArtifacts);
             }
@@ -179,6 +227,32 @@ public class BuildDeploymentHelper {
         return deployableArtifactsByModule;
     }
 
+    private Set<DeployDetails> prepareModuleDeployableArtifacts(Module module, Map<String, DeployDetails> deployableArtifactBuilders) {
+        Set<DeployDetails> moduleDeployableArtifacts = new LinkedHashSet<>();
+        List<Artifact> artifacts = module.getArtifacts();
+        if(artifacts!=null){
+            for (Artifact artifact : artifacts) {
+                String artifactId = BuildInfoExtractorUtils.getArtifactId(module.getId(), artifact.getName());
+                DeployDetails deployable = deployableArtifactBuilders.get(artifactId);
+                if (deployable != null) {
+                    File file = deployable.getFile();
+                    setArtifactChecksums(file, artifact);
+                    artifact.setRemotePath(deployable.getArtifactPath());
+                    moduleDeployableArtifacts.add(new DeployDetails.Builder().
+                            artifactPath(deployable.getArtifactPath()).
+                            file(file).
+                            md5(artifact.getMd5()).
+                            sha1(artifact.getSha1()).
+                            addProperties(deployable.getProperties()).
+                            targetRepository(deployable.getTargetRepository()).
+                            packageType(DeployDetails.PackageType.MAVEN).
+                            build());
+                }
+            }
+        }
+        return moduleDeployableArtifacts;
+    }
+
     private void setArtifactChecksums(File artifactFile, org.jfrog.build.api.Artifact artifact) {
         if ((artifactFile != null) && (artifactFile.isFile())) {
             try {
@@ -31,6 +31,7 @@ import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
 import org.jfrog.build.api.Build;
 import org.jfrog.build.api.BuildInfoConfigProperties;
+import org.jfrog.build.api.Module;
 import org.jfrog.build.api.builder.*;
 import org.jfrog.build.api.util.CommonUtils;
 import org.jfrog.build.api.util.FileChecksumCalculator;
@@ -88,6 +89,7 @@ public class BuildInfoRecorder extends AbstractExecutionListener implements Buil
     private final ThreadLocal<Set<Artifact>> currentModuleArtifacts = new ThreadLocal<>();
     private final ThreadLocal<ModuleBuilder> currentModule = new ThreadLocal<>();
     private Map<String, DeployDetails> deployableArtifactBuilderMap;
+    private ModuleDeploymentPipeline deploymentPipeline;
     /*
      * Key - dependency ID - group:artifact:version.
      * Value - parents path-to-module. See requestedBy field in org.jfrog.build.api.Dependency.
@@ -151,6 +153,7 @@ public class BuildInfoRecorder extends AbstractExecutionListener implements Buil
             logger.info("Initializing Artifactory Build-Info Recording");
             buildInfoBuilder = buildInfoModelPropertyResolver.resolveProperties(event, conf);
             deployableArtifactBuilderMap = new ConcurrentHashMap<>();
+            deploymentPipeline = buildDeploymentHelper.createDeploymentPipeline(conf, deployableArtifactBuilderMap);
             skipDefaultDeploy(event.getSession());
 
             if (wrappedListener != null) {
@@ -169,7 +172,7 @@ public class BuildInfoRecorder extends AbstractExecutionListener implements Buil
             Build build = extract(event);
             if (build != null) {
                 File basedir = event.getSession().getTopLevelProject().getBasedir();
-                buildDeploymentHelper.deploy(build, conf, deployableArtifactBuilderMap, projectHasTestFailures, basedir);
+                buildDeploymentHelper.deploy(build, conf, deployableArtifactBuilderMap, projectHasTestFailures, basedir, deploymentPipeline);
             }
             deployableArtifactBuilderMap.clear();
             if (wrappedListener != null) {
@@ -180,6 +183,10 @@ public class BuildInfoRecorder extends AbstractExecutionListener implements Buil
             logger.error(message, t);
             throw new RuntimeException(message, t);
         } finally {
+            if (deploymentPipeline != null) {
+                deploymentPipeline.close();
+                deploymentPipeline = null;
+            }
             String propertyFilePath = System.getenv(BuildInfoConfigProperties.PROP_PROPS_FILE); // This is used in Jenkins jobs
             if (StringUtils.isBlank(propertyFilePath)) {
                 propertyFilePath = conf.getPropertiesFile(); // This is used in the Artifactory maven plugin and Bamboo
@@ -215,7 +222,10 @@ public class BuildInfoRecorder extends AbstractExecutionListener implements Buil
 
     @Override
     public void projectSucceeded(ExecutionEvent event) {
-        finalizeModule(event.getProject());
+        Module module = finalizeModule(event.getProject());
+        if (module != null && deploymentPipeline != null) {
+            deploymentPipeline.submit(module);
+        }
         if (wrappedListener != null) {
             wrappedListener.projectSucceeded(event);
         }
@@ -388,15 +398,15 @@ public class BuildInfoRecorder extends AbstractExecutionListener implements Buil
         extractModuleDependencies(project);
     }
 
-    private void finalizeModule(MavenProject project) {
+    private Module finalizeModule(MavenProject project) {
         try {
             extractArtifactsAndDependencies(project);
             ModuleBuilder module = currentModule.get();
             if (module == null) {
                 logger.warn("Skipping Artifactory Build-Info module finalization: Null current module.");
-                return;
+                return null;
             }
-            addModuleToBuild(project, module);
+            return addModuleToBuild(project, module);
         } finally {
             cleanUpModule();
         }
@@ -471,12 +481,14 @@ public class BuildInfoRecorder extends AbstractExecutionListener implements Buil
         }
     }
 
-    private void addModuleToBuild(MavenProject project, ModuleBuilder module) {
+    private Module addModuleToBuild(MavenProject project, ModuleBuilder module) {
         addArtifactsToCurrentModule(project, module);
         addDependenciesToCurrentModule(module);
         setModuleRepo(module);
 
-        buildInfoBuilder.addModule(module.build());
+        Module builtModule = module.build();
+        buildInfoBuilder.addModule(builtModule);
+        return builtModule;
     }
 
     private void addArtifactsToCurrentModule(MavenProject project, ModuleBuilder module) {
@@ -48,4 +48,9 @@ public class Maven3BuildInfoLogger implements Log {
     public void error(String message, Throwable e) {
         logger.error(message, e);
     }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
 }
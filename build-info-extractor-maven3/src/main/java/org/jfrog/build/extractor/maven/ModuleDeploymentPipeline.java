@@ -0,0 +1,142 @@
+package org.jfrog.build.extractor.maven;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.Module;
+import org.jfrog.build.client.metrics.ClientMetrics;
+import org.jfrog.build.extractor.ModuleParallelDeployHelper;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Prepares the artifacts of the Maven modules in the background, while the rest of the reactor is still building.
+ * Each module is submitted as soon as it is built. Its deployable artifacts are prepared right away, and staged until
+ * the reactor result is known. The staged modules are deployed concurrently by {@link #awaitDeployments(boolean)}, each
+ * serially with the pom descriptors last. {@link #awaitDeployments(boolean)} is the barrier before the build info is
+ * published. Closing the pipeline before it discards the staged modules, so a failed reactor deploys nothing.
+ */
+public class ModuleDeploymentPipeline implements AutoCloseable {
+    private final ArtifactoryManager artifactoryManager;
+    private final ClientMetrics metrics;
+    private final ExecutorService executor;
+    private final Function<Module, Set<DeployDetails>> preparer;
+    private final ModuleParallelDeployHelper deployHelper = new ModuleParallelDeployHelper();
+    private final CompletableFuture<Boolean> approval = new CompletableFuture<>();
+    private final Map<String, CompletableFuture<Set<DeployDetails>>> deployments = new LinkedHashMap<>();
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    /**
+     * @param artifactoryManager - The Artifactory manager to upload with. Closed with the pipeline.
+     * @param metrics            - The client metrics of the deployment
+     * @param threads            - Number of modules prepared and deployed concurrently
+     * @param preparer           - Returns the deployable artifacts of a module
+     */
+    public ModuleDeploymentPipeline(ArtifactoryManager artifactoryManager, ClientMetrics metrics, int threads,
+                                    Function<Module, Set<DeployDetails>> preparer) {
+        this.artifactoryManager = artifactoryManager;
+        this.metrics = metrics;
+        this.executor = ExecutorFactory.newExecutor("deploy", threads);
+        this.preparer = preparer;
+    }
+
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Submit a built module to the pipeline.
+     *
+     * @param module - The build info module
+     */
+    public void submit(Module module) {
+        CompletableFuture<Set<DeployDetails>> deployment = CompletableFuture
+                .supplyAsync(() -> sortDescriptorsLast(preparer.apply(module)), executor)
+                .thenCombineAsync(approval, (deployableArtifacts, approved) -> {
+                    if (approved && !failed.get() && !deployableArtifacts.isEmpty()) {
+                        deploy(deployableArtifacts);
+                    }
+                    return deployableArtifacts;
+                }, executor);
+        synchronized (deployments) {
+            // A module built more than once is deployed once per build
+            deployments.merge(module.getId(), deployment, (previous, next) -> previous.thenCombine(next, (first, second) -> {
+                Set<DeployDetails> merged = new LinkedHashSet<>(first);
+                merged.addAll(second);
+                return merged;
+            }));
+        }
+    }
+
+    /**
+     * Wait for all the submitted modules to be deployed.
+     *
+     * @param deploy - True to deploy the staged modules, false to skip their deployment
+     * @return the deployable artifacts by module, in the order of submission
+     * @throws RuntimeException if a deployment failed
+     */
+    public Map<String, Set<DeployDetails>> awaitDeployments(boolean deploy) {
+        approval.complete(deploy);
+        Map<String, CompletableFuture<Set<DeployDetails>>> submitted;
+        synchronized (deployments) {
+            submitted = new LinkedHashMap<>(deployments);
+        }
+        Map<String, Set<DeployDetails>> deployableArtifactsByModule = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<Set<DeployDetails>>> entry : submitted.entrySet()) {
+            Set<DeployDetails> deployableArtifacts;
+            try {
+                deployableArtifacts = entry.getValue().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            }
+            if (!deployableArtifacts.isEmpty()) {
+                deployableArtifactsByModule.put(entry.getKey(), deployableArtifacts);
+            }
+        }
+        return deployableArtifactsByModule;
+    }
+
+    @Override
+    public void close() {
+        // Discard the modules which are still staged
+        approval.complete(false);
+        ExecutorFactory.shutdown(executor);
+        artifactoryManager.close();
+    }
+
+    private void deploy(Set<DeployDetails> deployableArtifacts) {
+        try {
+            deployHelper.deploy(artifactoryManager, deployableArtifacts, "[" + Thread.currentThread().getName() + "]");
+        } catch (RuntimeException e) {
+            // Skip the deployment of the remaining modules
+            failed.set(true);
+            throw e;
+        }
+    }
+
+    /**
+     * The pom descriptors are deployed last, so the module is not visible in Artifactory before its artifacts.
+     */
+    static Set<DeployDetails> sortDescriptorsLast(Set<DeployDetails> deployableArtifacts) {
+        Set<DeployDetails> sorted = new LinkedHashSet<>();
+        List<DeployDetails> descriptors = new ArrayList<>();
+        for (DeployDetails details : deployableArtifacts) {
+            if (StringUtils.endsWith(details.getArtifactPath(), ".pom")) {
+                descriptors.add(details);
+            } else {
+                sorted.add(details);
+            }
+        }
+        sorted.addAll(descriptors);
+        return sorted;
+    }
+}
@@ -4,21 +4,24 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * Read a Maven project recursively.
+ * The poms of each level of the modules tree are parsed concurrently.
  *
  * @author Tomer Cohen
  */
 public class ProjectReader {
     private final File rootPom;
+    private final int threads;
+    private Map<File, Model> models = Collections.emptyMap();
 
     /**
      * Constructor, gets the file which represents the location of the <b>root</b> pom of the Maven project.
@@ -26,7 +29,16 @@ public class ProjectReader {
      * @param rootPom The root pom of the Maven project.
      */
     public ProjectReader(File rootPom) {
+        this(rootPom, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param rootPom The root pom of the Maven project.
+     * @param threads Number of poms parsed concurrently.
+     */
+    public ProjectReader(File rootPom, int threads) {
         this.rootPom = rootPom;
+        this.threads = threads;
     }
 
     /**
@@ -38,39 +50,92 @@ public class ProjectReader {
      * @throws IOException Thrown in case of an error occurring while reading the pom.
      */
     public Map<ModuleName, File> read() throws IOException {
+        models = readModels();
         Map<ModuleName, File> result = new HashMap<>();
-        readRecursive(result, rootPom);
+        readRecursive(result, rootPom, new HashSet<>());
         return result;
     }
 
     /**
-     * Read the modules recursively and populate the {@link ModuleName} and file map according to the modules.
+     * @return The models of the poms of the last {@link #read()}, by pom file.
      */
-    private void readRecursive(Map<ModuleName, File> modules, File current) throws IOException {
-        if (!current.exists()) {
-            throw new IllegalArgumentException("Root pom file: " + current.getAbsolutePath() + " does not exist");
-        }
-        Model model = readModel(current);
+    public Map<File, Model> getModels() {
+        return models;
+    }
+
+    /**
+     * Populate the {@link ModuleName} and file map according to the modules recursively, in the order of the modules
+     * tree - So a pom, which is referenced more than once, wins the same as in a serial read.
+     */
+    private void readRecursive(Map<ModuleName, File> modules, File current, Set<File> visited) {
+        Model model = models.get(current);
         String groupId = model.getGroupId();
         if (StringUtils.isBlank(groupId)) {
             groupId = model.getParent().getGroupId();
         }
         modules.put(new ModuleName(groupId, model.getArtifactId()), current);
+        if (!visited.add(current)) {
+            return;
+        }
+        for (File childPom : getChildPoms(current, model)) {
+            readRecursive(modules, childPom, visited);
+        }
+    }
 
-        List<String> children = model.getModules();
-        for (String child : children) {
+    /**
+     * Parse the poms of the modules tree, level by level.
+     */
+    private Map<File, Model> readModels() throws IOException {
+        Map<File, Model> result = new HashMap<>();
+        List<File> level = Collections.singletonList(rootPom);
+        while (!level.isEmpty()) {
+            Set<File> poms = new LinkedHashSet<>();
+            for (File pom : level) {
+                if (!result.containsKey(pom) && poms.add(pom) && !pom.exists()) {
+                    throw new IllegalArgumentException("Root pom file: " + pom.getAbsolutePath() + " does not exist");
+                }
+            }
+            List<Callable<Model>> tasks = new ArrayList<>();
+            for (File pom : poms) {
+                tasks.add(() -> readModel(pom));
+            }
+            List<Model> levelModels = invokeAll(tasks);
+            List<File> nextLevel = new ArrayList<>();
+            int i = 0;
+            for (File pom : poms) {
+                Model model = levelModels.get(i++);
+                result.put(pom, model);
+                nextLevel.addAll(getChildPoms(pom, model));
+            }
+            level = nextLevel;
+        }
+        return result;
+    }
+
+    private static List<File> getChildPoms(File pom, Model model) {
+        List<File> childPoms = new ArrayList<>();
+        for (String child : model.getModules()) {
             if (!child.endsWith("pom.xml")) {
                 child += "/pom.xml";
             }
-            File childPom = new File(current.getParentFile().getAbsolutePath(), child);
-            readRecursive(modules, childPom);
+            childPoms.add(new File(pom.getParentFile().getAbsolutePath(), child));
+        }
+        return childPoms;
+    }
+
+    private List<Model> invokeAll(List<Callable<Model>> tasks) throws IOException {
+        try {
+            return ExecutorFactory.invokeAll("pom-reader", threads, tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the project", e);
         }
     }
 
     /**
      * @return Construct a Maven {@link Model} from the pom.
      */
-    private Model readModel(File pom) throws IOException {
+    private static Model readModel(File pom) throws IOException {
         MavenXpp3Reader reader = new MavenXpp3Reader();
         try (FileInputStream inputStream = new FileInputStream(pom)) {
             return reader.read(inputStream);
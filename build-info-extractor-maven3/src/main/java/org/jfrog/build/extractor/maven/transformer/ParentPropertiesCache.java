@@ -0,0 +1,101 @@
+package org.jfrog.build.extractor.maven.transformer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+
+import java.io.File;
+import java.io.FileReader;
+import java.nio.file.InvalidPathException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * The properties of parent poms, resolved with the properties of their own parents - The nearest pom wins.
+ * Shared by the transformers of all the reactor modules, so each parent pom is read and resolved once, instead of once
+ * per child module.
+ */
+class ParentPropertiesCache {
+    private static final String UNIX_DEFAULT_PARENT_POM_RELATIVE_PATH = "../pom.xml";
+    private static final String WINDOWS_DEFAULT_PARENT_POM_RELATIVE_PATH = "..\\pom.xml";
+
+    private final Map<String, Model> models = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> scopes = new ConcurrentHashMap<>();
+
+    /**
+     * Add a model, which was already read, so its pom is not read again.
+     *
+     * @param pom   - The pom file
+     * @param model - The model of the pom
+     */
+    void addModel(File pom, Model model) {
+        models.put(toKey(pom.getAbsolutePath()), model);
+    }
+
+    /**
+     * Returns the properties of the pom and of its parents.
+     *
+     * @param pomPath - Path to the pom
+     * @return the resolved properties. Empty if the pom could not be read.
+     */
+    Map<String, String> getScope(String pomPath) {
+        return getScope(pomPath, new HashSet<>());
+    }
+
+    private Map<String, String> getScope(String pomPath, Set<String> visited) {
+        String key = toKey(pomPath);
+        Map<String, String> scope = scopes.get(key);
+        if (scope != null) {
+            return scope;
+        }
+        if (!visited.add(key)) {
+            // The parents chain is circular
+            return Collections.emptyMap();
+        }
+        scope = new HashMap<>();
+        Model model = getModel(key);
+        if (model != null) {
+            Properties properties = model.getProperties();
+            for (String name : properties.stringPropertyNames()) {
+                scope.put(name, properties.getProperty(name));
+            }
+            Parent parent = model.getParent();
+            if (parent != null) {
+                String relativePath = parent.getRelativePath();
+                if (File.separatorChar == '\\' && UNIX_DEFAULT_PARENT_POM_RELATIVE_PATH.equals(relativePath)) {
+                    relativePath = WINDOWS_DEFAULT_PARENT_POM_RELATIVE_PATH;
+                }
+                String parentPath = StringUtils.substringBeforeLast(key, File.separator) + File.separator + relativePath;
+                getScope(parentPath, visited).forEach(scope::putIfAbsent);
+            }
+        }
+        Map<String, String> existing = scopes.putIfAbsent(key, Collections.unmodifiableMap(scope));
+        return existing != null ? existing : scopes.get(key);
+    }
+
+    private Model getModel(String key) {
+        Model model = models.get(key);
+        if (model != null) {
+            return model;
+        }
+        MavenXpp3Reader mavenReader = new MavenXpp3Reader();
+        try (FileReader reader = new FileReader(key)) {
+            model = mavenReader.read(reader);
+            models.putIfAbsent(key, model);
+            return model;
+        } catch (Exception e) {
+            Logger.getLogger(PomTransformer.class.getName()).info("couldn't load pom file at: " + key);
+            return null;
+        }
+    }
+
+    private static String toKey(String pomPath) {
+        try {
+            return new File(pomPath).getAbsoluteFile().toPath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return pomPath;
+        }
+    }
+}
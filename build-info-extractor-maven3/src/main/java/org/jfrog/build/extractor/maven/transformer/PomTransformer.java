@@ -52,8 +52,11 @@ public class PomTransformer {
     private final Map<ModuleName, String> versionsByModule;
     private final boolean failOnSnapshot;
     private final boolean dryRun;
+    private final ParentPropertiesCache parentPropertiesCache;
 
     private boolean modified;
+    private Document document;
+    private String eol;
     private File pomFile;
     private Map<String, String> pomProperties = new HashMap<String, String>();
     private String nextPomToLoad = null;
@@ -95,11 +98,23 @@ public class PomTransformer {
      */
     public PomTransformer(ModuleName currentModule, Map<ModuleName, String> versionsByModule, String scmUrl,
                           boolean failOnSnapshot, boolean dryRun) {
+        this(currentModule, versionsByModule, scmUrl, failOnSnapshot, dryRun, null);
+    }
+
+    /**
+     * Transforms single pom file of a reactor.
+     *
+     * @param parentPropertiesCache The properties of the parent poms, shared by the transformers of the reactor.
+     *                              If null, the parent poms are read by this transformer.
+     */
+    PomTransformer(ModuleName currentModule, Map<ModuleName, String> versionsByModule, String scmUrl,
+                   boolean failOnSnapshot, boolean dryRun, ParentPropertiesCache parentPropertiesCache) {
         this.currentModule = currentModule;
         this.versionsByModule = versionsByModule;
         this.scmUrl = scmUrl;
         this.failOnSnapshot = failOnSnapshot;
         this.dryRun = dryRun;
+        this.parentPropertiesCache = parentPropertiesCache;
     }
 
     /**
@@ -108,13 +123,23 @@ public class PomTransformer {
      * @return True if the file was modified.
      */
     public Boolean transform(File pomFile) throws IOException {
+        apply(pomFile);
+        write();
+        return modified;
+    }
+
+    /**
+     * Performs the transformation in memory, without writing the pom.
+     *
+     * @return True if the pom was modified.
+     */
+    boolean apply(File pomFile) throws IOException {
         this.pomFile = pomFile;
         if (!pomFile.exists()) {
             throw new IllegalArgumentException("Couldn't find pom file: " + pomFile);
         }
 
         SAXBuilder saxBuilder = createSaxBuilder();
-        Document document;
         EolDetectingInputStream eolDetectingStream = null;
         InputStreamReader inputStreamReader = null;
         try {
@@ -127,6 +152,7 @@ public class PomTransformer {
             IOUtils.closeQuietly(inputStreamReader);
             IOUtils.closeQuietly(eolDetectingStream);
         }
+        eol = eolDetectingStream.getEol();
 
         Element rootElement = document.getRootElement();
         Namespace ns = rootElement.getNamespace();
@@ -145,12 +171,18 @@ public class PomTransformer {
             changeScm(rootElement, ns);
         }
 
+        return modified;
+    }
+
+    /**
+     * Writes the transformed pom, if it was modified.
+     */
+    void write() throws IOException {
         if (modified && !dryRun) {
             FileOutputStream fileOutputStream = new FileOutputStream(pomFile);
             OutputStreamWriter outputStreamWriter = new OutputStreamWriter(fileOutputStream, "UTF-8");
             try {
                 XMLOutputter outputter = new XMLOutputter();
-                String eol = eolDetectingStream.getEol();
                 if (!"".equals(eol)) {
                     Format format = outputter.getFormat();
                     format.setLineSeparator(eol);
@@ -163,8 +195,6 @@ public class PomTransformer {
                 IOUtils.closeQuietly(fileOutputStream);
             }
         }
-
-        return modified;
     }
 
     private void getProperties(Element root, Namespace ns) {
@@ -294,6 +324,10 @@ public class PomTransformer {
             return expression;
         }
 
+        if (parentPropertiesCache != null) {
+            return nextPomToLoad == null ? null : parentPropertiesCache.getScope(nextPomToLoad).get(expr.substring(2, expr.lastIndexOf("}")));
+        }
+
         if (loadNextProperties()) {
             return evalExpression(expr);
         }
@@ -0,0 +1,110 @@
+package org.jfrog.build.extractor.maven.transformer;
+
+import org.jfrog.build.extractor.executor.ExecutorFactory;
+import org.jfrog.build.extractor.maven.reader.ModuleName;
+import org.jfrog.build.extractor.maven.reader.ProjectReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Rewrites the project versions in all the poms of a Maven reactor, for release builds.
+ * The poms are transformed concurrently, in two phases - First all the poms are transformed in memory, then the
+ * modified poms are written. So the snapshot versions are verified before any pom is written, and a parent pom is
+ * never read while it is being written.
+ * The properties of the parent poms are resolved once, and shared by the transformers of all the modules.
+ *
+ * @see PomTransformer
+ */
+public class ReactorPomTransformer {
+    private final Map<ModuleName, String> versionsByModule;
+    private final String scmUrl;
+    private final boolean failOnSnapshot;
+    private final boolean dryRun;
+    private final int threads;
+
+    /**
+     * @param versionsByModule Map of module names to module version
+     * @param scmUrl           Scm url to use if scm element exists in the pom files
+     * @param failOnSnapshot   If true, fail with SnapshotNotAllowedException if a pom contains snapshot version after
+     *                         the version changes
+     * @param dryRun           If true, changes will not take effect.
+     * @param threads          Number of poms transformed concurrently
+     */
+    public ReactorPomTransformer(Map<ModuleName, String> versionsByModule, String scmUrl, boolean failOnSnapshot,
+                                 boolean dryRun, int threads) {
+        this.versionsByModule = versionsByModule;
+        this.scmUrl = scmUrl;
+        this.failOnSnapshot = failOnSnapshot;
+        this.dryRun = dryRun;
+        this.threads = threads;
+    }
+
+    /**
+     * Read the modules of the reactor and transform their poms.
+     * The models of the reactor poms are reused as the parent poms of the modules, so they are not read again.
+     *
+     * @param rootPom The root pom of the reactor
+     * @return True for every module, which pom was modified, by module name.
+     */
+    public Map<ModuleName, Boolean> transform(File rootPom) throws IOException {
+        ProjectReader projectReader = new ProjectReader(rootPom, threads);
+        Map<ModuleName, File> modules = projectReader.read();
+        ParentPropertiesCache parentPropertiesCache = new ParentPropertiesCache();
+        projectReader.getModels().forEach(parentPropertiesCache::addModel);
+        return transform(modules, parentPropertiesCache);
+    }
+
+    /**
+     * Transform the poms of the modules.
+     *
+     * @param modules The pom files by module name
+     * @return True for every module, which pom was modified, by module name.
+     */
+    public Map<ModuleName, Boolean> transform(Map<ModuleName, File> modules) throws IOException {
+        return transform(modules, new ParentPropertiesCache());
+    }
+
+    private Map<ModuleName, Boolean> transform(Map<ModuleName, File> modules, ParentPropertiesCache parentPropertiesCache)
+            throws IOException {
+        Map<ModuleName, PomTransformer> transformers = new LinkedHashMap<>();
+        for (ModuleName module : modules.keySet()) {
+            transformers.put(module, new PomTransformer(module, versionsByModule, scmUrl, failOnSnapshot, dryRun, parentPropertiesCache));
+        }
+        List<Callable<Boolean>> applyTasks = new ArrayList<>();
+        for (Map.Entry<ModuleName, PomTransformer> entry : transformers.entrySet()) {
+            File pomFile = modules.get(entry.getKey());
+            applyTasks.add(() -> entry.getValue().apply(pomFile));
+        }
+        List<Boolean> applied = invokeAll(applyTasks);
+        Map<ModuleName, Boolean> modifiedByModule = new LinkedHashMap<>();
+        List<Callable<Boolean>> writeTasks = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<ModuleName, PomTransformer> entry : transformers.entrySet()) {
+            boolean modified = applied.get(i++);
+            modifiedByModule.put(entry.getKey(), modified);
+            if (modified) {
+                writeTasks.add(() -> {
+                    entry.getValue().write();
+                    return true;
+                });
+            }
+        }
+        invokeAll(writeTasks);
+        return modifiedByModule;
+    }
+
+    private List<Boolean> invokeAll(List<Callable<Boolean>> tasks) throws IOException {
+        try {
+            return ExecutorFactory.invokeAll("pom-transformer", threads, tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while transforming the poms", e);
+        }
+    }
+}
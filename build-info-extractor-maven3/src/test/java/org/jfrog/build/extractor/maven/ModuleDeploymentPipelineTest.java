@@ -0,0 +1,112 @@
+package org.jfrog.build.extractor.maven;
+
+import org.jfrog.build.api.Module;
+import org.jfrog.build.api.builder.ModuleBuilder;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.client.metrics.NoOpClientMetrics;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the background deployment of the Maven modules
+ */
+@Test
+public class ModuleDeploymentPipelineTest {
+    private File artifactFile;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        artifactFile = File.createTempFile("artifact", ".jar");
+        artifactFile.deleteOnExit();
+    }
+
+    public void testDeployStagedModules() {
+        FakeArtifactoryManager artifactoryManager = new FakeArtifactoryManager();
+        try (ModuleDeploymentPipeline pipeline = new ModuleDeploymentPipeline(artifactoryManager, new NoOpClientMetrics(), 2, this::getDeployableArtifacts)) {
+            pipeline.submit(createModule("org:a:1"));
+            pipeline.submit(createModule("org:b:1"));
+            Map<String, Set<DeployDetails>> deployed = pipeline.awaitDeployments(true);
+            assertEquals(deployed.keySet(), new LinkedHashSet<>(Arrays.asList("org:a:1", "org:b:1")));
+            assertEquals(artifactoryManager.uploads.size(), 4);
+            // The descriptors of each module are deployed after its artifacts
+            assertTrue(artifactoryManager.uploads.indexOf("org/a/1/a-1.jar") < artifactoryManager.uploads.indexOf("org/a/1/a-1.pom"));
+            deployed.values().forEach(details -> details.forEach(artifact -> assertTrue(artifact.getDeploySucceeded())));
+        }
+    }
+
+    public void testFailedReactor() throws Exception {
+        FakeArtifactoryManager artifactoryManager = new FakeArtifactoryManager();
+        try (ModuleDeploymentPipeline pipeline = new ModuleDeploymentPipeline(artifactoryManager, new NoOpClientMetrics(), 2, this::getDeployableArtifacts)) {
+            pipeline.submit(createModule("org:a:1"));
+            Thread.sleep(100);
+            // A later module failed, so the reactor ends without waiting for the deployments
+        }
+        assertTrue(artifactoryManager.uploads.isEmpty());
+    }
+
+    public void testStagedModules() throws Exception {
+        FakeArtifactoryManager artifactoryManager = new FakeArtifactoryManager();
+        try (ModuleDeploymentPipeline pipeline = new ModuleDeploymentPipeline(artifactoryManager, new NoOpClientMetrics(), 2, this::getDeployableArtifacts)) {
+            pipeline.submit(createModule("org:a:1"));
+            pipeline.submit(createModule("org:b:1"));
+            Thread.sleep(100);
+            // Staged until the reactor result is known
+            assertTrue(artifactoryManager.uploads.isEmpty());
+
+            Map<String, Set<DeployDetails>> deployableArtifacts = pipeline.awaitDeployments(false);
+            assertEquals(deployableArtifacts.size(), 2);
+            assertTrue(artifactoryManager.uploads.isEmpty());
+        }
+    }
+
+    public void testDescriptorsLast() {
+        Set<DeployDetails> deployableArtifacts = new LinkedHashSet<>(Arrays.asList(
+                createDeployDetails("org/a/1/a-1.pom"), createDeployDetails("org/a/1/a-1.jar"), createDeployDetails("org/a/1/a-1-sources.jar")));
+        List<String> paths = new ArrayList<>();
+        ModuleDeploymentPipeline.sortDescriptorsLast(deployableArtifacts).forEach(details -> paths.add(details.getArtifactPath()));
+        assertEquals(paths, Arrays.asList("org/a/1/a-1.jar", "org/a/1/a-1-sources.jar", "org/a/1/a-1.pom"));
+    }
+
+    private Set<DeployDetails> getDeployableArtifacts(Module module) {
+        String[] gav = module.getId().split(":");
+        String path = gav[0] + "/" + gav[1] + "/" + gav[2] + "/" + gav[1] + "-" + gav[2];
+        return new LinkedHashSet<>(Arrays.asList(createDeployDetails(path + ".pom"), createDeployDetails(path + ".jar")));
+    }
+
+    private static Module createModule(String id) {
+        return new ModuleBuilder().id(id).build();
+    }
+
+    private DeployDetails createDeployDetails(String path) {
+        return new DeployDetails.Builder().file(artifactFile).artifactPath(path).targetRepository("libs-release-local").build();
+    }
+
+    /**
+     * Artifactory manager, which records the uploaded paths.
+     */
+    private static class FakeArtifactoryManager extends ArtifactoryManager {
+        private final List<String> uploads = Collections.synchronizedList(new ArrayList<>());
+
+        private FakeArtifactoryManager() {
+            super("http://localhost:8081/artifactory", new NullLog());
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details, String logPrefix) {
+            uploads.add(details.getArtifactPath());
+            ArtifactoryUploadResponse response = new ArtifactoryUploadResponse();
+            response.setPath(details.getArtifactPath());
+            response.setChecksums(new ArtifactoryUploadResponse.Checksums());
+            return response;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.jfrog.build.extractor.maven.transformer;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.extractor.maven.reader.ModuleName;
+import org.jfrog.build.extractor.maven.reader.ProjectReader;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the concurrent transformation of all the poms of a reactor
+ */
+@Test
+public class ReactorPomTransformerTest {
+    private static final String GROUP_ID = "org.jfrog.test";
+    private static final long OLD_TIMESTAMP = 1000000000000L;
+
+    private File tempDir;
+    private File rootPom;
+    private final Map<ModuleName, String> versions = new HashMap<>();
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("reactor-transformer").toFile();
+        rootPom = writePom("pom.xml", "<groupId>" + GROUP_ID + "</groupId><artifactId>root</artifactId>" +
+                "<version>1.0-SNAPSHOT</version><packaging>pom</packaging>" +
+                "<properties><external.version>1.0-SNAPSHOT</external.version></properties>" +
+                "<modules><module>lib</module><module>app</module><module>tools</module></modules>");
+        writePom("lib/pom.xml", parent("root", "1.0-SNAPSHOT") + "<artifactId>lib</artifactId><version>1.0-SNAPSHOT</version>" +
+                "<modules><module>nested</module></modules>");
+        writePom("lib/nested/pom.xml", parent("lib", "1.0-SNAPSHOT") + "<artifactId>nested</artifactId>");
+        writePom("app/pom.xml", parent("root", "1.0-SNAPSHOT") + "<artifactId>app</artifactId>" +
+                "<dependencies><dependency><groupId>" + GROUP_ID + "</groupId><artifactId>external</artifactId>" +
+                "<version>${external.version}</version></dependency></dependencies>");
+        // Already released - Not modified
+        writePom("tools/pom.xml", "<groupId>org.jfrog.tools</groupId><artifactId>tools</artifactId><version>5.0</version>");
+        for (String module : new String[]{"root", "lib", "nested", "app"}) {
+            versions.put(new ModuleName(GROUP_ID, module), "1.0");
+        }
+        versions.put(new ModuleName("org.jfrog.tools", "tools"), "5.0");
+        FileUtils.listFiles(tempDir, null, true).forEach(file -> file.setLastModified(OLD_TIMESTAMP));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    public void testTransformReactor() throws IOException {
+        // Transform a copy of the reactor serially, for the expected poms
+        File expectedDir = new File(tempDir, "expected");
+        FileUtils.copyDirectory(tempDir, expectedDir);
+        for (Map.Entry<ModuleName, File> module : new ProjectReader(new File(expectedDir, "pom.xml")).read().entrySet()) {
+            new PomTransformer(module.getKey(), versions, null).transform(module.getValue());
+        }
+
+        Map<ModuleName, Boolean> modified = new ReactorPomTransformer(versions, null, false, false, 4).transform(rootPom);
+
+        assertEquals(modified.size(), 5);
+        assertFalse(modified.get(new ModuleName("org.jfrog.tools", "tools")));
+        for (String pom : new String[]{"pom.xml", "lib/pom.xml", "lib/nested/pom.xml", "app/pom.xml", "tools/pom.xml"}) {
+            assertEquals(readPom(new File(tempDir, pom)), readPom(new File(expectedDir, pom)), pom);
+        }
+        assertTrue(readPom(new File(tempDir, "lib/nested/pom.xml")).contains("<version>1.0</version>"));
+        assertTrue(readPom(new File(tempDir, "app/pom.xml")).contains("\r\n"), "The EOL should be preserved");
+        assertEquals(new File(tempDir, "tools/pom.xml").lastModified(), OLD_TIMESTAMP, "Unmodified poms should not be written");
+    }
+
+    public void testSnapshotInParentProperty() throws IOException {
+        String appPom = readPom(new File(tempDir, "app/pom.xml"));
+        try {
+            new ReactorPomTransformer(versions, null, true, false, 4).transform(rootPom);
+            fail("The external dependency version property of the root pom is a snapshot and should fail");
+        } catch (SnapshotNotAllowedException e) {
+            assertTrue(e.getMessage().contains("org.jfrog.test:external:${external.version}"), "Unexpected error message: " + e.getMessage());
+        }
+        // The snapshots are verified before any pom is written
+        assertEquals(readPom(new File(tempDir, "app/pom.xml")), appPom);
+        assertEquals(rootPom.lastModified(), OLD_TIMESTAMP);
+    }
+
+    public void testDryRun() throws IOException {
+        Map<ModuleName, Boolean> modified = new ReactorPomTransformer(versions, null, false, true, 4).transform(rootPom);
+        assertTrue(modified.get(new ModuleName(GROUP_ID, "nested")));
+        FileUtils.listFiles(tempDir, null, true).forEach(file -> assertEquals(file.lastModified(), OLD_TIMESTAMP, file.getPath()));
+    }
+
+    private File writePom(String path, String content) throws IOException {
+        File pom = new File(tempDir, path);
+        FileUtils.write(pom, "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\r\n<modelVersion>4.0.0</modelVersion>\r\n" +
+                content + "\r\n</project>\r\n", StandardCharsets.UTF_8);
+        return pom;
+    }
+
+    private static String parent(String artifactId, String version) {
+        return "<parent><groupId>" + GROUP_ID + "</groupId><artifactId>" + artifactId + "</artifactId><version>" + version + "</version></parent>";
+    }
+
+    private static String readPom(File pom) throws IOException {
+        return FileUtils.readFileToString(pom, StandardCharsets.UTF_8);
+    }
+}
@@ -5,8 +5,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.Build;
 import org.jfrog.build.api.Dependency;
 import org.jfrog.build.api.Module;
+import org.jfrog.build.api.builder.DependencyBuilder;
 import org.jfrog.build.api.builder.ModuleBuilder;
 import org.jfrog.build.api.builder.ModuleType;
+import org.jfrog.build.api.search.AqlSearchResult;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.ProxyConfiguration;
 import org.jfrog.build.extractor.BuildInfoExtractor;
@@ -16,6 +18,7 @@ import org.jfrog.build.extractor.npm.NpmDriver;
 import org.jfrog.build.extractor.npm.types.NpmPackageInfo;
 import org.jfrog.build.extractor.npm.types.NpmProject;
 import org.jfrog.build.extractor.npm.types.NpmScope;
+import org.jfrog.build.extractor.packageManager.DependenciesIndex;
 import org.jfrog.build.extractor.producerConsumer.ConsumerRunnableBase;
 import org.jfrog.build.extractor.producerConsumer.ProducerConsumerExecutor;
 import org.jfrog.build.extractor.producerConsumer.ProducerRunnableBase;
@@ -39,6 +42,9 @@ import static org.jfrog.build.client.PreemptiveHttpClientBuilder.CONNECTION_POOL
 public class NpmBuildInfoExtractor implements BuildInfoExtractor<NpmProject> {
     private static final String NPMRC_BACKUP_FILE_NAME = "jfrog.npmrc.backup";
     private static final String NPMRC_FILE_NAME = ".npmrc";
+    private static final int LOCKFILE_AQL_BULK_SIZE = 500;
+    private static final String LOCKFILE_AQL_FORMAT = "items.find({\"$or\":[%s]}).include(\"actual_sha1\",\"actual_md5\")";
+    private static final String LOCKFILE_AQL_PART = "{\"actual_sha1\":\"%s\"},";
 
     private final ArtifactoryManagerBuilder artifactoryManagerBuilder;
     private NpmPackageInfo npmPackageInfo = new NpmPackageInfo();
@@ -48,6 +54,7 @@ public class NpmBuildInfoExtractor implements BuildInfoExtractor<NpmProject> {
     private Properties npmAuth;
     private String buildName;
     private final String project;
+    private DependenciesIndex dependenciesIndex;
     private String npmProxy;
     private String module;
     private Log logger;
@@ -61,6 +68,11 @@ public class NpmBuildInfoExtractor implements BuildInfoExtractor<NpmProject> {
         this.buildName = buildName;
         this.project = project;
         this.typeRestriction = TypeRestriction.DEFAULT_RESTRICTION;
+        this.dependenciesIndex = DependenciesIndex.load(null, logger);
+    }
+
+    void setDependenciesIndex(DependenciesIndex dependenciesIndex) {
+        this.dependenciesIndex = dependenciesIndex;
     }
 
     @Override
@@ -80,7 +92,8 @@ public class NpmBuildInfoExtractor implements BuildInfoExtractor<NpmProject> {
         } finally {
             restoreNpmrc(workingDir);
         }
-        List<Dependency> dependencies = collectDependencies(workingDir);
+        List<Dependency> dependencies = collectDependencies(workingDir, npmProject.isUsePackageLock());
+        dependenciesIndex.save();
         String moduleId = StringUtils.isNotBlank(module) ? module : npmPackageInfo.toString();
         return createBuild(dependencies, moduleId);
     }
@@ -282,27 +295,97 @@ public class NpmBuildInfoExtractor implements BuildInfoExtractor<NpmProject> {
      * 1. Run 'npm ls' command.
      * 2. From 'npm ls' command results - Create a tree of 'NpmPackageInfo's.
      * 3. Collect the dependencies from the tree.
+     * If usePackageLock is set and the project has a package-lock.json of version 2 or above, the 'NpmPackageInfo's
+     * are read from the lockfile instead of running 'npm ls'.
      *
-     * @param workingDir - Project's directory
+     * @param workingDir     - Project's directory
+     * @param usePackageLock - True to read the dependencies from package-lock.json
      * @return List of dependencies
      * @see NpmPackageInfo
      */
-    private List<Dependency> collectDependencies(Path workingDir) throws Exception {
+    private List<Dependency> collectDependencies(Path workingDir, boolean usePackageLock) throws Exception {
         Map<String, Dependency> dependencies = new ConcurrentHashMap<>();
         List<NpmScope> scopes = getNpmScopes();
         if (scopes.isEmpty()) {
             return new ArrayList<>();
         }
+        Map<String, Dependency> previousBuildDependencies = getDependenciesMapFromLatestBuild();
+        NpmPackageLock packageLock = usePackageLock ? NpmPackageLock.read(workingDir) : null;
+        if (packageLock != null) {
+            logger.info("Collecting the npm dependencies from " + NpmPackageLock.PACKAGE_LOCK);
+            Map<String, Dependency> lockfileDependencies = getLockfileDependencies(packageLock.getSha1Checksums(), previousBuildDependencies);
+            for (NpmScope scope : scopes) {
+                populateDependenciesMap(dependencies, previousBuildDependencies, lockfileDependencies,
+                        new NpmExtractorProducer(packageLock.getPackages(scope)));
+            }
+            return new ArrayList<>(dependencies.values());
+        }
+        if (usePackageLock) {
+            logger.info(NpmPackageLock.PACKAGE_LOCK + " of version 2 or above was not found. Collecting the npm dependencies using 'npm ls'.");
+        }
         for (NpmScope scope : scopes) {
             List<String> extraListArgs = new ArrayList<>();
             extraListArgs.add("--" + scope);
             JsonNode jsonNode = npmDriver.list(workingDir.toFile(), extraListArgs);
-            populateDependenciesMap(dependencies, getDependenciesMapFromLatestBuild(), jsonNode, scope, workingDir);
+            DefaultMutableTreeNode rootNode = NpmDependencyTree.createDependencyTree(jsonNode, scope, workingDir);
+            populateDependenciesMap(dependencies, previousBuildDependencies, Collections.emptyMap(),
+                    new NpmExtractorProducer(rootNode));
         }
 
         return new ArrayList<>(dependencies.values());
     }
 
+    /**
+     * Create the dependencies of the sha1 checksums found in package-lock.json. Lockfiles have no md5 checksums, so
+     * the md5 checksums are searched in Artifactory in bulk. Dependencies which are already known from the dependencies
+     * index or from the previous build are skipped.
+     *
+     * @param lockfileChecksums         - Mapping of a dependency id to its sha1 in package-lock.json.
+     * @param previousBuildDependencies - The dependencies of the previous build.
+     * @return mapping of a dependency id to a dependency with its sha1, and with its md5 if it was found in Artifactory.
+     */
+    private Map<String, Dependency> getLockfileDependencies(Map<String, String> lockfileChecksums,
+                                                            Map<String, Dependency> previousBuildDependencies) throws IOException {
+        Map<String, String> unknownChecksums = new HashMap<>();
+        lockfileChecksums.forEach((id, sha1) -> {
+            if (!previousBuildDependencies.containsKey(id) && dependenciesIndex.getDependency(DependenciesIndex.NPM, id) == null) {
+                unknownChecksums.put(id, sha1);
+            }
+        });
+        if (unknownChecksums.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
+            return createLockfileDependencies(artifactoryManager, unknownChecksums, logger);
+        }
+    }
+
+    static Map<String, Dependency> createLockfileDependencies(ArtifactoryManager artifactoryManager, Map<String, String> lockfileChecksums, Log logger) {
+        List<String> sha1s = new ArrayList<>(new HashSet<>(lockfileChecksums.values()));
+        Map<String, String> md5s = new HashMap<>();
+        for (int i = 0; i < sha1s.size(); i += LOCKFILE_AQL_BULK_SIZE) {
+            List<String> bulk = sha1s.subList(i, Math.min(i + LOCKFILE_AQL_BULK_SIZE, sha1s.size()));
+            try {
+                for (AqlSearchResult.SearchEntry searchEntry : artifactoryManager.searchArtifactsByAql(createChecksumsAql(bulk)).getResults()) {
+                    md5s.put(searchEntry.getActualSha1(), searchEntry.getActualMd5());
+                }
+            } catch (IOException e) {
+                logger.warn("Failed searching the md5 checksums of the npm dependencies in Artifactory: " + e.getMessage());
+            }
+        }
+        Map<String, Dependency> dependencies = new HashMap<>();
+        lockfileChecksums.forEach((id, sha1) -> dependencies.put(id, new DependencyBuilder().id(id).sha1(sha1).md5(md5s.get(sha1)).build()));
+        return dependencies;
+    }
+
+    static String createChecksumsAql(List<String> sha1s) {
+        StringBuilder checksumsPart = new StringBuilder();
+        for (String sha1 : sha1s) {
+            checksumsPart.append(String.format(LOCKFILE_AQL_PART, sha1));
+        }
+        return String.format(LOCKFILE_AQL_FORMAT, StringUtils.removeEnd(checksumsPart.toString(), ","));
+    }
+
     private List<NpmScope> getNpmScopes() {
         List<NpmScope> scopes = new ArrayList<>();
 
@@ -329,22 +412,21 @@ public class NpmBuildInfoExtractor implements BuildInfoExtractor<NpmProject> {
 
     /**
      * Populate the dependencies map for the specified scope by:
-     * 1. Create npm dependency tree from root node of 'npm ls' command tree. Populate each node with name, version and scope.
+     * 1. Produce the 'NpmPackageInfo's of the scope, populated with name, version and scope.
      * 2. For each dependency, retrieve sha1 and md5 from Artifactory. Use the producer-consumer mechanism to parallelize it.
      */
     private void populateDependenciesMap(Map<String, Dependency> dependencies, Map<String, Dependency> previousBuildDependencies,
-                                         JsonNode npmDependencyTree, NpmScope scope, Path workingDir) throws Exception {
+                                         Map<String, Dependency> lockfileDependencies, NpmExtractorProducer producer) throws Exception {
         // Set of packages that could not be found in Artifactory.
         Set<NpmPackageInfo> badPackages = Collections.synchronizedSet(new HashSet<>());
-        DefaultMutableTreeNode rootNode = NpmDependencyTree.createDependencyTree(npmDependencyTree, scope, workingDir);
         try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
             // Create producer Runnable.
-            ProducerRunnableBase[] producerRunnable = new ProducerRunnableBase[]{new NpmExtractorProducer(rootNode)};
+            ProducerRunnableBase[] producerRunnable = new ProducerRunnableBase[]{producer};
             // Create consumer Runnables.
             ConsumerRunnableBase[] consumerRunnables = new ConsumerRunnableBase[]{
-                    new NpmExtractorConsumer(artifactoryManager, dependencies, previousBuildDependencies, badPackages),
-                    new NpmExtractorConsumer(artifactoryManager, dependencies, previousBuildDependencies, badPackages),
-                    new NpmExtractorConsumer(artifactoryManager, dependencies, previousBuildDependencies, badPackages)
+                    new NpmExtractorConsumer(artifactoryManager, dependencies, previousBuildDependencies, lockfileDependencies, dependenciesIndex, badPackages),
+                    new NpmExtractorConsumer(artifactoryManager, dependencies, previousBuildDependencies, lockfileDependencies, dependenciesIndex, badPackages),
+                    new NpmExtractorConsumer(artifactoryManager, dependencies, previousBuildDependencies, lockfileDependencies, dependenciesIndex, badPackages)
             };
             // Create the deployment executor.
             ProducerConsumerExecutor deploymentExecutor = new ProducerConsumerExecutor(logger, producerRunnable, consumerRunnables, CONNECTION_POOL_SIZE);
@@ -1,5 +1,6 @@
 package org.jfrog.build.extractor.npm.extractor;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jfrog.build.api.Dependency;
 import org.jfrog.build.api.builder.DependencyBuilder;
@@ -8,6 +9,7 @@ import org.jfrog.build.api.search.AqlSearchResult;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.npm.types.NpmPackageInfo;
+import org.jfrog.build.extractor.packageManager.DependenciesIndex;
 import org.jfrog.build.extractor.producerConsumer.ConsumerRunnableBase;
 import org.jfrog.build.extractor.producerConsumer.ProducerConsumerExecutor;
 
@@ -17,7 +19,7 @@ import java.util.Set;
 
 /**
  * Consumes PackageInfos and fills the dependencies map with sha1 and md5.
- * Retrieves sha1 and md5 information from Artifactory by running an AQL.
+ * Retrieves sha1 and md5 information from Artifactory by running an AQL, unless the dependency is known from package-lock.json.
  *
  * @author Yahav Itzhak
  */
@@ -28,6 +30,8 @@ public class NpmExtractorConsumer extends ConsumerRunnableBase {
                     "\"@npm.version\": \"%s\"" +
                     "}).include(\"name\", \"repo\", \"path\", \"actual_sha1\", \"actual_md5\")";
     private Map<String, Dependency> previousBuildDependencies;
+    private final Map<String, Dependency> lockfileDependencies;
+    private final DependenciesIndex dependenciesIndex;
     private final ArtifactoryManager artifactoryManager;
     private Map<String, Dependency> dependencies;
     private ProducerConsumerExecutor executor;
@@ -35,10 +39,13 @@ public class NpmExtractorConsumer extends ConsumerRunnableBase {
     private Log log;
 
     NpmExtractorConsumer(ArtifactoryManager artifactoryManager, Map<String, Dependency> dependencies,
-                         Map<String, Dependency> previousBuildDependencies, Set<NpmPackageInfo> badPackages) {
+                         Map<String, Dependency> previousBuildDependencies, Map<String, Dependency> lockfileDependencies,
+                         DependenciesIndex dependenciesIndex, Set<NpmPackageInfo> badPackages) {
         this.artifactoryManager = artifactoryManager;
         this.dependencies = dependencies;
         this.previousBuildDependencies = previousBuildDependencies;
+        this.lockfileDependencies = lockfileDependencies;
+        this.dependenciesIndex = dependenciesIndex;
         this.badPackages = badPackages;
     }
 
@@ -88,7 +95,11 @@ public class NpmExtractorConsumer extends ConsumerRunnableBase {
 
     /**
      * Create a Dependency for the provided NpmPackageInfo.
+     * If the dependency exists in the local dependencies index - take the checksums from it.
      * If the dependency exists in the previous build's dependencies - take the required info from it.
+     * If the dependency is in package-lock.json - take its sha1 from there, and its md5 from the bulk search of the
+     * lockfile checksums in Artifactory.
+     * Dependencies without an md5 are not added to the index, so the next builds retrieve the md5 again.
      * Otherwise - fetch the information from Artifactory.
      *
      * @param npmPackageInfo - The npm package information.
@@ -96,11 +107,24 @@ public class NpmExtractorConsumer extends ConsumerRunnableBase {
      * @return Dependency populated with {name, scope, version, sha1 and md5} or null in case of {error or absence in Artifactory's case}.
      */
     private Dependency createDependency(NpmPackageInfo npmPackageInfo, String id) {
+        Dependency indexedDependency = dependenciesIndex.getDependency(DependenciesIndex.NPM, id);
+        if (indexedDependency != null) {
+            return createDependencyFromPreviousBuild(npmPackageInfo, indexedDependency);
+        }
+        Dependency dependency;
         Dependency previousDependency = previousBuildDependencies.get(id);
+        Dependency lockfileDependency = lockfileDependencies.get(id);
         if (previousDependency != null) {
-            return createDependencyFromPreviousBuild(npmPackageInfo, previousDependency);
+            dependency = createDependencyFromPreviousBuild(npmPackageInfo, previousDependency);
+        } else if (lockfileDependency != null) {
+            dependency = createDependencyFromPreviousBuild(npmPackageInfo, lockfileDependency);
+        } else {
+            dependency = createDependencyFromAqlResult(npmPackageInfo, id);
+        }
+        if (dependency != null && StringUtils.isNotBlank(dependency.getMd5())) {
+            dependenciesIndex.putDependency(DependenciesIndex.NPM, dependency);
         }
-        return createDependencyFromAqlResult(npmPackageInfo, id);
+        return dependency;
     }
 
     /**
@@ -5,32 +5,39 @@ import org.jfrog.build.extractor.npm.types.NpmPackageInfo;
 import org.jfrog.build.extractor.producerConsumer.ProducerRunnableBase;
 
 import javax.swing.tree.DefaultMutableTreeNode;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
 
 /**
- * Traverse over the dependency tree of 'NpmPackageInfo's. If a node is legal - Produce it.
+ * Traverse over the dependency tree of 'NpmPackageInfo's, or over a list of 'NpmPackageInfo's. If a node is legal - Produce it.
  *
  * @author Yahav Itzhak
  */
 public class NpmExtractorProducer extends ProducerRunnableBase {
 
     private DefaultMutableTreeNode dependenciesRootNode;
+    private List<NpmPackageInfo> packageInfos;
 
     NpmExtractorProducer(DefaultMutableTreeNode dependenciesRootNode) {
         this.dependenciesRootNode = dependenciesRootNode;
     }
 
+    NpmExtractorProducer(List<NpmPackageInfo> packageInfos) {
+        this.packageInfos = packageInfos;
+    }
+
     @Override
     public void producerRun() throws InterruptedException {
         try {
-            Enumeration e = dependenciesRootNode.breadthFirstEnumeration();
+            Enumeration e = packageInfos != null ? Collections.enumeration(packageInfos) : dependenciesRootNode.breadthFirstEnumeration();
             while (e.hasMoreElements()) {
                 if (Thread.interrupted()) {
                     break;
                 }
 
-                DefaultMutableTreeNode node = (DefaultMutableTreeNode) e.nextElement();
-                NpmPackageInfo npmPackageInfo = (NpmPackageInfo) node.getUserObject();
+                Object element = e.nextElement();
+                NpmPackageInfo npmPackageInfo = (NpmPackageInfo) (element instanceof DefaultMutableTreeNode ? ((DefaultMutableTreeNode) element).getUserObject() : element);
                 if (npmPackageInfo == null) {
                     continue;
                 }
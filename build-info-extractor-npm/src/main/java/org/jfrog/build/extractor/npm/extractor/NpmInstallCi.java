@@ -27,6 +27,7 @@ public class NpmInstallCi extends NpmCommand {
     NpmBuildInfoExtractor buildInfoExtractor;
     List<String> commandArgs;
     boolean isCiCommand;
+    boolean usePackageLock;
 
     /**
      * Run npm install or npm ci commands.
@@ -41,10 +42,28 @@ public class NpmInstallCi extends NpmCommand {
      * @param env                       - Environment variables to use during npm execution.
      */
     public NpmInstallCi(ArtifactoryManagerBuilder artifactoryManagerBuilder, String resolutionRepository, String commandArgs, Log logger, Path path, Map<String, String> env, String module, String buildName, boolean isCiCommand, String project) {
+        this(artifactoryManagerBuilder, resolutionRepository, commandArgs, logger, path, env, module, buildName, isCiCommand, project, false);
+    }
+
+    /**
+     * Run npm install or npm ci commands.
+     *
+     * @param artifactoryManagerBuilder - ArtifactoryManagerBuilder.
+     * @param resolutionRepository      - The repository it'll resolve from.
+     * @param commandArgs               - Npm command args.
+     * @param buildName                 - The build's name.
+     * @param module                    - The build's module.
+     * @param logger                    - The logger.
+     * @param path                      - Path to directory contains package.json or path to '.tgz' file.
+     * @param env                       - Environment variables to use during npm execution.
+     * @param usePackageLock            - Collect the dependencies from package-lock.json instead of running 'npm ls'.
+     */
+    public NpmInstallCi(ArtifactoryManagerBuilder artifactoryManagerBuilder, String resolutionRepository, String commandArgs, Log logger, Path path, Map<String, String> env, String module, String buildName, boolean isCiCommand, String project, boolean usePackageLock) {
         super(artifactoryManagerBuilder, resolutionRepository, logger, path, env);
         buildInfoExtractor = new NpmBuildInfoExtractor(artifactoryManagerBuilder, npmDriver, logger, module, buildName, project);
         this.commandArgs = StringUtils.isBlank(commandArgs) ? new ArrayList<>() : Arrays.asList(commandArgs.trim().split("\\s+"));
         this.isCiCommand = isCiCommand;
+        this.usePackageLock = usePackageLock;
     }
 
     /**
@@ -66,7 +85,9 @@ public class NpmInstallCi extends NpmCommand {
                     packageManagerHandler.getModule(),
                     clientConfiguration.info.getBuildName(),
                     npmHandler.isCiCommand(),
-                    clientConfiguration.info.getProject());
+                    clientConfiguration.info.getProject(),
+                    npmHandler.isUsePackageLock());
+            npmInstall.setDependenciesIndexPath(packageManagerHandler.getDependenciesIndex());
             npmInstall.executeAndSaveBuildInfo(clientConfiguration);
         } catch (RuntimeException e) {
             ExceptionUtils.printRootCauseStackTrace(e, System.out);
@@ -83,7 +104,8 @@ public class NpmInstallCi extends NpmCommand {
             validateNpmVersion();
             validateRepoExists(artifactoryManager, repo, "Source repo must be specified");
 
-            NpmProject npmProject = new NpmProject(commandArgs, repo, workingDir, isCiCommand);
+            buildInfoExtractor.setDependenciesIndex(loadDependenciesIndex(logger));
+            NpmProject npmProject = new NpmProject(commandArgs, repo, workingDir, isCiCommand, usePackageLock);
             return buildInfoExtractor.extract(npmProject);
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
@@ -0,0 +1,299 @@
+package org.jfrog.build.extractor.npm.extractor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
+import org.jfrog.build.extractor.npm.types.NpmPackageInfo;
+import org.jfrog.build.extractor.npm.types.NpmScope;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The packages installed in a project, as recorded in its package-lock.json.
+ * Lockfile versions 2 and 3 contain a flat "packages" section, mapping the location of each installed package to its
+ * version, integrity and dependencies. The section is read using a streaming parser, and the legacy "dependencies"
+ * section of version 2 is skipped. This allows collecting the dependencies of the project without running 'npm ls'.
+ */
+public class NpmPackageLock {
+    static final String PACKAGE_LOCK = "package-lock.json";
+    private static final String NODE_MODULES = "node_modules/";
+    private static final String SHA1_INTEGRITY_PREFIX = "sha1-";
+    private static final int MIN_LOCKFILE_VERSION = 2;
+
+    private final Map<String, LockedPackage> packages;
+    private final Path workingDir;
+
+    private NpmPackageLock(Map<String, LockedPackage> packages, Path workingDir) {
+        this.packages = packages;
+        this.workingDir = workingDir;
+    }
+
+    /**
+     * Read the package-lock.json of the project.
+     *
+     * @param workingDir - The package.json directory
+     * @return the packages of the lockfile, or null if the lockfile doesn't exist or its version is lower than 2.
+     */
+    public static NpmPackageLock read(Path workingDir) throws IOException {
+        Path packageLock = workingDir.resolve(PACKAGE_LOCK);
+        if (!Files.isRegularFile(packageLock)) {
+            return null;
+        }
+        int lockfileVersion = 0;
+        Map<String, LockedPackage> packages = null;
+        try (JsonParser parser = JsonMappers.getFactory().createParser(packageLock.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected content in " + packageLock);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if ("lockfileVersion".equals(fieldName)) {
+                    lockfileVersion = parser.getValueAsInt();
+                } else if ("packages".equals(fieldName) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    packages = readPackages(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (lockfileVersion < MIN_LOCKFILE_VERSION || packages == null || !packages.containsKey("")) {
+            return null;
+        }
+        return new NpmPackageLock(packages, workingDir);
+    }
+
+    /**
+     * Get the packages of the scope, in breadth-first order from the root project. Like in 'npm ls', a package required
+     * by several packages appears once for each requiring package, but its dependencies are walked only once.
+     *
+     * @param scope - Dependency scope
+     * @return the npm PackageInfos of the scope.
+     */
+    public List<NpmPackageInfo> getPackages(NpmScope scope) {
+        List<NpmPackageInfo> packageInfos = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<Map.Entry<String, String[]>> queue = new ArrayDeque<>();
+        LockedPackage root = packages.get("");
+        String[] rootPath = new String[]{getProjectName()};
+        queueDependencies(queue, "", getRootDependencies(root, scope), rootPath);
+        // The packages of the workspaces appear in 'npm ls' as dependencies of the root project.
+        for (Map.Entry<String, LockedPackage> entry : packages.entrySet()) {
+            LockedPackage workspace = entry.getValue();
+            if (!workspace.link || StringUtils.contains(entry.getKey(), "/" + NODE_MODULES) || !packages.containsKey(workspace.resolved)) {
+                continue;
+            }
+            LockedPackage target = packages.get(workspace.resolved);
+            String[] workspacePath = ArrayUtils.insert(0, rootPath, getId(getName(entry.getKey(), target), target.version));
+            queueDependencies(queue, workspace.resolved, getRootDependencies(target, scope), workspacePath);
+        }
+
+        while (!queue.isEmpty()) {
+            Map.Entry<String, String[]> next = queue.poll();
+            String location = next.getKey();
+            LockedPackage lockedPackage = packages.get(location);
+            if (lockedPackage.link) {
+                // Dependencies on local packages are not collected
+                continue;
+            }
+            NpmPackageInfo packageInfo = new NpmPackageInfo(getName(location, lockedPackage), lockedPackage.version, scope.toString(), next.getValue());
+            packageInfos.add(packageInfo);
+            if (visited.add(location)) {
+                queueDependencies(queue, location, lockedPackage.dependencies, ArrayUtils.insert(0, next.getValue(), packageInfo.toString()));
+            }
+        }
+        return packageInfos;
+    }
+
+    /**
+     * Get the sha1 checksums found in the integrity fields of the lockfile.
+     * Recent npm registries provide sha512 integrities only, which can't be used as the checksums of a dependency.
+     *
+     * @return mapping of a dependency id ('name:version') to its sha1.
+     */
+    public Map<String, String> getSha1Checksums() {
+        Map<String, String> checksums = new HashMap<>();
+        packages.forEach((location, lockedPackage) -> {
+            if (lockedPackage.sha1 != null && !location.isEmpty()) {
+                checksums.put(getId(getName(location, lockedPackage), lockedPackage.version), lockedPackage.sha1);
+            }
+        });
+        return checksums;
+    }
+
+    /**
+     * Get npm project name to populate the root of the 'pathToRoot's.
+     *
+     * @return <name>:<version>, <name> or <directory-name>
+     */
+    String getProjectName() {
+        LockedPackage root = packages.get("");
+        if (root.name == null) {
+            return workingDir.getFileName().toString();
+        }
+        return root.version == null ? root.name : getId(root.name, root.version);
+    }
+
+    private List<String> getRootDependencies(LockedPackage root, NpmScope scope) {
+        return scope == NpmScope.DEVELOPMENT ? root.devDependencies : root.dependencies;
+    }
+
+    /**
+     * Resolve the dependencies of the package in the location like node does - In the node_modules of the package, and
+     * then in the node_modules of its ancestors. Optional dependencies that were not installed are skipped.
+     */
+    private void queueDependencies(Deque<Map.Entry<String, String[]>> queue, String location, List<String> dependencies, String[] pathToRoot) {
+        for (String dependency : dependencies) {
+            String dependencyLocation = resolve(location, dependency);
+            if (dependencyLocation != null && packages.get(dependencyLocation).isInstalled(workingDir, dependencyLocation)) {
+                queue.add(new AbstractMap.SimpleImmutableEntry<>(dependencyLocation, pathToRoot));
+            }
+        }
+    }
+
+    private String resolve(String location, String dependency) {
+        while (true) {
+            String candidate = (location.isEmpty() ? "" : location + "/") + NODE_MODULES + dependency;
+            if (packages.containsKey(candidate)) {
+                return candidate;
+            }
+            if (location.isEmpty()) {
+                return null;
+            }
+            int parentEnd = location.lastIndexOf("/" + NODE_MODULES);
+            location = parentEnd < 0 ? "" : location.substring(0, parentEnd);
+        }
+    }
+
+    /**
+     * The name of the package is the directory it was installed in, unless it was installed under an alias.
+     */
+    private static String getName(String location, LockedPackage lockedPackage) {
+        if (lockedPackage.name != null) {
+            return lockedPackage.name;
+        }
+        int nameStart = location.lastIndexOf(NODE_MODULES);
+        return nameStart < 0 ? location : location.substring(nameStart + NODE_MODULES.length());
+    }
+
+    private static String getId(String name, String version) {
+        return name + ":" + version;
+    }
+
+    private static Map<String, LockedPackage> readPackages(JsonParser parser) throws IOException {
+        Map<String, LockedPackage> packages = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String location = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            packages.put(location, readPackage(parser));
+        }
+        return packages;
+    }
+
+    private static LockedPackage readPackage(JsonParser parser) throws IOException {
+        LockedPackage lockedPackage = new LockedPackage();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case "name":
+                    lockedPackage.name = parser.getValueAsString();
+                    break;
+                case "version":
+                    lockedPackage.version = parser.getValueAsString();
+                    break;
+                case "resolved":
+                    lockedPackage.resolved = parser.getValueAsString();
+                    break;
+                case "integrity":
+                    lockedPackage.sha1 = getSha1(parser.getValueAsString());
+                    break;
+                case "link":
+                    lockedPackage.link = parser.getValueAsBoolean();
+                    break;
+                case "optional":
+                    lockedPackage.optional = parser.getValueAsBoolean();
+                    break;
+                case "dependencies":
+                case "optionalDependencies":
+                case "peerDependencies":
+                    readNames(parser, lockedPackage.dependencies);
+                    break;
+                case "devDependencies":
+                    readNames(parser, lockedPackage.devDependencies);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return lockedPackage;
+    }
+
+    private static void readNames(JsonParser parser, List<String> names) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            parser.skipChildren();
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+        }
+    }
+
+    /**
+     * Get the sha1 of an integrity field - A list of '<algorithm>-<base64 digest>' separated by whitespaces.
+     *
+     * @param integrity - The integrity field
+     * @return the hex sha1 or null if the integrity doesn't contain sha1.
+     */
+    static String getSha1(String integrity) {
+        for (String hash : StringUtils.split(StringUtils.defaultString(integrity))) {
+            if (!hash.startsWith(SHA1_INTEGRITY_PREFIX)) {
+                continue;
+            }
+            try {
+                byte[] digest = Base64.getDecoder().decode(StringUtils.substringBefore(hash.substring(SHA1_INTEGRITY_PREFIX.length()), "?"));
+                if (digest.length == 20) {
+                    StringBuilder sha1 = new StringBuilder();
+                    for (byte b : digest) {
+                        sha1.append(String.format("%02x", b));
+                    }
+                    return sha1.toString();
+                }
+            } catch (IllegalArgumentException e) {
+                // Invalid base64 - Ignore
+            }
+        }
+        return null;
+    }
+
+    private static class LockedPackage {
+        private final List<String> dependencies = new ArrayList<>();
+        private final List<String> devDependencies = new ArrayList<>();
+        private String name;
+        private String version;
+        private String resolved;
+        private String sha1;
+        private boolean link;
+        private boolean optional;
+
+        /**
+         * Optional packages for other platforms appear in the lockfile, but are not installed.
+         */
+        private boolean isInstalled(Path workingDir, String location) {
+            return !optional || Files.exists(workingDir.resolve(location));
+        }
+    }
+}
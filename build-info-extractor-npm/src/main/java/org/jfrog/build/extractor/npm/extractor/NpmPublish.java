@@ -66,6 +66,10 @@ public class NpmPublish extends NpmCommand {
     public static void main(String[] ignored) {
         try {
             ArtifactoryClientConfiguration clientConfiguration = createArtifactoryClientConfiguration();
+            if (clientConfiguration.npmHandler.isPublishWorkspaces()) {
+                NpmWorkspacePublish.main(ignored);
+                return;
+            }
             ArtifactoryManagerBuilder artifactoryManagerBuilder = new ArtifactoryManagerBuilder().setClientConfiguration(clientConfiguration, clientConfiguration.publisher);
             ArtifactoryClientConfiguration.PackageManagerHandler npmHandler = clientConfiguration.packageManagerHandler;
             NpmPublish npmPublish = new NpmPublish(artifactoryManagerBuilder,
@@ -136,7 +140,7 @@ public class NpmPublish extends NpmCommand {
     }
 
     private void deploy() throws IOException {
-        readPackageInfoFromTarball();
+        // The package info was read in setPackageInfo(), from package.json or from the provided tarball
         doDeploy();
     }
 
@@ -0,0 +1,206 @@
+package org.jfrog.build.extractor.npm.extractor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ArrayListMultimap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jfrog.build.api.Artifact;
+import org.jfrog.build.api.Build;
+import org.jfrog.build.api.Module;
+import org.jfrog.build.api.builder.ArtifactBuilder;
+import org.jfrog.build.api.builder.ModuleBuilder;
+import org.jfrog.build.api.builder.ModuleType;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryManagerBuilder;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
+import org.jfrog.build.extractor.npm.types.NpmPackageInfo;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+import static org.jfrog.build.extractor.ModuleParallelDeployHelper.DEFAULT_DEPLOYMENT_THREADS;
+import static org.jfrog.build.extractor.packageManager.PackageManagerUtils.createArtifactoryClientConfiguration;
+
+/**
+ * Publish all the packages of the npm workspaces of a project in a single run.
+ * The packages are packed and deployed concurrently, each package by a single task which packs it, deploys it and
+ * deletes the created tarball. The build contains a module for each package.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class NpmWorkspacePublish extends NpmCommand {
+    private static final long serialVersionUID = 1L;
+    private static final String PACKAGE_JSON = "package.json";
+    private static final Set<String> SKIPPED_DIRS = new HashSet<>(Arrays.asList("node_modules", ".git"));
+
+    private final ArrayListMultimap<String, String> properties;
+    private final int threads;
+
+    /**
+     * Publish the npm packages of the workspaces.
+     *
+     * @param artifactoryManagerBuilder - Artifactory manager builder builder.
+     * @param properties                - The Artifact properties to set (Build name, Build number, etc...).
+     * @param path                      - Path to the root directory of the workspaces, contains package.json.
+     * @param deploymentRepository      - The repository it'll deploy to.
+     * @param logger                    - The logger.
+     * @param env                       - Environment variables to use during npm execution.
+     * @param threads                   - Number of packages to pack and deploy concurrently.
+     */
+    public NpmWorkspacePublish(ArtifactoryManagerBuilder artifactoryManagerBuilder, ArrayListMultimap<String, String> properties, Path path, String deploymentRepository, Log logger, Map<String, String> env, int threads) {
+        super(artifactoryManagerBuilder, deploymentRepository, logger, path, env);
+        this.properties = properties;
+        this.threads = threads > 0 ? threads : DEFAULT_DEPLOYMENT_THREADS;
+    }
+
+    /**
+     * Allow running npm publish of workspaces using a new Java process.
+     */
+    public static void main(String[] ignored) {
+        try {
+            ArtifactoryClientConfiguration clientConfiguration = createArtifactoryClientConfiguration();
+            ArtifactoryManagerBuilder artifactoryManagerBuilder = new ArtifactoryManagerBuilder().setClientConfiguration(clientConfiguration, clientConfiguration.publisher);
+            ArtifactoryClientConfiguration.PackageManagerHandler npmHandler = clientConfiguration.packageManagerHandler;
+            NpmWorkspacePublish npmWorkspacePublish = new NpmWorkspacePublish(artifactoryManagerBuilder,
+                    ArrayListMultimap.create(clientConfiguration.publisher.getMatrixParams().asMultimap()),
+                    Paths.get(npmHandler.getPath() != null ? npmHandler.getPath() : "."),
+                    clientConfiguration.publisher.getRepoKey(),
+                    clientConfiguration.getLog(),
+                    clientConfiguration.getAllProperties(),
+                    clientConfiguration.publisher.getPublishForkCount());
+            npmWorkspacePublish.executeAndSaveBuildInfo(clientConfiguration);
+        } catch (RuntimeException e) {
+            ExceptionUtils.printRootCauseStackTrace(e, System.out);
+            System.exit(1);
+        }
+    }
+
+    @Override
+    public Build execute() {
+        try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
+            this.artifactoryManager = artifactoryManager;
+            validatePath();
+            validateArtifactoryVersion();
+            validateNpmVersion();
+            validateRepoExists(artifactoryManager, repo, "Target repo must be specified");
+            List<Path> packageDirs = findWorkspacePackages(workingDir);
+            if (packageDirs.isEmpty()) {
+                throw new IOException("Couldn't find publishable npm workspace packages in " + workingDir);
+            }
+            logger.info("Publishing " + packageDirs.size() + " npm workspace packages.");
+            Build build = new Build();
+            build.setModules(publishPackages(packageDirs));
+            return build;
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Find the directories of the packages of the workspaces defined in package.json, in the order of their paths.
+     * Private packages are not publishable, and are skipped.
+     *
+     * @param rootDir - The root directory of the workspaces, contains package.json.
+     * @return the directories of the publishable packages.
+     */
+    static List<Path> findWorkspacePackages(Path rootDir) throws IOException {
+        JsonNode workspaces = readPackageJson(rootDir).get("workspaces");
+        if (workspaces != null && workspaces.has("packages")) {
+            // Yarn's format - {"packages": [...], "nohoist": [...]}
+            workspaces = workspaces.get("packages");
+        }
+        if (workspaces == null || !workspaces.isArray()) {
+            throw new IOException("No npm workspaces are defined in " + rootDir.resolve(PACKAGE_JSON));
+        }
+        List<PathMatcher> includes = new ArrayList<>();
+        List<PathMatcher> excludes = new ArrayList<>();
+        FileSystem fileSystem = rootDir.getFileSystem();
+        for (JsonNode workspace : workspaces) {
+            String pattern = StringUtils.removeEnd(StringUtils.removeStart(workspace.asText(), "./"), "/");
+            if (pattern.startsWith("!")) {
+                excludes.add(fileSystem.getPathMatcher("glob:" + StringUtils.removeStart(pattern.substring(1), "./")));
+            } else {
+                includes.add(fileSystem.getPathMatcher("glob:" + pattern));
+            }
+        }
+
+        List<Path> packageDirs = new ArrayList<>();
+        Files.walkFileTree(rootDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (SKIPPED_DIRS.contains(String.valueOf(dir.getFileName()))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Path relativePath = rootDir.relativize(dir);
+                if (relativePath.toString().isEmpty() || !Files.isRegularFile(dir.resolve(PACKAGE_JSON))) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (matches(includes, relativePath) && !matches(excludes, relativePath) &&
+                        !readPackageJson(dir).path("private").asBoolean(false)) {
+                    packageDirs.add(dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        packageDirs.sort(Comparator.naturalOrder());
+        return packageDirs;
+    }
+
+    /**
+     * Pack and deploy the packages concurrently.
+     *
+     * @return the modules of the packages, in the order of the packages.
+     */
+    private List<Module> publishPackages(List<Path> packageDirs) throws IOException, InterruptedException {
+        List<Callable<Module>> publishes = new ArrayList<>();
+        for (Path packageDir : packageDirs) {
+            publishes.add(() -> publishPackage(packageDir));
+        }
+        return ExecutorFactory.invokeAll("npm-publish", threads, publishes);
+    }
+
+    private Module publishPackage(Path packageDir) throws IOException {
+        // The package info is read from package.json of the package, instead of from the packed tarball.
+        NpmPackageInfo packageInfo = new NpmPackageInfo();
+        try (FileInputStream fis = new FileInputStream(packageDir.resolve(PACKAGE_JSON).toFile())) {
+            packageInfo.readPackageInfo(fis);
+        }
+        Path tarball = packageDir.resolve(npmDriver.pack(packageDir.toFile(), new ArrayList<>(), logger));
+        try {
+            DeployDetails deployDetails = new DeployDetails.Builder()
+                    .file(tarball.toFile())
+                    .targetRepository(repo)
+                    .addProperties(properties)
+                    .artifactPath(packageInfo.getDeployPath())
+                    .packageType(DeployDetails.PackageType.NPM)
+                    .build();
+            ArtifactoryUploadResponse response = artifactoryManager.upload(deployDetails, "[" + packageInfo + "]");
+            Artifact artifact = new ArtifactBuilder(packageInfo.getModuleId())
+                    .md5(response.getChecksums().getMd5())
+                    .sha1(response.getChecksums().getSha1())
+                    .remotePath(StringUtils.substringBeforeLast(packageInfo.getDeployPath(), "/"))
+                    .build();
+            return new ModuleBuilder().type(ModuleType.NPM).id(packageInfo.toString()).repository(repo)
+                    .artifacts(Collections.singletonList(artifact)).build();
+        } finally {
+            Files.deleteIfExists(tarball);
+        }
+    }
+
+    private static boolean matches(List<PathMatcher> matchers, Path relativePath) {
+        return matchers.stream().anyMatch(matcher -> matcher.matches(relativePath));
+    }
+
+    private static JsonNode readPackageJson(Path dir) throws IOException {
+        return JsonMappers.getMapper().readTree(dir.resolve(PACKAGE_JSON).toFile());
+    }
+}
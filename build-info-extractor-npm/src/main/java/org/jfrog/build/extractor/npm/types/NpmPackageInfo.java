@@ -1,16 +1,14 @@
 package org.jfrog.build.extractor.npm.types;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.producerConsumer.ProducerConsumerItem;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.Objects;
 
-import static org.jfrog.build.extractor.BuildInfoExtractorUtils.createMapper;
-
 public class NpmPackageInfo implements Serializable, ProducerConsumerItem {
     private static final long serialVersionUID = 1L;
 
@@ -68,9 +66,7 @@ public class NpmPackageInfo implements Serializable, ProducerConsumerItem {
     }
 
     public void readPackageInfo(InputStream inputStream) throws IOException {
-        ObjectMapper mapper = createMapper();
-
-        NpmPackageInfo npmPackageInfo = mapper.readValue(inputStream, NpmPackageInfo.class);
+        NpmPackageInfo npmPackageInfo = JsonMappers.getReader(NpmPackageInfo.class).readValue(inputStream);
 
         setVersion(npmPackageInfo.getVersion());
 
@@ -15,12 +15,18 @@ public class NpmProject {
     private String resolutionRepository;
     private Path workingDir;
     private boolean ciCommand;
+    private boolean usePackageLock;
 
     public NpmProject(List<String> commandArgs, String resolutionRepository, Path workingDir, boolean ciCommand) {
+        this(commandArgs, resolutionRepository, workingDir, ciCommand, false);
+    }
+
+    public NpmProject(List<String> commandArgs, String resolutionRepository, Path workingDir, boolean ciCommand, boolean usePackageLock) {
         this.commandArgs = commandArgs;
         this.resolutionRepository = resolutionRepository;
         this.workingDir = workingDir;
         this.ciCommand = ciCommand;
+        this.usePackageLock = usePackageLock;
     }
 
     public String getResolutionRepository() {
@@ -38,4 +44,8 @@ public class NpmProject {
     public boolean isCiCommand() {
         return ciCommand;
     }
+
+    public boolean isUsePackageLock() {
+        return usePackageLock;
+    }
 }
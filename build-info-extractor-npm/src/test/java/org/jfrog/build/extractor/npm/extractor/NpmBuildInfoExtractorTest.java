@@ -6,6 +6,9 @@ import org.jfrog.build.api.Module;
 import org.jfrog.build.api.builder.BuildInfoBuilder;
 import org.jfrog.build.api.builder.DependencyBuilder;
 import org.jfrog.build.api.builder.ModuleBuilder;
+import org.jfrog.build.api.search.AqlSearchResult;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -13,6 +16,7 @@ import java.util.*;
 
 import static org.jfrog.build.extractor.npm.extractor.NpmBuildInfoExtractor.getDependenciesMapFromBuild;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 
 @Test
 public class NpmBuildInfoExtractorTest {
@@ -105,6 +109,40 @@ public class NpmBuildInfoExtractorTest {
         assertEquals(extractor.getTypeRestriction(), expected);
     }
 
+    public void createLockfileDependenciesTest() {
+        Map<String, String> lockfileChecksums = new HashMap<>();
+        lockfileChecksums.put("a:1.0.0", "sha1-a");
+        lockfileChecksums.put("b:1.0.0", "sha1-b");
+        lockfileChecksums.put("c:1.0.0", "sha1-a");
+        List<String> queries = new ArrayList<>();
+        AqlSearchResult.SearchEntry searchEntry = new AqlSearchResult.SearchEntry();
+        searchEntry.setActualSha1("sha1-a");
+        searchEntry.setActualMd5("md5-a");
+        try (ArtifactoryManager artifactoryManager = new ArtifactoryManager("http://localhost:8081/artifactory", new NullLog()) {
+            @Override
+            public AqlSearchResult searchArtifactsByAql(String aql) {
+                queries.add(aql);
+                AqlSearchResult searchResult = new AqlSearchResult();
+                searchResult.setResults(Collections.singletonList(searchEntry));
+                return searchResult;
+            }
+        }) {
+            Map<String, Dependency> dependencies = NpmBuildInfoExtractor.createLockfileDependencies(artifactoryManager, lockfileChecksums, new NullLog());
+            // The md5 checksums of all the dependencies are searched in one query
+            assertEquals(queries.size(), 1);
+            assertEquals(dependencies.get("a:1.0.0").getMd5(), "md5-a");
+            assertEquals(dependencies.get("c:1.0.0").getMd5(), "md5-a");
+            // Dependencies which are not in Artifactory keep their sha1 only
+            assertEquals(dependencies.get("b:1.0.0").getSha1(), "sha1-b");
+            assertNull(dependencies.get("b:1.0.0").getMd5());
+        }
+    }
+
+    public void createChecksumsAqlTest() {
+        assertEquals(NpmBuildInfoExtractor.createChecksumsAql(Arrays.asList("sha1-a", "sha1-b")),
+                "items.find({\"$or\":[{\"actual_sha1\":\"sha1-a\"},{\"actual_sha1\":\"sha1-b\"}]}).include(\"actual_sha1\",\"actual_md5\")");
+    }
+
     private Module createTestModule(String id, List<Dependency> dependencies) {
         return new ModuleBuilder().id(id)
                 .dependencies(dependencies)
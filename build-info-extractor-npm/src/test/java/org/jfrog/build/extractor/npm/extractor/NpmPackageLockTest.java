@@ -0,0 +1,112 @@
+package org.jfrog.build.extractor.npm.extractor;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.extractor.npm.types.NpmPackageInfo;
+import org.jfrog.build.extractor.npm.types.NpmScope;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests collecting the npm dependencies from package-lock.json.
+ */
+@Test
+public class NpmPackageLockTest {
+    private static final String SHA1 = "b063f2f6fad6ae498cf40cd654c5f00e6cae3c55";
+    private static final String PACKAGES = "\"packages\": {" +
+            "\"\": {\"name\": \"root\", \"version\": \"1.0.0\", \"dependencies\": {\"a\": \"^1\"}, \"devDependencies\": {\"b\": \"^1\"}, \"optionalDependencies\": {\"fsevents\": \"*\"}}," +
+            "\"node_modules/a\": {\"version\": \"1.0.0\", \"integrity\": \"sha512-AAAA sha1-sGPy9vrWrkmM9AzWVMXwDmyuPFU=\", \"dependencies\": {\"c\": \"^2\"}}," +
+            "\"node_modules/a/node_modules/c\": {\"version\": \"2.0.0\", \"integrity\": \"sha512-AAAA\"}," +
+            "\"node_modules/b\": {\"version\": \"1.0.0\", \"dev\": true, \"dependencies\": {\"c\": \"^1\", \"@s/d\": \"1\"}}," +
+            "\"node_modules/c\": {\"version\": \"1.0.0\", \"dev\": true}," +
+            "\"node_modules/@s/d\": {\"version\": \"1.0.0\", \"dev\": true, \"peerDependencies\": {\"c\": \"^1\"}}," +
+            "\"node_modules/fsevents\": {\"version\": \"2.0.0\", \"optional\": true, \"os\": [\"darwin\"]}" +
+            "}";
+
+    private Path workingDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        workingDir = Files.createTempDirectory("npm-package-lock");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(workingDir.toFile());
+    }
+
+    public void testGetPackages() throws IOException {
+        writePackageLock("{\"name\": \"root\", \"lockfileVersion\": 2, " + PACKAGES + ", \"dependencies\": {\"a\": {\"version\": \"1.0.0\"}}}");
+        NpmPackageLock packageLock = NpmPackageLock.read(workingDir);
+        assertNotNull(packageLock);
+        assertEquals(packageLock.getProjectName(), "root:1.0.0");
+
+        assertEquals(toStrings(packageLock.getPackages(NpmScope.PRODUCTION)), Arrays.asList(
+                "a:1.0.0 prod [root:1.0.0]",
+                "c:2.0.0 prod [a:1.0.0, root:1.0.0]"));
+        assertEquals(toStrings(packageLock.getPackages(NpmScope.DEVELOPMENT)), Arrays.asList(
+                "b:1.0.0 dev [root:1.0.0]",
+                "c:1.0.0 dev [b:1.0.0, root:1.0.0]",
+                "@s/d:1.0.0 dev [b:1.0.0, root:1.0.0]",
+                "c:1.0.0 dev [@s/d:1.0.0, b:1.0.0, root:1.0.0]"));
+        assertEquals(packageLock.getSha1Checksums(), Collections.singletonMap("a:1.0.0", SHA1));
+    }
+
+    public void testInstalledOptionalDependency() throws IOException {
+        writePackageLock("{\"lockfileVersion\": 3, " + PACKAGES + "}");
+        Files.createDirectories(workingDir.resolve("node_modules/fsevents"));
+        NpmPackageLock packageLock = NpmPackageLock.read(workingDir);
+        assertNotNull(packageLock);
+        assertTrue(toStrings(packageLock.getPackages(NpmScope.PRODUCTION)).contains("fsevents:2.0.0 prod [root:1.0.0]"));
+    }
+
+    public void testWorkspaces() throws IOException {
+        writePackageLock("{\"lockfileVersion\": 3, \"packages\": {" +
+                "\"\": {\"workspaces\": [\"packages/*\"]}," +
+                "\"node_modules/ws\": {\"resolved\": \"packages/ws\", \"link\": true}," +
+                "\"packages/ws\": {\"name\": \"ws\", \"version\": \"0.1.0\", \"dependencies\": {\"a\": \"1\"}}," +
+                "\"packages/ws/node_modules/a\": {\"version\": \"1.0.0\"}," +
+                "\"node_modules/a\": {\"version\": \"2.0.0\"}" +
+                "}}");
+        NpmPackageLock packageLock = NpmPackageLock.read(workingDir);
+        assertNotNull(packageLock);
+        String projectName = workingDir.getFileName().toString();
+        assertEquals(toStrings(packageLock.getPackages(NpmScope.PRODUCTION)),
+                Collections.singletonList("a:1.0.0 prod [ws:0.1.0, " + projectName + "]"));
+        assertTrue(packageLock.getPackages(NpmScope.DEVELOPMENT).isEmpty());
+    }
+
+    public void testUnsupportedLockfile() throws IOException {
+        assertNull(NpmPackageLock.read(workingDir));
+        writePackageLock("{\"lockfileVersion\": 1, \"dependencies\": {\"a\": {\"version\": \"1.0.0\"}}}");
+        assertNull(NpmPackageLock.read(workingDir));
+    }
+
+    public void testGetSha1() {
+        assertEquals(NpmPackageLock.getSha1("sha1-sGPy9vrWrkmM9AzWVMXwDmyuPFU="), SHA1);
+        assertNull(NpmPackageLock.getSha1("sha512-sGPy9vrWrkmM9AzWVMXwDmyuPFU="));
+        assertNull(NpmPackageLock.getSha1("sha1-invalid!"));
+        assertNull(NpmPackageLock.getSha1(null));
+    }
+
+    private void writePackageLock(String content) throws IOException {
+        FileUtils.writeStringToFile(workingDir.resolve(NpmPackageLock.PACKAGE_LOCK).toFile(), content, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> toStrings(List<NpmPackageInfo> packageInfos) {
+        return packageInfos.stream()
+                .map(info -> info + " " + info.getScope() + " " + Arrays.toString(info.getPathToRoot()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,74 @@
+package org.jfrog.build.extractor.npm.extractor;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests the discovery of the publishable packages of npm workspaces.
+ */
+@Test
+public class NpmWorkspacePublishTest {
+    private Path rootDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        rootDir = Files.createTempDirectory("npm-workspaces");
+        writePackageJson("packages/b", "{\"name\": \"b\", \"version\": \"1.0.0\"}");
+        writePackageJson("packages/a", "{\"name\": \"@scope/a\", \"version\": \"1.0.0\"}");
+        writePackageJson("packages/private", "{\"name\": \"private\", \"version\": \"1.0.0\", \"private\": true}");
+        writePackageJson("packages/excluded", "{\"name\": \"excluded\", \"version\": \"1.0.0\"}");
+        writePackageJson("packages/a/node_modules/dep", "{\"name\": \"dep\", \"version\": \"1.0.0\"}");
+        writePackageJson("apps/web", "{\"name\": \"web\", \"version\": \"2.0.0\"}");
+        writePackageJson("tools/cli", "{\"name\": \"cli\", \"version\": \"1.0.0\"}");
+        // Not a package
+        Files.createDirectories(rootDir.resolve("packages/docs"));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(rootDir.toFile());
+    }
+
+    public void testFindWorkspacePackages() throws IOException {
+        writePackageJson("", "{\"name\": \"root\", \"private\": true, \"workspaces\": [\"packages/*\", \"./apps/web/\", \"!packages/excluded\"]}");
+        assertEquals(findWorkspacePackages(), Arrays.asList("apps/web", "packages/a", "packages/b"));
+    }
+
+    public void testFindYarnWorkspacePackages() throws IOException {
+        writePackageJson("", "{\"name\": \"root\", \"private\": true, \"workspaces\": {\"packages\": [\"tools/**\"], \"nohoist\": [\"**/dep\"]}}");
+        assertEquals(findWorkspacePackages(), Arrays.asList("tools/cli"));
+    }
+
+    public void testNoWorkspaces() throws IOException {
+        writePackageJson("", "{\"name\": \"root\", \"version\": \"1.0.0\"}");
+        try {
+            findWorkspacePackages();
+            fail("A project without workspaces should fail");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    private List<String> findWorkspacePackages() throws IOException {
+        return NpmWorkspacePublish.findWorkspacePackages(rootDir).stream()
+                .map(dir -> rootDir.relativize(dir).toString().replace('\\', '/'))
+                .collect(Collectors.toList());
+    }
+
+    private void writePackageJson(String dir, String content) throws IOException {
+        FileUtils.writeStringToFile(rootDir.resolve(dir).resolve("package.json").toFile(), content, StandardCharsets.UTF_8);
+    }
+}
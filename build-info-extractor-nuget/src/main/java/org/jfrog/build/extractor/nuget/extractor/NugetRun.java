@@ -9,7 +9,6 @@ import org.jfrog.build.api.Module;
 import org.jfrog.build.api.builder.DependencyBuilder;
 import org.jfrog.build.api.builder.ModuleBuilder;
 import org.jfrog.build.api.builder.ModuleType;
-import org.jfrog.build.api.util.FileChecksumCalculator;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryManagerBuilder;
@@ -19,6 +18,7 @@ import org.jfrog.build.extractor.nuget.drivers.NugetDriver;
 import org.jfrog.build.extractor.nuget.drivers.ToolchainDriverBase;
 import org.jfrog.build.extractor.nuget.types.NugetPackgesConfig;
 import org.jfrog.build.extractor.nuget.types.NugetProjectAssets;
+import org.jfrog.build.extractor.packageManager.DependenciesIndex;
 import org.jfrog.build.extractor.packageManager.PackageManagerExtractor;
 
 import java.io.File;
@@ -77,6 +77,7 @@ public class NugetRun extends PackageManagerExtractor {
     private String nugetCmdArgs;
     private List<String> dependenciesSources;
     private List<Module> modulesList = new ArrayList<>();
+    private transient DependenciesIndex dependenciesIndex;
 
     /**
      * Run NuGet.
@@ -161,6 +162,7 @@ public class NugetRun extends PackageManagerExtractor {
                     clientConfiguration.resolver.getUsername(),
                     clientConfiguration.resolver.getPassword(),
                     clientConfiguration.dotnetHandler.apiProtocol());
+            nugetRun.setDependenciesIndexPath(handler.getDependenciesIndex());
             nugetRun.executeAndSaveBuildInfo(clientConfiguration);
         } catch (RuntimeException e) {
             ExceptionUtils.printRootCauseStackTrace(e, System.out);
@@ -177,7 +179,9 @@ public class NugetRun extends PackageManagerExtractor {
                 ModuleBuilder builder = new ModuleBuilder().type(ModuleType.NUGET).id(module);
                 modulesList.add(builder.build());
             }
+            dependenciesIndex = loadDependenciesIndex(logger);
             collectDependencies();
+            dependenciesIndex.save();
             build = new Build();
             build.setModules(modulesList);
         } catch (Exception e) {
@@ -417,9 +421,10 @@ public class NugetRun extends PackageManagerExtractor {
             }
         }
         if (found) {
-            Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(nupkg, MD5, SHA1);
+            String id = pkg.getId() + ':' + pkg.getVersion();
+            Map<String, String> checksums = dependenciesIndex.getChecksums(DependenciesIndex.NUGET, id, nupkg);
             Dependency dependency = new DependencyBuilder()
-                    .id(pkg.getId() + ':' + pkg.getVersion())
+                    .id(id)
                     .md5(checksums.get(MD5)).sha1(checksums.get(SHA1))
                     .build();
             return dependency;
@@ -449,9 +454,10 @@ public class NugetRun extends PackageManagerExtractor {
             }
             File nupkg = new File(assets.getPackagesPath(), library.getNupkgFilePath());
             if (nupkg.exists()) {
-                Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(nupkg, MD5, SHA1);
+                String id = pkgKey.replace('/', ':');
+                Map<String, String> checksums = dependenciesIndex.getChecksums(DependenciesIndex.NUGET, id, nupkg);
                 Dependency dependency = new DependencyBuilder()
-                        .id(pkgKey.replace('/', ':'))
+                        .id(id)
                         .md5(checksums.get(MD5)).sha1(checksums.get(SHA1))
                         .build();
                 dependenciesList.add(dependency);
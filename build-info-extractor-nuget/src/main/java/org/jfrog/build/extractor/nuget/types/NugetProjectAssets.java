@@ -1,15 +1,13 @@
 package org.jfrog.build.extractor.nuget.types;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 
 import java.io.*;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import static org.jfrog.build.extractor.BuildInfoExtractorUtils.createMapper;
-
 public class NugetProjectAssets {
     private static final long serialVersionUID = 1L;
 
@@ -156,8 +154,7 @@ public class NugetProjectAssets {
     public void readProjectAssets(File projectAssets) throws IOException {
         try (FileInputStream fis = new FileInputStream(projectAssets)) {
             String json = inputStreamToString(fis);
-            ObjectMapper mapper = createMapper();
-            NugetProjectAssets assets = mapper.readValue(json, NugetProjectAssets.class);
+            NugetProjectAssets assets = JsonMappers.getReader(NugetProjectAssets.class).readValue(json);
             this.setVersion(assets.getVersion());
             this.setLibraries(assets.getLibraries());
             this.setProject(assets.getProject());
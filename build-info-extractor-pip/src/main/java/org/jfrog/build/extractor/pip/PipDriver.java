@@ -1,5 +1,6 @@
 package org.jfrog.build.extractor.pip;
 
+import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.executor.CommandExecutor;
 import org.jfrog.build.extractor.executor.CommandResults;
@@ -7,10 +8,14 @@ import org.jfrog.build.extractor.executor.CommandResults;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Created by Bar Belity on 09/07/2020.
@@ -25,13 +30,23 @@ public class PipDriver implements Serializable {
     }
 
     public String install(File workingDirectory, String url, List<String> commandArgs, Log logger) throws IOException {
+        return install(workingDirectory, url, commandArgs, logger, null);
+    }
+
+    /**
+     * Run pip install, and pass the lines of its output to a consumer while the installation is running.
+     *
+     * @param outputLineConsumer - Consumer of the output lines of pip install. May be null.
+     * @return the output of pip install.
+     */
+    public String install(File workingDirectory, String url, List<String> commandArgs, Log logger, Consumer<String> outputLineConsumer) throws IOException {
         try {
             // Add Artifactory as index to the command.
             List<String> finalArgs = new ArrayList<>(Arrays.asList("install"));
             finalArgs.addAll(commandArgs);
             finalArgs.addAll(Arrays.asList("-i", url));
             // Execute command.
-            return runCommand(workingDirectory, finalArgs, logger);
+            return runCommand(workingDirectory, finalArgs, logger, outputLineConsumer);
         } catch (IOException | InterruptedException e) {
             throw new IOException("pip install failed: " + e.getMessage(), e);
         }
@@ -47,8 +62,37 @@ public class PipDriver implements Serializable {
         }
     }
 
+    /**
+     * Get the local cache directory of pip.
+     *
+     * @return the cache directory, or null if pip does not report it.
+     */
+    public Path getCacheDir(File workingDirectory, Log logger) {
+        String cacheDir = System.getenv("PIP_CACHE_DIR");
+        if (StringUtils.isBlank(cacheDir)) {
+            try {
+                // Supported since pip 20.1
+                CommandResults cacheDirRes = commandExecutor.exeCommand(workingDirectory, new ArrayList<>(Arrays.asList("cache", "dir")), null, logger);
+                if (!cacheDirRes.isOk()) {
+                    logger.debug("Failed getting the pip cache directory: " + cacheDirRes.getErr());
+                    return null;
+                }
+                cacheDir = cacheDirRes.getRes();
+            } catch (IOException | InterruptedException e) {
+                logger.debug("Failed getting the pip cache directory: " + e.getMessage());
+                return null;
+            }
+        }
+        cacheDir = StringUtils.trim(cacheDir);
+        return StringUtils.isNotEmpty(cacheDir) && Files.isDirectory(Paths.get(cacheDir)) ? Paths.get(cacheDir) : null;
+    }
+
     public String runCommand(File workingDirectory, List<String> args, Log logger) throws IOException, InterruptedException {
-        CommandResults pipCommandRes = commandExecutor.exeCommand(workingDirectory, args, null, logger);
+        return runCommand(workingDirectory, args, logger, null);
+    }
+
+    public String runCommand(File workingDirectory, List<String> args, Log logger, Consumer<String> outputLineConsumer) throws IOException, InterruptedException {
+        CommandResults pipCommandRes = commandExecutor.exeCommand(workingDirectory, args, null, logger, outputLineConsumer);
         if (!pipCommandRes.isOk()) {
             throw new IOException(pipCommandRes.getErr() + pipCommandRes.getRes());
         }
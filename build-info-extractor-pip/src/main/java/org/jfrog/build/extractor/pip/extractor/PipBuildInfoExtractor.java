@@ -10,12 +10,17 @@ import org.jfrog.build.api.builder.ModuleType;
 import org.jfrog.build.api.search.AqlSearchResult;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
+import static org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration.DEFAULT_PIP_AQL_BULK_SIZE;
+import static org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration.DEFAULT_PIP_AQL_THREADS;
+
 /**
  * Created by Bar Belity on 09/07/2020.
  */
@@ -27,12 +32,37 @@ public class PipBuildInfoExtractor {
                     "\"$or\":[%s]" +
                     "}).include(\"name\",\"repo\",\"path\",\"actual_sha1\",\"actual_md5\")";
     private static final String PIP_AQL_FILE_PART = "{\"name\":\"%s\"},";
-    private static final int PIP_AQL_BULK_SIZE = 3;
+
+    private final int aqlBulkSize;
+    private final int aqlThreads;
+    private final Path pipCacheDir;
+
+    public PipBuildInfoExtractor() {
+        this(DEFAULT_PIP_AQL_BULK_SIZE, DEFAULT_PIP_AQL_THREADS, null);
+    }
+
+    /**
+     * @param aqlBulkSize - Number of files to find in each AQL query.
+     * @param aqlThreads  - Number of AQL queries to run concurrently.
+     * @param pipCacheDir - Pip's cache directory, to calculate the checksums of dependencies not found in Artifactory.
+     *                    May be null.
+     */
+    public PipBuildInfoExtractor(int aqlBulkSize, int aqlThreads, Path pipCacheDir) {
+        this.aqlBulkSize = Math.max(aqlBulkSize, 1);
+        this.aqlThreads = Math.max(aqlThreads, 1);
+        this.pipCacheDir = pipCacheDir;
+    }
 
     Build extract(ArtifactoryManager artifactoryManager, String repository, String installationLog, Path executionPath, String module, Log logger) throws IOException {
         // Parse logs and create dependency list of <pkg-name, pkg-file>
-        Map<String, String> downloadedDependencies = PipLogParser.parse(installationLog, logger);
+        return extract(artifactoryManager, repository, PipLogParser.parse(installationLog, logger), executionPath, module, logger);
+    }
 
+    /**
+     * @param downloadedDependencies - The dependencies of this pip-execution, package-name to downloaded package-file map,
+     *                               as parsed by {@link PipLogParser}.
+     */
+    Build extract(ArtifactoryManager artifactoryManager, String repository, Map<String, String> downloadedDependencies, Path executionPath, String module, Log logger) throws IOException {
         // Create package-name to dependency map.
         Map<String, Dependency> dependenciesMap = buildDependenciesMap(downloadedDependencies, artifactoryManager, repository, executionPath, logger);
 
@@ -72,7 +102,16 @@ public class PipBuildInfoExtractor {
         }
 
         // Get dependencies from Artifactory.
-        dependenciesMap.putAll(getDependenciesFromArtifactory(getFromArtifactoryMap, repository, artifactoryManager, logger));
+        Map<String, Dependency> artifactoryDependencies = getDependenciesFromArtifactory(getFromArtifactoryMap, repository, artifactoryManager, logger);
+        dependenciesMap.putAll(artifactoryDependencies);
+
+        // Get dependencies missing in Artifactory from pip's cache.
+        if (pipCacheDir != null) {
+            Map<String, String> missingFilesMap = getFromArtifactoryMap.entrySet().stream()
+                    .filter(entry -> !artifactoryDependencies.containsKey(entry.getValue()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            dependenciesMap.putAll(PipWheelsCache.getDependencies(pipCacheDir, missingFilesMap, logger));
+        }
 
         // Prompt missing dependencies.
         Set<String> missingDeps = downloadedDependencies.keySet().stream()
@@ -99,7 +138,7 @@ public class PipBuildInfoExtractor {
         if (fileToPackageMap.isEmpty()) {
             return Collections.emptyMap();
         }
-        AqlSearchResult searchResult = runAqlQueries(createAqlQueries(fileToPackageMap, repository, PIP_AQL_BULK_SIZE), artifactoryManager);
+        AqlSearchResult searchResult = runAqlQueries(createAqlQueries(fileToPackageMap, repository, aqlBulkSize), artifactoryManager);
         return createDependenciesFromAqlResult(searchResult, fileToPackageMap, logger);
     }
 
@@ -127,17 +166,22 @@ public class PipBuildInfoExtractor {
         return String.format(PIP_AQL_FORMAT, repository, filesQueryPartBuilder.toString());
     }
 
+    /**
+     * Run the AQL queries concurrently, and aggregate their results in the order of the queries.
+     */
     private AqlSearchResult runAqlQueries(List<String> aqlQueries, ArtifactoryManager artifactoryManager) throws IOException {
-        AqlSearchResult aggregatedResults = new AqlSearchResult();
+        List<Callable<AqlSearchResult>> searches = new ArrayList<>();
         for (String aql : aqlQueries) {
-            try {
-                AqlSearchResult searchResult = artifactoryManager.searchArtifactsByAql(aql);
-                if (!searchResult.getResults().isEmpty()) {
-                    aggregatedResults.getResults().addAll(searchResult.getResults());
-                }
-            } catch (IOException e) {
-                throw new IOException("Failed fetching dependencies checksums from Artifactory ", e);
+            searches.add(() -> artifactoryManager.searchArtifactsByAql(aql));
+        }
+        AqlSearchResult aggregatedResults = new AqlSearchResult();
+        try {
+            for (AqlSearchResult searchResult : ExecutorFactory.invokeAll("pip-aql", aqlThreads, searches)) {
+                aggregatedResults.getResults().addAll(searchResult.getResults());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching dependencies checksums from Artifactory", e);
         }
         return aggregatedResults;
     }
@@ -20,6 +20,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import static org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration.DEFAULT_PIP_AQL_BULK_SIZE;
+import static org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration.DEFAULT_PIP_AQL_THREADS;
 import static org.jfrog.build.extractor.packageManager.PackageManagerUtils.createArtifactoryClientConfiguration;
 
 /**
@@ -40,6 +42,14 @@ public class PipInstall extends PackageManagerExtractor {
     private String username;
     private String password;
     private String module;
+    private int aqlBulkSize = DEFAULT_PIP_AQL_BULK_SIZE;
+    private int aqlThreads = DEFAULT_PIP_AQL_THREADS;
+
+    public PipInstall(ArtifactoryManagerBuilder artifactoryManagerBuilder, String resolutionRepository, String installArgs, Log logger, Path path, Map<String, String> env, String module, String username, String password, String envActivation, int aqlBulkSize, int aqlThreads) {
+        this(artifactoryManagerBuilder, resolutionRepository, installArgs, logger, path, env, module, username, password, envActivation);
+        this.aqlBulkSize = aqlBulkSize;
+        this.aqlThreads = aqlThreads;
+    }
 
     public PipInstall(ArtifactoryManagerBuilder artifactoryManagerBuilder, String resolutionRepository, String installArgs, Log logger, Path path, Map<String, String> env, String module, String username, String password, String envActivation) {
 
@@ -81,7 +91,9 @@ public class PipInstall extends PackageManagerExtractor {
                     pipHandler.getModule(),
                     clientConfiguration.resolver.getUsername(),
                     clientConfiguration.resolver.getPassword(),
-                    clientConfiguration.pipHandler.getEnvActivation());
+                    clientConfiguration.pipHandler.getEnvActivation(),
+                    clientConfiguration.pipHandler.getAqlBulkSize(),
+                    clientConfiguration.pipHandler.getAqlThreads());
             pipInstall.executeAndSaveBuildInfo(clientConfiguration);
         } catch (RuntimeException e) {
             ExceptionUtils.printRootCauseStackTrace(e, System.out);
@@ -94,14 +106,15 @@ public class PipInstall extends PackageManagerExtractor {
             validateRepoExists(artifactoryManager, repo, "Source repo must be specified");
             String artifactoryUrlWithCredentials = PackageManagerUtils.createArtifactoryUrlWithCredentials(artifactoryManager.getUrl(), username, password, ARTIFACTORY_PIP_API_START + repo + ARTIFACTORY_PIP_API_END);
 
-            // Run pip install with URL and get output.
-            String installLog = pipDriver.install(path.toFile(), artifactoryUrlWithCredentials, installArgs, logger);
+            // Run pip install with URL and parse its output while it is running.
+            PipLogParser logParser = new PipLogParser(logger);
+            String installLog = pipDriver.install(path.toFile(), artifactoryUrlWithCredentials, installArgs, logger, logParser::parseLine);
             logger.info(installLog);
 
-            // Parse output and get all dependencies.
-            PipBuildInfoExtractor buildInfoExtractor = new PipBuildInfoExtractor();
+            // Get all dependencies.
+            PipBuildInfoExtractor buildInfoExtractor = new PipBuildInfoExtractor(aqlBulkSize, aqlThreads, pipDriver.getCacheDir(path.toFile(), logger));
             try {
-                return buildInfoExtractor.extract(artifactoryManager, repo, installLog, path, module, logger);
+                return buildInfoExtractor.extract(artifactoryManager, repo, logParser.getDependencies(), path, module, logger);
             } catch (IOException e) {
                 throw new IOException("Build info collection failed", e);
             }
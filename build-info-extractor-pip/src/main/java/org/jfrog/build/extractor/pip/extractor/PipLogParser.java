@@ -17,6 +17,21 @@ public class PipLogParser {
     static final Pattern COLLECTING_PACKAGE_PATTERN = Pattern.compile("^Collecting\\s(\\w[\\w-\\.]+)");
     static final Pattern DOWNLOADED_FILE_PATTERN = Pattern.compile("^\\s\\sDownloading\\s[^\\s]*\\/packages\\/[^\\s]*\\/([^\\s]*)");
     static final Pattern INSTALLED_PACKAGE_PATTERN = Pattern.compile("^Requirement\\salready\\ssatisfied\\:\\s(\\w[\\w-\\.]+)");
+    static final Pattern USING_CACHED_FILE_PATTERN = Pattern.compile("^\\s\\sUsing\\scached\\s(?:[^\\s]*\\/)?([^\\s\\/]+)");
+
+    private final Map<String, String> downloadedDependencies = new HashMap<>();
+    private final MutableBoolean expectingPackageFilePath = new MutableBoolean(false);
+    private final Log logger;
+    private String packageName = "";
+
+    /**
+     * Create a parser, which parses the log of a pip-install execution line by line, while the installation is running.
+     *
+     * @param logger - The logger.
+     */
+    PipLogParser(Log logger) {
+        this.logger = logger;
+    }
 
     /**
      * Parse a pip-install execution log and return the installation packages and files.
@@ -26,39 +41,57 @@ public class PipLogParser {
      * @return the extracted dependencies from provided log, mapping package-name to a downloaded package-file.
      */
     static Map<String, String> parse(String installationLog, Log logger) {
-        Map<String, String> downloadedDependencies = new HashMap<>();
-        String[] lines = installationLog.split("\\R");
-        MutableBoolean expectingPackageFilePath = new MutableBoolean(false);
-        String packageName = "";
-
-        for (String line : lines) {
-            // Extract downloaded package name.
-            Matcher matcher = COLLECTING_PACKAGE_PATTERN.matcher(line);
-            if (matcher.find()) {
-                packageName = extractPackageName(downloadedDependencies, matcher, packageName, expectingPackageFilePath, logger);
-                continue;
-            }
-
-            // Extract downloaded file, stored in Artifactory.
-            matcher = DOWNLOADED_FILE_PATTERN.matcher(line);
-            if (matcher.find()) {
-                extractDownloadedFileName(downloadedDependencies, matcher, packageName, expectingPackageFilePath, logger);
-                continue;
-            }
-
-            // Extract already installed package name.
-            matcher = INSTALLED_PACKAGE_PATTERN.matcher(line);
-            if (matcher.find()) {
-                extractAlreadyInstalledPackage(downloadedDependencies, matcher, logger);
-            }
+        PipLogParser parser = new PipLogParser(logger);
+        for (String line : installationLog.split("\\R")) {
+            parser.parseLine(line);
+        }
+        return parser.getDependencies();
+    }
+
+    /**
+     * Parse the next line of the pip-install execution log.
+     *
+     * @param line - A log line, without the line separator.
+     */
+    void parseLine(String line) {
+        // Extract downloaded package name.
+        Matcher matcher = COLLECTING_PACKAGE_PATTERN.matcher(line);
+        if (matcher.find()) {
+            packageName = extractPackageName(downloadedDependencies, matcher, packageName, expectingPackageFilePath, logger);
+            return;
         }
 
+        // Extract downloaded file, stored in Artifactory.
+        matcher = DOWNLOADED_FILE_PATTERN.matcher(line);
+        if (matcher.find()) {
+            extractDownloadedFileName(downloadedDependencies, matcher, packageName, expectingPackageFilePath, logger);
+            return;
+        }
+
+        // Extract a file taken from pip's cache - Previously downloaded from Artifactory.
+        matcher = USING_CACHED_FILE_PATTERN.matcher(line);
+        if (matcher.find()) {
+            extractDownloadedFileName(downloadedDependencies, matcher, packageName, expectingPackageFilePath, logger);
+            return;
+        }
+
+        // Extract already installed package name.
+        matcher = INSTALLED_PACKAGE_PATTERN.matcher(line);
+        if (matcher.find()) {
+            extractAlreadyInstalledPackage(downloadedDependencies, matcher, logger);
+        }
+    }
+
+    /**
+     * @return the dependencies extracted from the lines parsed so far, mapping package-name to a downloaded package-file.
+     */
+    Map<String, String> getDependencies() {
+        Map<String, String> dependencies = new HashMap<>(downloadedDependencies);
         // If there is a package we are still waiting for its path, save it with empty path.
         if (expectingPackageFilePath.isTrue()) {
-            downloadedDependencies.put(StringUtils.lowerCase(packageName), "");
+            dependencies.put(StringUtils.lowerCase(packageName), "");
         }
-
-        return downloadedDependencies;
+        return dependencies;
     }
 
     // Extract downloaded package name.
@@ -0,0 +1,73 @@
+package org.jfrog.build.extractor.pip.extractor;
+
+import org.jfrog.build.api.Dependency;
+import org.jfrog.build.api.builder.DependencyBuilder;
+import org.jfrog.build.api.util.FileChecksumCalculator;
+import org.jfrog.build.api.util.Log;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The wheels in pip's local cache.
+ * Pip builds wheels of the source distributions it installs and keeps them in the cache, so the next installations
+ * use the cached wheels instead of downloading the packages. The checksums of such dependencies are calculated from
+ * the cached wheels, when the dependencies are not found in Artifactory.
+ */
+class PipWheelsCache {
+    private static final String WHEELS_DIR = "wheels";
+    private static final String MD5 = "MD5";
+    private static final String SHA1 = "SHA1";
+
+    /**
+     * Create Dependency objects for the files of 'fileToPackageMap' found in the wheels cache.
+     *
+     * @param cacheDir         - Pip's cache directory.
+     * @param fileToPackageMap - Mapping between a downloaded file to its package name.
+     * @param logger           - The logger.
+     * @return Mapping of a package-name and its Dependency object.
+     */
+    static Map<String, Dependency> getDependencies(Path cacheDir, Map<String, String> fileToPackageMap, Log logger) throws IOException {
+        Path wheelsDir = cacheDir.resolve(WHEELS_DIR);
+        if (fileToPackageMap.isEmpty() || !Files.isDirectory(wheelsDir)) {
+            return new HashMap<>();
+        }
+        Map<String, Dependency> dependenciesMap = new HashMap<>();
+        Files.walkFileTree(wheelsDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String fileName = file.getFileName().toString();
+                String packageName = fileToPackageMap.get(fileName);
+                if (packageName != null && !dependenciesMap.containsKey(packageName)) {
+                    dependenciesMap.put(packageName, createDependency(file, fileName));
+                    logger.debug(String.format("Calculated the checksums of package: %s from pip cache: %s", packageName, file));
+                }
+                return dependenciesMap.size() == fileToPackageMap.size() ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // Skip files removed by a concurrent pip cache cleanup.
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return dependenciesMap;
+    }
+
+    private static Dependency createDependency(Path file, String fileName) throws IOException {
+        try {
+            Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(file.toFile(), MD5, SHA1);
+            return new DependencyBuilder()
+                    .id(fileName)
+                    .md5(checksums.get(MD5))
+                    .sha1(checksums.get(SHA1))
+                    .build();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+}
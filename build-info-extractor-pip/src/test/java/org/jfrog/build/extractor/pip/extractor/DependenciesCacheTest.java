@@ -44,6 +44,8 @@ public class DependenciesCacheTest {
             assertNull(nullCache, "Expecting null cache read.");
             // Write cache.
             DependenciesCache.updateDependenciesCache(cacheMap, projectDir);
+            // The cache is written through a temporary file.
+            assertEquals(DependenciesCache.getCacheFilePath(projectDir).getParent().toFile().list(), new String[]{"deps.cache.json"});
             // Read existing cache.
             DependenciesCache readCache = DependenciesCache.getProjectDependenciesCache(projectDir, log);
             assertNotNull(readCache, "Expecting cache read.");
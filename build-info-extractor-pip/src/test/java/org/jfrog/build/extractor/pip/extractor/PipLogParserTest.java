@@ -126,4 +126,34 @@ public class PipLogParserTest {
         assertEquals(downloadedDependencies.keySet(), expectedDepMap.keySet());
         assertEquals(downloadedDependencies.values(), expectedDepMap.values());
     }
+
+    @DataProvider
+    private Object[][] usingCachedFileNameProvider() {
+        return new Object[][]{
+                {"  Using cached PyYAML-5.3.1-cp38-cp38-linux_x86_64.whl (44 kB)", "PyYAML-5.3.1-cp38-cp38-linux_x86_64.whl"},
+                {"  Using cached https://someserver/pypi/packages/more/path/nltk-3.5.zip", "nltk-3.5.zip"},
+        };
+    }
+
+    @Test(dataProvider = "usingCachedFileNameProvider")
+    public void usingCachedFileNameTest(String line, String expectedFileName) {
+        PipLogParser parser = new PipLogParser(log);
+        parser.parseLine("Collecting Package");
+        parser.parseLine(line);
+        assertEquals(parser.getDependencies(), Collections.singletonMap("package", expectedFileName));
+    }
+
+    @Test
+    public void parseLinesTest() throws IOException {
+        try (InputStream pipLogStream = this.getClass().getResourceAsStream("/pipLogParser/pipLog.txt")) {
+            String pipLog = IOUtils.toString(pipLogStream, StandardCharsets.UTF_8);
+            PipLogParser parser = new PipLogParser(log);
+            for (String line : pipLog.split("\\R")) {
+                parser.parseLine(line);
+                // The dependencies of the lines parsed so far may be read while pip is running.
+                parser.getDependencies();
+            }
+            assertEquals(parser.getDependencies(), PipLogParser.parse(pipLog, log));
+        }
+    }
 }
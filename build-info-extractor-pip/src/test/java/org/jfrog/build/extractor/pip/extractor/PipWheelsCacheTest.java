@@ -0,0 +1,49 @@
+package org.jfrog.build.extractor.pip.extractor;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.api.Dependency;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.extractor.util.TestingLog;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+@Test
+public class PipWheelsCacheTest {
+
+    static final Log log = new TestingLog();
+
+    @Test
+    public void getDependenciesTest() throws IOException {
+        Path cacheDir = TestUtils.createTempDir("pipWheelsCacheTest");
+        try {
+            File wheel = cacheDir.resolve("wheels/3b/7c/5e/abcdef/ecoPkg1-1.0-py3-none-any.whl").toFile();
+            FileUtils.writeStringToFile(wheel, "wheel content", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(cacheDir.resolve("wheels/other-2.0-py3-none-any.whl").toFile(), "other", StandardCharsets.UTF_8);
+            // Not a wheel of the cache.
+            FileUtils.writeStringToFile(cacheDir.resolve("http/ecoPkg2-2.0.tar.gz").toFile(), "http cache", StandardCharsets.UTF_8);
+
+            Map<String, String> fileToPackage = new HashMap<>();
+            fileToPackage.put("ecoPkg1-1.0-py3-none-any.whl", "ecopkg1");
+            fileToPackage.put("ecoPkg2-2.0.tar.gz", "ecopkg2");
+            Map<String, Dependency> dependencies = PipWheelsCache.getDependencies(cacheDir, fileToPackage, log);
+
+            assertEquals(dependencies.keySet(), Collections.singleton("ecopkg1"));
+            Dependency dependency = dependencies.get("ecopkg1");
+            assertEquals(dependency.getId(), "ecoPkg1-1.0-py3-none-any.whl");
+            // Checksums of "wheel content".
+            assertEquals(dependency.getMd5(), "1f984f368f52d42e386983854d0a5f6d");
+            assertEquals(dependency.getSha1(), "b063f2f6fad6ae498cf40cd654c5f00e6cae3c55");
+        } finally {
+            FileUtils.deleteQuietly(cacheDir.toFile());
+        }
+    }
+}
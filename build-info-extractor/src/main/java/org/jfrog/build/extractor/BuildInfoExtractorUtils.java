@@ -18,12 +18,9 @@ package org.jfrog.build.extractor;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.Build;
@@ -34,6 +31,7 @@ import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.ClientProperties;
 import org.jfrog.build.extractor.clientConfiguration.IncludeExcludePatterns;
 import org.jfrog.build.extractor.clientConfiguration.PatternMatcher;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -172,50 +170,20 @@ public abstract class BuildInfoExtractorUtils {
     //TODO: [by yl] introduce a commons module for common impl and also move PropertyUtils there
 
 
-    private static JsonFactory createJsonFactory() {
-        JsonFactory jsonFactory = new JsonFactory();
-        ObjectMapper mapper = new ObjectMapper(jsonFactory);
-        mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector());
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
-        jsonFactory.setCodec(mapper);
-        return jsonFactory;
-    }
-
     public static String buildInfoToJsonString(Build buildInfo) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-
-        StringWriter writer = new StringWriter();
-        JsonGenerator jsonGenerator = jsonFactory.createJsonGenerator(writer);
-        jsonGenerator.useDefaultPrettyPrinter();
-
-        jsonGenerator.writeObject(buildInfo);
-        String result = writer.getBuffer().toString();
-        return result;
+        return JsonMappers.getPrettyWriter(Build.class).writeValueAsString(buildInfo);
     }
 
     public static Build jsonStringToBuildInfo(String json) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-        JsonParser parser = jsonFactory.createParser(new StringReader(json));
-        return jsonFactory.getCodec().readValue(parser, Build.class);
+        return JsonMappers.getReader(Build.class).readValue(json);
     }
 
     public static <T extends Serializable> String buildInfoToJsonString(T buildComponent) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-
-        StringWriter writer = new StringWriter();
-        JsonGenerator jsonGenerator = jsonFactory.createJsonGenerator(writer);
-        jsonGenerator.useDefaultPrettyPrinter();
-
-        jsonGenerator.writeObject(buildComponent);
-        String result = writer.getBuffer().toString();
-        return result;
+        return JsonMappers.getPrettyWriter().writeValueAsString(buildComponent);
     }
 
     public static <T extends Serializable> T jsonStringToGeneric(String json, Class<T> clazz) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-        JsonParser parser = jsonFactory.createParser(new StringReader(json));
-        return jsonFactory.getCodec().readValue(parser, clazz);
+        return JsonMappers.getReader(clazz).readValue(json);
     }
 
     public static void saveBuildInfoToFile(Build build, File toFile) throws IOException {
@@ -302,7 +270,18 @@ public abstract class BuildInfoExtractorUtils {
      * @return a new object mapper
      */
     public static ObjectMapper createMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        return createMapper(new JsonFactory());
+    }
+
+    /**
+     * Create an object mapper for serialization/deserialization using the provided factory, for example a binary
+     * data format factory. This mapper ignore unknown properties and null values.
+     *
+     * @param jsonFactory - The factory of the mapper's parsers and generators
+     * @return a new object mapper
+     */
+    public static ObjectMapper createMapper(JsonFactory jsonFactory) {
+        ObjectMapper mapper = new ObjectMapper(jsonFactory);
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
@@ -1,32 +1,28 @@
 package org.jfrog.build.extractor;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.google.common.base.Charsets;
 import com.google.common.io.Files;
 import org.jfrog.build.api.Module;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.*;
 
 import static org.jfrog.build.extractor.BuildInfoExtractorUtils.createMapper;
 
 /**
- * Utilities for serializing/deserializing Module info as json
+ * Utilities for serializing/deserializing Module info as json.
+ * Module info files may also be written in the binary Smile format, which is more compact and faster to read and write.
+ * Smile shares repeated names and string values (such as GAVs and scopes) through back-references.
  */
 public class ModuleExtractorUtils {
-    private static JsonFactory createJsonFactory() {
-        JsonFactory jsonFactory = new JsonFactory();
-        ObjectMapper mapper = createMapper();
-        mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector());
-        jsonFactory.setCodec(mapper);
-        return jsonFactory;
-    }
+    private static final ObjectMapper smileMapper = createMapper(new SmileFactory()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES));
+    private static final ObjectReader smileReader = smileMapper.readerFor(Module.class);
 
     /**
      * Given a Module object, serialize it as a json string.
@@ -36,14 +32,7 @@ public class ModuleExtractorUtils {
      * @throws IOException
      */
     public static String moduleToJsonString(Module module) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-
-        StringWriter writer = new StringWriter();
-        JsonGenerator jsonGenerator = jsonFactory.createJsonGenerator(writer);
-        jsonGenerator.useDefaultPrettyPrinter();
-
-        jsonGenerator.writeObject(module);
-        return writer.getBuffer().toString();
+        return JsonMappers.getPrettyWriter(Module.class).writeValueAsString(module);
     }
 
     /**
@@ -54,9 +43,7 @@ public class ModuleExtractorUtils {
      * @throws IOException
      */
     public static Module jsonStringToModule(String json) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-        JsonParser parser = jsonFactory.createParser(new StringReader(json));
-        return jsonFactory.getCodec().readValue(parser, Module.class);
+        return JsonMappers.getReader(Module.class).readValue(json);
     }
 
     /**
@@ -78,14 +65,48 @@ public class ModuleExtractorUtils {
     }
 
     /**
-     * Given a file, read its contents as a json string and deserialize it as a Module object.
+     * Given a Module object, serialize it in the binary Smile format and write it to the provided file.
+     * Files written by this method can be read by {@link #readModuleFromFile(File)}.
      *
-     * @param fromFile The file containing a serialized json string
+     * @param module The module object
+     * @param toFile The file to write the serialized module to
+     * @throws IOException
+     */
+    public static void saveModuleToBinaryFile(Module module, File toFile) throws IOException {
+        if (!toFile.getParentFile().exists()) {
+            toFile.getParentFile().mkdirs();
+        }
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(toFile))) {
+            smileMapper.writeValue(outputStream, module);
+        }
+    }
+
+    /**
+     * Given a file, deserialize its contents as a Module object.
+     * The file may contain either a json string or a module in the binary Smile format.
+     *
+     * @param fromFile The file containing a serialized module
      * @return The Module object deserialized from the content of the file
      * @throws IOException
      */
     public static Module readModuleFromFile(File fromFile) throws IOException {
-        String moduleInfoJson = Files.asCharSource(fromFile, Charsets.UTF_8).read();
-        return jsonStringToModule(moduleInfoJson);
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(fromFile))) {
+            ObjectReader reader = isSmile(inputStream) ? smileReader : JsonMappers.getReader(Module.class);
+            return reader.readValue(inputStream);
+        }
+    }
+
+    /**
+     * Check whether the stream starts with the Smile format header. The stream is reset to its beginning.
+     */
+    private static boolean isSmile(InputStream inputStream) throws IOException {
+        inputStream.mark(3);
+        try {
+            return inputStream.read() == SmileConstants.HEADER_BYTE_1 &&
+                    inputStream.read() == SmileConstants.HEADER_BYTE_2 &&
+                    inputStream.read() == SmileConstants.HEADER_BYTE_3;
+        } finally {
+            inputStream.reset();
+        }
     }
 }
@@ -3,6 +3,7 @@ package org.jfrog.build.extractor;
 import org.jfrog.build.client.ArtifactoryUploadResponse;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
 
 import java.io.IOException;
 import java.util.Map;
@@ -10,7 +11,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 /**
  * This class manages artifacts deployment after a maven / gradle build.
@@ -22,11 +23,15 @@ public class ModuleParallelDeployHelper {
 
     public void deployArtifacts(ArtifactoryManager artifactoryManager,
                                 Map<String, Set<DeployDetails>> deployableArtifactsByModule, int publishForkCount) {
+        // Search the checksums of the artifacts of all the modules in bulk, before the deployment of the first module
+        artifactoryManager.preflightChecksums(deployableArtifactsByModule.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toList()));
         if (publishForkCount <= 1) {
             deployableArtifactsByModule.forEach((module, deployableArtifacts) -> deploy(artifactoryManager, deployableArtifacts, null));
         } else {
+            ExecutorService executor = ExecutorFactory.newExecutor("deploy", publishForkCount);
             try {
-                ExecutorService executor = Executors.newFixedThreadPool(publishForkCount);
                 CompletableFuture<Void> allDeployments = CompletableFuture.allOf(
                         deployableArtifactsByModule.values().stream()
                                 .map(deployDetails ->
@@ -36,11 +41,22 @@ public class ModuleParallelDeployHelper {
                 allDeployments.get();
             } catch (InterruptedException | ExecutionException e) {
                 throw new RuntimeException(e);
+            } finally {
+                ExecutorFactory.shutdown(executor);
             }
         }
     }
 
-    private void deploy(ArtifactoryManager artifactoryManager, Set<DeployDetails> deployableArtifacts, String logPrefix) {
+    /**
+     * Deploy the artifacts of a module serially, in the order of the set.
+     *
+     * @param artifactoryManager  - The Artifactory manager to upload with
+     * @param deployableArtifacts - The artifacts of the module
+     * @param logPrefix           - The prefix of the log messages. May be null.
+     */
+    public void deploy(ArtifactoryManager artifactoryManager, Set<DeployDetails> deployableArtifacts, String logPrefix) {
+        // Checksums which were already searched are not searched again
+        artifactoryManager.preflightChecksums(deployableArtifacts);
         deployableArtifacts.forEach(artifact -> {
             try {
                 ArtifactoryUploadResponse response = artifactoryManager.upload(artifact, logPrefix);
@@ -0,0 +1,213 @@
+package org.jfrog.build.extractor.buildInfoMerge;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jfrog.build.api.Build;
+import org.jfrog.build.api.Module;
+import org.jfrog.build.api.util.BuildMerger;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Incrementally merges build-info and module files, produced by several jobs or agents, into a single build-info.
+ * Files are read with a streaming parser - modules are read and merged one at a time, so the memory used is bounded
+ * by the size of the merged build-info rather than by the total size of the input files.
+ * The first build-info added determines the name, number and other general fields of the merged build-info.
+ * <p>
+ * Usage:
+ * <pre>
+ * new BuildInfoMerger(log)
+ *         .addBuildInfo(agent1BuildInfoFile)
+ *         .addBuildInfo(agent2BuildInfoFile)
+ *         .addModules(moduleFile)
+ *         .saveToFile(mergedBuildInfoFile);
+ * </pre>
+ */
+public class BuildInfoMerger {
+    private static final String MODULES_FIELD = "modules";
+
+    private final ObjectMapper mapper = JsonMappers.getMapper();
+    private final Log log;
+    private BuildMerger buildMerger;
+    private boolean hasGeneralFields;
+    private int mergedModules;
+
+    public BuildInfoMerger(Log log) {
+        this.log = log;
+    }
+
+    /**
+     * Merge a build-info JSON file into the merged build-info.
+     *
+     * @param buildInfoFile - File containing a serialized build-info
+     * @return this merger
+     * @throws IOException in case of a read or parse error
+     */
+    public BuildInfoMerger addBuildInfo(File buildInfoFile) throws IOException {
+        log.debug("Merging build-info file: " + buildInfoFile.getAbsolutePath());
+        try (JsonParser parser = mapper.getFactory().createParser(buildInfoFile)) {
+            addBuildInfo(parser);
+        }
+        return this;
+    }
+
+    /**
+     * Merge a serialized build-info into the merged build-info.
+     *
+     * @param buildInfoStream - Stream containing a serialized build-info
+     * @return this merger
+     * @throws IOException in case of a read or parse error
+     */
+    public BuildInfoMerger addBuildInfo(InputStream buildInfoStream) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(buildInfoStream)) {
+            addBuildInfo(parser);
+        }
+        return this;
+    }
+
+    /**
+     * Merge a module JSON file into the merged build-info.
+     * The file may contain a single module, as written by ModuleExtractorUtils.saveModuleToFile, or an array of modules.
+     *
+     * @param modulesFile - File containing a serialized module or array of modules
+     * @return this merger
+     * @throws IOException in case of a read or parse error
+     */
+    public BuildInfoMerger addModules(File modulesFile) throws IOException {
+        log.debug("Merging module file: " + modulesFile.getAbsolutePath());
+        try (JsonParser parser = mapper.getFactory().createParser(modulesFile)) {
+            addModules(parser);
+        }
+        return this;
+    }
+
+    /**
+     * Merge a serialized module or array of modules into the merged build-info.
+     *
+     * @param modulesStream - Stream containing a serialized module or array of modules
+     * @return this merger
+     * @throws IOException in case of a read or parse error
+     */
+    public BuildInfoMerger addModules(InputStream modulesStream) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(modulesStream)) {
+            addModules(parser);
+        }
+        return this;
+    }
+
+    /**
+     * Merge a module into the merged build-info.
+     *
+     * @param module - The module to merge
+     * @return this merger
+     */
+    public BuildInfoMerger addModule(Module module) {
+        getBuildMerger().mergeModule(module);
+        mergedModules++;
+        return this;
+    }
+
+    /**
+     * Returns the merged build-info.
+     *
+     * @return the merged build-info
+     */
+    public Build getBuild() {
+        Build build = getBuildMerger().getBuild();
+        log.debug("Merged " + mergedModules + " modules into " + (build.getModules() == null ? 0 : build.getModules().size()) + " modules.");
+        return build;
+    }
+
+    /**
+     * Write the merged build-info as JSON into the given file.
+     *
+     * @param toFile - The output file
+     * @throws IOException in case of a write error
+     */
+    public void saveToFile(File toFile) throws IOException {
+        Build build = getBuild();
+        if (toFile.getParentFile() != null && !toFile.getParentFile().exists()) {
+            toFile.getParentFile().mkdirs();
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(toFile, build);
+    }
+
+    /**
+     * Publish the merged build-info to Artifactory.
+     *
+     * @param artifactoryManager - The Artifactory manager to publish with
+     * @param platformUrl        - JFrog platform URL, used for logging the published build link. May be null.
+     * @throws IOException in case of a publish error
+     */
+    public void publish(ArtifactoryManager artifactoryManager, String platformUrl) throws IOException {
+        artifactoryManager.publishBuildInfo(getBuild(), platformUrl);
+    }
+
+    private void addBuildInfo(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a build-info JSON object at " + parser.getCurrentLocation());
+        }
+        // The general build fields are small and read into a tree. The modules are merged one by one as they are parsed.
+        ObjectNode buildFields = mapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (MODULES_FIELD.equals(fieldName) && token == JsonToken.START_ARRAY) {
+                if (!hasGeneralFields) {
+                    // The first build-info is the merge target - create it before merging its modules.
+                    applyGeneralFields(buildFields);
+                    buildFields = mapper.createObjectNode();
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    addModule(mapper.readValue(parser, Module.class));
+                }
+            } else {
+                buildFields.set(fieldName, mapper.readTree(parser));
+            }
+        }
+        if (hasGeneralFields) {
+            buildMerger.merge(mapper.treeToValue(buildFields, Build.class));
+        } else {
+            applyGeneralFields(buildFields);
+            hasGeneralFields = true;
+        }
+    }
+
+    /**
+     * Set the general fields of the first build-info on the merged build-info.
+     */
+    private void applyGeneralFields(ObjectNode buildFields) throws IOException {
+        if (buildMerger == null) {
+            buildMerger = new BuildMerger(mapper.treeToValue(buildFields, Build.class));
+        } else {
+            mapper.readerForUpdating(buildMerger.getBuild()).readValue(buildFields);
+        }
+    }
+
+    private void addModules(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                addModule(mapper.readValue(parser, Module.class));
+            }
+        } else if (token == JsonToken.START_OBJECT) {
+            addModule(mapper.readValue(parser, Module.class));
+        } else {
+            throw new IOException("Expected a module JSON object or array at " + parser.getCurrentLocation());
+        }
+    }
+
+    private BuildMerger getBuildMerger() {
+        if (buildMerger == null) {
+            buildMerger = new BuildMerger(new Build());
+        }
+        return buildMerger;
+    }
+}
@@ -45,6 +45,8 @@ import static org.jfrog.build.api.LicenseControlFields.VIOLATION_RECIPIENTS;
 import static org.jfrog.build.extractor.ModuleParallelDeployHelper.DEFAULT_DEPLOYMENT_THREADS;
 import static org.jfrog.build.extractor.clientConfiguration.ClientConfigurationFields.*;
 import static org.jfrog.build.extractor.clientConfiguration.ClientProperties.*;
+import static org.jfrog.build.extractor.clientConfiguration.client.artifactory.services.MultipartUploadOptions.*;
+import static org.jfrog.build.extractor.clientConfiguration.deploy.DeployLedger.DEFAULT_VERIFY_INTERVAL_HOURS;
 
 /**
  * @author freds
@@ -53,6 +55,8 @@ public class ArtifactoryClientConfiguration {
     // Try checksum deploy of files greater than 10KB
     public static final transient int DEFAULT_MIN_CHECKSUM_DEPLOY_SIZE_KB = 10;
     public static final String DEFAULT_NUGET_PROTOCOL = "v2";
+    public static final int DEFAULT_PIP_AQL_BULK_SIZE = 50;
+    public static final int DEFAULT_PIP_AQL_THREADS = 4;
 
     public final ResolverHandler resolver;
     public final PublisherHandler publisher;
@@ -221,6 +225,22 @@ public class ArtifactoryClientConfiguration {
         root.setIntegerValue(PROP_MAX_CO_PER_ROUTE, maxConnectionPerRoute);
     }
 
+    public boolean isMetricsEnabled() {
+        return root.getBooleanValue(PROP_METRICS_ENABLED, false);
+    }
+
+    public void setMetricsEnabled(Boolean metricsEnabled) {
+        root.setBooleanValue(PROP_METRICS_ENABLED, metricsEnabled);
+    }
+
+    public String getMetricsFile() {
+        return root.getStringValue(PROP_METRICS_FILE);
+    }
+
+    public void setMetricsFile(String metricsFile) {
+        root.setStringValue(PROP_METRICS_FILE, metricsFile);
+    }
+
     public String getPropertiesFile() {
         return rootConfig.getStringValue(PROPERTIES_FILE);
     }
@@ -423,6 +443,18 @@ public class ArtifactoryClientConfiguration {
             return getBooleanValue(EVEN_UNSTABLE, false);
         }
 
+        /**
+         * If true, the artifacts of the Maven modules are prepared in the background as soon as they are built, and
+         * deployed concurrently once the reactor succeeds.
+         */
+        public boolean isPipelinedDeploy() {
+            return getBooleanValue(PIPELINED_DEPLOY, false);
+        }
+
+        public void setPipelinedDeploy(Boolean enabled) {
+            setBooleanValue(PIPELINED_DEPLOY, enabled);
+        }
+
         public String getBuildRoot() {
             return getMatrixParams().get(BUILD_ROOT);
         }
@@ -460,6 +492,90 @@ public class ArtifactoryClientConfiguration {
         public void setMinChecksumDeploySizeKb(int minChecksumDeploySizeKb) {
             setIntegerValue(MIN_CHECKSUM_DEPLOY_SIZE_KB, minChecksumDeploySizeKb);
         }
+
+        /**
+         * Files of this size or larger are uploaded in parts, if supported by Artifactory. 0 disables multipart upload.
+         */
+        public int getMinMultipartUploadSizeMb() {
+            return getIntegerValue(MIN_MULTIPART_UPLOAD_SIZE_MB, DEFAULT_MIN_MULTIPART_UPLOAD_SIZE_MB);
+        }
+
+        public void setMinMultipartUploadSizeMb(int minMultipartUploadSizeMb) {
+            setIntegerValue(MIN_MULTIPART_UPLOAD_SIZE_MB, minMultipartUploadSizeMb);
+        }
+
+        public int getMultipartUploadPartSizeMb() {
+            return getIntegerValue(MULTIPART_UPLOAD_PART_SIZE_MB, DEFAULT_MULTIPART_UPLOAD_PART_SIZE_MB);
+        }
+
+        public void setMultipartUploadPartSizeMb(int multipartUploadPartSizeMb) {
+            setIntegerValue(MULTIPART_UPLOAD_PART_SIZE_MB, multipartUploadPartSizeMb);
+        }
+
+        public int getMultipartUploadThreads() {
+            return getIntegerValue(MULTIPART_UPLOAD_THREADS, DEFAULT_MULTIPART_UPLOAD_THREADS);
+        }
+
+        public void setMultipartUploadThreads(int multipartUploadThreads) {
+            setIntegerValue(MULTIPART_UPLOAD_THREADS, multipartUploadThreads);
+        }
+
+        /**
+         * Maximum number of concurrent uploads of all the builds in the JVM to this Artifactory instance.
+         */
+        public Integer getMaxConcurrentUploads() {
+            return getIntegerValue(MAX_CONCURRENT_UPLOADS);
+        }
+
+        public void setMaxConcurrentUploads(Integer maxConcurrentUploads) {
+            setIntegerValue(MAX_CONCURRENT_UPLOADS, maxConcurrentUploads);
+        }
+
+        /**
+         * Maximum upload bandwidth of all the builds in the JVM to this Artifactory instance. 0 for unlimited.
+         */
+        public Integer getMaxUploadKbPerSecond() {
+            return getIntegerValue(MAX_UPLOAD_KB_PER_SECOND);
+        }
+
+        public void setMaxUploadKbPerSecond(Integer maxUploadKbPerSecond) {
+            setIntegerValue(MAX_UPLOAD_KB_PER_SECOND, maxUploadKbPerSecond);
+        }
+
+        /**
+         * Path to the ledger of the deployed artifacts. If set, uploads of unchanged artifacts are skipped.
+         */
+        public String getDeployLedger() {
+            return getStringValue(DEPLOY_LEDGER);
+        }
+
+        public void setDeployLedger(String deployLedger) {
+            setStringValue(DEPLOY_LEDGER, deployLedger);
+        }
+
+        /**
+         * Artifacts of the deploy ledger which were not confirmed to exist in Artifactory within this interval are
+         * verified before they are skipped.
+         */
+        public int getDeployLedgerVerifyIntervalHours() {
+            return getIntegerValue(DEPLOY_LEDGER_VERIFY_INTERVAL_HOURS, DEFAULT_VERIFY_INTERVAL_HOURS);
+        }
+
+        public void setDeployLedgerVerifyIntervalHours(int deployLedgerVerifyIntervalHours) {
+            setIntegerValue(DEPLOY_LEDGER_VERIFY_INTERVAL_HOURS, deployLedgerVerifyIntervalHours);
+        }
+
+        /**
+         * If true, the checksums of the files to deploy are searched in bulk before they are uploaded. Files which
+         * already exist in Artifactory are deployed by checksum regardless of their size.
+         */
+        public Boolean isChecksumPreflight() {
+            return getBooleanValue(CHECKSUM_PREFLIGHT, false);
+        }
+
+        public void setChecksumPreflight(Boolean checksumPreflight) {
+            setBooleanValue(CHECKSUM_PREFLIGHT, checksumPreflight);
+        }
     }
 
     public class ProxyHandler extends AuthenticationConfiguration {
@@ -516,6 +632,18 @@ public class ArtifactoryClientConfiguration {
         public void setModule(String packageManagerModule) {
             rootConfig.setStringValue(PACKAGE_MANAGER_MODULE, packageManagerModule);
         }
+
+        /**
+         * Path to a local index of the checksums of dependencies, shared by the builds on this machine.
+         * If not set, the checksums of the dependencies are retrieved or calculated in each build.
+         */
+        public String getDependenciesIndex() {
+            return rootConfig.getStringValue(PACKAGE_MANAGER_DEPENDENCIES_INDEX);
+        }
+
+        public void setDependenciesIndex(String dependenciesIndex) {
+            rootConfig.setStringValue(PACKAGE_MANAGER_DEPENDENCIES_INDEX, dependenciesIndex);
+        }
     }
 
     public class NpmHandler extends PrefixPropertyHandler {
@@ -530,6 +658,30 @@ public class ArtifactoryClientConfiguration {
         public void setCiCommand(boolean ciCommand) {
             rootConfig.setBooleanValue(NPM_CI_COMMAND, ciCommand);
         }
+
+        /**
+         * If true, npm publish publishes all the packages of the npm workspaces of the project.
+         */
+        public boolean isPublishWorkspaces() {
+            return rootConfig.getBooleanValue(NPM_PUBLISH_WORKSPACES, false);
+        }
+
+        public void setPublishWorkspaces(boolean publishWorkspaces) {
+            rootConfig.setBooleanValue(NPM_PUBLISH_WORKSPACES, publishWorkspaces);
+        }
+
+        /**
+         * If true, npm install and npm ci collect the dependencies from package-lock.json (version 2 or above) instead
+         * of running 'npm ls'. Lockfiles have no md5 checksums, so the md5 checksums of the dependencies are searched
+         * in Artifactory in bulk. Dependencies which are not found in Artifactory are added with their sha1 only.
+         */
+        public boolean isUsePackageLock() {
+            return rootConfig.getBooleanValue(NPM_USE_PACKAGE_LOCK, false);
+        }
+
+        public void setUsePackageLock(boolean usePackageLock) {
+            rootConfig.setBooleanValue(NPM_USE_PACKAGE_LOCK, usePackageLock);
+        }
     }
 
     public class GoHandler extends PrefixPropertyHandler {
@@ -558,6 +710,28 @@ public class ArtifactoryClientConfiguration {
         public void setEnvActivation(String envActivation) {
             rootConfig.setStringValue(PIP_ENV_ACTIVATION, envActivation);
         }
+
+        /**
+         * Number of files to find in each AQL query, when getting the checksums of the dependencies from Artifactory.
+         */
+        public int getAqlBulkSize() {
+            return rootConfig.getIntegerValue(PIP_AQL_BULK_SIZE, DEFAULT_PIP_AQL_BULK_SIZE);
+        }
+
+        public void setAqlBulkSize(Integer aqlBulkSize) {
+            rootConfig.setIntegerValue(PIP_AQL_BULK_SIZE, aqlBulkSize);
+        }
+
+        /**
+         * Number of AQL queries to run concurrently, when getting the checksums of the dependencies from Artifactory.
+         */
+        public int getAqlThreads() {
+            return rootConfig.getIntegerValue(PIP_AQL_THREADS, DEFAULT_PIP_AQL_THREADS);
+        }
+
+        public void setAqlThreads(Integer aqlThreads) {
+            rootConfig.setIntegerValue(PIP_AQL_THREADS, aqlThreads);
+        }
     }
 
     public class DotnetHandler extends PrefixPropertyHandler {
@@ -1315,5 +1489,17 @@ public class ArtifactoryClientConfiguration {
         public void setIncremental(Boolean incremental) {
             setBooleanValue(INCREMENTAL, incremental);
         }
+
+        /**
+         * Whether the intermediate module info files, produced by each subproject, should be written in a compact
+         * binary format. The published build-info is always JSON.
+         */
+        public Boolean isBinaryModuleInfo() {
+            return getBooleanValue(BINARY_MODULE_INFO, Boolean.FALSE);
+        }
+
+        public void setBinaryModuleInfo(Boolean binaryModuleInfo) {
+            setBooleanValue(BINARY_MODULE_INFO, binaryModuleInfo);
+        }
     }
 }
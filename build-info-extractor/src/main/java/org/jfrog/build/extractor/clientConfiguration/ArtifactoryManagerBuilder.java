@@ -1,16 +1,94 @@
 package org.jfrog.build.extractor.clientConfiguration;
 
+import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.services.MultipartUploadOptions;
+import org.jfrog.build.extractor.clientConfiguration.deploy.ChecksumPreflight;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployLedger;
 
 /**
  * Created by Bar Belity on 10/10/2018.
  */
 public class ArtifactoryManagerBuilder extends ManagerBuilderBase<ArtifactoryManagerBuilder> {
+    private MultipartUploadOptions multipartUploadOptions;
+    private Integer maxConcurrentUploads;
+    private Integer maxUploadKbPerSecond;
+    private String deployLedgerPath;
+    private int deployLedgerVerifyIntervalHours = DeployLedger.DEFAULT_VERIFY_INTERVAL_HOURS;
+    private boolean checksumPreflight;
+
+    public ArtifactoryManagerBuilder setMultipartUploadOptions(MultipartUploadOptions multipartUploadOptions) {
+        this.multipartUploadOptions = multipartUploadOptions;
+        return self();
+    }
+
+    /**
+     * Sets the limits of the upload scheduler shared by all the clients of the Artifactory URL in the JVM.
+     * The limits are left unchanged if not set.
+     *
+     * @param maxConcurrentUploads - Maximum number of concurrent uploads
+     * @param maxUploadKbPerSecond - Maximum upload bandwidth. 0 for unlimited
+     */
+    public ArtifactoryManagerBuilder setUploadLimits(Integer maxConcurrentUploads, Integer maxUploadKbPerSecond) {
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        this.maxUploadKbPerSecond = maxUploadKbPerSecond;
+        return self();
+    }
+
+    /**
+     * Sets the ledger of the deployed artifacts, to skip the upload of unchanged artifacts.
+     *
+     * @param deployLedgerPath    - Path to the ledger file, or null to upload all the artifacts
+     * @param verifyIntervalHours - Artifacts not confirmed to exist in Artifactory within this interval are verified
+     *                            before they are skipped
+     */
+    public ArtifactoryManagerBuilder setDeployLedger(String deployLedgerPath, int verifyIntervalHours) {
+        this.deployLedgerPath = deployLedgerPath;
+        this.deployLedgerVerifyIntervalHours = verifyIntervalHours;
+        return self();
+    }
+
+    /**
+     * Sets whether to search the checksums of the files to deploy in bulk, before they are uploaded.
+     *
+     * @param checksumPreflight - True to enable the checksum pre-flight search
+     */
+    public ArtifactoryManagerBuilder setChecksumPreflight(boolean checksumPreflight) {
+        this.checksumPreflight = checksumPreflight;
+        return self();
+    }
+
+    @Override
+    public ArtifactoryManagerBuilder setClientConfiguration(ArtifactoryClientConfiguration clientConfiguration,
+                                                            ArtifactoryClientConfiguration.RepositoryConfiguration repositoryConfiguration) {
+        super.setClientConfiguration(clientConfiguration, repositoryConfiguration);
+        if (repositoryConfiguration instanceof ArtifactoryClientConfiguration.PublisherHandler) {
+            ArtifactoryClientConfiguration.PublisherHandler publisher = (ArtifactoryClientConfiguration.PublisherHandler) repositoryConfiguration;
+            setMultipartUploadOptions(new MultipartUploadOptions(publisher.getMinMultipartUploadSizeMb(),
+                    publisher.getMultipartUploadPartSizeMb(), publisher.getMultipartUploadThreads()));
+            setUploadLimits(publisher.getMaxConcurrentUploads(), publisher.getMaxUploadKbPerSecond());
+            setDeployLedger(publisher.getDeployLedger(), publisher.getDeployLedgerVerifyIntervalHours());
+            setChecksumPreflight(publisher.isChecksumPreflight());
+        }
+        return self();
+    }
 
     @Override
     public ArtifactoryManager build() {
         ArtifactoryManager client = new ArtifactoryManager(serverUrl, username, password, accessToken, log);
         build(client);
+        if (multipartUploadOptions != null) {
+            client.setMultipartUploadOptions(multipartUploadOptions);
+        }
+        if (maxConcurrentUploads != null || maxUploadKbPerSecond != null) {
+            client.setUploadLimits(maxConcurrentUploads, maxUploadKbPerSecond);
+        }
+        if (StringUtils.isNotBlank(deployLedgerPath)) {
+            client.setDeployLedger(DeployLedger.load(deployLedgerPath, serverUrl, deployLedgerVerifyIntervalHours, log));
+        }
+        if (checksumPreflight) {
+            client.setChecksumPreflight(new ChecksumPreflight(log));
+        }
         return client;
     }
 
@@ -33,9 +33,14 @@ public interface ClientConfigurationFields {
     String PACKAGE_MANAGER_ARGS = "package.manager.args";
     String PACKAGE_MANAGER_PATH = "package.manager.path"; // Path to package-manager execution dir
     String PACKAGE_MANAGER_MODULE = "package.manager.module"; // Custom module name for the build-info
+    String PACKAGE_MANAGER_DEPENDENCIES_INDEX = "package.manager.dependencies.index"; // Path to the local index of dependencies checksums
     String NPM_CI_COMMAND = "npm.ci.command"; // Determines whether the npm build is 'npm install' or 'npm ci' command.
+    String NPM_PUBLISH_WORKSPACES = "npm.publish.workspaces"; // Determines whether npm publish publishes all the packages of the workspaces.
+    String NPM_USE_PACKAGE_LOCK = "npm.use.package.lock"; // Determines whether the npm dependencies are collected from package-lock.json instead of 'npm ls'.
     String GO_PUBLISHED_VERSION = "go.version"; // Version of the package published.
     String PIP_ENV_ACTIVATION = "pip.env.activation";
+    String PIP_AQL_BULK_SIZE = "pip.aql.bulk.size"; // Number of files to find in each AQL query.
+    String PIP_AQL_THREADS = "pip.aql.threads"; // Number of AQL queries to run concurrently.
     String DOTNET_USE_DOTNET_CORE_CLI = "dotnet.use.dotnet.core.cli";
     String DOTNET_NUGET_PROTOCOL = "dotnet.nuget.protocol";
     String DOCKER_IMAGE_TAG = "docker.image.tag";
@@ -58,6 +63,7 @@ public interface ClientConfigurationFields {
     String EXCLUDE_PATTERNS = "excludePatterns";
     String FILTER_EXCLUDED_ARTIFACTS_FROM_BUILD = "filterExcludedArtifactsFromBuild";
     String EVEN_UNSTABLE = "unstable";
+    String PIPELINED_DEPLOY = "pipelinedDeploy";
     String CONTEXT_URL = "contextUrl";
     String PUBLICATIONS = "publications";
 }
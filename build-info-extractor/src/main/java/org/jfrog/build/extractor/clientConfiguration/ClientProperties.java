@@ -81,4 +81,14 @@ public interface ClientProperties {
      * Property for whether to use relaxed ssl check and ignore issues with server certificate
      */
     String PROP_INSECURE_TLS = ARTIFACTORY_PREFIX + "insecureTls";
-}
\ No newline at end of file
+
+    /**
+     * Property for whether to record and summarize the client metrics, such as upload latency and throughput
+     */
+    String PROP_METRICS_ENABLED = ARTIFACTORY_PREFIX + "metrics.enabled";
+
+    /**
+     * Path of a JSON file to write the client metrics to at the end of the run. Setting it enables the metrics.
+     */
+    String PROP_METRICS_FILE = ARTIFACTORY_PREFIX + "metrics.file";
+}
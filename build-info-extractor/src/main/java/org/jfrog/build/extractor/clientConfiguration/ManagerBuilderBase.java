@@ -3,6 +3,7 @@ package org.jfrog.build.extractor.clientConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.build.client.metrics.ClientMetrics;
 import org.jfrog.build.extractor.clientConfiguration.client.ManagerBase;
 
 import javax.net.ssl.SSLContext;
@@ -24,6 +25,7 @@ public abstract class ManagerBuilderBase<T extends ManagerBuilderBase<T>> implem
     protected String password;
     protected String accessToken;
     protected Log log;
+    protected transient ClientMetrics metrics;
 
     public T setProxyConfiguration(ProxyConfiguration proxyConfiguration) {
         this.proxyConfiguration = proxyConfiguration;
@@ -70,6 +72,11 @@ public abstract class ManagerBuilderBase<T extends ManagerBuilderBase<T>> implem
         return self();
     }
 
+    public T setMetrics(ClientMetrics metrics) {
+        this.metrics = metrics;
+        return self();
+    }
+
     /**
      * Set a complete client configuration from ArtifactoryClientConfiguration.
      *
@@ -122,6 +129,10 @@ public abstract class ManagerBuilderBase<T extends ManagerBuilderBase<T>> implem
         if (connectionRetry != -1) {
             client.setConnectionRetries(connectionRetry);
         }
+
+        if (metrics != null) {
+            client.setMetrics(metrics);
+        }
         return client;
     }
 
@@ -1,7 +1,7 @@
 package org.jfrog.build.extractor.clientConfiguration.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.apache.commons.codec.net.URLCodec;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
@@ -11,6 +11,7 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.util.EntityUtils;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.JFrogHttpClient;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 import org.jfrog.build.util.URI;
 
 import java.io.IOException;
@@ -19,7 +20,6 @@ import java.nio.charset.StandardCharsets;
 
 import static org.apache.commons.codec.binary.StringUtils.getBytesUtf8;
 import static org.apache.commons.codec.binary.StringUtils.newStringUsAscii;
-import static org.jfrog.build.extractor.BuildInfoExtractorUtils.createMapper;
 
 /**
  * JFrogService represents a generic way of processing a REST endpoint process that structures how REST sends, handles errors, and parses the response.
@@ -32,7 +32,6 @@ public abstract class JFrogService<TResult> {
     protected int statusCode;
     protected JFrogServiceResponseType responseType;
     private Header[] headers;
-    private ObjectMapper mapper;
 
     protected JFrogService(Log log) {
         this.log = log;
@@ -61,13 +60,17 @@ public abstract class JFrogService<TResult> {
 
     /**
      * Default ObjectMapper to parse or deserialize JSON content into a Java object.
+     * The mapper is shared by all services and must not be reconfigured.
      */
     protected ObjectMapper getMapper() {
-        if (mapper == null) {
-            mapper = createMapper();
-            mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector());
-        }
-        return mapper;
+        return JsonMappers.getMapper();
+    }
+
+    /**
+     * Shared ObjectReader to deserialize JSON content into an object of the given type.
+     */
+    protected ObjectReader getReader(Class<?> type) {
+        return JsonMappers.getReader(type);
     }
 
     public TResult getResult() {
@@ -4,6 +4,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.JFrogHttpClient;
 import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.build.client.metrics.ClientMetrics;
 
 import javax.net.ssl.SSLContext;
 import java.io.IOException;
@@ -93,6 +94,26 @@ public abstract class ManagerBase implements AutoCloseable {
         jfrogHttpClient.setSslContext(sslContext);
     }
 
+    /**
+     * Clear the cached server version and capabilities, so they are requested again from the server.
+     */
+    public void refreshCapabilities() {
+        jfrogHttpClient.refreshCapabilities();
+    }
+
+    public ClientMetrics getMetrics() {
+        return jfrogHttpClient.getMetrics();
+    }
+
+    /**
+     * Sets the metrics to record the requests of this manager to. The same metrics may be shared by several managers.
+     *
+     * @param metrics Metrics instance {@link org.jfrog.build.client.metrics.ClientMetrics}
+     */
+    public void setMetrics(ClientMetrics metrics) {
+        jfrogHttpClient.setMetrics(metrics);
+    }
+
     public String getUrl() {
         return jfrogHttpClient.getUrl();
     }
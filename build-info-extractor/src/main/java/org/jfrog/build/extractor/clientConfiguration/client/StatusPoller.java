@@ -0,0 +1,147 @@
+package org.jfrog.build.extractor.clientConfiguration.client;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the status of long running server operations, such as release bundle distributions and deletions.
+ * All the tracked operations are polled by one shared scheduler, so tracking many operations concurrently does not
+ * block a thread per operation. The polling interval is adaptive - it starts short, to detect quick operations early,
+ * and grows by a constant factor up to a maximal interval.
+ */
+public class StatusPoller {
+    private static final int POLLING_THREADS = 4;
+    private static final int BACKOFF_MULTIPLIER = 2;
+
+    private final long initialIntervalMillis;
+    private final long maxIntervalMillis;
+    private final long timeoutMillis;
+    private final String timeoutMessage;
+
+    /**
+     * A single status check of a tracked operation.
+     *
+     * @param <T> - The result of the operation
+     */
+    public interface StatusCheck<T> {
+        /**
+         * Check the status of the operation.
+         *
+         * @return the result of the operation if it reached a terminal state, or null if it is still in progress
+         * @throws IOException if the operation failed or the status could not be retrieved
+         */
+        T check() throws IOException;
+    }
+
+    /**
+     * @param initialIntervalMillis - The interval between the first and second polls
+     * @param maxIntervalMillis     - The maximal interval between polls
+     * @param timeoutMillis         - The time to wait for the operation before failing with the timeout message
+     * @param timeoutMessage        - The message of the IOException thrown on timeout
+     */
+    public StatusPoller(long initialIntervalMillis, long maxIntervalMillis, long timeoutMillis, String timeoutMessage) {
+        this.initialIntervalMillis = Math.max(initialIntervalMillis, 1);
+        this.maxIntervalMillis = Math.max(maxIntervalMillis, this.initialIntervalMillis);
+        this.timeoutMillis = timeoutMillis;
+        this.timeoutMessage = timeoutMessage;
+    }
+
+    /**
+     * Start tracking an operation. The first check runs immediately.
+     *
+     * @param statusCheck - The status check of the operation
+     * @return a future completed with the result of the operation once it reaches a terminal state. Cancelling the
+     * future stops the tracking.
+     */
+    public <T> CompletableFuture<T> track(StatusCheck<T> statusCheck) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        schedule(statusCheck, future, 0, initialIntervalMillis, deadline);
+        return future;
+    }
+
+    /**
+     * Returns the interval following the given interval.
+     */
+    long nextInterval(long intervalMillis) {
+        return Math.min(intervalMillis * BACKOFF_MULTIPLIER, maxIntervalMillis);
+    }
+
+    /**
+     * Wait for a tracked operation to complete.
+     *
+     * @param future - The future returned by {@link #track(StatusCheck)}
+     * @return the result of the operation
+     * @throws IOException if the operation failed, timed out or the waiting thread was interrupted
+     */
+    public static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the operation to complete", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private <T> void schedule(StatusCheck<T> statusCheck, CompletableFuture<T> future, long delayMillis,
+                              long intervalMillis, long deadline) {
+        try {
+            SchedulerHolder.SCHEDULER.schedule(() -> poll(statusCheck, future, intervalMillis, deadline),
+                    delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private <T> void poll(StatusCheck<T> statusCheck, CompletableFuture<T> future, long intervalMillis, long deadline) {
+        if (future.isDone()) {
+            // Cancelled by the caller
+            return;
+        }
+        try {
+            T result = statusCheck.check();
+            if (result != null) {
+                future.complete(result);
+                return;
+            }
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        long remainingMillis = deadline - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            future.completeExceptionally(new IOException(timeoutMessage));
+            return;
+        }
+        schedule(statusCheck, future, Math.min(intervalMillis, remainingMillis), nextInterval(intervalMillis), deadline);
+    }
+
+    /**
+     * Lazily creates the shared scheduler. The threads are daemons, so that pending polls do not prevent the JVM exit.
+     */
+    private static class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+        private static ScheduledExecutorService createScheduler() {
+            AtomicInteger threadNumber = new AtomicInteger();
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(POLLING_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "jfrog-status-poller-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
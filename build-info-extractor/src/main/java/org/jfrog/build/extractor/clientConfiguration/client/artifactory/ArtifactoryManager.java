@@ -16,18 +16,25 @@ import org.jfrog.build.api.search.AqlSearchResult;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.ArtifactoryUploadResponse;
 import org.jfrog.build.client.ArtifactoryVersion;
+import org.jfrog.build.client.ServerCapabilities;
 import org.jfrog.build.client.DownloadResponse;
 import org.jfrog.build.client.ItemLastModified;
+import org.jfrog.build.client.UploadScheduler;
 import org.jfrog.build.client.artifactoryXrayResponse.ArtifactoryXrayResponse;
+import org.jfrog.build.client.metrics.ClientMetrics;
 import org.jfrog.build.extractor.clientConfiguration.client.ManagerBase;
 import org.jfrog.build.extractor.clientConfiguration.client.RepositoryType;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.services.*;
 import org.jfrog.build.extractor.clientConfiguration.client.response.GetAllBuildNumbersResponse;
+import org.jfrog.build.extractor.clientConfiguration.deploy.ChecksumPreflight;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployLedger;
 import org.jfrog.build.extractor.usageReport.UsageReporter;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -37,6 +44,9 @@ import static org.jfrog.build.extractor.clientConfiguration.client.artifactory.s
 public class ArtifactoryManager extends ManagerBase {
     public static final String LATEST = "LATEST";
     public static final String LAST_RELEASE = "LAST_RELEASE";
+    private MultipartUploadOptions multipartUploadOptions = MultipartUploadOptions.DEFAULT;
+    private DeployLedger deployLedger;
+    private ChecksumPreflight checksumPreflight;
 
     public ArtifactoryManager(String artifactoryUrl, String username, String password, String accessToken, Log log) {
         super(artifactoryUrl, username, password, accessToken, log);
@@ -54,6 +64,74 @@ public class ArtifactoryManager extends ManagerBase {
         super(artifactoryUrl, StringUtils.EMPTY, StringUtils.EMPTY, StringUtils.EMPTY, log);
     }
 
+    public MultipartUploadOptions getMultipartUploadOptions() {
+        return multipartUploadOptions;
+    }
+
+    /**
+     * Sets the multipart upload configuration of large files.
+     *
+     * @param multipartUploadOptions Multipart upload options {@link MultipartUploadOptions}
+     */
+    public void setMultipartUploadOptions(MultipartUploadOptions multipartUploadOptions) {
+        this.multipartUploadOptions = multipartUploadOptions;
+    }
+
+    public DeployLedger getDeployLedger() {
+        return deployLedger;
+    }
+
+    /**
+     * Sets the ledger of deployed artifacts. Uploads of artifacts which are unchanged since they were deployed are
+     * skipped. The ledger is saved when the manager is closed.
+     *
+     * @param deployLedger Deploy ledger {@link DeployLedger}, or null to upload all the artifacts
+     */
+    public void setDeployLedger(DeployLedger deployLedger) {
+        this.deployLedger = deployLedger;
+    }
+
+    public ChecksumPreflight getChecksumPreflight() {
+        return checksumPreflight;
+    }
+
+    /**
+     * Sets the pre-flight search of the checksums of the files to deploy, run by {@link #preflightChecksums(Collection)}.
+     *
+     * @param checksumPreflight Checksum pre-flight {@link ChecksumPreflight}, or null to disable the pre-flight search
+     */
+    public void setChecksumPreflight(ChecksumPreflight checksumPreflight) {
+        this.checksumPreflight = checksumPreflight;
+    }
+
+    /**
+     * Find in bulk which of the files to deploy already exist in Artifactory, if the checksum pre-flight is enabled.
+     * The following uploads of these files are deployed by checksum, and the uploads of new files skip the checksum
+     * deploy attempt. If a deploy ledger is set, the ledger entries of the files are verified in bulk too.
+     *
+     * @param deployDetails The files to deploy
+     */
+    public void preflightChecksums(Collection<DeployDetails> deployDetails) {
+        if (deployLedger != null) {
+            deployLedger.verify(this, deployDetails);
+        }
+        if (checksumPreflight != null) {
+            checksumPreflight.check(this, deployDetails);
+        }
+    }
+
+    /**
+     * Sets the limits of the upload scheduler shared by all the clients of this Artifactory URL in the JVM.
+     *
+     * @param maxConcurrentUploads Maximum number of concurrent uploads, or null to keep the current limit
+     * @param maxUploadKbPerSecond Maximum upload bandwidth, 0 for unlimited, or null to keep the current limit
+     */
+    public void setUploadLimits(Integer maxConcurrentUploads, Integer maxUploadKbPerSecond) {
+        UploadScheduler scheduler = jfrogHttpClient.getUploadScheduler();
+        scheduler.configure(maxConcurrentUploads != null ? maxConcurrentUploads : scheduler.getMaxConcurrency(),
+                maxUploadKbPerSecond != null ? maxUploadKbPerSecond * 1024L : scheduler.getMaxBytesPerSecond());
+    }
+
     public boolean isLocalRepo(String repositoryKey) throws IOException {
         CheckRepositoryType checkRepositoryTypeService = new CheckRepositoryType(RepositoryType.LOCAL, repositoryKey, log);
         return checkRepositoryTypeService.execute(jfrogHttpClient);
@@ -136,6 +214,17 @@ public class ArtifactoryManager extends ManagerBase {
         return versionService.execute(jfrogHttpClient);
     }
 
+    /**
+     * Returns the Artifactory capabilities. The capabilities are probed once and cached by this manager.
+     * Use {@link #refreshCapabilities()} to probe them again.
+     *
+     * @return the Artifactory capabilities
+     * @throws IOException in case of a probe error
+     */
+    public ServerCapabilities getCapabilities() throws IOException {
+        return new Version(log).getCapabilities(jfrogHttpClient);
+    }
+
     public void publishBuildInfo(Build buildInfo, String platformUrl) throws IOException {
         PublishBuildInfo publishBuildInfoService = new PublishBuildInfo(buildInfo, platformUrl, log);
         publishBuildInfoService.execute(jfrogHttpClient);
@@ -258,8 +347,32 @@ public class ArtifactoryManager extends ManagerBase {
     }
 
     public ArtifactoryUploadResponse upload(DeployDetails details, String logPrefix, Integer minChecksumDeploySizeKb) throws IOException {
-        Upload uploadService = new Upload(details, logPrefix, minChecksumDeploySizeKb, log);
-        return uploadService.execute(jfrogHttpClient);
+        if (deployLedger != null) {
+            // Verifies the artifact if it wasn't verified by preflightChecksums
+            deployLedger.verify(this, Collections.singletonList(details));
+            ArtifactoryUploadResponse response = deployLedger.getDeployedResponse(details);
+            if (response != null) {
+                log.debug((logPrefix == null ? "" : logPrefix + " ") + "Skipping unchanged artifact: " + details.getTargetRepository() + "/" + details.getArtifactPath());
+                getMetrics().increment(ClientMetrics.LEDGER_SKIPS);
+                return response;
+            }
+        }
+        Upload uploadService = new Upload(details, logPrefix, minChecksumDeploySizeKb, multipartUploadOptions, log);
+        if (checksumPreflight != null) {
+            uploadService.setChecksumExists(checksumPreflight.exists(details.getSha1()));
+        }
+        if (deployLedger != null && deployLedger.isContentDeployed(details)) {
+            // Only the properties changed, so the artifact is deployed by checksum, regardless of its size
+            uploadService.setChecksumExists(true);
+        }
+        ArtifactoryUploadResponse response = uploadService.execute(jfrogHttpClient);
+        if (checksumPreflight != null && !details.isExplode()) {
+            checksumPreflight.markExists(details.getSha1());
+        }
+        if (deployLedger != null) {
+            deployLedger.recordDeployed(details, response);
+        }
+        return response;
     }
 
     public void deleteRepository(String repository) throws IOException {
@@ -295,4 +408,12 @@ public class ArtifactoryManager extends ManagerBase {
         }
         return null;
     }
+
+    @Override
+    public void close() {
+        if (deployLedger != null) {
+            deployLedger.save();
+        }
+        super.close();
+    }
 }
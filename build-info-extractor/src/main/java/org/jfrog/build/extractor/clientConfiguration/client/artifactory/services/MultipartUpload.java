@@ -0,0 +1,379 @@
+package org.jfrog.build.extractor.clientConfiguration.client.artifactory.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.client.JFrogHttpClient;
+import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.build.extractor.clientConfiguration.client.JFrogService;
+import org.jfrog.build.extractor.clientConfiguration.client.StatusPoller;
+import org.jfrog.build.extractor.clientConfiguration.client.VoidJFrogService;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Uploads a large file to Artifactory in parts, using the Artifactory multipart upload API:
+ * <ol>
+ * <li>'api/v1/uploads/create' creates the upload and returns an upload token.</li>
+ * <li>For each part, 'api/v1/uploads/urlPart' returns a pre-signed URL, to which the part is uploaded directly.</li>
+ * <li>'api/v1/uploads/complete' completes the upload, and 'api/v1/uploads/status' is polled until the parts are merged.</li>
+ * </ol>
+ * The parts are uploaded concurrently and streamed from the file, so the memory used does not depend on the file size.
+ * A failed part is retried with a new pre-signed URL, without uploading the other parts again.
+ */
+public class MultipartUpload extends JFrogService<ArtifactoryUploadResponse> {
+    static final String UPLOADS_API = "api/v1/uploads/";
+    static final String NODE_ID_HEADER = "X-Artifactory-Node-Id";
+    private static final String FINISHED_STATUS = "FINISHED";
+    private static final String ABORTED_STATUS = "ABORTED";
+    private static final int PART_RETRY_INITIAL_SLEEP_MILLIS = 1000;
+    private static final int PART_RETRY_MAX_SLEEP_MILLIS = 30000;
+    private static final StatusPoller COMPLETION_POLLER = new StatusPoller(500, TimeUnit.SECONDS.toMillis(10),
+            TimeUnit.HOURS.toMillis(1), "Timeout for multipart upload completion");
+
+    private final DeployDetails details;
+    private final MultipartUploadOptions options;
+    private final String logPrefix;
+    private String token;
+    private String nodeId;
+
+    public MultipartUpload(DeployDetails details, String logPrefix, MultipartUploadOptions options, Log log) {
+        super(log);
+        this.details = details;
+        this.options = options;
+        this.logPrefix = logPrefix == null ? "" : logPrefix;
+    }
+
+    /**
+     * Returns true if multipart upload is supported by the Artifactory server and its storage.
+     * The support is cached with the server capabilities, so it is requested once per client.
+     *
+     * @param client - The http client
+     */
+    public boolean isSupported(JFrogHttpClient client) {
+        try {
+            return new Version(log).getCapabilities(client).isMultipartUploadSupported(() -> probeSupported(client));
+        } catch (IOException e) {
+            log.debug("Multipart upload is not supported: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean probeSupported(JFrogHttpClient client) {
+        try {
+            JsonNode config = new GetConfig(log).execute(client);
+            return config != null && config.path("supported").asBoolean(false);
+        } catch (IOException e) {
+            log.debug("Multipart upload is not supported: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    protected void ensureRequirements(JFrogHttpClient client) throws IOException {
+        if (StringUtils.isBlank(details.getSha1())) {
+            throw new IOException("SHA-1 checksum is mandatory for multipart upload");
+        }
+    }
+
+    @Override
+    public HttpRequestBase createRequest() throws IOException {
+        return new HttpPost(String.format("%screate?repoKey=%s&repoPath=%s&partSizeMB=%d", UPLOADS_API,
+                encodeUrl(details.getTargetRepository()), encodeUrl(details.getArtifactPath()), options.getPartSizeMb()));
+    }
+
+    @Override
+    protected void setResponse(InputStream stream) throws IOException {
+        token = getMapper().readTree(stream).path("token").asText();
+        if (StringUtils.isBlank(token)) {
+            throw new IOException("Multipart upload token is missing in the response");
+        }
+    }
+
+    @Override
+    public ArtifactoryUploadResponse execute(JFrogHttpClient client) throws IOException {
+        long fileSize = details.getFile().length();
+        int parts = (int) ((fileSize + options.getPartSizeBytes() - 1) / options.getPartSizeBytes());
+        log.info(String.format("%sUploading %s in %d parts of %d MB", logPrefix, details.getFile().getName(), parts, options.getPartSizeMb()));
+        super.execute(client);
+        nodeId = getNodeId();
+        try {
+            uploadParts(client, fileSize, parts);
+            new CompleteUpload(token, details.getSha1(), nodeId, log).execute(client);
+            StatusPoller.await(COMPLETION_POLLER.track(() -> checkStatus(client)));
+        } catch (IOException | RuntimeException e) {
+            abort(client);
+            throw e;
+        }
+        if (details.getProperties() != null && !details.getProperties().isEmpty()) {
+            new SetProperties(details.getTargetRepository() + "/" + details.getArtifactPath(), details.getProperties(), true, log).execute(client);
+        }
+        return createResponse(client, fileSize);
+    }
+
+    private void uploadParts(JFrogHttpClient client, long fileSize, int parts) throws IOException {
+        Path file = details.getFile().toPath();
+        long partSize = options.getPartSizeBytes();
+        try (CloseableHttpClient partsClient = createPartsClient(client, options.getThreads())) {
+            List<Callable<Void>> uploads = new ArrayList<>();
+            for (int i = 0; i < parts; i++) {
+                int partNumber = i + 1;
+                long offset = i * partSize;
+                long length = Math.min(partSize, fileSize - offset);
+                uploads.add(() -> {
+                    uploadPart(client, partsClient, file, partNumber, offset, length);
+                    return null;
+                });
+            }
+            // The remaining parts are cancelled on failure
+            ExecutorFactory.invokeAll("multipart-upload", options.getThreads(), uploads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while uploading " + file, e);
+        }
+    }
+
+    /**
+     * Upload a part to a pre-signed URL. A failed part is retried with a new pre-signed URL.
+     */
+    private void uploadPart(JFrogHttpClient client, CloseableHttpClient partsClient, Path file, int partNumber,
+                            long offset, long length) throws IOException, InterruptedException {
+        int maxRetries = client.getConnectionRetries();
+        for (int retry = 0; ; retry++) {
+            try {
+                String partUrl = new GetPartUrl(token, partNumber, nodeId, log).execute(client);
+                HttpPut request = new HttpPut(partUrl);
+                // The parts share the bandwidth budget of the upload scheduler with the other uploads
+                request.setEntity(client.getUploadScheduler().throttle(new FilePartEntity(file, offset, length)));
+                try (CloseableHttpResponse response = partsClient.execute(request)) {
+                    int statusCode = response.getStatusLine().getStatusCode();
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    if (statusCode >= 400) {
+                        throw new IOException("Received " + statusCode + " " + response.getStatusLine().getReasonPhrase());
+                    }
+                }
+                log.debug(String.format("%sUploaded part %d of %s", logPrefix, partNumber, file.getFileName()));
+                return;
+            } catch (IOException e) {
+                if (retry >= maxRetries) {
+                    throw new IOException(String.format("Failed uploading part %d of %s: %s", partNumber, file.getFileName(), e.getMessage()), e);
+                }
+                log.warn(String.format("%sFailed uploading part %d of %s: %s. Retrying...", logPrefix, partNumber, file.getFileName(), e.getMessage()));
+                // Clamp the shift, so many retries don't overflow the sleep
+                Thread.sleep(Math.min((long) PART_RETRY_INITIAL_SLEEP_MILLIS << Math.min(retry, 20), PART_RETRY_MAX_SLEEP_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * Returns true if the parts were merged, or null if the merge is still in progress.
+     */
+    private Boolean checkStatus(JFrogHttpClient client) throws IOException {
+        JsonNode status = new GetStatus(token, nodeId, log).execute(client);
+        String statusValue = status.path("status").asText();
+        if (FINISHED_STATUS.equalsIgnoreCase(statusValue)) {
+            return true;
+        }
+        if (ABORTED_STATUS.equalsIgnoreCase(statusValue)) {
+            throw new IOException("Multipart upload of " + details.getArtifactPath() + " was aborted: " + status.path("error").asText());
+        }
+        log.debug(logPrefix + "Merging the parts of " + details.getArtifactPath() + ": " + status.path("progress").asInt() + "%");
+        return null;
+    }
+
+    private void abort(JFrogHttpClient client) {
+        try {
+            new AbortUpload(token, nodeId, log).execute(client);
+        } catch (IOException e) {
+            log.debug("Failed aborting the multipart upload of " + details.getArtifactPath() + ": " + e.getMessage());
+        }
+    }
+
+    private String getNodeId() {
+        if (getHeaders() == null) {
+            return null;
+        }
+        return Arrays.stream(getHeaders())
+                .filter(header -> NODE_ID_HEADER.equalsIgnoreCase(header.getName()))
+                .map(Header::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private ArtifactoryUploadResponse createResponse(JFrogHttpClient client, long fileSize) {
+        ArtifactoryUploadResponse response = new ArtifactoryUploadResponse();
+        response.setRepo(details.getTargetRepository());
+        response.setPath("/" + StringUtils.removeStart(details.getArtifactPath(), "/"));
+        response.setSize(String.valueOf(fileSize));
+        response.setDownloadUri(client.getUrl() + "/" + details.getTargetRepository() + response.getPath());
+        ArtifactoryUploadResponse.Checksums checksums = new ArtifactoryUploadResponse.Checksums();
+        checksums.setSha1(details.getSha1());
+        checksums.setMd5(details.getMd5());
+        response.setChecksums(checksums);
+        return response;
+    }
+
+    /**
+     * The pre-signed part URLs point to the storage of Artifactory rather than to Artifactory itself, so the parts are
+     * sent without the Artifactory credentials. The connection pool fits the concurrent parts, and the timeouts are the
+     * timeouts of the Artifactory client.
+     */
+    private static CloseableHttpClient createPartsClient(JFrogHttpClient client, int threads) {
+        int timeoutMillis = (int) TimeUnit.SECONDS.toMillis(client.getConnectionTimeout());
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setSocketTimeout(timeoutMillis)
+                .setConnectTimeout(timeoutMillis)
+                .setConnectionRequestTimeout(timeoutMillis)
+                .build();
+        HttpClientBuilder builder = HttpClientBuilder.create().useSystemProperties()
+                .setDefaultRequestConfig(requestConfig)
+                .setMaxConnPerRoute(threads)
+                .setMaxConnTotal(threads);
+        ProxyConfiguration proxy = client.getProxyConfiguration();
+        if (proxy != null && StringUtils.isNotBlank(proxy.host)) {
+            builder.setProxy(new HttpHost(proxy.host, proxy.port));
+            if (StringUtils.isNotBlank(proxy.username)) {
+                BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+                credentialsProvider.setCredentials(new AuthScope(proxy.host, proxy.port),
+                        new UsernamePasswordCredentials(proxy.username, proxy.password));
+                builder.setDefaultCredentialsProvider(credentialsProvider);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void addUploadHeaders(HttpRequestBase request, String token, String nodeId) {
+        request.setHeader("Authorization", "Bearer " + token);
+        if (StringUtils.isNotBlank(nodeId)) {
+            request.setHeader(NODE_ID_HEADER, nodeId);
+        }
+    }
+
+    private static class GetConfig extends JFrogService<JsonNode> {
+        private GetConfig(Log log) {
+            super(log);
+        }
+
+        @Override
+        public HttpRequestBase createRequest() {
+            return new HttpGet(UPLOADS_API + "config");
+        }
+
+        @Override
+        protected void setResponse(InputStream stream) throws IOException {
+            result = getMapper().readTree(stream);
+        }
+    }
+
+    private static class GetPartUrl extends JFrogService<String> {
+        private final String token;
+        private final int partNumber;
+        private final String nodeId;
+
+        private GetPartUrl(String token, int partNumber, String nodeId, Log log) {
+            super(log);
+            this.token = token;
+            this.partNumber = partNumber;
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public HttpRequestBase createRequest() {
+            HttpPost request = new HttpPost(UPLOADS_API + "urlPart/?partNumber=" + partNumber);
+            addUploadHeaders(request, token, nodeId);
+            return request;
+        }
+
+        @Override
+        protected void setResponse(InputStream stream) throws IOException {
+            result = getMapper().readTree(stream).path("url").asText();
+            if (StringUtils.isBlank(result)) {
+                throw new IOException("Pre-signed URL of part " + partNumber + " is missing in the response");
+            }
+        }
+    }
+
+    private static class CompleteUpload extends VoidJFrogService {
+        private final String token;
+        private final String sha1;
+        private final String nodeId;
+
+        private CompleteUpload(String token, String sha1, String nodeId, Log log) {
+            super(log);
+            this.token = token;
+            this.sha1 = sha1;
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public HttpRequestBase createRequest() {
+            HttpPost request = new HttpPost(UPLOADS_API + "complete?sha1=" + sha1);
+            addUploadHeaders(request, token, nodeId);
+            return request;
+        }
+    }
+
+    private static class GetStatus extends JFrogService<JsonNode> {
+        private final String token;
+        private final String nodeId;
+
+        private GetStatus(String token, String nodeId, Log log) {
+            super(log);
+            this.token = token;
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public HttpRequestBase createRequest() {
+            HttpPost request = new HttpPost(UPLOADS_API + "status");
+            addUploadHeaders(request, token, nodeId);
+            return request;
+        }
+
+        @Override
+        protected void setResponse(InputStream stream) throws IOException {
+            result = getMapper().readTree(stream);
+        }
+    }
+
+    private static class AbortUpload extends VoidJFrogService {
+        private final String token;
+        private final String nodeId;
+
+        private AbortUpload(String token, String nodeId, Log log) {
+            super(log);
+            this.token = token;
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public HttpRequestBase createRequest() {
+            HttpPost request = new HttpPost(UPLOADS_API + "abort");
+            addUploadHeaders(request, token, nodeId);
+            return request;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.jfrog.build.extractor.clientConfiguration.client.artifactory.services;
+
+import java.io.Serializable;
+
+/**
+ * Configuration of the multipart upload of large files.
+ * Files of at least {@link #getMinSizeMb()} MB are split into parts of {@link #getPartSizeMb()} MB, which are uploaded
+ * concurrently by {@link #getThreads()} threads.
+ */
+public class MultipartUploadOptions implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_MIN_MULTIPART_UPLOAD_SIZE_MB = 200;
+    public static final int DEFAULT_MULTIPART_UPLOAD_PART_SIZE_MB = 20;
+    public static final int DEFAULT_MULTIPART_UPLOAD_THREADS = 5;
+    public static final MultipartUploadOptions DEFAULT = new MultipartUploadOptions(DEFAULT_MIN_MULTIPART_UPLOAD_SIZE_MB,
+            DEFAULT_MULTIPART_UPLOAD_PART_SIZE_MB, DEFAULT_MULTIPART_UPLOAD_THREADS);
+    public static final MultipartUploadOptions DISABLED = new MultipartUploadOptions(0,
+            DEFAULT_MULTIPART_UPLOAD_PART_SIZE_MB, DEFAULT_MULTIPART_UPLOAD_THREADS);
+
+    private static final long MB = 1024 * 1024;
+
+    private final int minSizeMb;
+    private final int partSizeMb;
+    private final int threads;
+
+    /**
+     * @param minSizeMb  - Minimal file size to upload in parts. 0 disables multipart upload
+     * @param partSizeMb - Size of each part
+     * @param threads    - Number of parts uploaded concurrently
+     */
+    public MultipartUploadOptions(int minSizeMb, int partSizeMb, int threads) {
+        this.minSizeMb = Math.max(minSizeMb, 0);
+        this.partSizeMb = Math.max(partSizeMb, 1);
+        this.threads = Math.max(threads, 1);
+    }
+
+    public int getMinSizeMb() {
+        return minSizeMb;
+    }
+
+    public int getPartSizeMb() {
+        return partSizeMb;
+    }
+
+    public long getPartSizeBytes() {
+        return partSizeMb * MB;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns true if a file of the given size should be uploaded in parts.
+     *
+     * @param fileSize - The file size in bytes
+     */
+    public boolean isMultipartUpload(long fileSize) {
+        return minSizeMb > 0 && fileSize >= minSizeMb * MB && fileSize > getPartSizeBytes();
+    }
+}
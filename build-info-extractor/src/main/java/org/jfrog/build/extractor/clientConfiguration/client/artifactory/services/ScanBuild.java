@@ -1,6 +1,5 @@
 package org.jfrog.build.extractor.clientConfiguration.client.artifactory.services;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.IOUtils;
@@ -31,8 +30,9 @@ public class ScanBuild extends JFrogService<ArtifactoryXrayResponse> {
      */
     private static final int XRAY_SCAN_RETRY_CONSECUTIVE_RETRIES = 5;
     /**
-     * 30 seconds sleep between retry
+     * Sleep between retries, starting with 2 seconds and doubling up to 30 seconds
      */
+    private static final int XRAY_SCAN_INITIAL_SLEEP_BETWEEN_RETRIES_MILLIS = 2000;
     private static final int XRAY_SCAN_SLEEP_BETWEEN_RETRIES_MILLIS = 30000;
     private static final String SCAN_BUILD_URL = "api/xray/scanBuild";
     private final String buildName;
@@ -70,7 +70,7 @@ public class ScanBuild extends JFrogService<ArtifactoryXrayResponse> {
 
     @Override
     protected void setResponse(InputStream stream) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
+        ObjectMapper mapper = getMapper();
         String content = IOUtils.toString(stream, StandardCharsets.UTF_8.name());
         JsonNode result;
         try {
@@ -91,7 +91,6 @@ public class ScanBuild extends JFrogService<ArtifactoryXrayResponse> {
             }
             throw new XrayErrorException("Artifactory response: " + resultStr);
         }
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         this.result = mapper.treeToValue(result, ArtifactoryXrayResponse.class);
     }
 
@@ -139,12 +138,21 @@ public class ScanBuild extends JFrogService<ArtifactoryXrayResponse> {
         log.warn("Xray scan connection lost: " + e.getMessage() + ", attempting to reconnect...");
         // Sleeping before trying to reconnect.
         try {
-            Thread.sleep(XRAY_SCAN_SLEEP_BETWEEN_RETRIES_MILLIS);
+            Thread.sleep(getSleepBetweenRetriesMillis(retryNum));
         } catch (InterruptedException interruptedException) {
             throw new IOException(interruptedException.getMessage());
         }
     }
 
+    /**
+     * Returns the sleep before the given retry. Transient disconnections are retried quickly, and the sleep grows
+     * exponentially for repeated failures.
+     */
+    static long getSleepBetweenRetriesMillis(int retryNum) {
+        long sleepMillis = (long) XRAY_SCAN_INITIAL_SLEEP_BETWEEN_RETRIES_MILLIS << Math.min(Math.max(retryNum - 1, 0), 16);
+        return Math.min(sleepMillis, XRAY_SCAN_SLEEP_BETWEEN_RETRIES_MILLIS);
+    }
+
     /**
      * Private exception class, signals that Xray-response returned from Artifactory contained an error.
      */
@@ -8,17 +8,16 @@ import org.apache.http.entity.FileEntity;
 import org.apache.http.protocol.HTTP;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.ArtifactoryUploadResponse;
-import org.jfrog.build.client.ArtifactoryVersion;
 import org.jfrog.build.client.JFrogHttpClient;
+import org.jfrog.build.client.UploadScheduler;
+import org.jfrog.build.client.metrics.ClientMetrics;
 import org.jfrog.build.extractor.clientConfiguration.client.JFrogService;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
 import org.jfrog.build.extractor.clientConfiguration.util.DeploymentUrlUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 import static org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration.DEFAULT_MIN_CHECKSUM_DEPLOY_SIZE_KB;
 
@@ -30,15 +29,34 @@ public class Upload extends JFrogService<ArtifactoryUploadResponse> {
     private final DeployDetails details;
     private final String logPrefix;
     private final Integer minChecksumDeploySizeKb;
+    private final MultipartUploadOptions multipartUploadOptions;
     private boolean isExplode;
+    private String uploadPath;
+    private UploadScheduler uploadScheduler;
+    private Boolean checksumExists;
 
     public Upload(DeployDetails details, String logPrefix, Integer minChecksumDeploySizeKb, Log logger) {
+        this(details, logPrefix, minChecksumDeploySizeKb, MultipartUploadOptions.DISABLED, logger);
+    }
+
+    public Upload(DeployDetails details, String logPrefix, Integer minChecksumDeploySizeKb, MultipartUploadOptions multipartUploadOptions, Log logger) {
         super(logger);
         this.minChecksumDeploySizeKb = minChecksumDeploySizeKb;
+        this.multipartUploadOptions = multipartUploadOptions == null ? MultipartUploadOptions.DISABLED : multipartUploadOptions;
         this.details = details;
         this.logPrefix = logPrefix == null ? "" : logPrefix + " ";
     }
 
+    /**
+     * Sets whether Artifactory is known to have the checksum of the file.
+     *
+     * @param checksumExists true to try checksum deploy regardless of the file size, false to skip the checksum deploy
+     *                       attempt, or null to try checksum deploy of files of at least 'minChecksumDeploySizeKb'
+     */
+    public void setChecksumExists(Boolean checksumExists) {
+        this.checksumExists = checksumExists;
+    }
+
     @Override
     public HttpRequestBase createRequest() throws IOException {
         HttpPut request = createHttpPutMethod(details);
@@ -49,7 +67,7 @@ public class Upload extends JFrogService<ArtifactoryUploadResponse> {
             request.addHeader(EXPLODE_HEADER_NAME, "true");
         }
         FileEntity fileEntity = new FileEntity(details.getFile(), "binary/octet-stream");
-        request.setEntity(fileEntity);
+        request.setEntity(uploadScheduler != null ? uploadScheduler.throttle(fileEntity) : fileEntity);
         return request;
     }
 
@@ -62,22 +80,48 @@ public class Upload extends JFrogService<ArtifactoryUploadResponse> {
     @Override
     protected void setResponse(InputStream stream) throws IOException {
         if (!isExplode) {
-            result = getMapper().readValue(stream, ArtifactoryUploadResponse.class);
+            result = getReader(ArtifactoryUploadResponse.class).readValue(stream);
         }
     }
 
     @Override
     public ArtifactoryUploadResponse execute(JFrogHttpClient client) throws IOException {
         log.info(logPrefix + "Deploying artifact: " + client.getUrl() + "/" + StringUtils.removeStart(buildDefaultUploadPath(details), "/"));
-        ArtifactoryUploadResponse response = tryChecksumUpload(client);
-        if (response != null) {
-            // Checksum deploy was performed:
+        // Uploads of all the builds in the JVM to this Artifactory instance share the scheduler's permits and bandwidth
+        uploadScheduler = client.getUploadScheduler();
+        ClientMetrics metrics = client.getMetrics();
+        UploadScheduler.Permit permit = uploadScheduler.acquire(client);
+        try {
+            long start = System.currentTimeMillis();
+            ArtifactoryUploadResponse response = tryChecksumUpload(client);
+            if (response != null) {
+                // Checksum deploy was performed:
+                metrics.increment(ClientMetrics.CHECKSUM_DEPLOY_HITS);
+                metrics.recordBytes(ClientMetrics.CHECKSUM_DEPLOY_SAVED, details.getFile().length());
+                metrics.recordLatency(ClientMetrics.CHECKSUM_UPLOAD, System.currentTimeMillis() - start);
+                uploadScheduler.onSuccess();
+                return response;
+            }
+            start = System.currentTimeMillis();
+            response = tryMultipartUpload(client);
+            if (response == null) {
+                response = super.execute(client);
+            }
+            metrics.increment(ClientMetrics.FULL_UPLOADS);
+            metrics.recordLatency(ClientMetrics.UPLOAD, System.currentTimeMillis() - start);
+            metrics.recordBytes(ClientMetrics.UPLOAD, details.getFile().length());
+            uploadScheduler.onSuccess();
             return response;
+        } finally {
+            permit.close();
         }
-        return super.execute(client);
     }
 
     private ArtifactoryUploadResponse tryChecksumUpload(JFrogHttpClient client) {
+        if (Boolean.FALSE.equals(checksumExists)) {
+            log.debug("Skipping checksum deploy of a file which doesn't exist in Artifactory.");
+            return null;
+        }
         try {
             TryChecksumUpload tryChecksumUploadService = new TryChecksumUpload(details, logPrefix, minChecksumDeploySizeKb, log);
             return tryChecksumUploadService.execute(client);
@@ -87,21 +131,39 @@ public class Upload extends JFrogService<ArtifactoryUploadResponse> {
         return null;
     }
 
+    /**
+     * Upload large files in parts, if supported by Artifactory.
+     *
+     * @return the upload response, or null if the file should be uploaded in a single request
+     */
+    private ArtifactoryUploadResponse tryMultipartUpload(JFrogHttpClient client) throws IOException {
+        if (details.isExplode() || StringUtils.isBlank(details.getSha1()) || !multipartUploadOptions.isMultipartUpload(details.getFile().length())) {
+            return null;
+        }
+        MultipartUpload multipartUpload = new MultipartUpload(details, logPrefix, multipartUploadOptions, log);
+        if (!multipartUpload.isSupported(client)) {
+            log.debug("Multipart upload is not supported by Artifactory, falling back to regular deployment.");
+            return null;
+        }
+        return multipartUpload.execute(client);
+    }
+
     private HttpPut createHttpPutMethod(DeployDetails details) throws IOException {
-        StringBuilder deploymentPathBuilder = new StringBuilder().append(buildDefaultUploadPath(details));
-        deploymentPathBuilder.append(DeploymentUrlUtils.buildMatrixParamsString(details.getProperties(), true));
-        HttpPut httpPut = new HttpPut(deploymentPathBuilder.toString());
+        // The matrix params are usually shared by all the artifacts of a module, and are encoded once per distinct properties
+        HttpPut httpPut = new HttpPut(buildDefaultUploadPath(details) + DeploymentUrlUtils.buildEncodedMatrixParamsString(details.getProperties()));
         httpPut.addHeader(SHA1_HEADER_NAME, details.getSha1());
         httpPut.addHeader(MD5_HEADER_NAME, details.getMd5());
-        log.debug("Full Artifact Http path: " + httpPut + "\n@Http Headers: " + Arrays.toString(httpPut.getAllHeaders()));
+        if (log.isDebugEnabled()) {
+            log.debug("Full Artifact Http path: " + httpPut + "\n@Http Headers: " + Arrays.toString(httpPut.getAllHeaders()));
+        }
         return httpPut;
     }
 
     private String buildDefaultUploadPath(DeployDetails details) {
-        List<String> pathComponents = new ArrayList<>();
-        pathComponents.add(DeploymentUrlUtils.encodePath(details.getTargetRepository()));
-        pathComponents.add(DeploymentUrlUtils.encodePath(details.getArtifactPath()));
-        return StringUtils.join(pathComponents, "/");
+        if (uploadPath == null) {
+            uploadPath = DeploymentUrlUtils.encodePath(details.getTargetRepository()) + "/" + DeploymentUrlUtils.encodePath(details.getArtifactPath());
+        }
+        return uploadPath;
     }
 
     private class TryChecksumUpload extends JFrogService<ArtifactoryUploadResponse> {
@@ -113,15 +175,15 @@ public class Upload extends JFrogService<ArtifactoryUploadResponse> {
             super(logger);
             this.details = details;
             this.logPrefix = logPrefix;
-            this.minChecksumDeploySizeKb = minChecksumDeploySizeKb != null ? minChecksumDeploySizeKb : DEFAULT_MIN_CHECKSUM_DEPLOY_SIZE_KB;
+            // Files which are known to exist in Artifactory are deployed by checksum regardless of their size
+            this.minChecksumDeploySizeKb = Boolean.TRUE.equals(checksumExists) ? 0 :
+                    minChecksumDeploySizeKb != null ? minChecksumDeploySizeKb : DEFAULT_MIN_CHECKSUM_DEPLOY_SIZE_KB;
         }
 
         @Override
         protected void ensureRequirements(JFrogHttpClient client) throws IOException {
-            Version versionService = new Version(log);
-            ArtifactoryVersion version = versionService.execute(client);
-            // Artifactory 2.5.1+ has efficient checksum deployment (checks if the artifact already exists by it's checksum)
-            if (!version.isAtLeast(new ArtifactoryVersion("2.5.1"))) {
+            // The capabilities are cached by the client, so no request is sent here after the first upload
+            if (!new Version(log).getCapabilities(client).isChecksumDeploySupported()) {
                 throw new IOException("Artifactory below 2.5.0 doesnt have efficient checksum deployment");
             }
         }
@@ -149,7 +211,7 @@ public class Upload extends JFrogService<ArtifactoryUploadResponse> {
 
         @Override
         protected void setResponse(InputStream stream) throws IOException {
-            result = getMapper().readValue(stream, ArtifactoryUploadResponse.class);
+            result = getReader(ArtifactoryUploadResponse.class).readValue(stream);
         }
     }
 }
@@ -7,6 +7,8 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.ArtifactoryVersion;
+import org.jfrog.build.client.JFrogHttpClient;
+import org.jfrog.build.client.ServerCapabilities;
 import org.jfrog.build.extractor.clientConfiguration.client.JFrogService;
 
 import java.io.IOException;
@@ -22,6 +24,24 @@ public class Version extends JFrogService<ArtifactoryVersion> {
         result = ArtifactoryVersion.NOT_FOUND;
     }
 
+    /**
+     * Returns the server capabilities, probed by this service once per client.
+     *
+     * @param client - http client for sending the request
+     * @return the cached server capabilities
+     */
+    public ServerCapabilities getCapabilities(JFrogHttpClient client) throws IOException {
+        return client.getCapabilities(() -> new ServerCapabilities(super.execute(client)));
+    }
+
+    /**
+     * Returns the server version. The version is requested once per client, and cached with the server capabilities.
+     */
+    @Override
+    public ArtifactoryVersion execute(JFrogHttpClient client) throws IOException {
+        return getCapabilities(client).getVersion();
+    }
+
     @Override
     public HttpRequestBase createRequest() {
         return new HttpGet(VERSION_REST_URL);
@@ -13,6 +13,7 @@ import org.jfrog.build.extractor.clientConfiguration.client.distribution.respons
 import org.jfrog.build.extractor.clientConfiguration.client.distribution.services.*;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author yahavi
@@ -139,6 +140,20 @@ public class DistributionManager extends ManagerBase {
         return new DistributeReleaseBundle(name, version, sync, request, log).execute(jfrogHttpClient);
     }
 
+    /**
+     * Distribute a release bundle without waiting for the distribution to complete.
+     * The distributions are tracked by a shared scheduler, so many release bundles can be distributed concurrently.
+     *
+     * @param name    - Release bundle name
+     * @param version - Release bundle version
+     * @param request - The distribution details
+     * @return a future completed with the tracker id and sites details once the distribution is completed
+     * @throws IOException in case of an error in the distribution request
+     */
+    public CompletableFuture<DistributeReleaseBundleResponse> distributeReleaseBundleAsync(String name, String version, DistributeReleaseBundleRequest request) throws IOException {
+        return new DistributeReleaseBundle(name, version, true, request, log).executeAsync(jfrogHttpClient);
+    }
+
     /**
      * Get status of a distributed release bundle
      *
@@ -188,4 +203,18 @@ public class DistributionManager extends ManagerBase {
     public DistributeReleaseBundleResponse deleteReleaseBundle(String name, String version, boolean sync, DeleteReleaseBundleRequest request) throws IOException {
         return new DeleteReleaseBundle(name, version, sync, request, log).execute(jfrogHttpClient);
     }
+
+    /**
+     * Delete a release bundle from edge node, and optionally from the local Artifactory, without waiting for the
+     * deletion to complete.
+     *
+     * @param name    - Release bundle name
+     * @param version - Release bundle version
+     * @param request - The distribution details
+     * @return a future completed with the sites details once the deletion is completed
+     * @throws IOException in case of an error in the deletion request
+     */
+    public CompletableFuture<DistributeReleaseBundleResponse> deleteReleaseBundleAsync(String name, String version, DeleteReleaseBundleRequest request) throws IOException {
+        return new DeleteReleaseBundle(name, version, true, request, log).executeAsync(jfrogHttpClient);
+    }
 }
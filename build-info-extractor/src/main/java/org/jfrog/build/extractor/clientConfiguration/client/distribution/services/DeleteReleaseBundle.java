@@ -7,13 +7,16 @@ import org.apache.http.entity.StringEntity;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.JFrogHttpClient;
 import org.jfrog.build.extractor.clientConfiguration.client.JFrogService;
+import org.jfrog.build.extractor.clientConfiguration.client.StatusPoller;
 import org.jfrog.build.extractor.clientConfiguration.client.distribution.request.DeleteReleaseBundleRequest;
 import org.jfrog.build.extractor.clientConfiguration.client.distribution.response.DistributeReleaseBundleResponse;
 import org.jfrog.build.extractor.clientConfiguration.client.distribution.response.DistributionStatusResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.jfrog.build.extractor.clientConfiguration.util.JsonUtils.toJsonString;
 
@@ -24,6 +27,10 @@ public class DeleteReleaseBundle extends JFrogService<DistributeReleaseBundleRes
     static final String DELETE_RELEASE_BUNDLE_ENDPOINT = "api/v1/distribution";
     static final int DEFAULT_SYNC_SLEEP_INTERVAL = 10; // 10 seconds
     static final int DEFAULT_MAX_WAIT_MINUTES = 60;    // 60 minutes
+    static final int INITIAL_SYNC_SLEEP_INTERVAL_MILLIS = 500;
+    private static final StatusPoller STATUS_POLLER = new StatusPoller(INITIAL_SYNC_SLEEP_INTERVAL_MILLIS,
+            TimeUnit.SECONDS.toMillis(DEFAULT_SYNC_SLEEP_INTERVAL), TimeUnit.MINUTES.toMillis(DEFAULT_MAX_WAIT_MINUTES),
+            "Timeout for sync deletion");
 
     private final DeleteReleaseBundleRequest request;
     private final String version;
@@ -70,33 +77,47 @@ public class DeleteReleaseBundle extends JFrogService<DistributeReleaseBundleRes
 
     @Override
     public DistributeReleaseBundleResponse execute(JFrogHttpClient client) throws IOException {
-        log.info(request.isDryRun() ? "[Dry run] " : "" + "Deleting " + name + " / " + version);
+        return StatusPoller.await(delete(client, sync));
+    }
+
+    /**
+     * Delete the release bundle and track the deletion asynchronously.
+     *
+     * @param client - The http client
+     * @return a future completed with the deletion response once the deletion is completed, or immediately if the
+     * deletion is a dry run
+     * @throws IOException in case of an error in the deletion request
+     */
+    public CompletableFuture<DistributeReleaseBundleResponse> executeAsync(JFrogHttpClient client) throws IOException {
+        return delete(client, true);
+    }
+
+    private CompletableFuture<DistributeReleaseBundleResponse> delete(JFrogHttpClient client, boolean track) throws IOException {
+        log.info((request.isDryRun() ? "[Dry run] " : "") + "Deleting " + name + " / " + version);
         super.execute(client);
-        if (sync && !request.isDryRun()) {
-            waitForDeletion(client);
+        if (!track || request.isDryRun()) {
+            return CompletableFuture.completedFuture(result);
         }
-        return result;
+        return trackDeletion(client);
     }
 
-    void waitForDeletion(JFrogHttpClient client) throws IOException {
-        String trackerId = result.getTrackerId();
-        GetDistributionStatus statusService = new GetDistributionStatus(name, version, trackerId, log);
-        for (int timeElapsed = 0; timeElapsed < DEFAULT_MAX_WAIT_MINUTES * 60; timeElapsed += DEFAULT_SYNC_SLEEP_INTERVAL) {
-            if (timeElapsed % 60 == 0) {
+    private CompletableFuture<DistributeReleaseBundleResponse> trackDeletion(JFrogHttpClient client) {
+        DistributeReleaseBundleResponse response = result;
+        GetDistributionStatus statusService = new GetDistributionStatus(name, version, response.getTrackerId(), log);
+        long startTime = System.currentTimeMillis();
+        AtomicLong lastProgressLog = new AtomicLong(-1);
+        return STATUS_POLLER.track(() -> {
+            long elapsedMinutes = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - startTime);
+            if (lastProgressLog.getAndSet(elapsedMinutes) != elapsedMinutes) {
                 log.info(String.format("Sync: Deleting %s/%s...", name, version));
             }
             DistributionStatusResponse statusResponse = statusService.execute(client);
             if (statusResponse == null || statusResponse.getStatus().equalsIgnoreCase("Completed")) {
                 log.info("Sync: Distribution deleted successfully");
-                return;
+                return response;
             }
             log.debug("Sync: Received status " + statusResponse.getStatus());
-            try {
-                TimeUnit.SECONDS.sleep(DEFAULT_SYNC_SLEEP_INTERVAL);
-            } catch (InterruptedException e) {
-                throw new IOException("Fail to wait for deletion sync", e);
-            }
-        }
-        throw new IOException("Timeout for sync deletion");
+            return null;
+        });
     }
 }
@@ -7,13 +7,16 @@ import org.apache.http.entity.StringEntity;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.JFrogHttpClient;
 import org.jfrog.build.extractor.clientConfiguration.client.JFrogService;
+import org.jfrog.build.extractor.clientConfiguration.client.StatusPoller;
 import org.jfrog.build.extractor.clientConfiguration.client.distribution.request.DistributeReleaseBundleRequest;
 import org.jfrog.build.extractor.clientConfiguration.client.distribution.response.DistributeReleaseBundleResponse;
 import org.jfrog.build.extractor.clientConfiguration.client.distribution.response.DistributionStatusResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.jfrog.build.extractor.clientConfiguration.util.JsonUtils.toJsonString;
 
@@ -24,6 +27,10 @@ public class DistributeReleaseBundle extends JFrogService<DistributeReleaseBundl
     static final String DISTRIBUTE_RELEASE_BUNDLE_ENDPOINT = "api/v1/distribution";
     static final int DEFAULT_SYNC_SLEEP_INTERVAL = 10; // 10 seconds
     static final int DEFAULT_MAX_WAIT_MINUTES = 60;    // 60 minutes
+    static final int INITIAL_SYNC_SLEEP_INTERVAL_MILLIS = 500;
+    private static final StatusPoller STATUS_POLLER = new StatusPoller(INITIAL_SYNC_SLEEP_INTERVAL_MILLIS,
+            TimeUnit.SECONDS.toMillis(DEFAULT_SYNC_SLEEP_INTERVAL), TimeUnit.MINUTES.toMillis(DEFAULT_MAX_WAIT_MINUTES),
+            "Timeout for sync distribution");
 
     private final DistributeReleaseBundleRequest request;
     private final String version;
@@ -63,12 +70,7 @@ public class DistributeReleaseBundle extends JFrogService<DistributeReleaseBundl
 
     @Override
     public DistributeReleaseBundleResponse execute(JFrogHttpClient client) throws IOException {
-        log.info(request.isDryRun() ? "[Dry run] " : "" + "Distributing " + name + " / " + version);
-        super.execute(client);
-        if (sync && !request.isDryRun()) {
-            waitForDistribution(client);
-        }
-        return result;
+        return StatusPoller.await(distribute(client, sync));
     }
 
     @Override
@@ -78,11 +80,35 @@ public class DistributeReleaseBundle extends JFrogService<DistributeReleaseBundl
         log.debug("Response:  " + toJsonString(result));
     }
 
-    private void waitForDistribution(JFrogHttpClient client) throws IOException {
-        String trackerId = result.getTrackerId();
-        GetDistributionStatus getDistributionStatusService = new GetDistributionStatus(name, version, trackerId, log);
-        for (int timeElapsed = 0; timeElapsed < DEFAULT_MAX_WAIT_MINUTES * 60; timeElapsed += DEFAULT_SYNC_SLEEP_INTERVAL) {
-            if (timeElapsed % 60 == 0) {
+    /**
+     * Distribute the release bundle and track the distribution asynchronously.
+     *
+     * @param client - The http client
+     * @return a future completed with the distribution response once the distribution is completed, or immediately
+     * if the distribution is a dry run
+     * @throws IOException in case of an error in the distribution request
+     */
+    public CompletableFuture<DistributeReleaseBundleResponse> executeAsync(JFrogHttpClient client) throws IOException {
+        return distribute(client, true);
+    }
+
+    private CompletableFuture<DistributeReleaseBundleResponse> distribute(JFrogHttpClient client, boolean track) throws IOException {
+        log.info((request.isDryRun() ? "[Dry run] " : "") + "Distributing " + name + " / " + version);
+        super.execute(client);
+        if (!track || request.isDryRun()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return trackDistribution(client);
+    }
+
+    private CompletableFuture<DistributeReleaseBundleResponse> trackDistribution(JFrogHttpClient client) {
+        DistributeReleaseBundleResponse response = result;
+        GetDistributionStatus getDistributionStatusService = new GetDistributionStatus(name, version, response.getTrackerId(), log);
+        long startTime = System.currentTimeMillis();
+        AtomicLong lastProgressLog = new AtomicLong(-1);
+        return STATUS_POLLER.track(() -> {
+            long elapsedMinutes = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - startTime);
+            if (lastProgressLog.getAndSet(elapsedMinutes) != elapsedMinutes) {
                 log.info(String.format("Sync: Distributing %s/%s...", name, version));
             }
             DistributionStatusResponse statusResponse = getDistributionStatusService.execute(client);
@@ -91,14 +117,9 @@ public class DistributeReleaseBundle extends JFrogService<DistributeReleaseBundl
             }
             if (statusResponse.getStatus().equalsIgnoreCase("Completed")) {
                 log.info("Distribution Completed!");
-                return;
+                return response;
             }
-            try {
-                TimeUnit.SECONDS.sleep(DEFAULT_SYNC_SLEEP_INTERVAL);
-            } catch (InterruptedException e) {
-                throw new IOException("Fail to wait for Distribution sync", e);
-            }
-        }
-        throw new IOException("Timeout for sync distribution");
+            return null;
+        });
     }
 }
@@ -0,0 +1,122 @@
+package org.jfrog.build.extractor.clientConfiguration.deploy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.search.AqlSearchResult;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds in bulk which of the files to deploy already exist in Artifactory, before they are uploaded.
+ * The SHA1 checksums of the files are searched with AQL queries, each with up to {@link #DEFAULT_AQL_BULK_SIZE}
+ * checksums. Files with existing checksums are deployed by checksum regardless of their size, and the checksum deploy
+ * attempt is skipped for new files, so only new content is sent.
+ */
+public class ChecksumPreflight {
+    public static final int DEFAULT_AQL_BULK_SIZE = 500;
+
+    private static final String CHECKSUMS_AQL_FORMAT = "items.find({\"$or\":[%s]}).include(\"actual_sha1\")";
+    private static final String CHECKSUMS_AQL_PART = "{\"actual_sha1\":\"%s\"},";
+
+    // SHA1 to whether Artifactory has the checksum
+    private final Map<String, Boolean> checksums = new ConcurrentHashMap<>();
+    private final int aqlBulkSize;
+    private final Log logger;
+
+    public ChecksumPreflight(Log logger) {
+        this(DEFAULT_AQL_BULK_SIZE, logger);
+    }
+
+    /**
+     * @param aqlBulkSize - Number of checksums to find in each AQL query.
+     * @param logger      - The logger.
+     */
+    public ChecksumPreflight(int aqlBulkSize, Log logger) {
+        this.aqlBulkSize = Math.max(aqlBulkSize, 1);
+        this.logger = logger;
+    }
+
+    /**
+     * Find which of the checksums of the files to deploy exist in Artifactory. Checksums which were already checked are
+     * not searched again. If a query fails, the checksums of its files remain unknown, and they are deployed as usual.
+     *
+     * @param artifactoryManager - The Artifactory manager to run the AQL queries with.
+     * @param deployDetails      - The files to deploy.
+     */
+    public void check(ArtifactoryManager artifactoryManager, Collection<DeployDetails> deployDetails) {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        for (DeployDetails details : deployDetails) {
+            File file = details.getFile();
+            String sha1 = details.getSha1();
+            if (file != null && !details.isExplode() && StringUtils.isNotBlank(sha1) && !checksums.containsKey(sha1)) {
+                sizes.putIfAbsent(sha1, file.length());
+            }
+        }
+        if (sizes.isEmpty()) {
+            return;
+        }
+        List<String> sha1s = new ArrayList<>(sizes.keySet());
+        int existing = 0;
+        long existingBytes = 0;
+        for (int i = 0; i < sha1s.size(); i += aqlBulkSize) {
+            List<String> bulk = sha1s.subList(i, Math.min(i + aqlBulkSize, sha1s.size()));
+            Set<String> found;
+            try {
+                found = findExistingChecksums(artifactoryManager, bulk);
+            } catch (IOException e) {
+                logger.warn("Failed searching the checksums of the files to deploy, they will be deployed as usual: " + e.getMessage());
+                continue;
+            }
+            for (String sha1 : bulk) {
+                boolean exists = found.contains(sha1);
+                checksums.putIfAbsent(sha1, exists);
+                if (exists) {
+                    existing++;
+                    existingBytes += sizes.get(sha1);
+                }
+            }
+        }
+        logger.info(String.format("Artifactory already has %d of %d files to deploy, saving the upload of %d bytes.", existing, sha1s.size(), existingBytes));
+    }
+
+    /**
+     * @param sha1 - The SHA1 checksum of a file.
+     * @return true if Artifactory has the checksum, false if it doesn't, or null if it was not checked.
+     */
+    public Boolean exists(String sha1) {
+        return sha1 == null ? null : checksums.get(sha1);
+    }
+
+    /**
+     * Mark a checksum as existing in Artifactory, after a file with the checksum was deployed. Other files with the same
+     * content are then deployed by checksum.
+     *
+     * @param sha1 - The SHA1 checksum of the deployed file.
+     */
+    public void markExists(String sha1) {
+        if (StringUtils.isNotBlank(sha1)) {
+            checksums.put(sha1, true);
+        }
+    }
+
+    static String createChecksumsAql(List<String> sha1s) {
+        StringBuilder checksumsPart = new StringBuilder();
+        for (String sha1 : sha1s) {
+            checksumsPart.append(String.format(CHECKSUMS_AQL_PART, sha1));
+        }
+        return String.format(CHECKSUMS_AQL_FORMAT, StringUtils.removeEnd(checksumsPart.toString(), ","));
+    }
+
+    private static Set<String> findExistingChecksums(ArtifactoryManager artifactoryManager, List<String> sha1s) throws IOException {
+        AqlSearchResult result = artifactoryManager.searchArtifactsByAql(createChecksumsAql(sha1s));
+        Set<String> found = new HashSet<>();
+        for (AqlSearchResult.SearchEntry searchEntry : result.getResults()) {
+            found.add(searchEntry.getActualSha1());
+        }
+        return found;
+    }
+}
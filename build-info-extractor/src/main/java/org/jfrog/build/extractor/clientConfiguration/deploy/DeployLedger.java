@@ -0,0 +1,377 @@
+package org.jfrog.build.extractor.clientConfiguration.deploy;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.search.AqlSearchResult;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.util.SharedJsonFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local ledger of the artifacts deployed from this machine, used to skip the upload of unchanged artifacts.
+ * The ledger maps '<artifactory-url>|<target-repository>/<artifact-path>' to the SHA1, size and modification time of the deployed file,
+ * to a hash of the properties it was deployed with, and to the last time the artifact was confirmed to exist in
+ * Artifactory. The Artifactory URL is part of the key, so a ledger file shared by builds deploying to several servers
+ * with the same repositories, such as staging and production, doesn't skip the uploads to one server because the
+ * artifacts were deployed to another.
+ * An artifact is skipped only if its file and properties are unchanged and it was confirmed recently. If only its
+ * properties changed, for example the build number, the artifact is deployed by checksum, so its properties are updated
+ * without sending its content.
+ * Artifacts to deploy which were not confirmed within the verification interval are verified in bulk with AQL queries
+ * before they are skipped, and are removed from the ledger if they were deleted or overridden in Artifactory.
+ * <p>
+ * The ledger is saved to a {@link SharedJsonFile}. Concurrent builds remove the artifacts they found deleted, and add
+ * the artifacts they deployed or confirmed, to the current content of the file. When the ledger grows beyond its
+ * maximum size, the artifacts which were not confirmed for the longest time are evicted.
+ */
+public class DeployLedger {
+    public static final int DEFAULT_VERIFY_INTERVAL_HOURS = 24;
+
+    static final int VERIFY_BULK_SIZE = 100;
+    static final int DEFAULT_MAX_ENTRIES = 100000;
+    private static final int LEDGER_VERSION = 3;
+    private static final String VERIFY_AQL_FORMAT = "items.find({\"$or\":[%s]}).include(\"repo\",\"path\",\"name\",\"actual_sha1\")";
+    private static final String VERIFY_AQL_ITEM_PART = "{\"$and\":[{\"repo\":\"%s\",\"path\":\"%s\",\"name\":\"%s\"}]}";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> changedEntries = new ConcurrentHashMap<>();
+    private final Set<String> removedKeys = ConcurrentHashMap.newKeySet();
+    private final SharedJsonFile<LedgerFile> ledgerFile;
+    private final String serverUrl;
+    private final long verifyIntervalMillis;
+    private final Log logger;
+    private final Set<String> verifiedKeys = ConcurrentHashMap.newKeySet();
+    private final int maxEntries;
+
+    DeployLedger(Path ledgerFile, String serverUrl, long verifyIntervalMillis, int maxEntries, Log logger) {
+        this.ledgerFile = new SharedJsonFile<>(ledgerFile, LedgerFile.class);
+        this.serverUrl = StringUtils.removeEnd(StringUtils.trimToEmpty(serverUrl), "/");
+        this.verifyIntervalMillis = verifyIntervalMillis;
+        this.maxEntries = maxEntries;
+        this.logger = logger;
+    }
+
+    /**
+     * Load the ledger from the ledger file.
+     *
+     * @param ledgerPath          - Path to the ledger file.
+     * @param serverUrl           - The Artifactory URL the artifacts are deployed to.
+     * @param verifyIntervalHours - Artifacts which were not confirmed to exist in Artifactory within this interval are
+     *                            verified before they are skipped. 0 verifies all the artifacts on every run.
+     * @param logger              - The logger.
+     * @return the deploy ledger.
+     */
+    public static DeployLedger load(String ledgerPath, String serverUrl, int verifyIntervalHours, Log logger) {
+        return load(Paths.get(ledgerPath), serverUrl, TimeUnit.HOURS.toMillis(Math.max(verifyIntervalHours, 0)), DEFAULT_MAX_ENTRIES, logger);
+    }
+
+    static DeployLedger load(Path ledgerFile, String serverUrl, long verifyIntervalMillis, int maxEntries, Log logger) {
+        DeployLedger ledger = new DeployLedger(ledgerFile, serverUrl, verifyIntervalMillis, maxEntries, logger);
+        ledger.entries.putAll(ledger.read());
+        return ledger;
+    }
+
+    /**
+     * Verify in bulk the ledger entries of the artifacts to deploy, which were not confirmed within the verification
+     * interval. Artifacts which are missing in Artifactory, or have a different checksum, are removed from the ledger.
+     * Each artifact is verified at most once per ledger. If a query fails, its artifacts are uploaded as usual.
+     *
+     * @param artifactoryManager - The Artifactory manager to run the AQL queries with.
+     * @param deployDetails      - The artifacts to deploy.
+     */
+    public void verify(ArtifactoryManager artifactoryManager, Collection<DeployDetails> deployDetails) {
+        List<String> staleKeys = new ArrayList<>();
+        for (DeployDetails details : deployDetails) {
+            Entry entry = getFileEntry(details);
+            String key = getKey(details);
+            if (entry != null && !isConfirmed(entry) && verifiedKeys.add(key)) {
+                staleKeys.add(key);
+            }
+        }
+        if (staleKeys.isEmpty()) {
+            return;
+        }
+        logger.debug("Verifying " + staleKeys.size() + " artifacts of the deploy ledger " + ledgerFile.getFile());
+        for (int i = 0; i < staleKeys.size(); i += VERIFY_BULK_SIZE) {
+            List<String> bulk = staleKeys.subList(i, Math.min(i + VERIFY_BULK_SIZE, staleKeys.size()));
+            try {
+                applyVerification(bulk, artifactoryManager.searchArtifactsByAql(createVerifyAql(getArtifactKeys(bulk))));
+            } catch (IOException e) {
+                logger.warn("Failed verifying the deploy ledger " + ledgerFile.getFile() + ", the unverified artifacts will be uploaded: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the upload response of an artifact which was already deployed from the same file, with the same properties.
+     *
+     * @param details - The deploy details of the artifact.
+     * @return an upload response with the path and checksums of the artifact, or null if the file, its SHA1 or the
+     * properties changed since the artifact was deployed, or the artifact was not confirmed to exist in Artifactory
+     * recently.
+     */
+    public ArtifactoryUploadResponse getDeployedResponse(DeployDetails details) {
+        Entry entry = getDeployedEntry(details);
+        if (entry == null || !getPropertiesHash(details).equals(entry.propertiesHash)) {
+            return null;
+        }
+        ArtifactoryUploadResponse response = new ArtifactoryUploadResponse();
+        response.setRepo(details.getTargetRepository());
+        response.setPath("/" + StringUtils.removeStart(details.getArtifactPath(), "/"));
+        response.setSize(String.valueOf(entry.size));
+        ArtifactoryUploadResponse.Checksums checksums = new ArtifactoryUploadResponse.Checksums();
+        checksums.setSha1(entry.sha1);
+        checksums.setMd5(entry.md5);
+        checksums.setSha256(entry.sha256);
+        response.setChecksums(checksums);
+        return response;
+    }
+
+    /**
+     * Check if the content of an artifact was already deployed from the same file, regardless of its properties.
+     *
+     * @param details - The deploy details of the artifact.
+     * @return true if the file and its SHA1 are unchanged since the artifact was deployed, and the artifact was
+     * confirmed to exist in Artifactory recently.
+     */
+    public boolean isContentDeployed(DeployDetails details) {
+        return getDeployedEntry(details) != null;
+    }
+
+    /**
+     * Record the deployment of an artifact.
+     *
+     * @param details  - The deploy details of the artifact.
+     * @param response - The upload response. May be null.
+     */
+    public void recordDeployed(DeployDetails details, ArtifactoryUploadResponse response) {
+        File file = details.getFile();
+        if (file == null || details.isExplode() || StringUtils.isBlank(details.getSha1())) {
+            return;
+        }
+        String sha256 = response != null && response.getChecksums() != null ? response.getChecksums().getSha256() : details.getSha256();
+        Entry entry = new Entry(details.getSha1(), details.getMd5(), sha256, file.length(), file.lastModified(),
+                getPropertiesHash(details), System.currentTimeMillis());
+        String key = getKey(details);
+        entries.put(key, entry);
+        changedEntries.put(key, entry);
+        removedKeys.remove(key);
+    }
+
+    /**
+     * Save the deployed, confirmed and removed artifacts to the ledger file. If the ledger can't be saved, the next
+     * builds upload these artifacts again, so the failure is only logged.
+     */
+    public void save() {
+        if (changedEntries.isEmpty() && removedKeys.isEmpty()) {
+            return;
+        }
+        try {
+            ledgerFile.update(current -> {
+                Map<String, Entry> merged = getEntries(current);
+                merged.keySet().removeAll(removedKeys);
+                merged.putAll(changedEntries);
+                return new LedgerFile(evict(merged));
+            });
+            changedEntries.clear();
+            removedKeys.clear();
+        } catch (IOException e) {
+            logger.warn("Failed saving the deploy ledger " + ledgerFile.getFile() + ": " + e.getMessage());
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Map<String, Entry> evict(Map<String, Entry> merged) {
+        if (merged.size() <= maxEntries) {
+            return merged;
+        }
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(merged.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().lastConfirmed).reversed());
+        Map<String, Entry> retained = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : sorted.subList(0, maxEntries)) {
+            retained.put(entry.getKey(), entry.getValue());
+        }
+        return retained;
+    }
+
+    private Entry getDeployedEntry(DeployDetails details) {
+        Entry entry = getFileEntry(details);
+        return entry != null && isConfirmed(entry) ? entry : null;
+    }
+
+    /**
+     * Get the entry of an artifact, if it was deployed from the same file.
+     */
+    private Entry getFileEntry(DeployDetails details) {
+        File file = details.getFile();
+        if (file == null || details.isExplode() || StringUtils.isBlank(details.getSha1())) {
+            return null;
+        }
+        Entry entry = entries.get(getKey(details));
+        if (entry == null || !details.getSha1().equals(entry.sha1) ||
+                entry.size != file.length() || entry.lastModified != file.lastModified()) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Hash the properties of an artifact, regardless of the order they were added in.
+     */
+    static String getPropertiesHash(DeployDetails details) {
+        StringBuilder properties = new StringBuilder();
+        if (details.getProperties() != null) {
+            for (String key : new TreeSet<>(details.getProperties().keySet())) {
+                List<String> values = new ArrayList<>(details.getProperties().get(key));
+                Collections.sort(values);
+                properties.append(key).append('=').append(String.join(",", values)).append(';');
+            }
+        }
+        return Hashing.murmur3_128().hashString(properties, StandardCharsets.UTF_8).toString();
+    }
+
+    private boolean isConfirmed(Entry entry) {
+        return System.currentTimeMillis() - entry.lastConfirmed < verifyIntervalMillis;
+    }
+
+    private void applyVerification(List<String> keys, AqlSearchResult result) {
+        Map<String, String> deployedSha1s = new HashMap<>();
+        for (AqlSearchResult.SearchEntry searchEntry : result.getResults()) {
+            String path = ".".equals(searchEntry.getPath()) ? searchEntry.getName() : searchEntry.getPath() + "/" + searchEntry.getName();
+            deployedSha1s.put(getKey(searchEntry.getRepo() + "/" + path), searchEntry.getActualSha1());
+        }
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                continue;
+            }
+            if (StringUtils.equals(entry.sha1, deployedSha1s.get(key))) {
+                entry.lastConfirmed = now;
+                changedEntries.put(key, entry);
+            } else {
+                logger.debug("Removing " + key + " from the deploy ledger, since it was deleted or changed in Artifactory.");
+                entries.remove(key);
+                changedEntries.remove(key);
+                removedKeys.add(key);
+            }
+        }
+    }
+
+    static String createVerifyAql(List<String> keys) {
+        StringBuilder itemsPart = new StringBuilder();
+        for (String key : keys) {
+            String repo = StringUtils.substringBefore(key, "/");
+            String artifactPath = StringUtils.substringAfter(key, "/");
+            int lastSlash = artifactPath.lastIndexOf('/');
+            String path = lastSlash < 0 ? "." : artifactPath.substring(0, lastSlash);
+            String name = artifactPath.substring(lastSlash + 1);
+            itemsPart.append(String.format(VERIFY_AQL_ITEM_PART, repo, path, name)).append(",");
+        }
+        return String.format(VERIFY_AQL_FORMAT, StringUtils.removeEnd(itemsPart.toString(), ","));
+    }
+
+    private Map<String, Entry> read() {
+        try {
+            return getEntries(ledgerFile.read());
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed reading the deploy ledger " + ledgerFile.getFile() + ", zapping the old ledger.");
+        } catch (IOException e) {
+            logger.warn("Failed reading the deploy ledger " + ledgerFile.getFile() + ": " + e.getMessage());
+        }
+        return new HashMap<>();
+    }
+
+    private Map<String, Entry> getEntries(LedgerFile content) {
+        if (content == null) {
+            return new HashMap<>();
+        }
+        if (content.version != LEDGER_VERSION || content.entries == null) {
+            logger.warn("Incorrect deploy ledger version " + content.version + ". Zapping the old ledger.");
+            return new HashMap<>();
+        }
+        return content.entries;
+    }
+
+    private String getKey(DeployDetails details) {
+        return getKey(details.getTargetRepository() + "/" + StringUtils.removeStart(details.getArtifactPath(), "/"));
+    }
+
+    /**
+     * @param artifactKey - '<target-repository>/<artifact-path>'
+     */
+    private String getKey(String artifactKey) {
+        return serverUrl + "|" + artifactKey;
+    }
+
+    private static List<String> getArtifactKeys(List<String> keys) {
+        List<String> artifactKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            artifactKeys.add(StringUtils.substringAfter(key, "|"));
+        }
+        return artifactKeys;
+    }
+
+    private static class LedgerFile {
+        @JsonProperty("version")
+        private int version = LEDGER_VERSION;
+        @JsonProperty("entries")
+        private Map<String, Entry> entries;
+
+        @SuppressWarnings("unused")
+        LedgerFile() {
+        }
+
+        LedgerFile(Map<String, Entry> entries) {
+            this.entries = entries;
+        }
+    }
+
+    private static class Entry {
+        @JsonProperty("sha1")
+        private String sha1;
+        @JsonProperty("md5")
+        private String md5;
+        @JsonProperty("sha256")
+        private String sha256;
+        // The size and the modification time of the deployed file
+        @JsonProperty("size")
+        private long size;
+        @JsonProperty("lastModified")
+        private long lastModified;
+        @JsonProperty("propertiesHash")
+        private String propertiesHash;
+        // The last time the artifact was deployed or confirmed to exist in Artifactory
+        @JsonProperty("lastConfirmed")
+        private volatile long lastConfirmed;
+
+        @SuppressWarnings("unused")
+        Entry() {
+        }
+
+        Entry(String sha1, String md5, String sha256, long size, long lastModified, String propertiesHash, long lastConfirmed) {
+            this.sha1 = sha1;
+            this.md5 = md5;
+            this.sha256 = sha256;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.propertiesHash = propertiesHash;
+            this.lastConfirmed = lastConfirmed;
+        }
+    }
+}
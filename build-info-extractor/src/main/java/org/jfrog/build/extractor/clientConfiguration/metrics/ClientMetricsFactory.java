@@ -0,0 +1,34 @@
+package org.jfrog.build.extractor.clientConfiguration.metrics;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.client.metrics.ClientMetrics;
+import org.jfrog.build.client.metrics.InMemoryClientMetrics;
+import org.jfrog.build.client.metrics.NoOpClientMetrics;
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+
+import java.io.File;
+
+/**
+ * Creates the client metrics of a run, according to the client configuration.
+ */
+public class ClientMetricsFactory {
+
+    /**
+     * Create the metrics configured by the 'artifactory.metrics.file' and 'artifactory.metrics.enabled' properties.
+     * A single metrics instance should be created per run and shared by all the managers of the run.
+     *
+     * @param clientConf - The client configuration
+     * @return JSON file metrics if a metrics file is configured, in-memory metrics if metrics are enabled, and no-op
+     * metrics otherwise
+     */
+    public static ClientMetrics create(ArtifactoryClientConfiguration clientConf) {
+        String metricsFile = clientConf.getMetricsFile();
+        if (StringUtils.isNotBlank(metricsFile)) {
+            return new JsonFileClientMetrics(new File(metricsFile));
+        }
+        if (clientConf.isMetricsEnabled()) {
+            return new InMemoryClientMetrics();
+        }
+        return new NoOpClientMetrics();
+    }
+}
@@ -0,0 +1,35 @@
+package org.jfrog.build.extractor.clientConfiguration.metrics;
+
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.metrics.InMemoryClientMetrics;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Metrics implementation, which aggregates the recorded metrics in memory, logs a summary and writes the metrics
+ * snapshot to a JSON file on {@link #report(Log)}.
+ */
+public class JsonFileClientMetrics extends InMemoryClientMetrics {
+    private final File metricsFile;
+
+    public JsonFileClientMetrics(File metricsFile) {
+        this.metricsFile = metricsFile;
+    }
+
+    public File getMetricsFile() {
+        return metricsFile;
+    }
+
+    @Override
+    public void report(Log log) throws IOException {
+        super.report(log);
+        File parent = metricsFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        JsonMappers.getPrettyWriter().writeValue(metricsFile, getSnapshot());
+        log.info("Artifactory client metrics written to: " + metricsFile.getAbsolutePath());
+    }
+}
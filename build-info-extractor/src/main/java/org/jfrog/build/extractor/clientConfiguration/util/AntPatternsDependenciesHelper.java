@@ -13,6 +13,7 @@ import org.jfrog.build.extractor.clientConfiguration.PatternMatcher;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * Helper class for parsing custom resolved dependencies
@@ -23,10 +24,19 @@ public class AntPatternsDependenciesHelper {
 
     private DependenciesDownloader downloader;
     private Log log;
+    private int resolutionThreads;
 
     public AntPatternsDependenciesHelper(DependenciesDownloader downloader, Log log) {
+        this(downloader, log, ConcurrentPatternResolver.DEFAULT_RESOLUTION_THREADS);
+    }
+
+    /**
+     * @param resolutionThreads - Maximum number of pattern lines searched concurrently
+     */
+    public AntPatternsDependenciesHelper(DependenciesDownloader downloader, Log log, int resolutionThreads) {
         this.downloader = downloader;
         this.log = log;
+        this.resolutionThreads = resolutionThreads;
     }
 
     public List<Dependency> retrievePublishedDependencies(String resolvePattern) throws IOException, InterruptedException {
@@ -48,17 +58,24 @@ public class AntPatternsDependenciesHelper {
         return dependencies;
     }
 
+    /**
+     * Search the pattern lines concurrently. Artifacts found by more than one line are downloaded once.
+     */
     private Set<DownloadableArtifact> collectArtifactsToDownload(List<String> patternLines)
-            throws IOException {
-        Set<DownloadableArtifact> downloadableArtifacts = new HashSet<>();
+            throws IOException, InterruptedException {
+        List<Callable<Set<DownloadableArtifact>>> searches = new ArrayList<>();
         for (String patternLine : patternLines) {
             DependencyPattern dependencyPattern = PatternFactory.create(patternLine);
             if (!(dependencyPattern instanceof BuildDependencyPattern)) {
-                downloadableArtifacts.addAll(handleDependencyPattern(dependencyPattern));
+                searches.add(() -> handleDependencyPattern(dependencyPattern));
             }
         }
 
-        return downloadableArtifacts;
+        ConcurrentPatternResolver resolver = new ConcurrentPatternResolver(resolutionThreads);
+        for (Set<DownloadableArtifact> artifacts : resolver.invokeAll(searches)) {
+            resolver.addArtifacts(artifacts);
+        }
+        return resolver.getArtifacts();
     }
 
     private Set<DownloadableArtifact> handleDependencyPattern(DependencyPattern dependencyPattern) throws IOException {
@@ -26,6 +26,7 @@ import org.jfrog.build.api.util.Log;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 
 /**
@@ -35,13 +36,24 @@ import java.util.*;
  * @author Evgeny Goldin
  */
 public class BuildDependenciesHelper {
+    // Maximum number of builds in a single patternArtifacts request
+    static final int PATTERN_ARTIFACTS_BULK_SIZE = 100;
 
     private DependenciesDownloader downloader;
     private Log log;
+    private int resolutionThreads;
 
     public BuildDependenciesHelper(DependenciesDownloader downloader, Log log) {
+        this(downloader, log, ConcurrentPatternResolver.DEFAULT_RESOLUTION_THREADS);
+    }
+
+    /**
+     * @param resolutionThreads - Maximum number of batched build searches running concurrently
+     */
+    public BuildDependenciesHelper(DependenciesDownloader downloader, Log log, int resolutionThreads) {
         this.downloader = downloader;
         this.log = log;
+        this.resolutionThreads = resolutionThreads;
     }
 
     public List<BuildDependency> retrieveBuildDependencies(String resolvePattern) throws IOException, InterruptedException {
@@ -59,8 +71,7 @@ public class BuildDependenciesHelper {
         log.info("Beginning to resolve Build Info build dependencies.");
         Map<String, Map<String, List<BuildDependencyPattern>>> buildDependencies = getBuildDependencies(patternLines);
         List<BuildPatternArtifactsRequest> artifactsRequests = toArtifactsRequests(buildDependencies);
-        List<BuildPatternArtifacts> artifactsResponses = downloader.getArtifactoryManager().retrievePatternArtifacts(
-                artifactsRequests);
+        List<BuildPatternArtifacts> artifactsResponses = retrievePatternArtifacts(artifactsRequests);
         Set<BuildDependency> result = new HashSet<>();
         downloader.download(collectArtifactsToDownload(buildDependencies, artifactsRequests, artifactsResponses, result));
         log.info("Finished resolving Build Info build dependencies.");
@@ -68,6 +79,27 @@ public class BuildDependenciesHelper {
         return new ArrayList<>(result);
     }
 
+    /**
+     * Retrieve the artifacts of the builds in batched requests, of up to {@link #PATTERN_ARTIFACTS_BULK_SIZE} builds
+     * each. Several batches are retrieved concurrently. The responses are returned in the order of the requests.
+     */
+    private List<BuildPatternArtifacts> retrievePatternArtifacts(List<BuildPatternArtifactsRequest> artifactsRequests)
+            throws IOException, InterruptedException {
+        if (artifactsRequests.size() <= PATTERN_ARTIFACTS_BULK_SIZE) {
+            return downloader.getArtifactoryManager().retrievePatternArtifacts(artifactsRequests);
+        }
+        List<Callable<List<BuildPatternArtifacts>>> searches = new ArrayList<>();
+        for (int i = 0; i < artifactsRequests.size(); i += PATTERN_ARTIFACTS_BULK_SIZE) {
+            List<BuildPatternArtifactsRequest> bulk = artifactsRequests.subList(i, Math.min(i + PATTERN_ARTIFACTS_BULK_SIZE, artifactsRequests.size()));
+            searches.add(() -> downloader.getArtifactoryManager().retrievePatternArtifacts(bulk));
+        }
+        List<BuildPatternArtifacts> artifactsResponses = new ArrayList<>();
+        for (List<BuildPatternArtifacts> responses : new ConcurrentPatternResolver(resolutionThreads).invokeAll(searches)) {
+            artifactsResponses.addAll(responses);
+        }
+        return artifactsResponses;
+    }
+
     private Map<String, Map<String, List<BuildDependencyPattern>>> getBuildDependencies(List<String> patternLines) {
         Map<String, Map<String, List<BuildDependencyPattern>>> buildsMap = new HashMap<>();
         for (String patternLine : patternLines) {
@@ -118,7 +150,8 @@ public class BuildDependenciesHelper {
             Map<String, Map<String, List<BuildDependencyPattern>>> dependencyPatterns,
             List<BuildPatternArtifactsRequest> artifactsRequests, List<BuildPatternArtifacts> artifactsResponses,
             Set<BuildDependency> buildDependencies) {
-        Set<DownloadableArtifact> downloadableArtifacts = new HashSet<>();
+        // Artifacts matched by several patterns are downloaded once
+        Map<List<Object>, DownloadableArtifact> downloadableArtifacts = new LinkedHashMap<>();
         verifySameSize(artifactsRequests, artifactsResponses);
 
         for (int i = 0; i < artifactsRequests.size(); i++) {
@@ -163,10 +196,11 @@ public class BuildDependenciesHelper {
                         final String repoUrl = patternArtifact.getArtifactoryUrl() + '/' + uri.substring(0,
                                 indexOfFirstSlash);
                         final String filePath = uri.substring(indexOfFirstSlash + 1);
-                        downloadableArtifacts.add(
-                                new DownloadableArtifact(repoUrl, buildDependencyPattern.getTargetDirectory(), filePath,
-                                        buildDependencyPattern.getMatrixParams(), buildDependencyPattern.getPattern(),
-                                        buildDependencyPattern.getPatternType()));
+                        DownloadableArtifact downloadableArtifact = new DownloadableArtifact(repoUrl,
+                                buildDependencyPattern.getTargetDirectory(), filePath,
+                                buildDependencyPattern.getMatrixParams(), buildDependencyPattern.getPattern(),
+                                buildDependencyPattern.getPatternType());
+                        downloadableArtifacts.putIfAbsent(ConcurrentPatternResolver.getKey(downloadableArtifact), downloadableArtifact);
                     }
 
                     if (!patternArtifacts.isEmpty()) {
@@ -182,7 +216,7 @@ public class BuildDependenciesHelper {
             }
         }
 
-        return downloadableArtifacts;
+        return new LinkedHashSet<>(downloadableArtifacts.values());
     }
 
     /**
@@ -0,0 +1,60 @@
+package org.jfrog.build.extractor.clientConfiguration.util;
+
+import org.jfrog.build.api.dependency.DownloadableArtifact;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the searches of the resolve pattern lines concurrently, with a bounded number of threads, and deduplicates the
+ * artifacts found by overlapping lines.
+ */
+class ConcurrentPatternResolver {
+    static final int DEFAULT_RESOLUTION_THREADS = 3;
+
+    private final int threads;
+    private final Map<List<Object>, DownloadableArtifact> artifacts = new ConcurrentHashMap<>();
+
+    ConcurrentPatternResolver(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * Run the given searches and return their results in the order of the searches.
+     *
+     * @param searches - The searches to run
+     * @return the search results
+     * @throws IOException if any of the searches failed
+     */
+    <T> List<T> invokeAll(List<Callable<T>> searches) throws IOException, InterruptedException {
+        return ExecutorFactory.invokeAll("pattern-resolver", threads, searches);
+    }
+
+    /**
+     * Add an artifact to download. Artifacts downloaded from the same URL with the same matrix parameters to the same
+     * location, with the same pattern type and explode option, are added once.
+     */
+    void addArtifact(DownloadableArtifact artifact) {
+        artifacts.putIfAbsent(getKey(artifact), artifact);
+    }
+
+    void addArtifacts(Collection<DownloadableArtifact> artifacts) {
+        artifacts.forEach(this::addArtifact);
+    }
+
+    Set<DownloadableArtifact> getArtifacts() {
+        return new HashSet<>(artifacts.values());
+    }
+
+    /**
+     * Returns the fields which determine what is downloaded and where. Artifacts are mutable, so they are compared by
+     * their key rather than by equals.
+     */
+    static List<Object> getKey(DownloadableArtifact artifact) {
+        return Arrays.asList(artifact.getRepoUrl(), artifact.getFilePath(), artifact.getMatrixParameters(),
+                artifact.getTargetDirPath(), artifact.getRelativeDirPath(), artifact.getPatternType(), artifact.isExplode());
+    }
+}
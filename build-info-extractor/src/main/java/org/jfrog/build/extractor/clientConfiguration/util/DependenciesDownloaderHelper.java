@@ -18,6 +18,7 @@ import org.jfrog.build.api.util.FileChecksumCalculator;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.api.util.ZipUtils;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
 import org.jfrog.filespecs.FileSpec;
 import org.jfrog.filespecs.entities.FilesGroup;
 
@@ -287,7 +288,7 @@ public class DependenciesDownloaderHelper {
 
             final String fileDestination = tempPath + i;
             downloadedFilesPaths[i] = fileDestination;
-            workers[i] = new Thread(() -> {
+            workers[i] = ExecutorFactory.newThread("downloader_" + i, () -> {
                 try {
                     downloader.getArtifactoryManager().downloadToFile(downloadPath, fileDestination, headers);
                 } catch (Exception e) {
@@ -295,7 +296,6 @@ public class DependenciesDownloaderHelper {
                     printErrorToLog(e, fileDestination, downloadPath);
                 }
             });
-            workers[i].setName("downloader_" + i);
             workers[i].start();
 
             start = end + 1;
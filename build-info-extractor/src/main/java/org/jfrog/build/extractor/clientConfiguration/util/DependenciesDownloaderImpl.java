@@ -4,7 +4,6 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.Dependency;
 import org.jfrog.build.api.dependency.DownloadableArtifact;
-import org.jfrog.build.api.util.CommonUtils;
 import org.jfrog.build.api.util.FileChecksumCalculator;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
@@ -13,9 +12,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.NoSuchAlgorithmException;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 import static org.jfrog.build.extractor.clientConfiguration.util.DependenciesDownloaderHelper.MD5_ALGORITHM_NAME;
 import static org.jfrog.build.extractor.clientConfiguration.util.DependenciesDownloaderHelper.SHA1_ALGORITHM_NAME;
@@ -92,23 +89,41 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
         }
     }
 
+    /**
+     * Delete the files which were not resolved from the directories of the files resolved with the DELETE pattern type.
+     * A file or directory is kept if it is resolved, or if it is a prefix of a resolved file path.
+     * The resolved files are indexed once in a sorted set, each directory is listed once, and a file is checked in
+     * O(log(resolved files)).
+     */
     @Override
     public void removeUnusedArtifactsFromLocal(Set<String> allResolvesFiles, Set<String> forDeletionFiles)
             throws IOException {
+        NavigableSet<String> resolvedFilesIndex = new TreeSet<>(allResolvesFiles);
+        Set<File> parentDirs = new LinkedHashSet<>();
         for (String resolvedFile : forDeletionFiles) {
-            File resolvedFileParent = org.apache.commons.io.FileUtils.getFile(resolvedFile).getParentFile();
-
-            File[] fileSiblings = resolvedFileParent.listFiles();
-            if (!(fileSiblings == null || fileSiblings.length == 0)) {
+            File parent = org.apache.commons.io.FileUtils.getFile(resolvedFile).getParentFile();
+            if (parent != null) {
+                parentDirs.add(parent);
+            }
+        }
 
-                for (File sibling : fileSiblings) {
-                    if (!isResolvedOrParentOfResolvedFile(allResolvesFiles, sibling.getPath())) {
-                        log.info("Deleted unresolved file '" + sibling.getPath() + "'");
-                        sibling.delete();
-                    }
+        List<File> unresolvedFiles = new ArrayList<>();
+        for (File parentDir : parentDirs) {
+            File[] fileSiblings = parentDir.listFiles();
+            if (fileSiblings == null) {
+                continue;
+            }
+            for (File sibling : fileSiblings) {
+                if (!isResolvedOrParentOfResolvedFile(resolvedFilesIndex, sibling.getPath())) {
+                    unresolvedFiles.add(sibling);
                 }
             }
         }
+
+        for (File unresolvedFile : unresolvedFiles) {
+            log.info("Deleted unresolved file '" + unresolvedFile.getPath() + "'");
+            unresolvedFile.delete();
+        }
     }
 
     @Override
@@ -116,8 +131,12 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
         this.flatDownload = flat;
     }
 
-    private boolean isResolvedOrParentOfResolvedFile(Set<String> resolvedFiles, final String path) {
-        return CommonUtils.isAnySatisfying(resolvedFiles,
-                filePath -> (StringUtils.equals(filePath, path) || StringUtils.startsWith(filePath, path)));
+    /**
+     * The paths starting with a prefix are a contiguous range of a sorted set, starting from the prefix itself.
+     * Therefore, a path is a prefix of a resolved file if the smallest resolved file greater or equal to it starts with it.
+     */
+    private boolean isResolvedOrParentOfResolvedFile(NavigableSet<String> resolvedFiles, final String path) {
+        String ceiling = resolvedFiles.ceiling(path);
+        return ceiling != null && ceiling.startsWith(path);
     }
-}
\ No newline at end of file
+}
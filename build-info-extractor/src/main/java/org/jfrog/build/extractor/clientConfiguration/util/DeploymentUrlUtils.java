@@ -16,25 +16,36 @@
 
 package org.jfrog.build.extractor.clientConfiguration.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
-import org.apache.commons.codec.net.URLCodec;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.util.CommonUtils;
 import org.jfrog.build.extractor.clientConfiguration.ClientProperties;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
-import static org.apache.commons.codec.binary.StringUtils.getBytesUtf8;
-import static org.apache.commons.codec.binary.StringUtils.newStringUsAscii;
-
 /**
  * @author Tomer C.
  */
 public abstract class DeploymentUrlUtils {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int MATRIX_PARAMS_CACHE_SIZE = 1000;
+
+    /**
+     * Encoded matrix params strings by properties. Multimaps of different implementations with the same entries are
+     * equal, so the cache is looked up by the properties of deploy details and keyed by an immutable copy of them.
+     */
+    private static final Cache<ListMultimap<String, String>, String> encodedMatrixParams = CacheBuilder.newBuilder()
+            .maximumSize(MATRIX_PARAMS_CACHE_SIZE)
+            .build();
 
     /**
      * Calculate the full Artifactory deployment URL which includes the matrix params appended to it. see {@link
@@ -59,32 +70,90 @@ public abstract class DeploymentUrlUtils {
         return deploymentUrl.toString();
     }
 
+    /**
+     * URL-encode the path segments of the given path, keeping the '/' separators and the matrix params (after the
+     * first ';') as is. Empty segments are removed. Spaces are encoded as %20.
+     *
+     * @param unescaped The path to encode
+     * @return the encoded path
+     */
     public static String encodePath(String unescaped) {
-        int index = unescaped.indexOf(";");
+        int index = unescaped.indexOf(';');
+        int pathEnd = index == -1 ? unescaped.length() : index;
 
-        String path = unescaped;
-        String matrixParams = null;
-        if (index != -1) {
-            path = unescaped.substring(0, index);
-            if (index == unescaped.length() - 1) {
-                matrixParams = "";
+        StringBuilder escaped = null;
+        boolean separator = false;
+        for (int i = 0; i < pathEnd; i++) {
+            char c = unescaped.charAt(i);
+            if (c == '/') {
+                separator = escaped != null && escaped.length() > 0;
+                continue;
+            }
+            if (escaped == null) {
+                escaped = new StringBuilder(unescaped.length() + 16);
+            }
+            if (separator) {
+                escaped.append('/');
+                separator = false;
+            }
+            if (isUnreserved(c)) {
+                escaped.append(c);
+            } else if (c < 0x80) {
+                appendEscaped(escaped, c);
             } else {
-                matrixParams = unescaped.substring(index + 1);
+                // Encode a sequence of non ASCII characters as UTF-8 bytes
+                int sequenceEnd = i + 1;
+                while (sequenceEnd < pathEnd && unescaped.charAt(sequenceEnd) >= 0x80) {
+                    sequenceEnd++;
+                }
+                for (byte b : unescaped.substring(i, sequenceEnd).getBytes(StandardCharsets.UTF_8)) {
+                    appendEscaped(escaped, b);
+                }
+                i = sequenceEnd - 1;
             }
         }
 
-        URLCodec codec = new URLCodec();
-        String[] split = StringUtils.split(path, "/");
-        for (int i = 0; i < split.length; i++) {
-            split[i] = newStringUsAscii(codec.encode(getBytesUtf8(split[i])));
-            // codec.encode replaces spaces with '+', but we want to escape them to %20.
-            split[i] = split[i].replaceAll("\\+", "%20");
+        String path = escaped == null ? "" : escaped.toString();
+        if (index != -1 && index < unescaped.length() - 1 && StringUtils.isNotBlank(unescaped.substring(index + 1))) {
+            return path + unescaped.substring(index);
+        }
+        return path;
+    }
+
+    /**
+     * Characters which are not encoded by the application/x-www-form-urlencoded encoding.
+     */
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                c == '-' || c == '_' || c == '.' || c == '*';
+    }
+
+    private static void appendEscaped(StringBuilder escaped, int b) {
+        escaped.append('%')
+                .append(HEX_DIGITS[(b >> 4) & 0xF])
+                .append(HEX_DIGITS[b & 0xF]);
+    }
+
+    /**
+     * Build the encoded matrix params string of properties which are shared by many deployments, such as the build
+     * name, number and VCS properties of the artifacts of a module.
+     * The encoded string is cached per distinct properties multimap, so the properties are encoded only once.
+     *
+     * @param matrixParams The properties to encode
+     * @return the encoded matrix params string
+     */
+    public static String buildEncodedMatrixParamsString(ArrayListMultimap<String, String> matrixParams)
+            throws UnsupportedEncodingException {
+        if (matrixParams == null || matrixParams.isEmpty()) {
+            return "";
         }
-        String escaped = StringUtils.join(split, "/");
-        if (StringUtils.isNotBlank(matrixParams)) {
-            escaped += ";" + matrixParams;
+        String matrix = encodedMatrixParams.getIfPresent(matrixParams);
+        if (matrix == null) {
+            matrix = buildMatrixParamsString(matrixParams, true);
+            // Cache an immutable copy, as the properties of deploy details may change after deployment
+            encodedMatrixParams.put(ImmutableListMultimap.copyOf(matrixParams), matrix);
         }
-        return escaped;
+        return matrix;
     }
 
     public static String buildMatrixParamsString(ArrayListMultimap<String, String> matrixParams, boolean encodeProperties)
@@ -3,6 +3,7 @@ package org.jfrog.build.extractor.clientConfiguration.util;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.Vcs;
 import org.jfrog.build.api.util.Log;
+import org.jfrog.build.extractor.git.PackedRefs;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -133,14 +134,10 @@ public class GitUtils {
             // Try to find .git/packed-refs and look for the HEAD there
             File pathToPackedRefs = new File(dotGit, "packed-refs");
             if (pathToPackedRefs.exists()) {
-                try (BufferedReader br = new BufferedReader(new FileReader(pathToPackedRefs))) {
-                    String line;
-                    while ((line = br.readLine()) != null) {
-                        if (line.endsWith(revisionOrRef.ref)) {
-                            String[] split = line.split("\\s+");
-                            return split[0];
-                        }
-                    }
+                String revision = new PackedRefs(pathToPackedRefs).get(revisionOrRef.ref);
+                if (revision != null) {
+                    log.debug("Fetched revision from git packed-refs: " + revision);
+                    return revision;
                 }
             }
         }
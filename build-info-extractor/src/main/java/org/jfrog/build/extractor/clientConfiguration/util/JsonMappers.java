@@ -0,0 +1,110 @@
+package org.jfrog.build.extractor.clientConfiguration.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.jfrog.build.api.Build;
+import org.jfrog.build.api.Module;
+import org.jfrog.build.api.search.AqlSearchResult;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.jfrog.build.extractor.BuildInfoExtractorUtils.createMapper;
+
+/**
+ * Process-wide registry of shared Jackson mappers, readers and writers.
+ * Jackson mappers, readers and writers are thread-safe once configured. Sharing them saves the creation of a mapper
+ * per service call or per serialization, and keeps their serializer and deserializer caches warm.
+ * The mapper returned by {@link #getMapper()} must not be reconfigured - use
+ * {@link org.jfrog.build.extractor.BuildInfoExtractorUtils#createMapper()} for a mapper with a custom configuration.
+ */
+public class JsonMappers {
+    private static final ObjectMapper mapper = createMapper();
+    private static final ObjectWriter prettyWriter = mapper.writerWithDefaultPrettyPrinter();
+    private static final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final Map<JavaType, ObjectWriter> prettyWriters = new ConcurrentHashMap<>();
+
+    static {
+        // Pre-build the readers and writers of the types serialized on the hot paths.
+        getReader(AqlSearchResult.class);
+        getReader(ArtifactoryUploadResponse.class);
+        getReader(Build.class);
+        getReader(Module.class);
+        getPrettyWriter(Build.class);
+        getPrettyWriter(Module.class);
+    }
+
+    /**
+     * Returns the shared mapper. This mapper ignores unknown properties and null values.
+     *
+     * @return the shared mapper
+     */
+    public static ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Returns the factory of the shared mapper, for creating streaming parsers and generators.
+     *
+     * @return the shared json factory
+     */
+    public static JsonFactory getFactory() {
+        return mapper.getFactory();
+    }
+
+    /**
+     * Returns a shared reader of the given type.
+     *
+     * @param type - The type to read
+     * @return a reader of the type
+     */
+    public static ObjectReader getReader(Type type) {
+        return getReader(mapper.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * Returns a shared reader of the given generic type.
+     *
+     * @param typeReference - The type to read
+     * @return a reader of the type
+     */
+    public static ObjectReader getReader(TypeReference<?> typeReference) {
+        return getReader(mapper.getTypeFactory().constructType(typeReference));
+    }
+
+    /**
+     * Returns a shared reader of the given type.
+     *
+     * @param type - The type to read
+     * @return a reader of the type
+     */
+    public static ObjectReader getReader(JavaType type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * Returns a shared writer, that pretty prints objects of any type.
+     *
+     * @return a pretty printing writer
+     */
+    public static ObjectWriter getPrettyWriter() {
+        return prettyWriter;
+    }
+
+    /**
+     * Returns a shared writer, that pretty prints objects of the given type.
+     *
+     * @param type - The type to write
+     * @return a pretty printing writer of the type
+     */
+    public static ObjectWriter getPrettyWriter(Class<?> type) {
+        return prettyWriters.computeIfAbsent(mapper.getTypeFactory().constructType(type),
+                javaType -> mapper.writerFor(javaType).withDefaultPrettyPrinter());
+    }
+}
@@ -1,37 +1,32 @@
 package org.jfrog.build.extractor.clientConfiguration.util;
 
 import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 
 import static org.jfrog.build.extractor.BuildInfoExtractorUtils.createMapper;
 
 public class JsonUtils {
     public static String toJsonString(Object object) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-        StringWriter writer = new StringWriter();
-        JsonGenerator jsonGenerator = jsonFactory.createJsonGenerator(writer);
-        jsonGenerator.useDefaultPrettyPrinter();
-        jsonGenerator.writeObject(object);
-        return writer.getBuffer().toString();
+        return JsonMappers.getPrettyWriter().writeValueAsString(object);
     }
 
     public static JsonParser createJsonParser(InputStream in) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-        return jsonFactory.createParser(in);
+        return JsonMappers.getFactory().createParser(in);
     }
 
     public static JsonParser createJsonParser(String content) throws IOException {
-        JsonFactory jsonFactory = createJsonFactory();
-        return jsonFactory.createParser(content);
+        return JsonMappers.getFactory().createParser(content);
     }
 
+    /**
+     * Create a new json factory, with a new codec. Callers may reconfigure the factory and its codec, so they are not
+     * shared - use {@link JsonMappers#getFactory()} for the shared factory.
+     */
     public static JsonFactory createJsonFactory() {
         JsonFactory jsonFactory = new JsonFactory();
         ObjectMapper mapper = createMapper();
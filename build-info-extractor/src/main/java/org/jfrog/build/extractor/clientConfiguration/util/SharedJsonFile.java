@@ -0,0 +1,91 @@
+package org.jfrog.build.extractor.clientConfiguration.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * A json file shared by concurrent builds on the same machine, such as a local cache or index.
+ * The file is always replaced in one step, so readers never see a partially written file. Updates read, change and
+ * replace the file under an exclusive lock of a sibling '.lock' file, so concurrent updates are not lost.
+ *
+ * @param <T> the type of the file content
+ */
+public class SharedJsonFile<T> {
+    private static final ObjectMapper objectMapper = JsonMappers.getMapper();
+
+    private final Path file;
+    private final Class<T> type;
+
+    public SharedJsonFile(Path file, Class<T> type) {
+        this.file = file;
+        this.type = type;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the content of the file, or null if the file doesn't exist.
+     * @throws JsonProcessingException if the file is corrupted.
+     */
+    public T read() throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        return objectMapper.readValue(file.toFile(), type);
+    }
+
+    /**
+     * Replace the content of the file.
+     *
+     * @param content - The new content.
+     */
+    public void write(T content) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            objectMapper.writeValue(tempFile.toFile(), content);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Update the file under the file lock. Builds running in other processes may have changed the file since it was
+     * last read, so the changes should be merged into the current content.
+     *
+     * @param updater - Returns the new content, given the current content. The current content is null if the file
+     *                doesn't exist or is corrupted.
+     */
+    public void update(UnaryOperator<T> updater) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                T current;
+                try {
+                    current = read();
+                } catch (JsonProcessingException e) {
+                    current = null;
+                }
+                write(updater.apply(current));
+            } finally {
+                lock.release();
+            }
+        }
+    }
+}
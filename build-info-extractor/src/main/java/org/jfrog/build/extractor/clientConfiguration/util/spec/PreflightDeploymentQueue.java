@@ -0,0 +1,56 @@
+package org.jfrog.build.extractor.clientConfiguration.util.spec;
+
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.ChecksumPreflight;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.producerConsumer.ProducerConsumerExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queues the DeployDetails created by the spec producers for deployment.
+ * If the checksum pre-flight or the deploy ledger of the Artifactory manager are enabled, the DeployDetails are queued
+ * in batches, after the checksums of each batch are searched with a single AQL query.
+ */
+class PreflightDeploymentQueue {
+    private final List<DeployDetails> batch = new ArrayList<>();
+    private final ProducerConsumerExecutor executor;
+    private final ArtifactoryManager artifactoryManager;
+    private final int batchSize;
+
+    PreflightDeploymentQueue(ProducerConsumerExecutor executor, ArtifactoryManager artifactoryManager) {
+        this(executor, artifactoryManager, ChecksumPreflight.DEFAULT_AQL_BULK_SIZE);
+    }
+
+    PreflightDeploymentQueue(ProducerConsumerExecutor executor, ArtifactoryManager artifactoryManager, int batchSize) {
+        this.executor = executor;
+        this.artifactoryManager = artifactoryManager;
+        this.batchSize = batchSize;
+    }
+
+    void put(DeployDetails deployDetails) throws InterruptedException {
+        if (artifactoryManager == null || (artifactoryManager.getChecksumPreflight() == null && artifactoryManager.getDeployLedger() == null)) {
+            executor.put(deployDetails);
+            return;
+        }
+        batch.add(deployDetails);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Search the checksums of the pending DeployDetails, and queue them for deployment.
+     */
+    void flush() throws InterruptedException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        artifactoryManager.preflightChecksums(batch);
+        for (DeployDetails deployDetails : batch) {
+            executor.put(deployDetails);
+        }
+        batch.clear();
+    }
+}
@@ -53,9 +53,21 @@ public class SingleSpecDeploymentProducer {
      * Executes a single FileSpec.
      * Find all files matching the spec, create and publish its DeployDetails.
      * @param deploymentSet Set containing the DeployDetails to deploy
+     * @param executor      The executor to put the DeployDetails in
      */
     public void executeSpec(Set<DeployDetails> deploymentSet, ProducerConsumerExecutor executor)
             throws IOException, NoSuchAlgorithmException, InterruptedException {
+        executeSpec(deploymentSet, new PreflightDeploymentQueue(executor, null));
+    }
+
+    /**
+     * Executes a single FileSpec.
+     * Find all files matching the spec, create its DeployDetails and queue them for deployment.
+     * @param deploymentSet   Set containing the DeployDetails to deploy
+     * @param deploymentQueue The queue to put the DeployDetails in
+     */
+    void executeSpec(Set<DeployDetails> deploymentSet, PreflightDeploymentQueue deploymentQueue)
+            throws IOException, NoSuchAlgorithmException, InterruptedException {
         init();
         File[] filesToScan = new File(baseDir).listFiles();
         if (filesToScan == null) {
@@ -69,17 +81,17 @@ public class SingleSpecDeploymentProducer {
             }
 
             if (file.isFile()) {
-                processDeployCandidate(file, deploymentSet, executor);
+                processDeployCandidate(file, deploymentSet, deploymentQueue);
                 continue;
             }
             if (isRecursive) {
-                collectFiles(file.getAbsolutePath(), -1, deploymentSet, executor);
+                collectFiles(file.getAbsolutePath(), -1, deploymentSet, deploymentQueue);
                 continue;
             }
             if (!isRegexp) {
                 // In case of not recursive wildcard pattern we can stop scanning in certain depth.
                 // This depth is when the number of slashes in the path and base directory with pattern are equal.
-                collectFiles(file.getAbsolutePath(), separatorsCount, deploymentSet, executor);
+                collectFiles(file.getAbsolutePath(), separatorsCount, deploymentSet, deploymentQueue);
             }
         }
     }
@@ -140,7 +152,7 @@ public class SingleSpecDeploymentProducer {
      * @param depth level of folders to search in
      * @param deploymentSet Set containing the DeployDetails to deploy
      */
-    private void collectFiles(String dir, int depth, Set<DeployDetails> deploymentSet, ProducerConsumerExecutor executor)
+    private void collectFiles(String dir, int depth, Set<DeployDetails> deploymentSet, PreflightDeploymentQueue deploymentQueue)
             throws IOException, NoSuchAlgorithmException, InterruptedException {
         List<String> foldersToScan = new LinkedList<>();
         foldersToScan.add(dir);
@@ -186,7 +198,7 @@ public class SingleSpecDeploymentProducer {
                 // File can be candidate only if it in the correct depth or if the spec is recursive (depth == -1)
                 if (depth == -1 || StringUtils.countMatches(entry.getPath(), File.separator) == depth) {
                     // Send this path for further process
-                    processDeployCandidate(entry, deploymentSet, executor);
+                    processDeployCandidate(entry, deploymentSet, deploymentQueue);
                 }
             }
         }
@@ -194,11 +206,11 @@ public class SingleSpecDeploymentProducer {
 
     /**
      * Receives a candidate file to upload, creates DeployDetails for the file in case should upload it.
-     * Adds the DeployDetails to the BlockingQueue.
+     * Adds the DeployDetails to the deployment queue.
      * @param file upload candidate
      * @param deploymentSet Set containing the DeployDetails to deploy
      */
-    private void processDeployCandidate(File file, Set<DeployDetails> deploymentSet, ProducerConsumerExecutor executor)
+    private void processDeployCandidate(File file, Set<DeployDetails> deploymentSet, PreflightDeploymentQueue deploymentQueue)
             throws IOException, NoSuchAlgorithmException, InterruptedException {
         String filePath = file.getAbsolutePath().replace("\\", "/");
 
@@ -217,7 +229,7 @@ public class SingleSpecDeploymentProducer {
         // Add the created DeploymentDetails if artifact hasn't been added for deployment yet
         if (deploymentSet.add(deployDetails)) {
             validateUploadLimit(deploymentSet.size());
-            executor.put(deployDetails);
+            deploymentQueue.put(deployDetails);
         }
     }
 
@@ -1,6 +1,7 @@
 package org.jfrog.build.extractor.clientConfiguration.util.spec;
 
 import com.google.common.collect.Multimap;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
 import org.jfrog.build.extractor.producerConsumer.ProducerRunnableBase;
 import org.jfrog.filespecs.FileSpec;
@@ -25,16 +26,23 @@ public class SpecDeploymentProducer extends ProducerRunnableBase {
     private FileSpec spec;
     private File workspace;
     private Multimap<String, String> buildProperties;
+    private ArtifactoryManager artifactoryManager;
 
-    SpecDeploymentProducer(FileSpec spec, File workspace, Multimap<String, String> buildProperties) {
+    /**
+     * @param artifactoryManager - The Artifactory manager to search the checksums of the files with, if its checksum
+     *                           pre-flight is enabled. May be null.
+     */
+    SpecDeploymentProducer(FileSpec spec, File workspace, Multimap<String, String> buildProperties, ArtifactoryManager artifactoryManager) {
         this.spec = spec;
         this.workspace = workspace;
         this.buildProperties = buildProperties;
+        this.artifactoryManager = artifactoryManager;
     }
 
     @Override
     public void producerRun() throws InterruptedException {
         log.debug(String.format("[Thread %s] starting run()", Thread.currentThread().getName()));
+        PreflightDeploymentQueue deploymentQueue = new PreflightDeploymentQueue(executor, artifactoryManager);
         try {
             // Iterate over FileSpecs
             for (FilesGroup uploadFile : spec.getFiles()) {
@@ -46,8 +54,9 @@ public class SpecDeploymentProducer extends ProducerRunnableBase {
 
                 // Execute FileSpec
                 SingleSpecDeploymentProducer fileSpecProducer = new SingleSpecDeploymentProducer(uploadFile, workspace, buildProperties);
-                fileSpecProducer.executeSpec(deployDetailsSet, executor);
+                fileSpecProducer.executeSpec(deployDetailsSet, deploymentQueue);
             }
+            deploymentQueue.flush();
         } catch (InterruptedException e) {
             throw e;
         } catch (Exception e) {
@@ -85,7 +85,7 @@ public class SpecsHelper {
 
         try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
             // Create producer Runnable
-            ProducerRunnableBase[] producerRunnable = new ProducerRunnableBase[]{new SpecDeploymentProducer(fileSpec, workspace, buildProperties)};
+            ProducerRunnableBase[] producerRunnable = new ProducerRunnableBase[]{new SpecDeploymentProducer(fileSpec, workspace, buildProperties, artifactoryManager)};
             // Create consumer Runnables
             ConsumerRunnableBase[] consumerRunnables = new ConsumerRunnableBase[numberOfThreads];
             for (int i = 0; i < numberOfThreads; i++) {
@@ -93,13 +93,29 @@ public class SpecsHelper {
             }
             // Create the deployment executor
             ProducerConsumerExecutor deploymentExecutor = new ProducerConsumerExecutor(log, producerRunnable, consumerRunnables, CONNECTION_POOL_SIZE);
+            deploymentExecutor.setMetrics(artifactoryManager.getMetrics());
 
-            deploymentExecutor.start();
+            try {
+                deploymentExecutor.start();
+            } finally {
+                reportMetrics(artifactoryManager);
+            }
             Set<DeployDetails> deployedArtifacts = ((SpecDeploymentProducer) producerRunnable[0]).getDeployedArtifacts();
             return convertDeployDetailsToArtifacts(deployedArtifacts);
         }
     }
 
+    /**
+     * Report the client metrics, also of failed uploads. A failure to report doesn't fail the upload.
+     */
+    private void reportMetrics(ArtifactoryManager artifactoryManager) {
+        try {
+            artifactoryManager.getMetrics().report(log);
+        } catch (IOException e) {
+            log.warn("Failed writing the Artifactory client metrics: " + e.getMessage());
+        }
+    }
+
     private List<Artifact> convertDeployDetailsToArtifacts(Set<DeployDetails> details) {
         List<Artifact> result = new ArrayList<>();
         for (DeployDetails detail : details) {
@@ -10,8 +10,8 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static java.lang.String.format;
 import static java.lang.String.join;
@@ -116,15 +116,33 @@ public class CommandExecutor implements Serializable {
      * @return CommandResults object
      */
     public CommandResults exeCommand(File execDir, List<String> args, List<String> credentials, Log logger) throws InterruptedException, IOException {
+        return exeCommand(execDir, args, credentials, logger, null);
+    }
+
+    /**
+     * Execute a command in external process, and pass the lines of the standard output to a consumer while the
+     * process is running.
+     *
+     * @param execDir            - The execution dir (Usually path to project). Null means current directory.
+     * @param args               - Command arguments.
+     * @param credentials        - If specified, the credentials will be concatenated to the other commands.
+     *                           The credentials will be makes in the log output.
+     * @param logger             - The logger which will log the running command.
+     * @param outputLineConsumer - Consumer of the lines of the standard output, without the line separators.
+     *                           Null to only collect the output.
+     * @return CommandResults object
+     */
+    public CommandResults exeCommand(File execDir, List<String> args, List<String> credentials, Log logger,
+                                     Consumer<String> outputLineConsumer) throws InterruptedException, IOException {
         args.add(0, executablePath);
-        ExecutorService service = Executors.newFixedThreadPool(2);
+        ExecutorService service = ExecutorFactory.newExecutor("command-output", 2);
         try {
             Process process = runProcess(execDir, args, credentials, env, logger);
             // The output stream is not necessary in non-interactive scenarios, therefore we can close it now.
             process.getOutputStream().close();
             try (InputStream inputStream = process.getInputStream();
                  InputStream errorStream = process.getErrorStream()) {
-                StreamReader inputStreamReader = new StreamReader(inputStream);
+                StreamReader inputStreamReader = new StreamReader(inputStream, outputLineConsumer);
                 StreamReader errorStreamReader = new StreamReader(errorStream);
                 service.submit(inputStreamReader);
                 service.submit(errorStreamReader);
@@ -134,7 +152,7 @@ public class CommandExecutor implements Serializable {
                 return getCommandResults(terminatedProperly, args, inputStreamReader.getOutput(), errorStreamReader.getOutput(), process.exitValue());
             }
         } finally {
-            service.shutdownNow();
+            ExecutorFactory.shutdown(service);
         }
     }
 
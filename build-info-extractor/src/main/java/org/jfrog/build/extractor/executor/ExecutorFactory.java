@@ -0,0 +1,230 @@
+package org.jfrog.build.extractor.executor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads and executors of the blocking I/O work of the extractors - uploads, downloads, searches and
+ * external processes.
+ * On Java 21+ the work runs on virtual threads, and the number of concurrent tasks is limited by a semaphore instead of
+ * by the size of a pool. On older Java versions, the work runs on platform threads of fixed size pools.
+ * The virtual threads are looked up at runtime, so the library keeps running on Java 8.
+ * Set the "org.jfrog.build.virtualThreads" system property to false to use platform threads on Java 21+ as well.
+ */
+public class ExecutorFactory {
+    public static final String VIRTUAL_THREADS_PROPERTY = "org.jfrog.build.virtualThreads";
+    private static final Method OF_VIRTUAL = getOfVirtual();
+
+    /**
+     * Returns true if the I/O work runs on virtual threads.
+     */
+    public static boolean isVirtualThreads() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create an executor of blocking I/O tasks. Shut it down with {@link #shutdown(ExecutorService)} when done.
+     *
+     * @param name        - Prefix of the thread names
+     * @param concurrency - Maximum number of tasks running concurrently
+     * @return the executor
+     */
+    public static ExecutorService newExecutor(String name, int concurrency) {
+        concurrency = Math.max(concurrency, 1);
+        ThreadFactory virtualThreadFactory = newVirtualThreadFactory(name);
+        if (virtualThreadFactory == null) {
+            return Executors.newFixedThreadPool(concurrency, newPlatformThreadFactory(name));
+        }
+        // A new virtual thread per task. The tasks wait for a permit before running
+        ExecutorService threadPerTask = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), virtualThreadFactory);
+        return new LimitedExecutorService(threadPerTask, concurrency);
+    }
+
+    /**
+     * Create an unstarted thread of blocking I/O work.
+     *
+     * @param name     - The thread name
+     * @param runnable - The work
+     * @return the thread
+     */
+    public static Thread newThread(String name, Runnable runnable) {
+        ThreadFactory virtualThreadFactory = newVirtualThreadFactory(name);
+        if (virtualThreadFactory == null) {
+            return new Thread(runnable, name);
+        }
+        Thread thread = virtualThreadFactory.newThread(runnable);
+        thread.setName(name);
+        return thread;
+    }
+
+    /**
+     * Shut down the executor, interrupt its running tasks and cancel the tasks that did not start, so no caller waits
+     * on them forever.
+     *
+     * @param executor - The executor to shut down. May be null.
+     */
+    public static void shutdown(ExecutorService executor) {
+        if (executor == null) {
+            return;
+        }
+        for (Runnable task : executor.shutdownNow()) {
+            if (task instanceof Future) {
+                ((Future<?>) task).cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Run the tasks concurrently and return their results in the order of the tasks. A single task, or tasks with a
+     * concurrency of 1, run in the calling thread.
+     *
+     * @param name        - Prefix of the thread names
+     * @param concurrency - Maximum number of tasks running concurrently
+     * @param tasks       - The tasks to run
+     * @return the task results
+     * @throws IOException if any of the tasks failed
+     */
+    public static <T> List<T> invokeAll(String name, int concurrency, List<? extends Callable<T>> tasks) throws IOException, InterruptedException {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() <= 1 || concurrency <= 1) {
+            for (Callable<T> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+        ExecutorService executor = newExecutor(name, Math.min(concurrency, tasks.size()));
+        try {
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(getResult(future));
+            }
+            return results;
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    private static <T> T call(Callable<T> task) throws IOException {
+        try {
+            return task.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static <T> T getResult(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static ThreadFactory newPlatformThreadFactory(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+    }
+
+    /**
+     * Returns a factory of virtual threads, or null if not available.
+     */
+    private static ThreadFactory newVirtualThreadFactory(String name) {
+        if (OF_VIRTUAL == null) {
+            return null;
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Method getOfVirtual() {
+        if (!Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"))) {
+            return null;
+        }
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            // Virtual threads are a preview feature before Java 21, and may be disabled
+            ofVirtual.invoke(null);
+            return ofVirtual;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Executor, which runs at most a limited number of tasks of the underlying executor concurrently.
+     */
+    private static class LimitedExecutorService extends AbstractExecutorService {
+        private final ExecutorService executor;
+        private final Semaphore permits;
+
+        private LimitedExecutorService(ExecutorService executor, int concurrency) {
+            this.executor = executor;
+            // Fair, so the tasks run in the order of submission
+            this.permits = new Semaphore(concurrency, true);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // Interrupted by shutdownNow before running
+                    if (command instanceof Future) {
+                        ((Future<?>) command).cancel(false);
+                    }
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executor.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -1,33 +1,74 @@
 package org.jfrog.build.extractor.executor;
 
-import org.apache.commons.io.IOUtils;
-
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 
 /**
  * @author Yahav Itzhak
  */
 public class StreamReader implements Runnable {
+    private static final int BUFFER_SIZE = 8192;
 
     private InputStream inputStream;
+    private Consumer<String> lineConsumer;
     private String output;
 
     StreamReader(InputStream inputStream) {
+        this(inputStream, null);
+    }
+
+    /**
+     * @param inputStream  - The stream to read
+     * @param lineConsumer - Consumer of the lines of the stream, passed as soon as they are read. May be null.
+     */
+    StreamReader(InputStream inputStream, Consumer<String> lineConsumer) {
         this.inputStream = inputStream;
+        this.lineConsumer = lineConsumer;
     }
 
     @Override
     public void run() {
-        try {
-            output = IOUtils.toString(inputStream, StandardCharsets.UTF_8.name());
+        StringBuilder result = new StringBuilder();
+        StringBuilder line = new StringBuilder();
+        char[] buffer = new char[BUFFER_SIZE];
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                result.append(buffer, 0, read);
+                if (lineConsumer != null) {
+                    consumeLines(buffer, read, line);
+                }
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        if (lineConsumer != null && line.length() > 0) {
+            lineConsumer.accept(line.toString());
+        }
+        output = result.toString();
+    }
+
+    private void consumeLines(char[] buffer, int length, StringBuilder line) {
+        for (int i = 0; i < length; i++) {
+            char c = buffer[i];
+            if (c == '\n') {
+                int end = line.length();
+                if (end > 0 && line.charAt(end - 1) == '\r') {
+                    line.setLength(end - 1);
+                }
+                lineConsumer.accept(line.toString());
+                line.setLength(0);
+            } else {
+                line.append(c);
+            }
+        }
     }
 
     String getOutput() {
         return this.output;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package org.jfrog.build.extractor.git;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A parsed git commit - The fields needed to walk the history and to print the subjects of the commits.
+ */
+class GitCommit {
+    private final String id;
+    private final List<String> parents;
+    private final long commitTime;
+    private final String message;
+
+    private GitCommit(String id, List<String> parents, long commitTime, String message) {
+        this.id = id;
+        this.parents = parents;
+        this.commitTime = commitTime;
+        this.message = message;
+    }
+
+    static GitCommit parse(String id, byte[] data) {
+        List<String> parents = new ArrayList<>();
+        long commitTime = 0;
+        Charset encoding = StandardCharsets.UTF_8;
+        int position = 0;
+        while (position < data.length && data[position] != '\n') {
+            int lineEnd = indexOf(data, (byte) '\n', position);
+            String line = new String(data, position, lineEnd - position, StandardCharsets.UTF_8);
+            if (line.startsWith("parent ")) {
+                parents.add(line.substring("parent ".length()).trim());
+            } else if (line.startsWith("committer ")) {
+                commitTime = parseTime(line);
+            } else if (line.startsWith("encoding ")) {
+                encoding = getCharset(line.substring("encoding ".length()).trim());
+            }
+            position = lineEnd + 1;
+        }
+        int messageStart = Math.min(position + 1, data.length);
+        String message = new String(data, messageStart, data.length - messageStart, encoding);
+        return new GitCommit(id, Collections.unmodifiableList(parents), commitTime, message);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    List<String> getParents() {
+        return parents;
+    }
+
+    /**
+     * @return the committer time, in seconds since the epoch
+     */
+    long getCommitTime() {
+        return commitTime;
+    }
+
+    /**
+     * Returns the subject of the commit, like the %s placeholder of git log - The first paragraph of the message,
+     * with its lines joined by spaces.
+     */
+    String getSubject() {
+        StringBuilder subject = new StringBuilder();
+        boolean started = false;
+        for (String line : message.split("\n", -1)) {
+            String trimmed = rtrim(line);
+            if (trimmed.isEmpty()) {
+                if (started) {
+                    break;
+                }
+                continue;
+            }
+            if (started) {
+                subject.append(' ');
+            }
+            subject.append(trimmed);
+            started = true;
+        }
+        return subject.toString();
+    }
+
+    private static long parseTime(String committerLine) {
+        // committer Name <email> 1600000000 +0300
+        String[] tokens = committerLine.substring(committerLine.lastIndexOf('>') + 1).trim().split("\\s+");
+        try {
+            return Long.parseLong(tokens[0]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Charset getCharset(String name) {
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static String rtrim(String line) {
+        int end = line.length();
+        while (end > 0 && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    private static int indexOf(byte[] data, byte value, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return data.length;
+    }
+}
@@ -0,0 +1,22 @@
+package org.jfrog.build.extractor.git;
+
+/**
+ * The type and the content of a git object.
+ */
+class GitObject {
+    private final int type;
+    private final byte[] data;
+
+    GitObject(int type, byte[] data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    int getType() {
+        return type;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+}
@@ -0,0 +1,483 @@
+package org.jfrog.build.extractor.git;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read-only git repository reader, which does not depend on the git client.
+ * Reads the loose refs, the packed refs, the loose objects and the objects of the packfiles, and walks the commits
+ * history like git log.
+ * Repositories in formats which are not supported fail with {@link UnsupportedRepositoryException}, so the callers can
+ * fall back to the git client:
+ * SHA-256 object format, reftable refs, partial clones, alternate object directories, shallow clones, grafts and
+ * replace refs.
+ * The packfiles stay open until the repository is closed.
+ */
+public class GitRepository implements Closeable {
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{40}");
+    private static final String SYMBOLIC_REF_PREFIX = "ref:";
+    private static final int MAX_SYMBOLIC_REF_DEPTH = 5;
+    // Commits walked after all the remaining commits became uninteresting, for commits with skewed dates, like git
+    private static final int SLOP = 5;
+
+    private final File gitDir;
+    private final File commonDir;
+    private List<PackFile> packFiles;
+    private PackedRefs packedRefs;
+
+    /**
+     * @param gitDir - The .git directory
+     * @throws UnsupportedRepositoryException if the repository format is not supported
+     */
+    public GitRepository(File gitDir) throws IOException {
+        this.gitDir = gitDir;
+        File commonDirFile = new File(gitDir, "commondir");
+        // Worktrees keep their refs and objects in the common directory of the repository
+        commonDir = commonDirFile.isFile() ? resolvePath(gitDir, readFirstLine(commonDirFile)) : gitDir;
+        verifySupportedFormat();
+    }
+
+    /**
+     * Open the git repository of a working directory.
+     *
+     * @param workingDir - The working directory, or the .git directory
+     * @return the repository
+     * @throws IOException if the working directory is not in a git repository
+     */
+    public static GitRepository open(File workingDir) throws IOException {
+        File gitDir = findGitDir(workingDir);
+        if (gitDir == null || !gitDir.isDirectory()) {
+            throw new IOException("Could not find the .git directory of " + workingDir);
+        }
+        return new GitRepository(gitDir);
+    }
+
+    /**
+     * Find the .git directory of a working directory - The working directory itself if it is a .git directory, or
+     * the .git of the working directory or of one of its parents.
+     * A .git file, of a submodule or a worktree, is followed to the .git directory it references.
+     *
+     * @param workingDir - The working directory
+     * @return the .git directory, or null if not found
+     */
+    public static File findGitDir(File workingDir) throws IOException {
+        for (File dir = workingDir.getAbsoluteFile(); dir != null; dir = dir.getParentFile()) {
+            if (isGitDir(dir)) {
+                return dir;
+            }
+            File dotGit = new File(dir, ".git");
+            if (dotGit.isDirectory()) {
+                return dotGit;
+            }
+            if (dotGit.isFile()) {
+                String line = readFirstLine(dotGit);
+                if (!line.startsWith("gitdir:")) {
+                    throw new IOException("Failed to parse the .git file: " + dotGit);
+                }
+                return resolvePath(dir, line.substring("gitdir:".length()).trim());
+            }
+        }
+        return null;
+    }
+
+    public File getGitDir() {
+        return gitDir;
+    }
+
+    /**
+     * Resolve a revision to an object id.
+     *
+     * @param revision - HEAD, a full ref name or an object id
+     * @return the object id, or null if the ref does not exist
+     */
+    public String resolve(String revision) throws IOException {
+        if (OBJECT_ID.matcher(revision).matches()) {
+            return revision.toLowerCase();
+        }
+        String ref = revision;
+        for (int depth = 0; depth < MAX_SYMBOLIC_REF_DEPTH; depth++) {
+            String value = readLooseRef(ref);
+            if (value == null) {
+                PackedRefs refs = getPackedRefs();
+                return refs == null ? null : refs.get(ref);
+            }
+            if (!value.startsWith(SYMBOLIC_REF_PREFIX)) {
+                return OBJECT_ID.matcher(value).matches() ? value.toLowerCase() : null;
+            }
+            ref = value.substring(SYMBOLIC_REF_PREFIX.length()).trim();
+        }
+        throw new IOException("Too many levels of symbolic refs: " + revision);
+    }
+
+    /**
+     * @param objectId - A full object id
+     * @return true if the repository contains the object
+     */
+    public boolean hasObject(String objectId) throws IOException {
+        if (!OBJECT_ID.matcher(objectId).matches()) {
+            throw new UnsupportedRepositoryException("Not a full object id: " + objectId);
+        }
+        objectId = objectId.toLowerCase();
+        if (getLooseObjectFile(objectId).isFile()) {
+            return true;
+        }
+        byte[] id = fromHex(objectId);
+        for (PackFile packFile : getPackFiles()) {
+            if (packFile.findOffset(id) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the subjects of the commits reachable from HEAD, and not reachable from the since revision, in the
+     * default order of git log - Newest commit first.
+     * The same as 'git log --pretty=format:%s -{limit} {sinceRevision}..'.
+     *
+     * @param sinceRevision - The object id of the commit to log the commits since. Empty or null to log from the
+     *                      first commit.
+     * @param limit         - Maximum number of subjects
+     * @return the subjects of the commits
+     */
+    public List<String> getLogSubjects(String sinceRevision, int limit) throws IOException {
+        if (new File(commonDir, "shallow").exists() || new File(commonDir, "info/grafts").exists()) {
+            throw new UnsupportedRepositoryException("Shallow and grafted repositories are not supported");
+        }
+        String[] replaceRefs = new File(commonDir, "refs/replace").list();
+        if (replaceRefs != null && replaceRefs.length > 0) {
+            throw new UnsupportedRepositoryException("Replace refs are not supported");
+        }
+        String head = resolve("HEAD");
+        if (head == null) {
+            // No commits yet
+            return Collections.emptyList();
+        }
+        return new CommitsWalk(head, StringUtils.isEmpty(sinceRevision) ? null : resolve(sinceRevision)).walk(limit);
+    }
+
+    /**
+     * Read an object, loose or packed.
+     *
+     * @param objectId - The object id
+     * @return the object, or null if not found
+     */
+    GitObject readObject(String objectId) throws IOException {
+        File looseObject = getLooseObjectFile(objectId);
+        if (looseObject.isFile()) {
+            return readLooseObject(looseObject);
+        }
+        byte[] id = fromHex(objectId);
+        for (PackFile packFile : getPackFiles()) {
+            long offset = packFile.findOffset(id);
+            if (offset >= 0) {
+                return packFile.read(offset, this);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read a commit. Annotated tags are peeled to their commits.
+     */
+    GitCommit readCommit(String objectId) throws IOException {
+        for (int depth = 0; depth < MAX_SYMBOLIC_REF_DEPTH; depth++) {
+            GitObject object = readObject(objectId);
+            if (object == null) {
+                throw new IOException("Missing object " + objectId + " in " + gitDir);
+            }
+            if (object.getType() == PackFile.OBJ_COMMIT) {
+                return GitCommit.parse(objectId, object.getData());
+            }
+            if (object.getType() != PackFile.OBJ_TAG) {
+                throw new IOException("Object " + objectId + " is not a commit");
+            }
+            String tag = new String(object.getData(), StandardCharsets.UTF_8);
+            objectId = StringUtils.substringBefore(StringUtils.substringAfter(tag, "object "), "\n").trim();
+        }
+        throw new IOException("Too many levels of tags: " + objectId);
+    }
+
+    private GitObject readLooseObject(File file) throws IOException {
+        byte[] content;
+        try (InputStream inputStream = new InflaterInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            content = IOUtils.toByteArray(inputStream);
+        }
+        int headerEnd = 0;
+        while (headerEnd < content.length && content[headerEnd] != 0) {
+            headerEnd++;
+        }
+        String type = StringUtils.substringBefore(new String(content, 0, headerEnd, StandardCharsets.US_ASCII), " ");
+        byte[] data = Arrays.copyOfRange(content, Math.min(headerEnd + 1, content.length), content.length);
+        switch (type) {
+            case "commit":
+                return new GitObject(PackFile.OBJ_COMMIT, data);
+            case "tree":
+                return new GitObject(PackFile.OBJ_TREE, data);
+            case "blob":
+                return new GitObject(PackFile.OBJ_BLOB, data);
+            case "tag":
+                return new GitObject(PackFile.OBJ_TAG, data);
+            default:
+                throw new IOException("Unknown object type '" + type + "' of " + file);
+        }
+    }
+
+    private File getLooseObjectFile(String objectId) {
+        return new File(commonDir, "objects" + File.separator + objectId.substring(0, 2) + File.separator + objectId.substring(2));
+    }
+
+    private synchronized List<PackFile> getPackFiles() throws IOException {
+        if (packFiles == null) {
+            List<PackFile> result = new ArrayList<>();
+            File[] indexFiles = new File(commonDir, "objects" + File.separator + "pack").listFiles((dir, name) -> name.endsWith(".idx"));
+            if (indexFiles != null) {
+                try {
+                    for (File indexFile : indexFiles) {
+                        File packFile = new File(StringUtils.removeEnd(indexFile.getPath(), ".idx") + ".pack");
+                        if (packFile.isFile()) {
+                            result.add(new PackFile(indexFile, packFile));
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    for (PackFile packFile : result) {
+                        try {
+                            packFile.close();
+                        } catch (IOException closeException) {
+                            e.addSuppressed(closeException);
+                        }
+                    }
+                    throw e;
+                }
+            }
+            packFiles = result;
+        }
+        return packFiles;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (packFiles == null) {
+            return;
+        }
+        IOException exception = null;
+        for (PackFile packFile : packFiles) {
+            try {
+                packFile.close();
+            } catch (IOException e) {
+                exception = e;
+            }
+        }
+        packFiles = null;
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private synchronized PackedRefs getPackedRefs() throws IOException {
+        if (packedRefs == null) {
+            File file = new File(commonDir, "packed-refs");
+            if (!file.isFile()) {
+                return null;
+            }
+            packedRefs = new PackedRefs(file);
+        }
+        return packedRefs;
+    }
+
+    /**
+     * @return the content of the loose ref, or null if it does not exist
+     */
+    private String readLooseRef(String ref) throws IOException {
+        // HEAD and the other pseudo refs belong to the worktree
+        File refFile = new File(ref.startsWith("refs/") ? commonDir : gitDir, ref);
+        if (!refFile.isFile()) {
+            return null;
+        }
+        return readFirstLine(refFile);
+    }
+
+    private void verifySupportedFormat() throws IOException {
+        if (new File(commonDir, "objects/info/alternates").exists()) {
+            throw new UnsupportedRepositoryException("Alternate object directories are not supported");
+        }
+        File config = new File(commonDir, "config");
+        if (!config.isFile()) {
+            return;
+        }
+        String section = "";
+        for (String line : FileUtils.readLines(config, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.startsWith("[")) {
+                section = StringUtils.substringBetween(line, "[", "]").trim().toLowerCase();
+                continue;
+            }
+            String key = StringUtils.substringBefore(line, "=").trim().toLowerCase();
+            String value = StringUtils.substringAfter(line, "=").trim().toLowerCase();
+            if (section.equals("core") && key.equals("repositoryformatversion") && !value.equals("0") && !value.equals("1")) {
+                throw new UnsupportedRepositoryException("Unsupported repository format version " + value);
+            }
+            if (section.equals("extensions") && ((key.equals("objectformat") && !value.equals("sha1")) ||
+                    (key.equals("refstorage") && !value.equals("files")) || key.equals("partialclone"))) {
+                throw new UnsupportedRepositoryException("Unsupported repository extension " + key + "=" + value);
+            }
+        }
+    }
+
+    private static boolean isGitDir(File dir) {
+        return new File(dir, "HEAD").isFile() && (new File(dir, "objects").isDirectory() || new File(dir, "commondir").isFile());
+    }
+
+    private static File resolvePath(File base, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(base, path);
+    }
+
+    private static String readFirstLine(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            return StringUtils.trimToEmpty(reader.readLine());
+        }
+    }
+
+    static String toHex(byte[] id) {
+        StringBuilder hex = new StringBuilder(id.length * 2);
+        for (byte b : id) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    static byte[] fromHex(String hex) {
+        byte[] id = new byte[hex.length() / 2];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return id;
+    }
+
+    /**
+     * Walks the commits by their commit time, newest first, like git log.
+     * The commits reachable from the since commit are marked uninteresting, and the walk stops when only uninteresting
+     * commits are left to walk.
+     */
+    private class CommitsWalk {
+        private final Map<String, Node> nodes = new HashMap<>();
+        private final PriorityQueue<Node> queue = new PriorityQueue<>(Comparator
+                .comparingLong((Node node) -> -node.commit.getCommitTime())
+                .thenComparingLong(node -> node.sequence));
+        private final boolean limited;
+        private long sequence;
+        private int interestingQueued;
+
+        private CommitsWalk(String head, String since) throws IOException {
+            limited = since != null;
+            if (limited) {
+                Node sinceNode = getNode(since);
+                sinceNode.uninteresting = true;
+                enqueue(sinceNode);
+            }
+            enqueue(getNode(head));
+        }
+
+        private List<String> walk(int limit) throws IOException {
+            List<Node> walked = new ArrayList<>();
+            int slop = SLOP;
+            while (!queue.isEmpty()) {
+                if (limited) {
+                    if (interestingQueued > 0) {
+                        slop = SLOP;
+                    } else if (slop-- == 0) {
+                        break;
+                    }
+                } else if (walked.size() >= limit) {
+                    break;
+                }
+                Node node = queue.poll();
+                node.queued = false;
+                if (!node.uninteresting) {
+                    interestingQueued--;
+                }
+                for (String parentId : node.commit.getParents()) {
+                    Node parent = getNode(parentId);
+                    if (node.uninteresting) {
+                        markUninteresting(parent);
+                    }
+                    enqueue(parent);
+                }
+                if (!node.uninteresting) {
+                    walked.add(node);
+                }
+            }
+            List<String> subjects = new ArrayList<>();
+            for (Node node : walked) {
+                // Commits may become uninteresting after they were walked
+                if (!node.uninteresting && subjects.size() < limit) {
+                    subjects.add(node.commit.getSubject());
+                }
+            }
+            return subjects;
+        }
+
+        private Node getNode(String id) {
+            return nodes.computeIfAbsent(id, Node::new);
+        }
+
+        private void enqueue(Node node) throws IOException {
+            if (node.commit != null) {
+                return;
+            }
+            node.commit = readCommit(node.id);
+            node.sequence = sequence++;
+            node.queued = true;
+            queue.add(node);
+            if (!node.uninteresting) {
+                interestingQueued++;
+            }
+        }
+
+        /**
+         * Mark a commit and its already read ancestors uninteresting.
+         */
+        private void markUninteresting(Node node) {
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(node);
+            while (!stack.isEmpty()) {
+                Node current = stack.pop();
+                if (current.uninteresting) {
+                    continue;
+                }
+                current.uninteresting = true;
+                if (current.queued) {
+                    interestingQueued--;
+                }
+                if (current.commit != null) {
+                    for (String parentId : current.commit.getParents()) {
+                        Node parent = nodes.get(parentId);
+                        if (parent != null) {
+                            stack.push(parent);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Node {
+        private final String id;
+        private GitCommit commit;
+        private long sequence;
+        private boolean queued;
+        private boolean uninteresting;
+
+        private Node(String id) {
+            this.id = id;
+        }
+    }
+}
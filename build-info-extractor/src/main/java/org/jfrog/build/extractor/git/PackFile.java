@@ -0,0 +1,276 @@
+package org.jfrog.build.extractor.git;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A git packfile and its version 2 index.
+ * The index is read to memory, and an object is found by a binary search of its sorted object ids, between the bounds
+ * of the fan-out table. The objects are read from the pack by positional reads of an open channel, rather than by
+ * mapping the pack, so the pack is not locked after the file is closed.
+ */
+class PackFile implements Closeable {
+    static final int OBJ_COMMIT = 1;
+    static final int OBJ_TREE = 2;
+    static final int OBJ_BLOB = 3;
+    static final int OBJ_TAG = 4;
+    private static final int OBJ_OFS_DELTA = 6;
+    private static final int OBJ_REF_DELTA = 7;
+    private static final int INDEX_MAGIC = 0xff744f63;
+    private static final int FAN_OUT_OFFSET = 8;
+    private static final int IDS_OFFSET = FAN_OUT_OFFSET + 256 * 4;
+    private static final int ID_LENGTH = 20;
+    private static final int INFLATE_CHUNK_SIZE = 8192;
+    // Longest object header - The type and size, followed by the base offset or the base object id of a delta
+    private static final int MAX_HEADER_LENGTH = 32;
+
+    private final File packFile;
+    private final ByteBuffer index;
+    private final FileChannel pack;
+    private final int objectsCount;
+
+    PackFile(File indexFile, File packFile) throws IOException {
+        this.packFile = packFile;
+        if (indexFile.length() > Integer.MAX_VALUE) {
+            throw new UnsupportedRepositoryException("The pack index is too large: " + indexFile);
+        }
+        index = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath()));
+        if (index.limit() < IDS_OFFSET || index.getInt(0) != INDEX_MAGIC || index.getInt(4) != 2) {
+            throw new UnsupportedRepositoryException("Unsupported pack index version: " + indexFile);
+        }
+        objectsCount = index.getInt(IDS_OFFSET - 4);
+        pack = FileChannel.open(packFile.toPath(), StandardOpenOption.READ);
+        ByteBuffer header = readPack(0, 12);
+        if (header.limit() < 12 || header.getInt(0) != 0x5041434b) {
+            pack.close();
+            throw new IOException("Invalid packfile: " + packFile);
+        }
+    }
+
+    /**
+     * @param id - The binary object id
+     * @return the offset of the object in the pack, or -1 if the object is not in the pack
+     */
+    long findOffset(byte[] id) {
+        int first = id[0] & 0xff;
+        int low = first == 0 ? 0 : index.getInt(FAN_OUT_OFFSET + (first - 1) * 4);
+        int high = index.getInt(FAN_OUT_OFFSET + first * 4);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareId(IDS_OFFSET + middle * ID_LENGTH, id);
+            if (comparison == 0) {
+                return getOffset(middle);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read an object of the pack, and apply its deltas.
+     *
+     * @param offset     - The offset of the object in the pack
+     * @param repository - The repository to read the bases of ref-deltas from
+     * @return the object
+     */
+    GitObject read(long offset, GitRepository repository) throws IOException {
+        ByteBuffer header = readPack(offset, MAX_HEADER_LENGTH);
+        int c = readByte(header);
+        int type = (c >> 4) & 7;
+        long size = c & 15;
+        int shift = 4;
+        while ((c & 0x80) != 0) {
+            c = readByte(header);
+            size += (long) (c & 0x7f) << shift;
+            shift += 7;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new UnsupportedRepositoryException("Object is too large at offset " + offset + " of " + packFile);
+        }
+        switch (type) {
+            case OBJ_COMMIT:
+            case OBJ_TREE:
+            case OBJ_BLOB:
+            case OBJ_TAG:
+                return new GitObject(type, inflate(offset + header.position(), (int) size));
+            case OBJ_OFS_DELTA: {
+                c = readByte(header);
+                long baseOffset = c & 0x7f;
+                while ((c & 0x80) != 0) {
+                    c = readByte(header);
+                    baseOffset = ((baseOffset + 1) << 7) | (c & 0x7f);
+                }
+                long dataPosition = offset + header.position();
+                GitObject base = read(offset - baseOffset, repository);
+                return new GitObject(base.getType(), applyDelta(base.getData(), inflate(dataPosition, (int) size)));
+            }
+            case OBJ_REF_DELTA: {
+                if (header.remaining() < ID_LENGTH) {
+                    throw new IOException("Unexpected end of " + packFile);
+                }
+                byte[] baseId = new byte[ID_LENGTH];
+                header.get(baseId);
+                long dataPosition = offset + header.position();
+                GitObject base = repository.readObject(GitRepository.toHex(baseId));
+                if (base == null) {
+                    throw new IOException("Missing delta base " + GitRepository.toHex(baseId) + " in " + packFile);
+                }
+                return new GitObject(base.getType(), applyDelta(base.getData(), inflate(dataPosition, (int) size)));
+            }
+            default:
+                throw new IOException("Unknown object type " + type + " at offset " + offset + " of " + packFile);
+        }
+    }
+
+    /**
+     * Read the next byte of an object header, which may be cut short at the end of the pack.
+     */
+    private int readByte(ByteBuffer header) throws IOException {
+        if (!header.hasRemaining()) {
+            throw new IOException("Unexpected end of " + packFile);
+        }
+        return header.get() & 0xff;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pack.close();
+    }
+
+    private long getOffset(int position) {
+        int offsetsOffset = IDS_OFFSET + objectsCount * (ID_LENGTH + 4);
+        long offset = index.getInt(offsetsOffset + position * 4) & 0xffffffffL;
+        if ((offset & 0x80000000L) != 0) {
+            // Offsets of large packs are in the 64 bit offsets table
+            offset = index.getLong(offsetsOffset + objectsCount * 4 + (int) (offset & 0x7fffffffL) * 8);
+        }
+        return offset;
+    }
+
+    private int compareId(int position, byte[] id) {
+        for (int i = 0; i < ID_LENGTH; i++) {
+            int comparison = Integer.compare(index.get(position + i) & 0xff, id[i] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private byte[] inflate(long position, int size) throws IOException {
+        byte[] result = new byte[size];
+        ByteBuffer input = ByteBuffer.allocate(INFLATE_CHUNK_SIZE);
+        long inputPosition = position;
+        Inflater inflater = new Inflater();
+        try {
+            int inflated = 0;
+            while (inflated < size) {
+                if (inflater.needsInput()) {
+                    input.clear();
+                    int length = pack.read(input, inputPosition);
+                    if (length <= 0) {
+                        throw new IOException("Unexpected end of " + packFile);
+                    }
+                    inputPosition += length;
+                    inflater.setInput(input.array(), 0, length);
+                }
+                int count = inflater.inflate(result, inflated, size - inflated);
+                if (count == 0 && (inflater.finished() || inflater.needsDictionary())) {
+                    throw new IOException("Corrupt object at offset " + position + " of " + packFile);
+                }
+                inflated += count;
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt object at offset " + position + " of " + packFile, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Apply a git delta on its base object.
+     */
+    static byte[] applyDelta(byte[] base, byte[] delta) throws IOException {
+        int position = 0;
+        long baseSize = 0;
+        int shift = 0;
+        int c;
+        do {
+            c = delta[position++] & 0xff;
+            baseSize |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        if (baseSize != base.length) {
+            throw new IOException("Delta base size mismatch");
+        }
+        long resultSize = 0;
+        shift = 0;
+        do {
+            c = delta[position++] & 0xff;
+            resultSize |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        byte[] result = new byte[(int) resultSize];
+        int resultPosition = 0;
+        while (position < delta.length) {
+            int command = delta[position++] & 0xff;
+            if ((command & 0x80) != 0) {
+                // Copy from the base
+                int copyOffset = 0;
+                int copySize = 0;
+                for (int i = 0; i < 4; i++) {
+                    if ((command & (1 << i)) != 0) {
+                        copyOffset |= (delta[position++] & 0xff) << (8 * i);
+                    }
+                }
+                for (int i = 0; i < 3; i++) {
+                    if ((command & (0x10 << i)) != 0) {
+                        copySize |= (delta[position++] & 0xff) << (8 * i);
+                    }
+                }
+                if (copySize == 0) {
+                    copySize = 0x10000;
+                }
+                System.arraycopy(base, copyOffset, result, resultPosition, copySize);
+                resultPosition += copySize;
+            } else if (command != 0) {
+                // Insert from the delta
+                System.arraycopy(delta, position, result, resultPosition, command);
+                position += command;
+                resultPosition += command;
+            } else {
+                throw new IOException("Invalid delta command");
+            }
+        }
+        if (resultPosition != result.length) {
+            throw new IOException("Delta result size mismatch");
+        }
+        return result;
+    }
+
+    /**
+     * Read up to length bytes of the pack from the given position. Fewer bytes are returned at the end of the pack.
+     */
+    private ByteBuffer readPack(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (pack.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,148 @@
+package org.jfrog.build.extractor.git;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * The packed-refs file of a git repository.
+ * The file is read once to memory. If git wrote the refs sorted - as it does since git 1.8 - a ref is found by a binary
+ * search of the file, so repositories with hundreds of thousands of refs are not scanned line by line.
+ */
+public class PackedRefs {
+    private static final String HEADER = "# pack-refs with:";
+    private static final int ID_LENGTH = 40;
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final boolean sorted;
+
+    /**
+     * @param file - The packed-refs file
+     * @throws UnsupportedRepositoryException if the file is too large to be read
+     */
+    public PackedRefs(File file) throws IOException {
+        if (file.length() > Integer.MAX_VALUE) {
+            throw new UnsupportedRepositoryException("The packed-refs file is too large: " + file);
+        }
+        buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        int headerEnd = 0;
+        boolean sortedTrait = false;
+        if (startsWith(0, HEADER)) {
+            headerEnd = lineEnd(0);
+            String traits = new String(getBytes(0, headerEnd), StandardCharsets.UTF_8);
+            sortedTrait = (traits + " ").contains(" sorted ");
+            headerEnd = Math.min(headerEnd + 1, buffer.limit());
+        }
+        start = headerEnd;
+        sorted = sortedTrait;
+    }
+
+    /**
+     * Returns the object id of a ref.
+     *
+     * @param refName - The full name of the ref, for example refs/heads/main
+     * @return the object id, or null if the ref does not exist
+     */
+    public String get(String refName) {
+        byte[] target = refName.getBytes(StandardCharsets.UTF_8);
+        return sorted ? bisect(target) : scan(target);
+    }
+
+    private String scan(byte[] target) {
+        int lineStart = start;
+        while (lineStart < buffer.limit()) {
+            int lineEnd = lineEnd(lineStart);
+            if (isRefLine(lineStart, lineEnd) && compareName(lineStart, lineEnd, target) == 0) {
+                return getId(lineStart);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return null;
+    }
+
+    private String bisect(byte[] target) {
+        int low = start;
+        int high = buffer.limit();
+        while (low < high) {
+            int lineStart = lineStart(low + (high - low) / 2, low);
+            if (buffer.get(lineStart) == '^' && lineStart > low) {
+                // A peeled tag line belongs to the ref line before it
+                lineStart = lineStart(lineStart - 1, low);
+            }
+            int lineEnd = lineEnd(lineStart);
+            if (!isRefLine(lineStart, lineEnd)) {
+                // Not expected in a sorted file
+                return scan(target);
+            }
+            int comparison = compareName(lineStart, lineEnd, target);
+            if (comparison == 0) {
+                return getId(lineStart);
+            }
+            if (comparison < 0) {
+                low = lineEnd + 1;
+                while (low < high && buffer.get(low) == '^') {
+                    low = lineEnd(low) + 1;
+                }
+            } else {
+                high = lineStart;
+            }
+        }
+        return null;
+    }
+
+    private boolean isRefLine(int lineStart, int lineEnd) {
+        return lineEnd - lineStart > ID_LENGTH + 1 && buffer.get(lineStart + ID_LENGTH) == ' ' && buffer.get(lineStart) != '#';
+    }
+
+    /**
+     * Compare the ref name of a line to the target, byte by byte, like git sorts the refs.
+     */
+    private int compareName(int lineStart, int lineEnd, byte[] target) {
+        int nameStart = lineStart + ID_LENGTH + 1;
+        if (buffer.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        int nameLength = lineEnd - nameStart;
+        for (int i = 0; i < Math.min(nameLength, target.length); i++) {
+            int comparison = Integer.compare(buffer.get(nameStart + i) & 0xff, target[i] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(nameLength, target.length);
+    }
+
+    private String getId(int lineStart) {
+        return new String(getBytes(lineStart, lineStart + ID_LENGTH), StandardCharsets.US_ASCII);
+    }
+
+    private int lineStart(int position, int low) {
+        while (position > low && buffer.get(position - 1) != '\n') {
+            position--;
+        }
+        return position;
+    }
+
+    private int lineEnd(int position) {
+        while (position < buffer.limit() && buffer.get(position) != '\n') {
+            position++;
+        }
+        return position;
+    }
+
+    private boolean startsWith(int position, String prefix) {
+        return buffer.limit() - position >= prefix.length() &&
+                new String(getBytes(position, position + prefix.length()), StandardCharsets.US_ASCII).equals(prefix);
+    }
+
+    private byte[] getBytes(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(from + i);
+        }
+        return bytes;
+    }
+}
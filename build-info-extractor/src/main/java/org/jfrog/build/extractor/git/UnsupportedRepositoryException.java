@@ -0,0 +1,15 @@
+package org.jfrog.build.extractor.git;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a git repository is in a format, which is not supported by {@link GitRepository}.
+ * The callers should fall back to the git client.
+ */
+public class UnsupportedRepositoryException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public UnsupportedRepositoryException(String message) {
+        super(message);
+    }
+}
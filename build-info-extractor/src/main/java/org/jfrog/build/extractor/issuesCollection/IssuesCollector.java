@@ -1,19 +1,23 @@
 package org.jfrog.build.extractor.issuesCollection;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.*;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryManagerBuilder;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.util.JsonMappers;
 import org.jfrog.build.extractor.executor.CommandExecutor;
 import org.jfrog.build.extractor.executor.CommandResults;
+import org.jfrog.build.extractor.git.GitRepository;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -30,7 +34,10 @@ public class IssuesCollector implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private static final String LATEST = "LATEST";
-    private static final String GIT_LOG_LIMIT = "100";
+    private static final int GIT_LOG_LIMIT = 100;
+    // Unknown properties in the config are errors
+    private static final ObjectReader CONFIG_READER = JsonMappers.getReader(IssuesCollectionConfig.class)
+            .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
     public static Pattern REVISION_NOT_EXIST;
 
@@ -58,10 +65,9 @@ public class IssuesCollector implements Serializable {
     IssuesCollectionConfig parseConfig(String config) throws IOException {
         // When mapping the config from String to IssuesCollectionConfig one backslash is being removed, multiplying the backslashes solves this.
         config = config.replace("\\", "\\\\");
-        ObjectMapper mapper = new ObjectMapper(new JsonFactory());
         IssuesCollectionConfig parsedConfig;
         try {
-            parsedConfig = mapper.readValue(config, IssuesCollectionConfig.class);
+            parsedConfig = CONFIG_READER.readValue(config);
         } catch (Exception e) {
             throw new IOException(ISSUES_COLLECTION_ERROR_PREFIX + "Failed parsing config: " + e.getMessage());
         }
@@ -97,15 +103,14 @@ public class IssuesCollector implements Serializable {
      * Collects affected issues from git log
      */
     private Set<Issue> doCollect(File execDir, Log logger, IssuesCollectionConfig issuesConfig, String previousVcsRevision) throws InterruptedException, IOException {
-        String gitLog = getGitLog(execDir, logger, previousVcsRevision);
+        List<String> gitLog = getGitLog(execDir, logger, previousVcsRevision);
 
         int keyIndex = issuesConfig.getIssues().getKeyGroupIndex();
         int summaryIndex = issuesConfig.getIssues().getSummaryGroupIndex();
         Set<Issue> affectedIssues = new HashSet<>();
 
         Pattern pattern = Pattern.compile(issuesConfig.getIssues().getRegexp());
-        String[] lines = gitLog.split("\\R");
-        for (String line : lines) {
+        for (String line : gitLog) {
             Matcher matcher = pattern.matcher(line);
             if (matcher.find()) {
                 Issue foundIssue = getMatchingIssue(keyIndex, summaryIndex, matcher, issuesConfig);
@@ -139,7 +144,24 @@ public class IssuesCollector implements Serializable {
         return new Issue(key, url, summary);
     }
 
-    private String getGitLog(File execDir, Log logger, String previousVcsRevision) throws InterruptedException, IOException {
+    /**
+     * Returns the subjects of the commits since the previous vcs revision.
+     * The repository is read directly, and the git client is used if the repository format is not supported.
+     */
+    private List<String> getGitLog(File execDir, Log logger, String previousVcsRevision) throws InterruptedException, IOException {
+        try (GitRepository repository = GitRepository.open(execDir)) {
+            if (!previousVcsRevision.isEmpty() && !repository.hasObject(previousVcsRevision)) {
+                logRevisionNotExist(logger, previousVcsRevision);
+                return Collections.emptyList();
+            }
+            return repository.getLogSubjects(previousVcsRevision, GIT_LOG_LIMIT);
+        } catch (IOException e) {
+            logger.debug("Failed reading the git repository, running git log instead: " + e.getMessage());
+        }
+        return getGitLogUsingClient(execDir, logger, previousVcsRevision);
+    }
+
+    private List<String> getGitLogUsingClient(File execDir, Log logger, String previousVcsRevision) throws InterruptedException, IOException {
         List<String> args = new ArrayList<>();
         args.add("log");
         args.add("--pretty=format:%s");
@@ -151,11 +173,15 @@ public class IssuesCollector implements Serializable {
         CommandResults res = commandExecutor.exeCommand(execDir, args, null, logger);
         if (!res.isOk()) {
             if (getRevisionNotExistPattern().matcher(res.getErr()).find()) {
-                logger.info("Revision: " + previousVcsRevision + " that was fetched from latest build info does not exist in the git revision range. No new issues are added.");
-                return "";
+                logRevisionNotExist(logger, previousVcsRevision);
+                return Collections.emptyList();
             }
             throw new IOException(ISSUES_COLLECTION_ERROR_PREFIX + "Git log command failed: " + res.getErr());
         }
-        return res.getRes();
+        return Arrays.asList(res.getRes().split("\\R"));
+    }
+
+    private static void logRevisionNotExist(Log logger, String previousVcsRevision) {
+        logger.info("Revision: " + previousVcsRevision + " that was fetched from latest build info does not exist in the git revision range. No new issues are added.");
     }
 }
@@ -0,0 +1,258 @@
+package org.jfrog.build.extractor.packageManager;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.Dependency;
+import org.jfrog.build.api.builder.DependencyBuilder;
+import org.jfrog.build.api.util.FileChecksumCalculator;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.extractor.clientConfiguration.util.SharedJsonFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A local index of the checksums of dependencies, shared by the package manager extractors and by the builds running
+ * on the same machine. The index maps '<package-manager>:<dependency-id>' to the checksums of the dependency, so the
+ * next builds skip the Artifactory queries and the checksums calculation of dependencies they've already seen.
+ * Checksums calculated from a local file are reused only if the size and modification time of the file are unchanged.
+ * <p>
+ * The index is saved to a {@link SharedJsonFile}, which concurrent builds merge their changes into. Entries added by
+ * a build replace only older entries of the same dependency, and entries read by a build only have their last-used time
+ * updated. When the index grows beyond its maximum size, the least recently used entries are evicted.
+ */
+public class DependenciesIndex {
+    public static final String NPM = "npm";
+    public static final String GO = "go";
+    public static final String NUGET = "nuget";
+
+    static final int DEFAULT_MAX_ENTRIES = 100000;
+    private static final int INDEX_VERSION = 1;
+    private static final String MD5 = "MD5";
+    private static final String SHA1 = "SHA1";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> changedEntries = new ConcurrentHashMap<>();
+    // Key to the last time the entry was read by this build
+    private final Map<String, Long> usedKeys = new ConcurrentHashMap<>();
+    private final SharedJsonFile<IndexFile> indexFile;
+    private final int maxEntries;
+    private final Log logger;
+
+    DependenciesIndex(Path indexFile, int maxEntries, Log logger) {
+        this.indexFile = indexFile == null ? null : new SharedJsonFile<>(indexFile, IndexFile.class);
+        this.maxEntries = maxEntries;
+        this.logger = logger;
+    }
+
+    /**
+     * Load the index from the index file.
+     *
+     * @param indexPath - Path to the index file. If blank, the index is kept in memory and is not saved.
+     * @param logger    - The logger.
+     * @return the dependencies index.
+     */
+    public static DependenciesIndex load(String indexPath, Log logger) {
+        return load(StringUtils.isBlank(indexPath) ? null : Paths.get(indexPath), DEFAULT_MAX_ENTRIES, logger);
+    }
+
+    static DependenciesIndex load(Path indexFile, int maxEntries, Log logger) {
+        DependenciesIndex index = new DependenciesIndex(indexFile, maxEntries, logger);
+        if (indexFile != null) {
+            index.entries.putAll(index.read());
+        }
+        return index;
+    }
+
+    /**
+     * Get the checksums of a dependency.
+     *
+     * @param packageManager - The package manager of the dependency.
+     * @param id             - The id of the dependency.
+     * @return a dependency with the id and checksums, or null if the dependency is not in the index.
+     */
+    public Dependency getDependency(String packageManager, String id) {
+        Entry entry = touch(getKey(packageManager, id));
+        if (entry == null) {
+            return null;
+        }
+        return new DependencyBuilder().id(id).md5(entry.md5).sha1(entry.sha1).sha256(entry.sha256).build();
+    }
+
+    /**
+     * Add the checksums of a dependency, retrieved from Artifactory or from a previous build.
+     *
+     * @param packageManager - The package manager of the dependency.
+     * @param dependency     - The dependency.
+     */
+    public void putDependency(String packageManager, Dependency dependency) {
+        if (StringUtils.isAllBlank(dependency.getMd5(), dependency.getSha1())) {
+            return;
+        }
+        put(getKey(packageManager, dependency.getId()), new Entry(dependency.getMd5(), dependency.getSha1(), dependency.getSha256(), -1, -1));
+    }
+
+    /**
+     * Get the MD5 and SHA1 checksums of the file of a dependency. The checksums are calculated only if the file has
+     * changed since they were added to the index.
+     *
+     * @param packageManager - The package manager of the dependency.
+     * @param id             - The id of the dependency.
+     * @param file           - The file of the dependency.
+     * @return the checksums, keyed by 'MD5' and 'SHA1' like in {@link FileChecksumCalculator}.
+     */
+    public Map<String, String> getChecksums(String packageManager, String id, File file) throws IOException, NoSuchAlgorithmException {
+        String key = getKey(packageManager, id);
+        Entry entry = touch(key);
+        long size = file.length();
+        long lastModified = file.lastModified();
+        if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+            Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(file, MD5, SHA1);
+            entry = new Entry(checksums.get(MD5), checksums.get(SHA1), null, size, lastModified);
+            put(key, entry);
+        }
+        Map<String, String> checksums = new HashMap<>();
+        checksums.put(MD5, entry.md5);
+        checksums.put(SHA1, entry.sha1);
+        return checksums;
+    }
+
+    /**
+     * Merge the changes to the index file. Failures are logged, since the index is only an optimization.
+     */
+    public void save() {
+        if (indexFile == null || (changedEntries.isEmpty() && usedKeys.isEmpty())) {
+            return;
+        }
+        try {
+            indexFile.update(current -> {
+                Map<String, Entry> merged = getEntries(current);
+                changedEntries.forEach((key, entry) -> merged.merge(key, entry, (saved, changed) -> saved.updated > changed.updated ? saved : changed));
+                usedKeys.forEach((key, lastUsed) -> {
+                    Entry entry = merged.get(key);
+                    if (entry != null) {
+                        entry.lastUsed = Math.max(entry.lastUsed, lastUsed);
+                    }
+                });
+                return new IndexFile(evict(merged));
+            });
+            changedEntries.clear();
+            usedKeys.clear();
+        } catch (IOException e) {
+            logger.warn("Failed saving the dependencies index " + indexFile.getFile() + ": " + e.getMessage());
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Entry touch(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            usedKeys.put(key, System.currentTimeMillis());
+        }
+        return entry;
+    }
+
+    private void put(String key, Entry entry) {
+        entry.updated = System.currentTimeMillis();
+        entry.lastUsed = entry.updated;
+        entries.put(key, entry);
+        changedEntries.put(key, entry);
+    }
+
+    private Map<String, Entry> evict(Map<String, Entry> merged) {
+        if (merged.size() <= maxEntries) {
+            return merged;
+        }
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(merged.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().lastUsed).reversed());
+        Map<String, Entry> retained = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : sorted.subList(0, maxEntries)) {
+            retained.put(entry.getKey(), entry.getValue());
+        }
+        return retained;
+    }
+
+    private Map<String, Entry> read() {
+        try {
+            return getEntries(indexFile.read());
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed reading the dependencies index " + indexFile.getFile() + ", zapping the old index.");
+        } catch (IOException e) {
+            logger.warn("Failed reading the dependencies index " + indexFile.getFile() + ": " + e.getMessage());
+        }
+        return new HashMap<>();
+    }
+
+    private Map<String, Entry> getEntries(IndexFile content) {
+        if (content == null) {
+            return new HashMap<>();
+        }
+        if (content.version != INDEX_VERSION || content.entries == null) {
+            logger.warn("Incorrect dependencies index version " + content.version + ". Zapping the old index.");
+            return new HashMap<>();
+        }
+        return content.entries;
+    }
+
+    private static String getKey(String packageManager, String id) {
+        return packageManager + ":" + id;
+    }
+
+    private static class IndexFile {
+        @JsonProperty("version")
+        private int version = INDEX_VERSION;
+        @JsonProperty("entries")
+        private Map<String, Entry> entries;
+
+        @SuppressWarnings("unused")
+        IndexFile() {
+        }
+
+        IndexFile(Map<String, Entry> entries) {
+            this.entries = entries;
+        }
+    }
+
+    private static class Entry {
+        @JsonProperty("md5")
+        private String md5;
+        @JsonProperty("sha1")
+        private String sha1;
+        @JsonProperty("sha256")
+        private String sha256;
+        /**
+         * The size and the modification time of the file the checksums were calculated from, or -1 if the checksums
+         * were not calculated from a local file.
+         */
+        @JsonProperty("size")
+        private long size = -1;
+        @JsonProperty("lastModified")
+        private long lastModified = -1;
+        // The time the checksums were added to the index
+        @JsonProperty("updated")
+        private long updated;
+        @JsonProperty("lastUsed")
+        private long lastUsed;
+
+        @SuppressWarnings("unused")
+        Entry() {
+        }
+
+        Entry(String md5, String sha1, String sha256, long size, long lastModified) {
+            this.md5 = md5;
+            this.sha1 = sha1;
+            this.sha256 = sha256;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.jfrog.build.extractor.packageManager;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.Build;
+import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.BuildInfoExtractorUtils;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
@@ -20,8 +21,24 @@ public abstract class PackageManagerExtractor implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    private String dependenciesIndexPath;
+
     public abstract Build execute();
 
+    /**
+     * Set the path to the local index of the checksums of dependencies.
+     *
+     * @param dependenciesIndexPath - Path to the index file, or null to avoid using an index.
+     * @see DependenciesIndex
+     */
+    public void setDependenciesIndexPath(String dependenciesIndexPath) {
+        this.dependenciesIndexPath = dependenciesIndexPath;
+    }
+
+    protected DependenciesIndex loadDependenciesIndex(Log logger) {
+        return DependenciesIndex.load(dependenciesIndexPath, logger);
+    }
+
     /**
      * Run build-tool command and save build info to file.
      *
@@ -38,4 +38,9 @@ public class PackageManagerLogger implements Log {
     public void error(String message, Throwable e) {
         logger.log(Level.SEVERE, message, e);
     }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return logger.isLoggable(Level.FINE);
+    }
 }
@@ -2,6 +2,9 @@ package org.jfrog.build.extractor.producerConsumer;
 
 import org.jfrog.build.api.producerConsumer.ProducerConsumerItem;
 import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.metrics.ClientMetrics;
+import org.jfrog.build.client.metrics.NoOpClientMetrics;
+import org.jfrog.build.extractor.executor.ExecutorFactory;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -33,6 +36,7 @@ public class ProducerConsumerExecutor {
     private int consumersNumber;
     private AtomicBoolean errorOccurred = new AtomicBoolean(false);
     private AtomicInteger producersFinished = new AtomicInteger(0);
+    private ClientMetrics metrics = new NoOpClientMetrics();
 
     public ProducerConsumerExecutor(Log log, ProducerRunnableBase[] producerRunnables, ConsumerRunnableBase[] consumerRunnables, int queueSize) {
         this.log = log;
@@ -45,17 +49,24 @@ public class ProducerConsumerExecutor {
         this.consumerThreads = new Thread[consumersNumber];
     }
 
+    /**
+     * Sets the metrics to record the queue depth and the time producers and consumers wait on the queue to.
+     */
+    public void setMetrics(ClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public void start() throws Exception {
         Thread.UncaughtExceptionHandler exceptionHandler = new ProducerConsumerExceptionHandler();
         // Create producer threads
         for (int i = 0; i < producersNumber; i++) {
-            producerThreads[i] = new Thread(producerRunnables[i]);
+            producerThreads[i] = ExecutorFactory.newThread("producer_" + i, producerRunnables[i]);
             initializeThread(producerThreads[i], producerRunnables[i], "producer_" + i, exceptionHandler);
         }
 
         // Create consumer threads
         for (int i = 0; i < consumersNumber; i++) {
-            consumerThreads[i] = new Thread(consumerRunnables[i]);
+            consumerThreads[i] = ExecutorFactory.newThread("consumer_" + i, consumerRunnables[i]);
             initializeThread(consumerThreads[i], consumerRunnables[i], "consumer_" + i, exceptionHandler);
         }
 
@@ -117,11 +128,17 @@ public class ProducerConsumerExecutor {
     }
 
     public void put(ProducerConsumerItem produced) throws InterruptedException {
+        long start = System.currentTimeMillis();
         queue.put(produced);
+        metrics.recordLatency(ClientMetrics.QUEUE_PUT_WAIT, System.currentTimeMillis() - start);
+        metrics.recordGauge(ClientMetrics.QUEUE_DEPTH, queue.size());
     }
 
     public ProducerConsumerItem take() throws InterruptedException {
-        return queue.take();
+        long start = System.currentTimeMillis();
+        ProducerConsumerItem item = queue.take();
+        metrics.recordLatency(ClientMetrics.QUEUE_TAKE_WAIT, System.currentTimeMillis() - start);
+        return item;
     }
 
     private class ProducerConsumerExceptionHandler implements Thread.UncaughtExceptionHandler {
@@ -0,0 +1,393 @@
+package org.jfrog.build.extractor.scan;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import javax.swing.tree.TreeNode;
+import java.util.*;
+
+/**
+ * A memory compact dependency tree for Xray scan, for IDE plugins holding trees of large projects.
+ * The tree provides the API of {@link DependencyTree}, but unlike it:
+ * 1. The children are kept in an array, instead of a Vector.
+ * 2. Empty licenses, issues and scopes are shared immutable sets, and equal scopes sets are shared between the nodes.
+ * 3. The issues of the subtree are aggregated once, and aggregated again only after the subtree is changed.
+ * <p>
+ * The scopes sets and the subtree issues returned by the tree are immutable. Use {@link #fromDependencyTree} and
+ * {@link #toDependencyTree} to convert from and to a {@link DependencyTree}.
+ */
+@JsonFilter("xray-graph-filter")
+public class CompactDependencyTree implements TreeNode {
+    private static final CompactDependencyTree[] NO_CHILDREN = new CompactDependencyTree[0];
+    private static final Interner<Scope> SCOPES = Interners.newWeakInterner();
+    private static final Interner<Set<Scope>> SCOPES_SETS = Interners.newWeakInterner();
+
+    private CompactDependencyTree[] children = NO_CHILDREN;
+    private CompactDependencyTree parent;
+    private Object userObject;
+    private int childCount;
+
+    private Set<License> licenses = Collections.emptySet();
+    private Set<Issue> issues = Collections.emptySet();
+    private Set<Scope> scopes = Collections.emptySet();
+    private GeneralInfo generalInfo;
+    private String packagePrefix = "";
+    private boolean metadata;
+
+    /**
+     * The issues of the subtree, or null if the subtree was changed since the issues were aggregated.
+     * If a node's subtree issues are null, the subtree issues of all of its ancestors are null.
+     */
+    private Set<Issue> subtreeIssues;
+    private Issue topIssue;
+
+    public CompactDependencyTree() {
+    }
+
+    public CompactDependencyTree(Object userObject) {
+        this.userObject = userObject;
+    }
+
+    /**
+     * Create a compact tree from a dependency tree.
+     * If the issues of the dependency tree were processed, the issues of each node are the issues of its subtree. The
+     * issues of the children are not copied to the compact node, and are aggregated again by processTreeIssues().
+     *
+     * @param dependencyTree - The dependency tree
+     * @return the compact tree.
+     */
+    public static CompactDependencyTree fromDependencyTree(DependencyTree dependencyTree) {
+        CompactDependencyTree node = new CompactDependencyTree(dependencyTree.getUserObject());
+        node.setLicenses(dependencyTree.getLicenses());
+        Set<Issue> childrenIssues = Collections.newSetFromMap(new IdentityHashMap<>());
+        dependencyTree.getChildren().forEach(child -> childrenIssues.addAll(child.getIssues()));
+        Set<Issue> issues = new HashSet<>();
+        dependencyTree.getIssues().stream().filter(issue -> !childrenIssues.contains(issue)).forEach(issues::add);
+        node.setIssues(issues);
+        node.setScopes(dependencyTree.getScopes());
+        node.generalInfo = dependencyTree.getGeneralInfo();
+        node.packagePrefix = dependencyTree.getPackagePrefix();
+        node.metadata = dependencyTree.isMetadata();
+        if (dependencyTree.getChildCount() > 0) {
+            node.children = new CompactDependencyTree[dependencyTree.getChildCount()];
+        }
+        for (DependencyTree child : dependencyTree.getChildren()) {
+            node.add(fromDependencyTree(child));
+        }
+        return node;
+    }
+
+    /**
+     * Create a dependency tree from the compact tree. The issues of the subtrees should be processed again.
+     *
+     * @return the dependency tree.
+     */
+    public DependencyTree toDependencyTree() {
+        DependencyTree node = new DependencyTree(userObject);
+        node.setLicenses(new HashSet<>(licenses));
+        node.setIssues(new HashSet<>(issues));
+        node.setScopes(new HashSet<>(scopes));
+        node.setGeneralInfo(generalInfo);
+        node.setPackagePrefix(packagePrefix);
+        node.setMetadata(metadata);
+        for (int i = 0; i < childCount; i++) {
+            node.add(children[i].toDependencyTree());
+        }
+        return node;
+    }
+
+    public Object getUserObject() {
+        return userObject;
+    }
+
+    public void setUserObject(Object userObject) {
+        this.userObject = userObject;
+        invalidateIssues();
+    }
+
+    /**
+     * Add a child to the end of the children of the node. The child is removed from its previous parent.
+     *
+     * @param child - The child to add
+     */
+    public void add(CompactDependencyTree child) {
+        for (CompactDependencyTree ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+            if (ancestor == child) {
+                throw new IllegalArgumentException("The new child is an ancestor");
+            }
+        }
+        if (child.parent != null) {
+            child.parent.remove(child);
+        }
+        if (childCount == children.length) {
+            children = Arrays.copyOf(children, Math.max(4, childCount + (childCount >> 1)));
+        }
+        children[childCount++] = child;
+        child.parent = this;
+        invalidateIssues();
+    }
+
+    /**
+     * Remove a child of the node.
+     *
+     * @param child - The child to remove
+     */
+    public void remove(CompactDependencyTree child) {
+        int index = getIndex(child);
+        if (index < 0) {
+            throw new IllegalArgumentException("The argument is not a child");
+        }
+        System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+        children[--childCount] = null;
+        child.parent = null;
+        invalidateIssues();
+    }
+
+    public void setLicenses(Set<License> licenses) {
+        this.licenses = licenses == null || licenses.isEmpty() ? Collections.emptySet() : licenses;
+    }
+
+    public void setIssues(Set<Issue> issues) {
+        this.issues = issues == null || issues.isEmpty() ? Collections.emptySet() : issues;
+        invalidateIssues();
+    }
+
+    /**
+     * Set the scopes of the node. The scopes are kept in an immutable set, shared by all the nodes with the same scopes.
+     *
+     * @param scopes - The scopes of the node
+     */
+    public void setScopes(Set<Scope> scopes) {
+        if (scopes == null || scopes.isEmpty()) {
+            this.scopes = Collections.emptySet();
+            return;
+        }
+        Set<Scope> internedScopes = new HashSet<>();
+        scopes.forEach(scope -> internedScopes.add(SCOPES.intern(scope)));
+        this.scopes = SCOPES_SETS.intern(Collections.unmodifiableSet(internedScopes));
+    }
+
+    @JsonProperty("component_id")
+    @SuppressWarnings("unused")
+    public String getComponentId() {
+        return packagePrefix + this;
+    }
+
+    @SuppressWarnings("unused")
+    public void setGeneralInfo(GeneralInfo generalInfo) {
+        this.generalInfo = generalInfo;
+    }
+
+    public Set<License> getLicenses() {
+        return licenses;
+    }
+
+    /**
+     * @return the issues of the subtree if they were aggregated by {@link #processTreeIssues()}, or the issues of the
+     * node otherwise.
+     */
+    public Set<Issue> getIssues() {
+        return subtreeIssues != null ? subtreeIssues : issues;
+    }
+
+    public Set<Scope> getScopes() {
+        return scopes;
+    }
+
+    @SuppressWarnings("unused")
+    public GeneralInfo getGeneralInfo() {
+        return generalInfo;
+    }
+
+    /**
+     * @return top severity issue of the current node and its ancestors
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Issue getTopIssue() {
+        return topIssue != null ? topIssue : new Issue();
+    }
+
+    /**
+     * @return if one or more of the licenses is violating define policy
+     */
+    @SuppressWarnings("unused")
+    public boolean isLicenseViolating() {
+        if (licenses.stream().anyMatch(License::isViolate)) {
+            return true;
+        }
+        for (int i = 0; i < childCount; i++) {
+            if (children[i].isLicenseViolating()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unused")
+    public boolean isMetadata() {
+        return metadata;
+    }
+
+    @SuppressWarnings("unused")
+    public void setMetadata(boolean metadata) {
+        this.metadata = metadata;
+    }
+
+    public void setPrefix(String prefix) {
+        setPackagePrefix(prefix.toLowerCase() + "://");
+    }
+
+    private void setPackagePrefix(String packagePrefix) {
+        this.packagePrefix = packagePrefix;
+        for (int i = 0; i < childCount; i++) {
+            children[i].setPackagePrefix(packagePrefix);
+        }
+    }
+
+    /**
+     * @return total number of issues of the current node and its ancestors
+     */
+    @SuppressWarnings("WeakerAccess")
+    public int getIssueCount() {
+        return getIssues().size();
+    }
+
+    /**
+     * @return Node's children
+     */
+    @SuppressWarnings("WeakerAccess")
+    public List<CompactDependencyTree> getChildren() {
+        return Collections.unmodifiableList(Arrays.asList(children).subList(0, childCount));
+    }
+
+    @JsonProperty(value = "nodes")
+    @SuppressWarnings("unused")
+    public List<CompactDependencyTree> getNodes() {
+        return childCount > 0 ? getChildren() : null;
+    }
+
+    /**
+     * 1. Populate current node's issues components
+     * 2. Populate current node and subtree's issues
+     * 3. Populate current node and subtree's top issue
+     * 4. Sort the tree
+     * Subtrees that were not changed since the last call are not processed again.
+     *
+     * @return all issues of the current node and its ancestors
+     */
+    @SuppressWarnings({"WeakerAccess", "unused"})
+    public Set<Issue> processTreeIssues() {
+        if (subtreeIssues != null) {
+            return subtreeIssues;
+        }
+        if (userObject != null) {
+            String component = userObject.toString();
+            issues.forEach(issue -> issue.setComponent(component));
+        }
+        Set<Issue> aggregatedIssues = new HashSet<>(issues);
+        for (int i = 0; i < childCount; i++) {
+            aggregatedIssues.addAll(children[i].processTreeIssues());
+        }
+        subtreeIssues = aggregatedIssues.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(aggregatedIssues);
+        setTopIssue();
+        sortChildren();
+        return subtreeIssues;
+    }
+
+    private void setTopIssue() {
+        topIssue = null;
+        for (Issue issue : subtreeIssues) {
+            if (issue.getSeverity().isHigherThan(topIssue != null ? topIssue.getSeverity() : Severity.Normal)) {
+                topIssue = issue;
+                if (topIssue.isTopSeverity()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void sortChildren() {
+        Arrays.sort(children, 0, childCount, Comparator
+                .comparing(CompactDependencyTree::getTopIssue, Comparator.comparing(Issue::getSeverity))
+                .thenComparing(CompactDependencyTree::getIssueCount)
+                .thenComparing(CompactDependencyTree::getChildCount)
+                .reversed()
+                .thenComparing(CompactDependencyTree::toString, Comparator.nullsFirst(Comparator.naturalOrder())));
+    }
+
+    private void invalidateIssues() {
+        for (CompactDependencyTree node = this; node != null && node.subtreeIssues != null; node = node.parent) {
+            node.subtreeIssues = null;
+        }
+    }
+
+    /**
+     * Collect all scopes and licenses of the subtree.
+     *
+     * @param allScopes   - Out - All dependency tree scopes
+     * @param allLicenses - Out - All dependency tree licenses
+     */
+    @SuppressWarnings("unused")
+    public void collectAllScopesAndLicenses(Set<Scope> allScopes, Set<License> allLicenses) {
+        Deque<CompactDependencyTree> queue = new ArrayDeque<>();
+        queue.add(this);
+        while (!queue.isEmpty()) {
+            CompactDependencyTree node = queue.poll();
+            allScopes.addAll(node.scopes);
+            allLicenses.addAll(node.licenses);
+            for (int i = 0; i < node.childCount; i++) {
+                queue.add(node.children[i]);
+            }
+        }
+    }
+
+    @Override
+    public CompactDependencyTree getChildAt(int childIndex) {
+        if (childIndex < 0 || childIndex >= childCount) {
+            throw new ArrayIndexOutOfBoundsException(childIndex);
+        }
+        return children[childIndex];
+    }
+
+    @Override
+    public int getChildCount() {
+        return childCount;
+    }
+
+    @Override
+    public CompactDependencyTree getParent() {
+        return parent;
+    }
+
+    @Override
+    public int getIndex(TreeNode node) {
+        for (int i = 0; i < childCount; i++) {
+            if (children[i] == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean getAllowsChildren() {
+        return true;
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return childCount == 0;
+    }
+
+    @Override
+    public Enumeration<CompactDependencyTree> children() {
+        return Collections.enumeration(getChildren());
+    }
+
+    @Override
+    public String toString() {
+        return userObject != null ? userObject.toString() : null;
+    }
+}
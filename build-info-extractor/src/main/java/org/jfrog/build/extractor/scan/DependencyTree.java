@@ -112,6 +112,14 @@ public class DependencyTree extends DefaultMutableTreeNode {
         getChildren().forEach(node -> node.setPrefix(prefix));
     }
 
+    String getPackagePrefix() {
+        return packagePrefix;
+    }
+
+    void setPackagePrefix(String packagePrefix) {
+        this.packagePrefix = packagePrefix;
+    }
+
     /**
      * @return total number of issues of the current node and its ancestors
      */
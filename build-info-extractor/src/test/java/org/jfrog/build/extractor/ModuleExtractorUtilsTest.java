@@ -0,0 +1,54 @@
+package org.jfrog.build.extractor;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.api.Module;
+import org.jfrog.build.api.builder.ArtifactBuilder;
+import org.jfrog.build.api.builder.DependencyBuilder;
+import org.jfrog.build.api.builder.ModuleBuilder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the serialization of module info files
+ */
+@Test
+public class ModuleExtractorUtilsTest {
+    private File tempDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("module-extractor-utils").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    public void testJsonAndBinaryModuleFiles() throws IOException {
+        ModuleBuilder moduleBuilder = new ModuleBuilder().id("org.jfrog:module:1.0")
+                .addArtifact(new ArtifactBuilder("module-1.0.jar").type("jar").sha1("123").build());
+        for (int i = 0; i < 100; i++) {
+            moduleBuilder.addDependency(new DependencyBuilder().id("org.jfrog:dependency" + i + ":1.0").type("jar")
+                    .addScope("compile").addScope("runtime").sha1("sha1" + i).build());
+        }
+        Module module = moduleBuilder.build();
+
+        File jsonFile = new File(tempDir, "moduleInfo.json");
+        ModuleExtractorUtils.saveModuleToFile(module, jsonFile);
+        File binaryFile = new File(tempDir, "binary/moduleInfo.json");
+        ModuleExtractorUtils.saveModuleToBinaryFile(module, binaryFile);
+
+        assertTrue(binaryFile.length() < jsonFile.length(), "Binary module file should be smaller than the json file.");
+        assertEquals(ModuleExtractorUtils.readModuleFromFile(jsonFile), module);
+        assertEquals(ModuleExtractorUtils.readModuleFromFile(binaryFile), module);
+    }
+}
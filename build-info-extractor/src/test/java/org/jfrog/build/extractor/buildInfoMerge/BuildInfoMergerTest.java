@@ -0,0 +1,79 @@
+package org.jfrog.build.extractor.buildInfoMerge;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.api.Build;
+import org.jfrog.build.api.Module;
+import org.jfrog.build.api.builder.ArtifactBuilder;
+import org.jfrog.build.api.builder.BuildInfoBuilder;
+import org.jfrog.build.api.builder.DependencyBuilder;
+import org.jfrog.build.api.builder.ModuleBuilder;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.BuildInfoExtractorUtils;
+import org.jfrog.build.extractor.ModuleExtractorUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the merging of build-info and module files with the BuildInfoMerger
+ */
+@Test
+public class BuildInfoMergerTest {
+    private File tempDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("build-info-merger").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    public void testMergeFiles() throws IOException {
+        File first = new File(tempDir, "first.json");
+        BuildInfoExtractorUtils.saveBuildInfoToFile(new BuildInfoBuilder("merged").number("1").started("2021-01-01T00:00:00.000+0000")
+                .addModule(createModule("a", "a1.jar", "dep1"))
+                .addProperty("first", "1")
+                .build(), first);
+        File second = new File(tempDir, "second.json");
+        BuildInfoExtractorUtils.saveBuildInfoToFile(new BuildInfoBuilder("other").number("2").started("2021-01-01T00:00:00.000+0000")
+                .addModule(createModule("a", "a2.jar", "dep1"))
+                .addModule(createModule("b", "b.jar", "dep2"))
+                .addProperty("second", "2")
+                .build(), second);
+        File moduleFile = new File(tempDir, "module.json");
+        ModuleExtractorUtils.saveModuleToFile(createModule("c", "c.jar", "dep3"), moduleFile);
+
+        File output = new File(tempDir, "output/merged.json");
+        new BuildInfoMerger(new NullLog())
+                .addModules(moduleFile)
+                .addBuildInfo(first)
+                .addBuildInfo(second)
+                .saveToFile(output);
+
+        Build merged = BuildInfoExtractorUtils.jsonStringToBuildInfo(FileUtils.readFileToString(output, "UTF-8"));
+        assertEquals(merged.getName(), "merged");
+        assertEquals(merged.getNumber(), "1");
+        assertEquals(merged.getModules().size(), 3);
+        assertEquals(merged.getModule("a").getArtifacts().size(), 2);
+        assertEquals(merged.getModule("a").getDependencies().size(), 1);
+        assertNotNull(merged.getModule("c"));
+        assertEquals(merged.getProperties().getProperty("first"), "1");
+        assertEquals(merged.getProperties().getProperty("second"), "2");
+    }
+
+    private Module createModule(String id, String artifact, String dependency) {
+        return new ModuleBuilder().id(id)
+                .addArtifact(new ArtifactBuilder(artifact).sha1(artifact).build())
+                .addDependency(new DependencyBuilder().id(dependency).sha1(dependency).build())
+                .build();
+    }
+}
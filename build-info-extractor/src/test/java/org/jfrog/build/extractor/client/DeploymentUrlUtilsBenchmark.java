@@ -0,0 +1,105 @@
+package org.jfrog.build.extractor.client;
+
+import com.google.common.collect.ArrayListMultimap;
+import org.apache.commons.codec.net.URLCodec;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.extractor.clientConfiguration.util.DeploymentUrlUtils;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.codec.binary.StringUtils.getBytesUtf8;
+import static org.apache.commons.codec.binary.StringUtils.newStringUsAscii;
+
+/**
+ * Measures the CPU time of building the deployment URL of an upload - The encoded repository, artifact path and matrix
+ * params - with the previous implementation, which encoded the path with a URLCodec per segment and the matrix params
+ * of every upload, and with the current one, which encodes the path in a single pass and each property set once.
+ * Not a test - Run the main method, after the test classes are compiled.
+ */
+public class DeploymentUrlUtilsBenchmark {
+    private static final int UPLOADS = 200_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws UnsupportedEncodingException {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            paths.add("org/jfrog/test/module-" + i + "/1.0." + i + "/module-" + i + "-1.0." + i + "-sources.jar");
+        }
+        ArrayListMultimap<String, String> properties = ArrayListMultimap.create();
+        properties.put("build.name", "my build");
+        properties.put("build.number", "123");
+        properties.put("build.timestamp", "1600000000000");
+        properties.put("vcs.url", "https://github.com/jfrog/build-info.git");
+        properties.put("vcs.revision", "b063f2f6fad6ae498cf40cd654c5f00e6cae3c55");
+        properties.put("vcs.branch", "master");
+
+        // The first rounds warm up the JIT
+        for (int round = 1; round <= ROUNDS; round++) {
+            long previous = measure(() -> {
+                for (int i = 0; i < UPLOADS; i++) {
+                    String path = paths.get(i % paths.size());
+                    consume(legacyEncodePath("libs-release-local") + "/" + legacyEncodePath(path) +
+                            DeploymentUrlUtils.buildMatrixParamsString(properties, true));
+                }
+            });
+            long current = measure(() -> {
+                for (int i = 0; i < UPLOADS; i++) {
+                    String path = paths.get(i % paths.size());
+                    // Each upload has its own copy of the properties, equal to the properties of the other uploads
+                    consume(DeploymentUrlUtils.encodePath("libs-release-local") + "/" + DeploymentUrlUtils.encodePath(path) +
+                            DeploymentUrlUtils.buildEncodedMatrixParamsString(ArrayListMultimap.create(properties)));
+                }
+            });
+            System.out.printf("Round %d: previous %.2f us/upload, current %.2f us/upload%n", round,
+                    (double) previous / UPLOADS / 1000, (double) current / UPLOADS / 1000);
+        }
+    }
+
+    /**
+     * The previous implementation of {@link DeploymentUrlUtils#encodePath(String)}.
+     */
+    static String legacyEncodePath(String unescaped) {
+        int index = unescaped.indexOf(";");
+
+        String path = unescaped;
+        String matrixParams = null;
+        if (index != -1) {
+            path = unescaped.substring(0, index);
+            if (index == unescaped.length() - 1) {
+                matrixParams = "";
+            } else {
+                matrixParams = unescaped.substring(index + 1);
+            }
+        }
+
+        URLCodec codec = new URLCodec();
+        String[] split = StringUtils.split(path, "/");
+        for (int i = 0; i < split.length; i++) {
+            split[i] = newStringUsAscii(codec.encode(getBytesUtf8(split[i])));
+            split[i] = split[i].replaceAll("\\+", "%20");
+        }
+        String escaped = StringUtils.join(split, "/");
+        if (StringUtils.isNotBlank(matrixParams)) {
+            escaped += ";" + matrixParams;
+        }
+        return escaped;
+    }
+
+    private static long sink;
+
+    private static void consume(String url) {
+        sink += url.length();
+    }
+
+    private static long measure(Run run) throws UnsupportedEncodingException {
+        long start = System.nanoTime();
+        run.run();
+        return System.nanoTime() - start;
+    }
+
+    private interface Run {
+        void run() throws UnsupportedEncodingException;
+    }
+}
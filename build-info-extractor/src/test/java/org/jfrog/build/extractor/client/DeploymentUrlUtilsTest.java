@@ -20,10 +20,12 @@ import com.google.common.collect.ArrayListMultimap;
 import org.jfrog.build.extractor.clientConfiguration.ClientProperties;
 import org.jfrog.build.extractor.clientConfiguration.util.DeploymentUrlUtils;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.io.UnsupportedEncodingException;
 import java.util.Properties;
+import java.util.Random;
 
 /**
  * @author Tomer Cohen
@@ -70,4 +72,58 @@ public class DeploymentUrlUtilsTest {
         Assert.assertEquals(DeploymentUrlUtils.encodePath("a/b/c;a=1;b=2"), "a/b/c;a=1;b=2");
     }
 
+    @Test(dataProvider = "encodePathProvider")
+    public void testEncodePathSpecialCharacters(String path, String expected) {
+        Assert.assertEquals(DeploymentUrlUtils.encodePath(path), expected);
+    }
+
+    @DataProvider
+    private Object[][] encodePathProvider() {
+        return new String[][]{
+                {"libs-release-local", "libs-release-local"},
+                {"org/jfrog/test/1.0/test-1.0.jar", "org/jfrog/test/1.0/test-1.0.jar"},
+                {"/a//b/", "a/b"},
+                {"", ""},
+                {"/", ""},
+                {"a b/c+d/e%f", "a%20b/c%2Bd/e%25f"},
+                {"dir/ünïcödé/日本.txt", "dir/%C3%BCn%C3%AFc%C3%B6d%C3%A9/%E6%97%A5%E6%9C%AC.txt"},
+                {"a/b~c:d@e", "a/b%7Ec%3Ad%40e"},
+                {"a/b;key=value", "a/b;key=value"},
+                {"a/b;", "a/b"},
+                {"a/b; ", "a/b"},
+                {"a b;k=v v", "a%20b;k=v v"},
+        };
+    }
+
+    public void testEncodePathMatchesPreviousImplementation() {
+        String characters = "ab/ /+%;=~:@.-_*ü日";
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            StringBuilder path = new StringBuilder();
+            for (int j = random.nextInt(20); j > 0; j--) {
+                path.append(characters.charAt(random.nextInt(characters.length())));
+            }
+            Assert.assertEquals(DeploymentUrlUtils.encodePath(path.toString()),
+                    DeploymentUrlUtilsBenchmark.legacyEncodePath(path.toString()), path.toString());
+        }
+    }
+
+    public void testEncodedMatrixParams() throws UnsupportedEncodingException {
+        ArrayListMultimap<String, String> properties = ArrayListMultimap.create();
+        properties.put("build.name", "my build");
+        properties.put("build.number", "1");
+        properties.put("vcs.url", "https://github.com/jfrog/build-info.git");
+        String encoded = DeploymentUrlUtils.buildEncodedMatrixParamsString(properties);
+        Assert.assertEquals(encoded, DeploymentUrlUtils.buildMatrixParamsString(properties, true));
+
+        // Equal properties of other deploy details are encoded once
+        ArrayListMultimap<String, String> sameProperties = ArrayListMultimap.create(properties);
+        Assert.assertSame(DeploymentUrlUtils.buildEncodedMatrixParamsString(sameProperties), encoded);
+
+        // Changing the properties after they were cached does not change the cached entry
+        properties.put("build.number", "2");
+        Assert.assertEquals(DeploymentUrlUtils.buildEncodedMatrixParamsString(properties), DeploymentUrlUtils.buildMatrixParamsString(properties, true));
+        Assert.assertSame(DeploymentUrlUtils.buildEncodedMatrixParamsString(sameProperties), encoded);
+        Assert.assertEquals(DeploymentUrlUtils.buildEncodedMatrixParamsString(ArrayListMultimap.create()), "");
+    }
 }
@@ -0,0 +1,82 @@
+package org.jfrog.build.extractor.clientConfiguration.client;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the adaptive status polling of long running operations
+ */
+@Test
+public class StatusPollerTest {
+
+    public void testNextInterval() {
+        StatusPoller poller = new StatusPoller(500, 10000, 60000, "timeout");
+        assertEquals(poller.nextInterval(500), 1000);
+        assertEquals(poller.nextInterval(4000), 8000);
+        assertEquals(poller.nextInterval(8000), 10000);
+        assertEquals(poller.nextInterval(10000), 10000);
+    }
+
+    public void testCompleteOnTerminalState() throws IOException {
+        StatusPoller poller = new StatusPoller(1, 5, TimeUnit.SECONDS.toMillis(30), "timeout");
+        AtomicInteger polls = new AtomicInteger();
+        CompletableFuture<String> future = poller.track(() -> polls.incrementAndGet() < 5 ? null : "Completed");
+        assertEquals(StatusPoller.await(future), "Completed");
+        assertEquals(polls.get(), 5);
+    }
+
+    public void testTrackConcurrently() throws IOException {
+        StatusPoller poller = new StatusPoller(1, 5, TimeUnit.SECONDS.toMillis(30), "timeout");
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int operation = i;
+            AtomicInteger polls = new AtomicInteger();
+            futures.add(poller.track(() -> polls.incrementAndGet() <= operation % 4 ? null : operation));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(StatusPoller.await(futures.get(i)).intValue(), i);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Distribution failed")
+    public void testFailure() throws IOException {
+        StatusPoller poller = new StatusPoller(1, 5, TimeUnit.SECONDS.toMillis(30), "timeout");
+        AtomicInteger polls = new AtomicInteger();
+        StatusPoller.await(poller.track(() -> {
+            if (polls.incrementAndGet() < 3) {
+                return null;
+            }
+            throw new IOException("Distribution failed");
+        }));
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Timeout for sync distribution")
+    public void testTimeout() throws IOException {
+        StatusPoller poller = new StatusPoller(1, 5, 50, "Timeout for sync distribution");
+        StatusPoller.await(poller.track(() -> null));
+    }
+
+    public void testCancel() throws InterruptedException {
+        StatusPoller poller = new StatusPoller(1, 5, TimeUnit.SECONDS.toMillis(30), "timeout");
+        AtomicInteger polls = new AtomicInteger();
+        CompletableFuture<String> future = poller.track(() -> {
+            polls.incrementAndGet();
+            return null;
+        });
+        future.cancel(false);
+        Thread.sleep(50);
+        int pollsAfterCancel = polls.get();
+        Thread.sleep(50);
+        assertTrue(future.isCancelled());
+        assertEquals(polls.get(), pollsAfterCancel);
+    }
+}
@@ -0,0 +1,230 @@
+package org.jfrog.build.extractor.clientConfiguration.client.artifactory.services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.client.JFrogHttpClient;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the multipart upload against a local stand-in of the Artifactory multipart upload API
+ */
+@Test
+public class MultipartUploadTest {
+    private static final String TOKEN = "upload-token";
+    private static final String NODE_ID = "node-1";
+    private static final int MB = 1024 * 1024;
+
+    private File tempDir;
+    private HttpServer server;
+    private String serverUrl;
+    private final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> partAttempts = new ConcurrentHashMap<>();
+    private final Set<Integer> failingParts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger statusRequests = new AtomicInteger();
+    private final AtomicInteger configRequests = new AtomicInteger();
+    private volatile int failuresPerPart;
+    private volatile String completedSha1;
+    private volatile boolean aborted;
+    private volatile boolean propertiesSet;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("multipart-upload").toFile();
+        parts.clear();
+        partAttempts.clear();
+        failingParts.clear();
+        statusRequests.set(0);
+        configRequests.set(0);
+        completedSha1 = null;
+        aborted = false;
+        propertiesSet = false;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverUrl = "http://localhost:" + server.getAddress().getPort();
+        server.createContext("/api/system/version", exchange -> respond(exchange, 200, "{\"version\":\"7.20.0\"}"));
+        server.createContext("/api/v1/uploads/config", exchange -> {
+            configRequests.incrementAndGet();
+            respond(exchange, 200, "{\"supported\":true}");
+        });
+        server.createContext("/api/v1/uploads/create", exchange -> {
+            exchange.getResponseHeaders().add(MultipartUpload.NODE_ID_HEADER, NODE_ID);
+            respond(exchange, 200, "{\"token\":\"" + TOKEN + "\"}");
+        });
+        server.createContext("/api/v1/uploads/urlPart/", exchange -> {
+            if (!isAuthorized(exchange)) {
+                respond(exchange, 401, "");
+                return;
+            }
+            String partNumber = exchange.getRequestURI().getQuery().replace("partNumber=", "");
+            respond(exchange, 200, "{\"url\":\"" + serverUrl + "/parts/" + partNumber + "\"}");
+        });
+        server.createContext("/parts/", exchange -> {
+            int partNumber = Integer.parseInt(exchange.getRequestURI().getPath().replace("/parts/", ""));
+            byte[] content = IOUtils.toByteArray(exchange.getRequestBody());
+            int attempt = partAttempts.computeIfAbsent(partNumber, key -> new AtomicInteger()).incrementAndGet();
+            if (failingParts.contains(partNumber) && attempt <= failuresPerPart) {
+                respond(exchange, 500, "");
+                return;
+            }
+            parts.put(partNumber, content);
+            respond(exchange, 200, "");
+        });
+        server.createContext("/api/v1/uploads/complete", exchange -> {
+            completedSha1 = exchange.getRequestURI().getQuery().replace("sha1=", "");
+            respond(exchange, isAuthorized(exchange) ? 202 : 401, "");
+        });
+        server.createContext("/api/v1/uploads/status", exchange ->
+                respond(exchange, 200, statusRequests.incrementAndGet() < 3 ? "{\"status\":\"PROCESSING\",\"progress\":50}" : "{\"status\":\"FINISHED\"}"));
+        server.createContext("/api/v1/uploads/abort", exchange -> {
+            aborted = true;
+            respond(exchange, 200, "");
+        });
+        server.createContext("/api/storage/", exchange -> {
+            propertiesSet = true;
+            respond(exchange, 204, null);
+        });
+        server.start();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.stop(0);
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    public void testMultipartUpload() throws IOException {
+        File file = createFile(3 * MB + 123);
+        try (JFrogHttpClient client = new JFrogHttpClient(serverUrl, "user", "password", new NullLog())) {
+            ArtifactoryUploadResponse response = new MultipartUpload(createDeployDetails(file), "", new MultipartUploadOptions(1, 1, 3), new NullLog()).execute(client);
+            assertEquals(response.getRepo(), "generic-local");
+            assertEquals(response.getPath(), "/images/disk.img");
+            assertEquals(response.getChecksums().getSha1(), sha1(file));
+        }
+        assertEquals(parts.size(), 4);
+        assertEquals(assembleParts(), Files.readAllBytes(file.toPath()));
+        assertEquals(completedSha1, sha1(file));
+        assertTrue(propertiesSet);
+        assertFalse(aborted);
+    }
+
+    public void testRetryFailedPart() throws IOException {
+        File file = createFile(3 * MB);
+        failingParts.add(2);
+        failuresPerPart = 1;
+        try (JFrogHttpClient client = new JFrogHttpClient(serverUrl, "user", "password", new NullLog())) {
+            new MultipartUpload(createDeployDetails(file), "", new MultipartUploadOptions(1, 1, 3), new NullLog()).execute(client);
+        }
+        // Only the failed part is uploaded again
+        assertEquals(partAttempts.get(1).get(), 1);
+        assertEquals(partAttempts.get(2).get(), 2);
+        assertEquals(partAttempts.get(3).get(), 1);
+        assertEquals(assembleParts(), Files.readAllBytes(file.toPath()));
+        assertFalse(aborted);
+    }
+
+    public void testAbortOnPartFailure() throws IOException {
+        File file = createFile(2 * MB + 1);
+        failingParts.add(3);
+        failuresPerPart = Integer.MAX_VALUE;
+        try (JFrogHttpClient client = new JFrogHttpClient(serverUrl, "user", "password", new NullLog())) {
+            client.setConnectionRetries(1);
+            new MultipartUpload(createDeployDetails(file), "", new MultipartUploadOptions(1, 1, 3), new NullLog()).execute(client);
+            fail("Expected the upload to fail");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("Failed uploading part 3"), e.getMessage());
+        }
+        assertEquals(partAttempts.get(3).get(), 2);
+        assertTrue(aborted);
+        assertNull(completedSha1);
+    }
+
+    public void testSupportCached() throws IOException {
+        File file = createFile(MB);
+        try (JFrogHttpClient client = new JFrogHttpClient(serverUrl, "user", "password", new NullLog())) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(new MultipartUpload(createDeployDetails(file), "", MultipartUploadOptions.DEFAULT, new NullLog()).isSupported(client));
+            }
+        }
+        assertEquals(configRequests.get(), 1);
+    }
+
+    public void testIsMultipartUpload() {
+        MultipartUploadOptions options = new MultipartUploadOptions(200, 20, 5);
+        assertFalse(options.isMultipartUpload(199L * MB));
+        assertTrue(options.isMultipartUpload(200L * MB));
+        assertFalse(MultipartUploadOptions.DISABLED.isMultipartUpload(20000L * MB));
+    }
+
+    private boolean isAuthorized(HttpExchange exchange) {
+        return ("Bearer " + TOKEN).equals(exchange.getRequestHeaders().getFirst("Authorization")) &&
+                NODE_ID.equals(exchange.getRequestHeaders().getFirst(MultipartUpload.NODE_ID_HEADER));
+    }
+
+    private File createFile(int size) throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        File file = new File(tempDir, "disk.img");
+        Files.write(file.toPath(), content);
+        return file;
+    }
+
+    private DeployDetails createDeployDetails(File file) throws IOException {
+        return new DeployDetails.Builder()
+                .file(file)
+                .targetRepository("generic-local")
+                .artifactPath("images/disk.img")
+                .sha1(sha1(file))
+                .md5(DigestUtils.md5Hex(Files.readAllBytes(file.toPath())))
+                .addProperty("build.name", "vm-images")
+                .build();
+    }
+
+    private byte[] assembleParts() throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (int i = 1; i <= parts.size(); i++) {
+            content.write(parts.get(i));
+        }
+        return content.toByteArray();
+    }
+
+    private static String sha1(File file) throws IOException {
+        return DigestUtils.sha1Hex(Files.readAllBytes(file.toPath()));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        IOUtils.toByteArray(exchange.getRequestBody());
+        if (body == null || body.isEmpty()) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.jfrog.build.extractor.clientConfiguration.deploy;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.jfrog.build.extractor.clientConfiguration.deploy.DeployTestUtils.*;
+import static org.testng.Assert.*;
+
+/**
+ * Tests the bulk search of the checksums of the files to deploy.
+ */
+@Test
+public class ChecksumPreflightTest {
+    private static final String EXISTING_SHA1 = SHA1;
+    private static final String NEW_SHA1 = "040f06fd774092478d450774f5ba30c5da78acc8";
+    private static final String OTHER_SHA1 = "1111111111111111111111111111111111111111";
+
+    private Path tempDir;
+    private File artifact;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("checksum-preflight");
+        artifact = createArtifact(tempDir);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir.toFile());
+    }
+
+    public void testCheck() {
+        ChecksumPreflight preflight = new ChecksumPreflight(2, new NullLog());
+        List<String> queries = new ArrayList<>();
+        try (ArtifactoryManager artifactoryManager = new AqlArtifactoryManager(queries, createSearchEntry(EXISTING_SHA1))) {
+            preflight.check(artifactoryManager, Arrays.asList(createDetails("a.jar", EXISTING_SHA1),
+                    createDetails("b.jar", NEW_SHA1), createDetails("c.jar", OTHER_SHA1), createDetails("d.jar", EXISTING_SHA1)));
+            // The checksums are searched in bulks of 2 distinct checksums
+            assertEquals(queries.size(), 2);
+            assertEquals(queries.get(0), "items.find({\"$or\":[{\"actual_sha1\":\"" + EXISTING_SHA1 + "\"},{\"actual_sha1\":\"" + NEW_SHA1 + "\"}]}).include(\"actual_sha1\")");
+            assertEquals(preflight.exists(EXISTING_SHA1), Boolean.TRUE);
+            assertEquals(preflight.exists(NEW_SHA1), Boolean.FALSE);
+            assertEquals(preflight.exists(OTHER_SHA1), Boolean.FALSE);
+            assertNull(preflight.exists("2222222222222222222222222222222222222222"));
+
+            // Checksums which were already searched are not searched again
+            preflight.check(artifactoryManager, Collections.singletonList(createDetails("e.jar", NEW_SHA1)));
+            assertEquals(queries.size(), 2);
+        }
+    }
+
+    public void testMarkExists() {
+        ChecksumPreflight preflight = new ChecksumPreflight(new NullLog());
+        try (ArtifactoryManager artifactoryManager = new AqlArtifactoryManager(new ArrayList<>())) {
+            preflight.check(artifactoryManager, Collections.singletonList(createDetails("a.jar", NEW_SHA1)));
+        }
+        assertEquals(preflight.exists(NEW_SHA1), Boolean.FALSE);
+        // Files with the same content as a deployed file are deployed by checksum
+        preflight.markExists(NEW_SHA1);
+        assertEquals(preflight.exists(NEW_SHA1), Boolean.TRUE);
+    }
+
+    public void testSkipExplodedAndFailedChecksums() {
+        ChecksumPreflight preflight = new ChecksumPreflight(new NullLog());
+        List<String> queries = new ArrayList<>();
+        DeployDetails exploded = createDetailsBuilder(artifact, "a.zip", OTHER_SHA1).explode(true).build();
+        try (ArtifactoryManager artifactoryManager = new AqlArtifactoryManager(queries).failing()) {
+            preflight.check(artifactoryManager, Collections.singletonList(exploded));
+            assertTrue(queries.isEmpty());
+
+            // The checksums of failed searches remain unknown
+            preflight.check(artifactoryManager, Collections.singletonList(createDetails("a.jar", NEW_SHA1)));
+            assertEquals(queries.size(), 1);
+            assertNull(preflight.exists(NEW_SHA1));
+        }
+    }
+
+    private DeployDetails createDetails(String artifactPath, String sha1) {
+        return DeployTestUtils.createDetails(artifact, artifactPath, sha1);
+    }
+}
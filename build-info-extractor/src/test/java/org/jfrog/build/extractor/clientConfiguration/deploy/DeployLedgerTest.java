@@ -0,0 +1,205 @@
+package org.jfrog.build.extractor.clientConfiguration.deploy;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.jfrog.build.extractor.clientConfiguration.deploy.DeployTestUtils.*;
+import static org.testng.Assert.*;
+
+/**
+ * Tests the local ledger of deployed artifacts.
+ */
+@Test
+public class DeployLedgerTest {
+    private static final long VERIFY_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private Path tempDir;
+    private Path ledgerFile;
+    private File artifact;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("deploy-ledger");
+        ledgerFile = tempDir.resolve("ledger").resolve("deploy-ledger.json");
+        artifact = createArtifact(tempDir);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir.toFile());
+    }
+
+    public void testSkipUnchangedArtifacts() throws IOException {
+        DeployLedger ledger = load(VERIFY_INTERVAL);
+        DeployDetails details = createDetails("org/a/1.0/a.jar", SHA1);
+        assertNull(ledger.getDeployedResponse(details));
+        ledger.recordDeployed(details, null);
+        ledger.save();
+
+        DeployLedger loaded = load(VERIFY_INTERVAL);
+        ArtifactoryUploadResponse response = loaded.getDeployedResponse(details);
+        assertNotNull(response);
+        assertEquals(response.getRepo(), "libs-release");
+        assertEquals(response.getPath(), "/org/a/1.0/a.jar");
+        assertEquals(response.getChecksums().getSha1(), SHA1);
+
+        // Artifacts with a different checksum or path are uploaded
+        assertNull(loaded.getDeployedResponse(createDetails("org/a/1.0/a.jar", "0000000000000000000000000000000000000000")));
+        assertNull(loaded.getDeployedResponse(createDetails("org/a/2.0/a.jar", SHA1)));
+
+        // Changed files are uploaded
+        FileUtils.writeStringToFile(artifact, "changed content", StandardCharsets.UTF_8);
+        assertNull(loaded.getDeployedResponse(details));
+    }
+
+    public void testDeployChangedProperties() {
+        DeployLedger ledger = load(VERIFY_INTERVAL);
+        ledger.recordDeployed(createDetails("org/a/1.0/a.jar", "build.name", "a", "build.number", "1"), null);
+
+        // The order of the properties doesn't matter
+        assertNotNull(ledger.getDeployedResponse(createDetails("org/a/1.0/a.jar", "build.number", "1", "build.name", "a")));
+
+        // Artifacts deployed by another build are deployed again, by checksum
+        DeployDetails nextBuild = createDetails("org/a/1.0/a.jar", "build.name", "a", "build.number", "2");
+        assertNull(ledger.getDeployedResponse(nextBuild));
+        assertTrue(ledger.isContentDeployed(nextBuild));
+        assertFalse(ledger.isContentDeployed(createDetails("org/a/2.0/a.jar", SHA1)));
+    }
+
+    public void testSkipVerificationOfConfirmedArtifacts() {
+        DeployLedger ledger = load(VERIFY_INTERVAL);
+        DeployDetails details = createDetails("org/a/1.0/a.jar", SHA1);
+        ledger.recordDeployed(details, null);
+        ledger.save();
+
+        // Artifacts confirmed within the verification interval are not queried
+        DeployLedger loaded = load(VERIFY_INTERVAL);
+        List<String> queries = new ArrayList<>();
+        try (ArtifactoryManager artifactoryManager = new AqlArtifactoryManager(queries)) {
+            loaded.verify(artifactoryManager, Collections.singletonList(details));
+        }
+        assertTrue(queries.isEmpty());
+        assertEquals(loaded.size(), 1);
+    }
+
+    public void testVerifyStaleArtifacts() throws IOException {
+        DeployLedger ledger = load(VERIFY_INTERVAL);
+        DeployDetails existing = createDetails("org/a/1.0/a.jar", SHA1);
+        DeployDetails deleted = createDetails("org/b/1.0/b.jar", SHA1);
+        DeployDetails overridden = createDetails("c.jar", SHA1);
+        DeployDetails notDeployed = createDetails("d.jar", SHA1);
+        ledger.recordDeployed(existing, null);
+        ledger.recordDeployed(deleted, null);
+        ledger.recordDeployed(overridden, null);
+        ledger.recordDeployed(notDeployed, null);
+        ledger.save();
+
+        // With a zero interval, all the artifacts are stale and must be verified before they are skipped
+        DeployLedger stale = load(0);
+        assertNull(stale.getDeployedResponse(existing));
+        List<String> queries = new ArrayList<>();
+        try (ArtifactoryManager artifactoryManager = new AqlArtifactoryManager(queries,
+                createSearchEntry("org/a/1.0", "a.jar", SHA1), createSearchEntry(".", "c.jar", "1111111111111111111111111111111111111111"))) {
+            stale.verify(artifactoryManager, Arrays.asList(existing, deleted, overridden));
+            // Each artifact is verified once
+            stale.verify(artifactoryManager, Arrays.asList(existing, deleted));
+        }
+        // Only the artifacts to deploy are verified
+        assertEquals(queries.size(), 1);
+        assertFalse(queries.get(0).contains("d.jar"));
+        assertTrue(queries.get(0).contains("{\"repo\":\"libs-release\",\"path\":\"org/a/1.0\",\"name\":\"a.jar\"}"));
+        assertTrue(queries.get(0).contains("{\"repo\":\"libs-release\",\"path\":\".\",\"name\":\"c.jar\"}"));
+        // Deleted and overridden artifacts are removed
+        assertEquals(stale.size(), 2);
+        stale.save();
+
+        DeployLedger loaded = load(VERIFY_INTERVAL);
+        assertEquals(loaded.size(), 2);
+        assertNotNull(loaded.getDeployedResponse(existing));
+        assertNull(loaded.getDeployedResponse(deleted));
+    }
+
+    public void testMergeConcurrentBuilds() {
+        DeployLedger first = load(VERIFY_INTERVAL);
+        DeployLedger second = load(VERIFY_INTERVAL);
+        first.recordDeployed(createDetails("a.jar", SHA1), null);
+        second.recordDeployed(createDetails("b.jar", SHA1), null);
+        first.save();
+        second.save();
+        assertEquals(load(VERIFY_INTERVAL).size(), 2);
+    }
+
+    public void testSeparateServers() {
+        DeployLedger staging = DeployLedger.load(ledgerFile, "http://staging/artifactory", VERIFY_INTERVAL, DeployLedger.DEFAULT_MAX_ENTRIES, new NullLog());
+        DeployDetails details = createDetails("org/a/1.0/a.jar", SHA1);
+        staging.recordDeployed(details, null);
+        staging.save();
+
+        // Artifacts deployed to one server are uploaded to another server with the same repositories
+        DeployLedger production = DeployLedger.load(ledgerFile, "http://production/artifactory", VERIFY_INTERVAL, DeployLedger.DEFAULT_MAX_ENTRIES, new NullLog());
+        assertNull(production.getDeployedResponse(details));
+        assertFalse(production.isContentDeployed(details));
+        production.recordDeployed(details, null);
+        production.save();
+
+        // The URL is normalized
+        DeployLedger loaded = DeployLedger.load(ledgerFile, "http://staging/artifactory/", VERIFY_INTERVAL, DeployLedger.DEFAULT_MAX_ENTRIES, new NullLog());
+        assertNotNull(loaded.getDeployedResponse(details));
+        assertEquals(loaded.size(), 2);
+    }
+
+    public void testEvictLeastRecentlyConfirmed() throws InterruptedException {
+        DeployLedger ledger = DeployLedger.load(ledgerFile, SERVER_URL, VERIFY_INTERVAL, 2, new NullLog());
+        ledger.recordDeployed(createDetails("a.jar", SHA1), null);
+        Thread.sleep(5);
+        ledger.recordDeployed(createDetails("b.jar", SHA1), null);
+        Thread.sleep(5);
+        ledger.recordDeployed(createDetails("c.jar", SHA1), null);
+        ledger.save();
+
+        DeployLedger loaded = load(VERIFY_INTERVAL);
+        assertEquals(loaded.size(), 2);
+        assertNull(loaded.getDeployedResponse(createDetails("a.jar", SHA1)));
+        assertNotNull(loaded.getDeployedResponse(createDetails("c.jar", SHA1)));
+    }
+
+    public void testCreateVerifyAql() {
+        String aql = DeployLedger.createVerifyAql(Arrays.asList("repo/a.jar", "repo/org/b/b.jar"));
+        assertEquals(aql, "items.find({\"$or\":[" +
+                "{\"$and\":[{\"repo\":\"repo\",\"path\":\".\",\"name\":\"a.jar\"}]}," +
+                "{\"$and\":[{\"repo\":\"repo\",\"path\":\"org/b\",\"name\":\"b.jar\"}]}" +
+                "]}).include(\"repo\",\"path\",\"name\",\"actual_sha1\")");
+    }
+
+    private DeployLedger load(long verifyIntervalMillis) {
+        return DeployLedger.load(ledgerFile, SERVER_URL, verifyIntervalMillis, DeployLedger.DEFAULT_MAX_ENTRIES, new NullLog());
+    }
+
+    private DeployDetails createDetails(String artifactPath, String sha1) {
+        return DeployTestUtils.createDetails(artifact, artifactPath, sha1);
+    }
+
+    private DeployDetails createDetails(String artifactPath, String... properties) {
+        DeployDetails.Builder builder = createDetailsBuilder(artifact, artifactPath, SHA1);
+        for (int i = 0; i < properties.length; i += 2) {
+            builder.addProperty(properties[i], properties[i + 1]);
+        }
+        return builder.build();
+    }
+}
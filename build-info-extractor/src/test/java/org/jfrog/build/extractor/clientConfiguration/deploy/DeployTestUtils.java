@@ -0,0 +1,92 @@
+package org.jfrog.build.extractor.clientConfiguration.deploy;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.api.search.AqlSearchResult;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shared fixtures of the deployment tests.
+ */
+class DeployTestUtils {
+    static final String SERVER_URL = "http://localhost:8081/artifactory";
+    static final String TARGET_REPOSITORY = "libs-release";
+    /**
+     * The SHA1 of the content of the artifact created by {@link #createArtifact(Path)}.
+     */
+    static final String SHA1 = "b063f2f6fad6ae498cf40cd654c5f00e6cae3c55";
+
+    /**
+     * Create the artifact 'a.jar' in the input directory.
+     */
+    static File createArtifact(Path dir) throws IOException {
+        File artifact = dir.resolve("a.jar").toFile();
+        FileUtils.writeStringToFile(artifact, "content", StandardCharsets.UTF_8);
+        return artifact;
+    }
+
+    static DeployDetails.Builder createDetailsBuilder(File artifact, String artifactPath, String sha1) {
+        return new DeployDetails.Builder().file(artifact).targetRepository(TARGET_REPOSITORY).artifactPath(artifactPath).sha1(sha1).md5("md5");
+    }
+
+    static DeployDetails createDetails(File artifact, String artifactPath, String sha1) {
+        return createDetailsBuilder(artifact, artifactPath, sha1).build();
+    }
+
+    static AqlSearchResult.SearchEntry createSearchEntry(String path, String name, String sha1) {
+        AqlSearchResult.SearchEntry searchEntry = new AqlSearchResult.SearchEntry();
+        searchEntry.setRepo(TARGET_REPOSITORY);
+        searchEntry.setPath(path);
+        searchEntry.setName(name);
+        searchEntry.setActualSha1(sha1);
+        return searchEntry;
+    }
+
+    static AqlSearchResult.SearchEntry createSearchEntry(String sha1) {
+        AqlSearchResult.SearchEntry searchEntry = new AqlSearchResult.SearchEntry();
+        searchEntry.setActualSha1(sha1);
+        return searchEntry;
+    }
+
+    /**
+     * Artifactory manager, which records the AQL queries it receives, and returns the same search entries for each.
+     */
+    static class AqlArtifactoryManager extends ArtifactoryManager {
+        private final List<String> queries;
+        private final List<AqlSearchResult.SearchEntry> entries;
+        private boolean fail;
+
+        AqlArtifactoryManager(List<String> queries, AqlSearchResult.SearchEntry... entries) {
+            super(SERVER_URL, new NullLog());
+            this.queries = queries;
+            this.entries = Arrays.asList(entries);
+        }
+
+        /**
+         * Fail the following AQL queries.
+         */
+        AqlArtifactoryManager failing() {
+            this.fail = true;
+            return this;
+        }
+
+        @Override
+        public AqlSearchResult searchArtifactsByAql(String aql) throws IOException {
+            queries.add(aql);
+            if (fail) {
+                throw new IOException("AQL search failed");
+            }
+            AqlSearchResult searchResult = new AqlSearchResult();
+            searchResult.setResults(new ArrayList<>(entries));
+            return searchResult;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.jfrog.build.extractor.clientConfiguration.util;
+
+import org.jfrog.build.api.dependency.BuildPatternArtifacts;
+import org.jfrog.build.api.dependency.BuildPatternArtifactsRequest;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the retrieval of the build dependencies
+ */
+@Test
+public class BuildDependenciesHelperTest {
+
+    public void testBatchedPatternArtifactsRequests() throws Exception {
+        List<Integer> requestSizes = Collections.synchronizedList(new ArrayList<>());
+        String resolvePattern = IntStream.range(0, 250)
+                .mapToObj(i -> "libs-release:*.jar@build-" + i + "#1")
+                .collect(Collectors.joining("\n"));
+        try (ArtifactoryManager artifactoryManager = new PatternArtifactsArtifactoryManager(requestSizes)) {
+            DependenciesDownloader downloader = new DependenciesDownloaderImpl(artifactoryManager, ".", new NullLog());
+            assertTrue(new BuildDependenciesHelper(downloader, new NullLog()).retrieveBuildDependencies(resolvePattern).isEmpty());
+        }
+        // The builds are retrieved in a few batched requests, rather than one request per build
+        requestSizes.sort(Comparator.reverseOrder());
+        assertEquals(requestSizes, Arrays.asList(100, 100, 50));
+    }
+
+    public void testSingleRequest() throws Exception {
+        List<Integer> requestSizes = Collections.synchronizedList(new ArrayList<>());
+        try (ArtifactoryManager artifactoryManager = new PatternArtifactsArtifactoryManager(requestSizes)) {
+            DependenciesDownloader downloader = new DependenciesDownloaderImpl(artifactoryManager, ".", new NullLog());
+            new BuildDependenciesHelper(downloader, new NullLog()).retrieveBuildDependencies("a:*.jar@build-a#1\nb:*.jar@build-b#2");
+        }
+        assertEquals(requestSizes, Collections.singletonList(2));
+    }
+
+    /**
+     * Artifactory manager, which finds no artifacts for the requested builds.
+     */
+    private static class PatternArtifactsArtifactoryManager extends ArtifactoryManager {
+        private final List<Integer> requestSizes;
+
+        PatternArtifactsArtifactoryManager(List<Integer> requestSizes) {
+            super("http://localhost:8081/artifactory", new NullLog());
+            this.requestSizes = requestSizes;
+        }
+
+        @Override
+        public List<BuildPatternArtifacts> retrievePatternArtifacts(List<BuildPatternArtifactsRequest> requests) throws IOException {
+            requestSizes.add(requests.size());
+            List<BuildPatternArtifacts> responses = new ArrayList<>();
+            for (BuildPatternArtifactsRequest request : requests) {
+                responses.add(new BuildPatternArtifacts(request.getBuildName(), null, null, null));
+            }
+            return responses;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.jfrog.build.extractor.clientConfiguration.util;
+
+import org.jfrog.build.api.dependency.DownloadableArtifact;
+import org.jfrog.build.api.dependency.pattern.PatternType;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the concurrent search and deduplication of the resolve pattern lines
+ */
+@Test
+public class ConcurrentPatternResolverTest {
+
+    public void testResultsOrder() throws Exception {
+        List<Callable<Integer>> searches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int result = i;
+            searches.add(() -> {
+                Thread.sleep(10 - result);
+                return result;
+            });
+        }
+        List<Integer> results = new ConcurrentPatternResolver(3).invokeAll(searches);
+        assertEquals(results, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+    }
+
+    public void testSearchesRunConcurrently() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        Callable<Boolean> search = () -> {
+            latch.countDown();
+            return latch.await(10, TimeUnit.SECONDS);
+        };
+        List<Boolean> results = new ConcurrentPatternResolver(2).invokeAll(Arrays.asList(search, search));
+        assertEquals(results, Arrays.asList(true, true));
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "search failed")
+    public void testSearchException() throws Exception {
+        List<Callable<Integer>> searches = Arrays.asList(() -> 1, () -> {
+            throw new IOException("search failed");
+        });
+        new ConcurrentPatternResolver(2).invokeAll(searches);
+    }
+
+    public void testDeduplicateArtifacts() {
+        ConcurrentPatternResolver resolver = new ConcurrentPatternResolver(1);
+        resolver.addArtifact(new DownloadableArtifact("http://repo/libs", "target", "a/b.jar", "", "libs:a/*.jar", PatternType.NORMAL));
+        resolver.addArtifact(new DownloadableArtifact("http://repo/libs", "target", "a/b.jar", "", "libs:a/b.jar", PatternType.NORMAL));
+        resolver.addArtifact(new DownloadableArtifact("http://repo/libs", "target", "a/b.jar", "", "libs:a/b.jar", PatternType.DELETE));
+        resolver.addArtifact(new DownloadableArtifact("http://repo/libs", "other", "a/b.jar", "", "libs:a/b.jar", PatternType.NORMAL));
+        resolver.addArtifact(new DownloadableArtifact("http://repo/libs", "target", "a/b.jar", ";a=1", "libs:a/b.jar", PatternType.NORMAL));
+        DownloadableArtifact exploded = new DownloadableArtifact("http://repo/libs", "target", "a/b.jar", "", "libs:a/b.jar", PatternType.NORMAL);
+        exploded.setExplode(true);
+        resolver.addArtifact(exploded);
+        assertEquals(resolver.getArtifacts().size(), 5);
+        assertTrue(resolver.getArtifacts().stream().anyMatch(artifact -> "other".equals(artifact.getTargetDirPath())));
+    }
+}
@@ -0,0 +1,66 @@
+package org.jfrog.build.extractor.clientConfiguration.util;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.api.util.NullLog;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the local cleanup of the DependenciesDownloaderImpl
+ */
+@Test
+public class DependenciesDownloaderImplTest {
+    private File tempDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("dependencies-downloader").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    public void testRemoveUnusedArtifactsFromLocal() throws IOException {
+        File resolved = createFile("a/resolved.jar");
+        File resolvedDirFile = createFile("a/dir/nested.jar");
+        File unresolved = createFile("a/unresolved.jar");
+        File unresolvedDir = createFile("a/empty-dir/file.txt").getParentFile();
+        File otherDir = createFile("b/other.jar");
+        File resolvedOtherDir = createFile("c/kept.jar");
+        File unresolvedOtherDir = createFile("c/removed.jar");
+
+        Set<String> allResolvedFiles = new HashSet<>(Arrays.asList(resolved.getPath(), resolvedDirFile.getPath(), resolvedOtherDir.getPath()));
+        Set<String> forDeletionFiles = new HashSet<>(Arrays.asList(resolved.getPath(), resolvedDirFile.getPath(), resolvedOtherDir.getPath()));
+        new DependenciesDownloaderImpl(null, tempDir.getPath(), new NullLog())
+                .removeUnusedArtifactsFromLocal(allResolvedFiles, forDeletionFiles);
+
+        assertTrue(resolved.exists());
+        assertTrue(resolvedDirFile.exists());
+        assertFalse(unresolved.exists());
+        // Non empty directories are not deleted
+        assertTrue(unresolvedDir.exists());
+        // Directories without files for deletion are not cleaned
+        assertTrue(otherDir.exists());
+        assertTrue(resolvedOtherDir.exists());
+        assertFalse(unresolvedOtherDir.exists());
+    }
+
+    private File createFile(String relativePath) throws IOException {
+        File file = new File(tempDir, relativePath);
+        FileUtils.writeStringToFile(file, relativePath, "UTF-8");
+        return file;
+    }
+}
@@ -61,4 +61,19 @@ public class CommandExecutorTest {
             fail(ExceptionUtils.getRootCauseMessage(e));
         }
     }
+
+    @Test
+    public void testExeCommandOutputLines() {
+        List<String> args = new ArrayList<>();
+        args.add("--version");
+        List<String> lines = new ArrayList<>();
+        CommandExecutor executor = new CommandExecutor("git", System.getenv());
+        try {
+            CommandResults results = executor.exeCommand(null, args, null, new NullLog(), lines::add);
+            assertTrue(results.isOk(), results.getErr() + results.getRes());
+            assertEquals(lines, Lists.newArrayList(results.getRes().split("\\R")));
+        } catch (InterruptedException | IOException e) {
+            fail(ExceptionUtils.getRootCauseMessage(e));
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package org.jfrog.build.extractor.executor;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the executors and threads of the blocking I/O work
+ */
+@Test
+public class ExecutorFactoryTest {
+
+    public void testConcurrencyLimit() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = ExecutorFactory.newExecutor("test", 3);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(10);
+                    running.decrementAndGet();
+                    return Thread.currentThread().getName();
+                }));
+            }
+            for (Future<String> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS).startsWith("test-"));
+            }
+        } finally {
+            ExecutorFactory.shutdown(executor);
+        }
+        assertTrue(maxRunning.get() <= 3, "Expected at most 3 concurrent tasks, but got " + maxRunning.get());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    public void testShutdownInterruptsTasks() throws Exception {
+        ExecutorService executor = ExecutorFactory.newExecutor("test", 1);
+        Future<?> running = executor.submit(() -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return null;
+        });
+        Future<?> waiting = executor.submit(() -> null);
+        ExecutorFactory.shutdown(executor);
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(running.isDone());
+        assertTrue(waiting.isDone());
+    }
+
+    public void testInvokeAll() throws Exception {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int result = i;
+            tasks.add(() -> {
+                Thread.sleep(10 - result);
+                return result;
+            });
+        }
+        // Results are returned in the order of the tasks
+        assertEquals(ExecutorFactory.invokeAll("test", 3, tasks), Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assertEquals(ExecutorFactory.invokeAll("test", 1, tasks).size(), 10);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testInvokeAllFailure() throws Exception {
+        List<Callable<Integer>> tasks = Arrays.asList(() -> 1, () -> {
+            throw new IOException("failed");
+        });
+        ExecutorFactory.invokeAll("test", 2, tasks);
+    }
+
+    public void testNewThread() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        Thread thread = ExecutorFactory.newThread("worker_0", runs::incrementAndGet);
+        assertEquals(thread.getName(), "worker_0");
+        thread.start();
+        thread.join();
+        assertEquals(runs.get(), 1);
+    }
+}
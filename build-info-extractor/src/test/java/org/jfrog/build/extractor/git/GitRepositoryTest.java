@@ -0,0 +1,169 @@
+package org.jfrog.build.extractor.git;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Compares the git repository reader to the git client, on a repository created by the git client.
+ */
+@Test
+public class GitRepositoryTest {
+    private static final long START_TIME = 1600000000L;
+
+    private File repoDir;
+    private String firstCommit;
+    private String featureCommit;
+    private long time = START_TIME;
+
+    @BeforeClass
+    public void createRepository() throws IOException, InterruptedException {
+        repoDir = Files.createTempDirectory("git-repository").toFile();
+        git("init", "-q");
+        git("config", "user.name", "Tester");
+        git("config", "user.email", "tester@jfrog.com");
+        firstCommit = commit("a.txt", "First commit");
+        commit("a.txt", "  \n\nISSUE-1 - Multi line\nsubject   \n\nThe body");
+        git("checkout", "-q", "-b", "feature");
+        featureCommit = commit("b.txt", "ISSUE-2 - Feature commit");
+        git("checkout", "-q", "-");
+        // A commit with a date older than its parent
+        time -= 1000;
+        commit("c.txt", "ISSUE-3 - Skewed date");
+        time += 2000;
+        for (int i = 0; i < 20; i++) {
+            commit("a.txt", "Commit " + i);
+        }
+        git("merge", "-q", "--no-ff", "-m", "Merge feature", "feature");
+        git("tag", "-a", "-m", "Tag message", "v1", featureCommit);
+    }
+
+    @AfterClass
+    public void deleteRepository() throws IOException {
+        FileUtils.deleteDirectory(repoDir);
+    }
+
+    public void testLooseAndPackedObjects() throws IOException, InterruptedException {
+        verifyLog();
+        git("gc", "-q", "--aggressive");
+        assertTrue(new File(repoDir, ".git/packed-refs").isFile());
+        verifyLog();
+    }
+
+    public void testOpenFromSubDirectory() throws IOException {
+        File subDir = new File(repoDir, "sub/dir");
+        assertTrue(subDir.mkdirs());
+        assertEquals(GitRepository.findGitDir(subDir), new File(repoDir, ".git").getAbsoluteFile());
+        assertEquals(GitRepository.findGitDir(new File(repoDir, ".git")), new File(repoDir, ".git").getAbsoluteFile());
+    }
+
+    public void testHasObject() throws IOException {
+        try (GitRepository repository = GitRepository.open(repoDir)) {
+            assertTrue(repository.hasObject(firstCommit));
+            assertFalse(repository.hasObject("abcdefABCDEF1234567890123456789012345678"));
+            try {
+                repository.hasObject(firstCommit.substring(0, 7));
+                fail("Abbreviated object ids should not be supported");
+            } catch (UnsupportedRepositoryException e) {
+                // Expected
+            }
+        }
+    }
+
+    public void testPackedRefs() throws IOException, InterruptedException {
+        File packedRefsRepo = Files.createTempDirectory("git-packed-refs").toFile();
+        try {
+            Map<String, String> expected = new TreeMap<>();
+            for (int i = 0; i < 300; i++) {
+                expected.put("refs/tags/t" + i, firstCommit);
+            }
+            expected.put("refs/heads/feature", featureCommit);
+            StringBuilder commands = new StringBuilder();
+            expected.forEach((ref, id) -> commands.append("update ").append(ref).append(' ').append(id).append('\n'));
+            File commandsFile = new File(packedRefsRepo, "commands.txt");
+            FileUtils.writeStringToFile(commandsFile, commands.toString(), "UTF-8");
+            updateRefs(commandsFile);
+            git("pack-refs", "--all");
+
+            PackedRefs packedRefs = new PackedRefs(new File(repoDir, ".git/packed-refs"));
+            expected.forEach((ref, id) -> assertEquals(packedRefs.get(ref), id, ref));
+            assertNull(packedRefs.get("refs/tags/t"));
+            assertNull(packedRefs.get("refs/tags/t9999"));
+            assertNull(packedRefs.get("refs/heads/missing"));
+            // The peeled line of the annotated tag should not be confused with a ref
+            assertNotNull(packedRefs.get("refs/tags/v1"));
+        } finally {
+            FileUtils.deleteDirectory(packedRefsRepo);
+        }
+    }
+
+    public void testShallowRepository() throws IOException, InterruptedException {
+        File shallowDir = Files.createTempDirectory("git-shallow").toFile();
+        try {
+            git("clone", "-q", "--depth", "2", "file://" + repoDir.getAbsolutePath(), shallowDir.getAbsolutePath());
+            try (GitRepository repository = GitRepository.open(shallowDir)) {
+                repository.getLogSubjects("", 100);
+            }
+            fail("Shallow repositories should not be supported");
+        } catch (UnsupportedRepositoryException e) {
+            // Expected
+        } finally {
+            FileUtils.deleteDirectory(shallowDir);
+        }
+    }
+
+    private void verifyLog() throws IOException, InterruptedException {
+        try (GitRepository repository = GitRepository.open(repoDir)) {
+            for (String since : new String[]{"", firstCommit, featureCommit}) {
+                for (int limit : new int[]{3, 100}) {
+                    List<String> args = new ArrayList<>(Arrays.asList("log", "--pretty=format:%s", "-" + limit));
+                    if (!since.isEmpty()) {
+                        args.add(since + "..");
+                    }
+                    List<String> expected = Arrays.asList(git(args.toArray(new String[0])).split("\\R"));
+                    assertEquals(repository.getLogSubjects(since, limit), expected, "since " + since + " limit " + limit);
+                }
+            }
+            assertTrue(repository.getLogSubjects("", 100).contains("ISSUE-1 - Multi line subject"));
+        }
+    }
+
+    private String commit(String fileName, String message) throws IOException, InterruptedException {
+        FileUtils.writeStringToFile(new File(repoDir, fileName), message + time, "UTF-8", true);
+        git("add", fileName);
+        git("commit", "-q", "--cleanup=verbatim", "-m", message);
+        time += 60;
+        return git("rev-parse", "HEAD").trim();
+    }
+
+    private String git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(Collections.singletonList("git"));
+        command.addAll(Arrays.asList(args));
+        ProcessBuilder processBuilder = new ProcessBuilder(command).directory(repoDir).redirectError(ProcessBuilder.Redirect.INHERIT);
+        processBuilder.environment().put("GIT_AUTHOR_DATE", time + " +0000");
+        processBuilder.environment().put("GIT_COMMITTER_DATE", time + " +0000");
+        Process process = processBuilder.start();
+        String output = IOUtils.toString(process.getInputStream(), StandardCharsets.UTF_8);
+        assertEquals(process.waitFor(), 0, String.join(" ", command));
+        return output;
+    }
+
+    private void updateRefs(File commandsFile) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("git", "update-ref", "--stdin")
+                .directory(repoDir)
+                .redirectInput(commandsFile)
+                .redirectErrorStream(true)
+                .start();
+        assertEquals(process.waitFor(), 0);
+    }
+}
@@ -0,0 +1,144 @@
+package org.jfrog.build.extractor.packageManager;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.api.Dependency;
+import org.jfrog.build.api.builder.DependencyBuilder;
+import org.jfrog.build.api.util.NullLog;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the local index of dependencies checksums.
+ */
+@Test
+public class DependenciesIndexTest {
+    private static final String MD5 = "1f984f368f52d42e386983854d0a5f6d";
+    private static final String SHA1 = "b063f2f6fad6ae498cf40cd654c5f00e6cae3c55";
+
+    private Path tempDir;
+    private Path indexFile;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("dependencies-index");
+        indexFile = tempDir.resolve("index").resolve("dependencies.json");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir.toFile());
+    }
+
+    public void testPutAndGetDependency() {
+        DependenciesIndex index = load(10);
+        index.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("a:1.0.0").md5(MD5).sha1(SHA1).sha256("sha256").build());
+        // Dependencies without checksums are not indexed
+        index.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("b:1.0.0").build());
+        index.save();
+
+        DependenciesIndex loaded = load(10);
+        Dependency dependency = loaded.getDependency(DependenciesIndex.NPM, "a:1.0.0");
+        assertNotNull(dependency);
+        assertEquals(dependency.getMd5(), MD5);
+        assertEquals(dependency.getSha1(), SHA1);
+        assertEquals(dependency.getSha256(), "sha256");
+        assertNull(loaded.getDependency(DependenciesIndex.NPM, "b:1.0.0"));
+        assertNull(loaded.getDependency(DependenciesIndex.GO, "a:1.0.0"));
+    }
+
+    public void testGetChecksums() throws IOException, NoSuchAlgorithmException {
+        File file = tempDir.resolve("module.zip").toFile();
+        FileUtils.writeStringToFile(file, "content", StandardCharsets.UTF_8);
+        DependenciesIndex index = load(10);
+        Map<String, String> checksums = index.getChecksums(DependenciesIndex.GO, "module:v1.0.0", file);
+        assertEquals(checksums.get("MD5"), "9a0364b9e99bb480dd25e1f0284c8555");
+        assertEquals(checksums.get("SHA1"), "040f06fd774092478d450774f5ba30c5da78acc8");
+        index.save();
+
+        // Unchanged files are not read again
+        DependenciesIndex loaded = load(10);
+        assertTrue(file.setLastModified(file.lastModified()));
+        assertEquals(loaded.getChecksums(DependenciesIndex.GO, "module:v1.0.0", file), checksums);
+
+        // Changed files are
+        FileUtils.writeStringToFile(file, "changed content", StandardCharsets.UTF_8);
+        assertTrue(file.setLastModified(file.lastModified() + 2000));
+        assertNotEquals(loaded.getChecksums(DependenciesIndex.GO, "module:v1.0.0", file), checksums);
+    }
+
+    public void testMergeConcurrentBuilds() {
+        DependenciesIndex first = load(10);
+        DependenciesIndex second = load(10);
+        first.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("a:1.0.0").sha1(SHA1).build());
+        second.putDependency(DependenciesIndex.NUGET, new DependencyBuilder().id("b:1.0.0").sha1(SHA1).build());
+        first.save();
+        second.save();
+
+        DependenciesIndex loaded = load(10);
+        assertNotNull(loaded.getDependency(DependenciesIndex.NPM, "a:1.0.0"));
+        assertNotNull(loaded.getDependency(DependenciesIndex.NUGET, "b:1.0.0"));
+    }
+
+    public void testKeepNewerConcurrentEntries() throws InterruptedException {
+        DependenciesIndex index = load(10);
+        index.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("a:1.0.0").sha1(SHA1).build());
+        index.save();
+
+        DependenciesIndex first = load(10);
+        DependenciesIndex second = load(10);
+        first.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("b:1.0.0").sha1(SHA1).build());
+        Thread.sleep(5);
+        second.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("a:1.0.0").sha1("a-sha1").build());
+        second.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("b:1.0.0").sha1("b-sha1").build());
+        second.save();
+        // Reading an entry doesn't override the newer entry of another build, and older entries are not saved
+        assertNotNull(first.getDependency(DependenciesIndex.NPM, "a:1.0.0"));
+        first.save();
+
+        DependenciesIndex loaded = load(10);
+        assertEquals(loaded.getDependency(DependenciesIndex.NPM, "a:1.0.0").getSha1(), "a-sha1");
+        assertEquals(loaded.getDependency(DependenciesIndex.NPM, "b:1.0.0").getSha1(), "b-sha1");
+    }
+
+    public void testEvictLeastRecentlyUsed() throws InterruptedException {
+        DependenciesIndex index = load(3);
+        for (int i = 0; i < 3; i++) {
+            index.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("a:" + i).sha1(SHA1).build());
+            Thread.sleep(5);
+        }
+        // Use the oldest entry, so the second one becomes the least recently used
+        assertNotNull(index.getDependency(DependenciesIndex.NPM, "a:0"));
+        index.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("a:3").sha1(SHA1).build());
+        index.save();
+
+        DependenciesIndex loaded = load(3);
+        assertEquals(loaded.size(), 3);
+        assertNull(loaded.getDependency(DependenciesIndex.NPM, "a:1"));
+        assertNotNull(loaded.getDependency(DependenciesIndex.NPM, "a:0"));
+        assertNotNull(loaded.getDependency(DependenciesIndex.NPM, "a:3"));
+    }
+
+    public void testCorruptedIndex() throws IOException {
+        FileUtils.writeStringToFile(indexFile.toFile(), "{corrupted", StandardCharsets.UTF_8);
+        DependenciesIndex index = load(10);
+        assertEquals(index.size(), 0);
+        index.putDependency(DependenciesIndex.NPM, new DependencyBuilder().id("a:1.0.0").sha1(SHA1).build());
+        index.save();
+        assertNotNull(load(10).getDependency(DependenciesIndex.NPM, "a:1.0.0"));
+    }
+
+    private DependenciesIndex load(int maxEntries) {
+        return DependenciesIndex.load(indexFile, maxEntries, new NullLog());
+    }
+}
@@ -0,0 +1,170 @@
+package org.jfrog.build.extractor.scan;
+
+import org.apache.commons.compress.utils.Lists;
+import org.apache.commons.compress.utils.Sets;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests the compact dependency tree, and its conversion from and to a dependency tree.
+ */
+@Test
+public class CompactDependencyTreeTest {
+
+    private CompactDependencyTree root, one, two, three, four, five;
+
+    /**
+     * Build an empty tree with 5 nodes
+     */
+    @BeforeMethod
+    public void init() {
+        root = new CompactDependencyTree("0");
+        one = new CompactDependencyTree("1");
+        two = new CompactDependencyTree("2");
+        three = new CompactDependencyTree("3");
+        four = new CompactDependencyTree("4");
+        five = new CompactDependencyTree("5");
+        root.add(one); // 0 -> 1
+        root.add(two); // 0 -> 2
+        two.add(three); // 2 -> 3
+        two.add(four); // 2 -> 4
+        four.add(five); // 4 -> 5
+    }
+
+    public void testProcessTreeIssues() {
+        assertTrue(root.processTreeIssues().isEmpty());
+        assertEquals(root.getTopIssue().getSeverity(), Severity.Normal);
+
+        three.setIssues(Sets.newHashSet(createIssue(Severity.Low)));
+        Issue medium = createIssue(Severity.Medium);
+        four.setIssues(Sets.newHashSet(medium, createIssue(Severity.Low)));
+        five.setIssues(Sets.newHashSet(createIssue(Severity.Normal), createIssue(Severity.High)));
+        one.setIssues(Sets.newHashSet(new Issue()));
+
+        assertEquals(root.processTreeIssues().size(), 6);
+        assertEquals(root.getIssueCount(), 6);
+        assertEquals(root.getTopIssue().getSeverity(), Severity.High);
+        assertEquals(root.getTopIssue().getComponent(), "5");
+        assertEquals(one.getTopIssue().getComponent(), "");
+        assertEquals(three.getTopIssue().getComponent(), "3");
+        assertEquals(four.getTopIssue().getComponent(), "5");
+        assertEquals(four.getIssueCount(), 4);
+        // The children are sorted by their top issue
+        assertEquals(root.getChildAt(0), two);
+        assertEquals(two.getChildren(), Arrays.asList(four, three));
+    }
+
+    public void testIssuesCacheInvalidation() {
+        four.setIssues(Sets.newHashSet(createIssue(Severity.Low)));
+        Set<Issue> rootIssues = root.processTreeIssues();
+        Set<Issue> oneIssues = one.getIssues();
+        assertEquals(rootIssues.size(), 1);
+        assertSame(root.processTreeIssues(), rootIssues);
+
+        // Changing a node invalidates its ancestors only
+        five.setIssues(Sets.newHashSet(createIssue(Severity.Critical)));
+        assertSame(one.getIssues(), oneIssues);
+        assertEquals(root.processTreeIssues().size(), 2);
+        assertEquals(root.getTopIssue().getSeverity(), Severity.Critical);
+
+        // Removing a subtree invalidates its previous ancestors
+        two.remove(four);
+        assertNull(four.getParent());
+        assertTrue(root.processTreeIssues().isEmpty());
+        assertEquals(root.getTopIssue().getSeverity(), Severity.Normal);
+        one.add(four);
+        assertEquals(root.processTreeIssues().size(), 2);
+        assertEquals(root.getChildAt(0), one);
+    }
+
+    public void testAdd() {
+        // Adding a node to a new parent removes it from the previous parent
+        one.add(five);
+        assertEquals(four.getChildCount(), 0);
+        assertTrue(four.isLeaf());
+        assertEquals(five.getParent(), one);
+        for (int i = 0; i < 10; i++) {
+            five.add(new CompactDependencyTree(String.valueOf(i)));
+        }
+        assertEquals(five.getChildCount(), 10);
+        assertEquals(five.getIndex(five.getChildAt(9)), 9);
+        assertEquals(five.getChildAt(9).toString(), "9");
+        try {
+            five.add(root);
+            fail("Adding an ancestor should fail");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    public void testScopesAndLicenses() {
+        one.setScopes(Sets.newHashSet(new Scope("compile"), new Scope("test")));
+        two.setScopes(Sets.newHashSet(new Scope("test"), new Scope("compile")));
+        assertSame(one.getScopes(), two.getScopes());
+        assertSame(three.getScopes(), four.getScopes());
+        try {
+            one.getScopes().add(new Scope("runtime"));
+            fail("Scopes should be immutable");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        assertFalse(root.isLicenseViolating());
+        three.setLicenses(Sets.newHashSet(createLicense(false), createLicense(true)));
+        five.setLicenses(Sets.newHashSet(createLicense(false)));
+        Set<Scope> allScopes = new HashSet<>();
+        Set<License> allLicenses = new HashSet<>();
+        root.collectAllScopesAndLicenses(allScopes, allLicenses);
+        assertEquals(allScopes.size(), 2);
+        assertEquals(allLicenses.size(), 3);
+        assertTrue(root.isLicenseViolating());
+        assertFalse(four.isLicenseViolating());
+    }
+
+    public void testConversion() {
+        five.setIssues(Sets.newHashSet(createIssue(Severity.High)));
+        one.setScopes(Sets.newHashSet(new Scope("compile")));
+        root.setPrefix("npm");
+        root.setMetadata(true);
+
+        DependencyTree dependencyTree = root.toDependencyTree();
+        assertEquals(dependencyTree.getComponentId(), "npm://0");
+        assertTrue(dependencyTree.isMetadata());
+        assertEquals(dependencyTree.getChildCount(), 2);
+        assertEquals(dependencyTree.getChildren().get(0).getScopes(), Sets.newHashSet(new Scope("compile")));
+        assertEquals(dependencyTree.processTreeIssues().size(), 1);
+
+        CompactDependencyTree compactTree = CompactDependencyTree.fromDependencyTree(dependencyTree);
+        assertEquals(compactTree.getComponentId(), "npm://0");
+        assertEquals(compactTree.getChildAt(0).getChildAt(0).getChildAt(0).getComponentId(), "npm://5");
+        assertEquals(compactTree.processTreeIssues().size(), 1);
+        assertEquals(compactTree.getTopIssue().getSeverity(), Severity.High);
+        assertEquals(toStrings(compactTree), toStrings(dependencyTree));
+    }
+
+    private static List<String> toStrings(Object node) {
+        List<String> strings = new ArrayList<>();
+        Enumeration<?> children = node instanceof DependencyTree ? ((DependencyTree) node).children() : ((CompactDependencyTree) node).children();
+        strings.add(node.toString());
+        while (children.hasMoreElements()) {
+            strings.addAll(toStrings(children.nextElement()));
+        }
+        return strings;
+    }
+
+    private Issue createIssue(Severity severity) {
+        return new Issue(generateUID(), severity, generateUID(), Lists.newArrayList(), generateUID());
+    }
+
+    private License createLicense(boolean violating) {
+        return new License(Lists.newArrayList(), generateUID(), generateUID(), Lists.newArrayList(), violating);
+    }
+
+    private String generateUID() {
+        return UUID.randomUUID().toString();
+    }
+}